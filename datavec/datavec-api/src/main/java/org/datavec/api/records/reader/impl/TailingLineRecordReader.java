@@ -0,0 +1,535 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.datavec.api.records.reader.impl;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.filefilter.IOFileFilter;
+import org.apache.commons.io.filefilter.SuffixFileFilter;
+import org.apache.commons.io.filefilter.TrueFileFilter;
+import org.datavec.api.conf.Configuration;
+import org.datavec.api.records.Record;
+import org.datavec.api.records.metadata.RecordMetaData;
+import org.datavec.api.records.metadata.RecordMetaDataLine;
+import org.datavec.api.records.reader.BaseRecordReader;
+import org.datavec.api.split.FileSplit;
+import org.datavec.api.split.InputSplit;
+import org.datavec.api.writable.Text;
+import org.datavec.api.writable.Writable;
+import org.nd4j.common.base.Preconditions;
+
+import java.io.*;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * A line record reader for files that are continuously appended to, and for directories that new files are
+ * continuously added to (such as log files or landing directories).<br>
+ * Unlike {@link LineRecordReader}, which iterates over a fixed set of files once, this reader tracks the byte offset
+ * that has been read for each file, and on each poll picks up both newly appended lines and newly arriving files.
+ * Only complete (newline terminated) lines are returned; a partially written last line is returned once it has
+ * been completed. If a file shrinks (for example, after truncation), it is read again from the start.<br>
+ * <br>
+ * The per-file offsets can be persisted to a checkpoint file (see {@link #saveCheckpoint()}), so that processing
+ * can be resumed after a restart without reprocessing earlier data. The checkpoint is loaded on initialization, saved
+ * every {@link #getCheckpointEvery()} records, and saved on {@link #close()}.<br>
+ * <br>
+ * {@link #hasNext()} behaviour is controlled by {@link #getMaxWaitMs()}:<br>
+ * - 0 (default): hasNext() returns false as soon as no new data is available. Iteration may be resumed later with
+ * another call to hasNext() - no reset is required<br>
+ * - &gt; 0: hasNext() polls for new data for up to the specified number of milliseconds before returning false<br>
+ * - &lt; 0: hasNext() blocks until new data is available; combined with a DataSetIterator, this gives an unbounded
+ * iterator for online training and scoring<br>
+ * <br>
+ * Note that reset is not supported: this reader always continues from the last consumed position.
+ */
+@Slf4j
+public class TailingLineRecordReader extends BaseRecordReader {
+
+    public final static String POLL_INTERVAL_MS = NAME_SPACE + ".tailing.pollintervalms";
+    public final static String MAX_WAIT_MS = NAME_SPACE + ".tailing.maxwaitms";
+
+    /**
+     * Maximum number of bytes read from a single file per poll, unless a single line is longer than this
+     */
+    protected static final int READ_BUFFER_SIZE = 1024 * 1024;
+
+    protected final File checkpointFile;
+    protected Configuration conf;
+    protected boolean initialized;
+
+    @Getter @Setter
+    protected String charset = StandardCharsets.UTF_8.name(); //Using String as StandardCharsets.UTF_8 is not serializable
+    /**
+     * Time to wait between polls for new data, when {@link #getMaxWaitMs()} is not 0
+     */
+    @Getter @Setter
+    protected long pollIntervalMs = 1000;
+    /**
+     * Maximum time hasNext() will wait for new data: 0 to return immediately, or negative to wait indefinitely
+     */
+    @Getter @Setter
+    protected long maxWaitMs = 0;
+    /**
+     * Number of records between automatic checkpoint saves. 0 or negative: only save on close or {@link #saveCheckpoint()}
+     */
+    @Getter @Setter
+    protected int checkpointEvery = 1000;
+    /**
+     * Number of lines to skip at the start of each file, for example for header lines
+     */
+    @Getter @Setter
+    protected int skipNumLines = 0;
+
+    protected File rootDir;
+    protected IOFileFilter fileFilter;
+    protected boolean recursive;
+    protected List<File> fixedFiles;
+
+    protected final Map<String, FileState> fileStates = new TreeMap<>();
+    protected transient Deque<PendingLine> pending = new ArrayDeque<>();
+    protected String lastFile;
+    protected int recordsSinceCheckpoint;
+
+    /**
+     * Create a tailing record reader without checkpointing
+     */
+    public TailingLineRecordReader() {
+        this(null);
+    }
+
+    /**
+     * @param checkpointFile File to load the per-file offsets from on initialization, and to save them to. If the
+     *                       file does not exist, all files are read from the start. May be null (no checkpointing)
+     */
+    public TailingLineRecordReader(File checkpointFile) {
+        this.checkpointFile = checkpointFile;
+    }
+
+    @Override
+    public void initialize(InputSplit split) throws IOException, InterruptedException {
+        //Note that we don't call super.initialize(split) here: the split's locations are re-scanned on every poll,
+        // and a landing directory may be empty at this point
+        this.inputSplit = split;
+        if (split instanceof FileSplit) {
+            FileSplit fs = (FileSplit) split;
+            String[] allowFormat = fs.getAllowFormat();
+            this.rootDir = fs.getRootDir();
+            this.fileFilter = allowFormat == null ? TrueFileFilter.INSTANCE : new SuffixFileFilter(allowFormat);
+            this.recursive = fs.isRecursive();
+        } else {
+            this.fixedFiles = new ArrayList<>();
+            Iterator<URI> iter = split.locationsIterator();
+            while (iter.hasNext()) {
+                fixedFiles.add(new File(iter.next()));
+            }
+        }
+
+        fileStates.clear();
+        pending = new ArrayDeque<>();
+        lastFile = null;
+        recordsSinceCheckpoint = 0;
+        loadCheckpoint();
+        this.initialized = true;
+    }
+
+    @Override
+    public void initialize(Configuration conf, InputSplit split) throws IOException, InterruptedException {
+        this.conf = conf;
+        this.pollIntervalMs = conf.getLong(POLL_INTERVAL_MS, pollIntervalMs);
+        this.maxWaitMs = conf.getLong(MAX_WAIT_MS, maxWaitMs);
+        initialize(split);
+    }
+
+    @Override
+    public boolean hasNext() {
+        Preconditions.checkState(initialized, "Record reader has not been initialized");
+        if (!pending.isEmpty())
+            return true;
+
+        long start = System.currentTimeMillis();
+        while (true) {
+            poll();
+            if (!pending.isEmpty())
+                return true;
+
+            long waited = System.currentTimeMillis() - start;
+            if (maxWaitMs == 0 || (maxWaitMs > 0 && waited >= maxWaitMs))
+                return false;
+
+            long sleep = maxWaitMs > 0 ? Math.min(pollIntervalMs, maxWaitMs - waited) : pollIntervalMs;
+            try {
+                Thread.sleep(Math.max(1, sleep));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public List<Writable> next() {
+        return next(nextLine());
+    }
+
+    @Override
+    public Record nextRecord() {
+        PendingLine p = nextLine();
+        List<Writable> next = next(p);
+        RecordMetaData meta = new RecordMetaDataLine(p.lineNumber, p.uri, getClass());
+        return new org.datavec.api.records.impl.Record(next, meta);
+    }
+
+    protected List<Writable> next(PendingLine p) {
+        invokeListeners(p.line);
+        return parseLine(p.line);
+    }
+
+    protected PendingLine nextLine() {
+        if (!hasNext())
+            throw new NoSuchElementException("No new lines available");
+        PendingLine p = pending.removeFirst();
+
+        //Mark as consumed only when it is actually returned, so the checkpoint never skips unprocessed lines
+        FileState state = fileStates.get(p.path);
+        state.offset = p.endOffset;
+        state.lineNumber = p.lineNumber + 1;
+
+        if (checkpointEvery > 0 && ++recordsSinceCheckpoint >= checkpointEvery) {
+            try {
+                saveCheckpoint();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error saving checkpoint to " + checkpointFile, e);
+            }
+        }
+        return p;
+    }
+
+    /**
+     * Convert a single line to a record. By default, the record is the line as a single {@link Text} value
+     */
+    protected List<Writable> parseLine(String line) {
+        List<Writable> ret = new ArrayList<>(1);
+        ret.add(new Text(line));
+        return ret;
+    }
+
+    /**
+     * Scan for files with new data, reading the new complete lines from one file. Files are checked starting with
+     * the file after the one that was last read, so that continuous appends to one file don't starve the others
+     */
+    protected void poll() {
+        List<File> files = listFiles();
+        if (files.isEmpty())
+            return;
+
+        int start = 0;
+        if (lastFile != null) {
+            for (int i = 0; i < files.size(); i++) {
+                if (files.get(i).getAbsolutePath().compareTo(lastFile) > 0) {
+                    start = i;
+                    break;
+                }
+            }
+        }
+
+        for (int i = 0; i < files.size(); i++) {
+            File f = files.get((start + i) % files.size());
+            try {
+                if (readLines(f)) {
+                    lastFile = f.getAbsolutePath();
+                    return;
+                }
+            } catch (FileNotFoundException e) {
+                log.debug("File {} no longer exists, skipping", f);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error reading from file " + f, e);
+            }
+        }
+    }
+
+    protected List<File> listFiles() {
+        List<File> out = new ArrayList<>();
+        if (fixedFiles != null) {
+            for (File f : fixedFiles) {
+                if (f.isFile())
+                    out.add(f);
+            }
+        } else if (rootDir.isFile()) {
+            out.add(rootDir);
+        } else {
+            LinkedList<File> queue = new LinkedList<>();
+            queue.add(rootDir);
+            while (!queue.isEmpty()) {
+                File[] listFiles = queue.remove().listFiles();
+                if (listFiles != null) {
+                    for (File f : listFiles) {
+                        if (f.isDirectory()) {
+                            if (recursive)
+                                queue.add(f);
+                        } else if (fileFilter.accept(f) && !f.equals(checkpointFile) && !isCheckpointTempFile(f)) {
+                            out.add(f);
+                        }
+                    }
+                }
+            }
+        }
+        out.sort(Comparator.comparing(File::getAbsolutePath));
+        return out;
+    }
+
+    /**
+     * Read the complete lines after the current offset of the specified file into the pending queue
+     *
+     * @return True if any lines were read
+     */
+    protected boolean readLines(File f) throws IOException {
+        String path = f.getAbsolutePath();
+        FileState state = fileStates.get(path);
+        if (state == null) {
+            state = new FileState();
+            fileStates.put(path, state);
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(f, "r")) {
+            long length = raf.length();
+            if (length < state.offset) {
+                log.info("File {} was truncated (length {}, previous offset {}), reading from start", f, length, state.offset);
+                state.offset = 0;
+                state.lineNumber = 0;
+            }
+            long available = length - state.offset;
+            if (available <= 0)
+                return false;
+
+            int toRead = (int) Math.min(available, READ_BUFFER_SIZE);
+            byte[] buffer;
+            int lastNewLine;
+            while (true) {
+                buffer = new byte[toRead];
+                raf.seek(state.offset);
+                raf.readFully(buffer);
+                lastNewLine = lastIndexOf(buffer, (byte) '\n');
+                if (lastNewLine >= 0 || toRead >= available)
+                    break;
+                //Line is longer than the read buffer
+                toRead = (int) Math.min(available, Math.min(Integer.MAX_VALUE - 8, 2L * toRead));
+            }
+            if (lastNewLine < 0)
+                return false;       //Only a partially written line so far
+
+            Charset cs = Charset.forName(charset);
+            URI uri = f.toURI();
+            long baseOffset = state.offset;
+            int lineStart = 0;
+            int lineNumber = state.lineNumber;
+            boolean any = false;
+            for (int i = 0; i <= lastNewLine; i++) {
+                if (buffer[i] != '\n')
+                    continue;
+                int lineEnd = (i > lineStart && buffer[i - 1] == '\r') ? i - 1 : i;
+                long endOffset = baseOffset + i + 1;
+                if (lineNumber < skipNumLines) {
+                    //Skipped (header) lines always precede any pending lines, so can be marked as consumed immediately
+                    state.offset = endOffset;
+                    state.lineNumber = lineNumber + 1;
+                } else {
+                    String line = new String(buffer, lineStart, lineEnd - lineStart, cs);
+                    pending.addLast(new PendingLine(path, uri, line, endOffset, lineNumber));
+                    any = true;
+                }
+                lineStart = i + 1;
+                lineNumber++;
+            }
+            return any;
+        }
+    }
+
+    private static int lastIndexOf(byte[] buffer, byte b) {
+        for (int i = buffer.length - 1; i >= 0; i--) {
+            if (buffer[i] == b)
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Save the current per-file offsets to the checkpoint file, if one was specified. Only records that have been
+     * returned by {@link #next()} or {@link #nextRecord()} are included. The file is replaced atomically where
+     * supported, so a crash during saving leaves the previous checkpoint intact.
+     */
+    public void saveCheckpoint() throws IOException {
+        recordsSinceCheckpoint = 0;
+        if (checkpointFile == null)
+            return;
+
+        Properties p = new Properties();
+        for (Map.Entry<String, FileState> e : fileStates.entrySet()) {
+            p.setProperty(e.getKey(), e.getValue().offset + "," + e.getValue().lineNumber);
+        }
+
+        File parent = checkpointFile.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists())
+            parent.mkdirs();
+        File tmp = new File(parent, checkpointFile.getName() + ".tmp");
+        try (OutputStream os = new BufferedOutputStream(new FileOutputStream(tmp))) {
+            p.store(os, "TailingLineRecordReader checkpoint: path=offset,lineNumber");
+        }
+        try {
+            Files.move(tmp.toPath(), checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp.toPath(), checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    protected void loadCheckpoint() throws IOException {
+        if (checkpointFile == null || !checkpointFile.exists())
+            return;
+
+        Properties p = new Properties();
+        try (InputStream is = new BufferedInputStream(new FileInputStream(checkpointFile))) {
+            p.load(is);
+        }
+        for (String path : p.stringPropertyNames()) {
+            String[] split = p.getProperty(path).split(",");
+            Preconditions.checkState(split.length == 2, "Invalid checkpoint entry for path %s in file %s: %s",
+                    path, checkpointFile, p.getProperty(path));
+            FileState state = new FileState();
+            state.offset = Long.parseLong(split[0]);
+            state.lineNumber = Integer.parseInt(split[1]);
+            fileStates.put(path, state);
+        }
+        log.info("Loaded checkpoint with offsets for {} files from {}", fileStates.size(), checkpointFile);
+    }
+
+    private boolean isCheckpointTempFile(File f) {
+        return checkpointFile != null && f.getName().equals(checkpointFile.getName() + ".tmp");
+    }
+
+    /**
+     * @param file File to get the offset for
+     * @return Number of bytes of the specified file that have been returned as records (including skipped lines)
+     */
+    public long getOffset(@NonNull File file) {
+        FileState state = fileStates.get(file.getAbsolutePath());
+        return state == null ? 0 : state.offset;
+    }
+
+    @Override
+    public List<String> getLabels() {
+        return null;
+    }
+
+    @Override
+    public void reset() {
+        throw new UnsupportedOperationException("Reset is not supported by " + getClass().getSimpleName());
+    }
+
+    @Override
+    public boolean resetSupported() {
+        return false;
+    }
+
+    @Override
+    public List<Writable> record(URI uri, DataInputStream dataInputStream) throws IOException {
+        BufferedReader br = new BufferedReader(new InputStreamReader(dataInputStream, charset));
+        for (int i = 0; i < skipNumLines; i++) {
+            br.readLine();
+        }
+        return parseLine(br.readLine());
+    }
+
+    @Override
+    public Record loadFromMetaData(RecordMetaData recordMetaData) throws IOException {
+        return loadFromMetaData(Collections.singletonList(recordMetaData)).get(0);
+    }
+
+    @Override
+    public List<Record> loadFromMetaData(List<RecordMetaData> recordMetaDatas) throws IOException {
+        List<Record> out = new ArrayList<>(recordMetaDatas.size());
+        for (RecordMetaData rmd : recordMetaDatas) {
+            if (!(rmd instanceof RecordMetaDataLine)) {
+                throw new IllegalArgumentException("Invalid metadata; expected RecordMetaDataLine instance; got: " + rmd);
+            }
+            RecordMetaDataLine m = (RecordMetaDataLine) rmd;
+            try (BufferedReader br = new BufferedReader(new InputStreamReader(streamCreatorFn.apply(m.getURI()), charset))) {
+                String line = null;
+                for (int i = 0; i <= m.getLineNumber(); i++) {
+                    line = br.readLine();
+                }
+                if (line == null) {
+                    throw new IllegalStateException("Could not get line " + m.getLineNumber() + " from URI " + m.getURI());
+                }
+                out.add(new org.datavec.api.records.impl.Record(parseLine(line), m));
+            }
+        }
+        return out;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (initialized)
+            saveCheckpoint();
+    }
+
+    @Override
+    public void setConf(Configuration conf) {
+        this.conf = conf;
+    }
+
+    @Override
+    public Configuration getConf() {
+        return conf;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        pending = new ArrayDeque<>();
+    }
+
+    protected static class FileState implements Serializable {
+        protected long offset;
+        protected int lineNumber;
+    }
+
+    protected static class PendingLine {
+        protected final String path;
+        protected final URI uri;
+        protected final String line;
+        protected final long endOffset;
+        protected final int lineNumber;
+
+        protected PendingLine(String path, URI uri, String line, long endOffset, int lineNumber) {
+            this.path = path;
+            this.uri = uri;
+            this.line = line;
+            this.endOffset = endOffset;
+            this.lineNumber = lineNumber;
+        }
+    }
+}
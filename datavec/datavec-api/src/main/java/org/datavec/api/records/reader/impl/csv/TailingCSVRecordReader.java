@@ -0,0 +1,93 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.datavec.api.records.reader.impl.csv;
+
+import org.datavec.api.conf.Configuration;
+import org.datavec.api.records.reader.impl.TailingLineRecordReader;
+import org.datavec.api.split.InputSplit;
+import org.datavec.api.writable.Text;
+import org.datavec.api.writable.Writable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A CSV record reader for files that are continuously appended to, and directories that new files are continuously
+ * added to. See {@link TailingLineRecordReader} for details on polling and checkpointing.<br>
+ * The number of lines to skip (for example, header lines) applies to each file separately.
+ */
+public class TailingCSVRecordReader extends TailingLineRecordReader {
+
+    private SerializableCSVParser csvParser;
+
+    /**
+     * Create a tailing CSV record reader with the default delimiter and quote, and no checkpointing
+     */
+    public TailingCSVRecordReader() {
+        this(null, 0, CSVRecordReader.DEFAULT_DELIMITER, CSVRecordReader.DEFAULT_QUOTE);
+    }
+
+    /**
+     * @param checkpointFile File to load/save the per-file offsets. May be null (no checkpointing)
+     * @param skipNumLines   Number of lines to skip at the start of each file
+     * @param delimiter      Delimiter character for CSV
+     */
+    public TailingCSVRecordReader(File checkpointFile, int skipNumLines, char delimiter) {
+        this(checkpointFile, skipNumLines, delimiter, CSVRecordReader.DEFAULT_QUOTE);
+    }
+
+    /**
+     * @param checkpointFile File to load/save the per-file offsets. May be null (no checkpointing)
+     * @param skipNumLines   Number of lines to skip at the start of each file
+     * @param delimiter      Delimiter character for CSV
+     * @param quote          Quote character for CSV
+     */
+    public TailingCSVRecordReader(File checkpointFile, int skipNumLines, char delimiter, char quote) {
+        super(checkpointFile);
+        this.skipNumLines = skipNumLines;
+        this.csvParser = new SerializableCSVParser(delimiter, quote);
+    }
+
+    @Override
+    public void initialize(Configuration conf, InputSplit split) throws IOException, InterruptedException {
+        this.skipNumLines = conf.getInt(CSVRecordReader.SKIP_NUM_LINES, this.skipNumLines);
+        this.csvParser = new SerializableCSVParser(conf.getChar(CSVRecordReader.DELIMITER, CSVRecordReader.DEFAULT_DELIMITER),
+                conf.getChar(CSVRecordReader.QUOTE, CSVRecordReader.DEFAULT_QUOTE));
+        super.initialize(conf, split);
+    }
+
+    @Override
+    protected List<Writable> parseLine(String line) {
+        String[] split;
+        try {
+            split = csvParser.parseLine(line);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        List<Writable> ret = new ArrayList<>(split.length);
+        for (String s : split) {
+            ret.add(new Text(s));
+        }
+        return ret;
+    }
+}
@@ -219,6 +219,20 @@ public class FileSplit extends BaseInputSplit {
         return rootDir;
     }
 
+    /**
+     * @return The allowed file extensions, or null if all files are allowed
+     */
+    public String[] getAllowFormat() {
+        return allowFormat;
+    }
+
+    /**
+     * @return True if subdirectories of the root directory are included
+     */
+    public boolean isRecursive() {
+        return recursive;
+    }
+
     private List<File> listFiles(File dir, String[] allowedFormats, boolean recursive) {
         Preconditions.checkState(dir.isDirectory(), "Argument is not a directory: %s", dir);
         IOFileFilter filter;
@@ -0,0 +1,168 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.datavec.api.records.reader.impl;
+
+import org.apache.commons.io.FileUtils;
+import org.datavec.api.records.reader.impl.csv.TailingCSVRecordReader;
+import org.datavec.api.split.FileSplit;
+import org.datavec.api.writable.Text;
+import org.datavec.api.writable.Writable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.nd4j.common.tests.BaseND4JTest;
+import org.nd4j.common.tests.tags.TagNames;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tailing Line Record Reader Test")
+@Tag(TagNames.JAVA_ONLY)
+@Tag(TagNames.FILE_IO)
+class TailingLineRecordReaderTest extends BaseND4JTest {
+
+    @Test
+    @DisplayName("Test Appended Lines And New Files")
+    void testAppendedLinesAndNewFiles(@TempDir Path tmpDir) throws Exception {
+        File dir = new File(tmpDir.toFile(), "data");
+        assertTrue(dir.mkdirs());
+
+        TailingLineRecordReader rr = new TailingLineRecordReader();
+        rr.initialize(new FileSplit(dir));
+        //Empty directory: no data yet, but no exception either
+        assertFalse(rr.hasNext());
+
+        File f1 = new File(dir, "a.txt");
+        append(f1, "1\n2\n3");
+        assertEquals(Arrays.asList("1", "2"), readAll(rr));
+
+        //Complete the partial line, and append another
+        append(f1, "\n4\n");
+        assertEquals(Arrays.asList("3", "4"), readAll(rr));
+        assertEquals(f1.length(), rr.getOffset(f1));
+
+        File f2 = new File(dir, "b.txt");
+        append(f2, "5\r\n6\n");
+        append(f1, "7\n");
+        List<String> l = readAll(rr);
+        Collections.sort(l);
+        assertEquals(Arrays.asList("5", "6", "7"), l);
+        assertFalse(rr.hasNext());
+    }
+
+    @Test
+    @DisplayName("Test Checkpoint Resume")
+    void testCheckpointResume(@TempDir Path tmpDir) throws Exception {
+        File dir = new File(tmpDir.toFile(), "data");
+        assertTrue(dir.mkdirs());
+        File checkpoint = new File(tmpDir.toFile(), "checkpoint.properties");
+        File f = new File(dir, "log.txt");
+        append(f, "1\n2\n3\n");
+
+        TailingLineRecordReader rr = new TailingLineRecordReader(checkpoint);
+        rr.initialize(new FileSplit(dir));
+        assertTrue(rr.hasNext());
+        assertEquals("1", rr.next().get(0).toString());
+        assertEquals("2", rr.next().get(0).toString());
+        rr.close();
+        assertTrue(checkpoint.exists());
+
+        //Line 3 was read from the file but never returned, so should be returned after resuming
+        append(f, "4\n");
+        TailingLineRecordReader rr2 = new TailingLineRecordReader(checkpoint);
+        rr2.initialize(new FileSplit(dir));
+        assertEquals(Arrays.asList("3", "4"), readAll(rr2));
+        rr2.close();
+
+        //Truncated file should be read again from the start
+        FileUtils.writeStringToFile(f, "x\n", StandardCharsets.UTF_8);
+        TailingLineRecordReader rr3 = new TailingLineRecordReader(checkpoint);
+        rr3.initialize(new FileSplit(dir));
+        assertEquals(Collections.singletonList("x"), readAll(rr3));
+    }
+
+    @Test
+    @DisplayName("Test Max Wait")
+    void testMaxWait(@TempDir Path tmpDir) throws Exception {
+        File dir = tmpDir.toFile();
+        File f = new File(dir, "log.txt");
+        TailingLineRecordReader rr = new TailingLineRecordReader();
+        rr.setPollIntervalMs(10);
+        rr.setMaxWaitMs(5000);
+        rr.initialize(new FileSplit(dir));
+
+        Thread t = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+                append(f, "1\n");
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        t.start();
+        assertTrue(rr.hasNext());
+        assertEquals("1", rr.next().get(0).toString());
+        t.join();
+    }
+
+    @Test
+    @DisplayName("Test Tailing CSV")
+    void testTailingCSV(@TempDir Path tmpDir) throws Exception {
+        File dir = tmpDir.toFile();
+        File f1 = new File(dir, "a.csv");
+        File f2 = new File(dir, "b.csv");
+        append(f1, "x,y,label\n1,2,0\n");
+        append(f2, "x,y,label\n");
+
+        TailingCSVRecordReader rr = new TailingCSVRecordReader(null, 1, ',');
+        rr.initialize(new FileSplit(dir));
+        assertTrue(rr.hasNext());
+        assertEquals(Arrays.<Writable>asList(new Text("1"), new Text("2"), new Text("0")), rr.next());
+        assertFalse(rr.hasNext());
+
+        append(f2, "3,4,1\n");
+        assertTrue(rr.hasNext());
+        assertEquals(Arrays.<Writable>asList(new Text("3"), new Text("4"), new Text("1")), rr.next());
+        assertFalse(rr.hasNext());
+    }
+
+    private static List<String> readAll(TailingLineRecordReader rr) {
+        List<String> out = new ArrayList<>();
+        while (rr.hasNext()) {
+            List<Writable> l = rr.next();
+            assertEquals(1, l.size());
+            out.add(l.get(0).toString());
+        }
+        return out;
+    }
+
+    private static void append(File f, String content) throws Exception {
+        FileUtils.writeStringToFile(f, content, StandardCharsets.UTF_8, true);
+    }
+}
@@ -38,6 +38,13 @@ import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.FieldType;
 import org.apache.arrow.vector.util.ByteArrayReadableSeekableByteChannel;
+import org.bytedeco.javacpp.BytePointer;
+import org.bytedeco.javacpp.DoublePointer;
+import org.bytedeco.javacpp.FloatPointer;
+import org.bytedeco.javacpp.IntPointer;
+import org.bytedeco.javacpp.LongPointer;
+import org.bytedeco.javacpp.Pointer;
+import org.bytedeco.javacpp.ShortPointer;
 import org.datavec.api.transform.ColumnType;
 import org.datavec.api.transform.metadata.*;
 import org.datavec.api.transform.schema.Schema;
@@ -192,6 +199,74 @@ public class ArrowConverter {
         return Nd4j.create(buffer,new int[] {cols,1});
     }
 
+    /**
+     * Create a column vector view of a range of rows of a field vector, without copying: the returned array's
+     * data buffer points directly at the Arrow vector's memory.<br>
+     * This is only possible for fixed width numeric vectors (float, double, int, long, short and byte) without
+     * null values; null is returned otherwise.<br>
+     * Note that the returned array is only valid while the field vector's memory has not been released.
+     * Use {@link INDArray#dup()} if the array needs to outlive the vector.
+     *
+     * @param fieldVector the field vector to create the view for
+     * @param rowOffset   the first row of the view
+     * @param numRows     the number of rows in the view
+     * @return a column vector of shape [numRows, 1], or null if a zero-copy view is not possible for the vector
+     */
+    public static INDArray toArrayView(FieldVector fieldVector, int rowOffset, int numRows) {
+        DataType dataType = viewDataType(fieldVector);
+        if(dataType == null || fieldVector.getNullCount() > 0 || numRows <= 0)
+            return null;
+
+        int width = Nd4j.sizeOfDataType(dataType);
+        ByteBuffer direct = fieldVector.getDataBuffer().nioBuffer((long) rowOffset * width, numRows * width);
+        direct.order(ByteOrder.nativeOrder());
+        Pointer pointer;
+        switch(dataType) {
+            case FLOAT:
+                pointer = new FloatPointer(direct.asFloatBuffer());
+                break;
+            case DOUBLE:
+                pointer = new DoublePointer(direct.asDoubleBuffer());
+                break;
+            case INT:
+                pointer = new IntPointer(direct.asIntBuffer());
+                break;
+            case LONG:
+                pointer = new LongPointer(direct.asLongBuffer());
+                break;
+            case SHORT:
+                pointer = new ShortPointer(direct.asShortBuffer());
+                break;
+            default:
+                pointer = new BytePointer(direct);
+                break;
+        }
+
+        DataBuffer buffer = Nd4j.createBuffer(pointer, numRows, dataType);
+        return Nd4j.create(buffer, new long[] {numRows, 1});
+    }
+
+    /**
+     * @return the ND4J data type that the field vector's data buffer can be viewed as, or null if the vector
+     * is not a fixed width numeric vector
+     */
+    public static DataType viewDataType(FieldVector fieldVector) {
+        if(fieldVector instanceof Float4Vector)
+            return DataType.FLOAT;
+        else if(fieldVector instanceof Float8Vector)
+            return DataType.DOUBLE;
+        //DataVec integer and long columns are written as unsigned Arrow vectors, but hold signed values
+        else if(fieldVector instanceof IntVector || fieldVector instanceof UInt4Vector)
+            return DataType.INT;
+        else if(fieldVector instanceof BigIntVector || fieldVector instanceof UInt8Vector)
+            return DataType.LONG;
+        else if(fieldVector instanceof SmallIntVector)
+            return DataType.SHORT;
+        else if(fieldVector instanceof TinyIntVector)
+            return DataType.BYTE;
+        return null;
+    }
+
 
     /**
      * Convert an {@link INDArray}
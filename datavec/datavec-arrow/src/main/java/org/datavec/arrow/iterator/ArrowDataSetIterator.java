@@ -0,0 +1,498 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.datavec.arrow.iterator;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.datavec.api.transform.ColumnType;
+import org.datavec.api.transform.metadata.CategoricalMetaData;
+import org.datavec.api.transform.schema.Schema;
+import org.datavec.arrow.ArrowConverter;
+import org.datavec.arrow.recordreader.ArrowRecordReader;
+import org.datavec.arrow.recordreader.ArrowWritableRecordBatch;
+import org.nd4j.common.base.Preconditions;
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.dataset.api.DataSetPreProcessor;
+import org.nd4j.linalg.dataset.api.iterator.DataSetIterator;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.indexing.NDArrayIndex;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A DataSetIterator that creates feature and label minibatches directly from the Arrow column vectors read by an
+ * {@link ArrowRecordReader}, instead of converting each row to a List&lt;Writable&gt; and copying the values one at a
+ * time (as {@code RecordReaderDataSetIterator} does).<br>
+ * <br>
+ * For each minibatch, each numeric column (float, double, int, long, short or byte) is transferred with a single bulk
+ * copy (with type conversion, if required) from the Arrow vector into the feature or label array. When {@code zeroCopy}
+ * is enabled and a minibatch consists of a single column from a single Arrow record batch whose type matches the
+ * iterator's data type, the returned array points directly at the Arrow memory and no copy is made at all. Such arrays
+ * are only valid until the record reader is closed; use {@link INDArray#dup()} if they need to be retained.<br>
+ * <br>
+ * Columns with null values and boolean columns are supported via a slower per-value copy. For classification, the
+ * label column may be an integer column with values 0 to numClasses-1, or a categorical or string column. For
+ * categorical and string columns, the class index is the position of the value in the label names provided via
+ * {@link Builder#classification(int, List)}, or (for categorical columns) in the column's state names.
+ */
+public class ArrowDataSetIterator implements DataSetIterator {
+
+    protected final ArrowRecordReader recordReader;
+    protected final int batchSize;
+    protected int labelIndex = -1;
+    protected int labelIndexTo = -1;
+    protected int numPossibleLabels = -1;
+    protected boolean regression = false;
+    protected List<String> labelNames;
+    @Getter
+    protected DataType dataType;
+    @Getter
+    protected boolean zeroCopy = false;
+    @Getter
+    protected DataSetPreProcessor preProcessor;
+
+    protected Schema schema;
+    protected int[] featureColumns;
+    protected ArrowWritableRecordBatch current;
+    protected int currentIdx;
+
+    /**
+     * Constructor for classification. This will convert the input class index (at column labelIndex, with integer
+     * values 0 to numPossibleLabels-1 inclusive, or a categorical column) to a one-hot labels representation.
+     *
+     * @param recordReader      Arrow record reader to get data from. Should be initialized
+     * @param batchSize         Minibatch size
+     * @param labelIndex        Column index of the class label
+     * @param numPossibleLabels Number of classes for classification
+     */
+    public ArrowDataSetIterator(@NonNull ArrowRecordReader recordReader, int batchSize, int labelIndex, int numPossibleLabels) {
+        this(recordReader, batchSize, labelIndex, labelIndex, numPossibleLabels, false, Nd4j.defaultFloatingPointType(), false);
+    }
+
+    /**
+     * Main constructor
+     *
+     * @param recordReader      Arrow record reader to get data from. Should be initialized
+     * @param batchSize         Minibatch size - number of examples returned for each call of .next()
+     * @param labelIndexFrom    the index of the label (for classification), or the first index of the labels for
+     *                          multi-output regression. -1 for no labels
+     * @param labelIndexTo      only used if regression == true. The last index <i>inclusive</i> of the multi-output regression
+     * @param numPossibleLabels the number of possible labels for classification. Not used if regression == true
+     * @param regression        if true: regression. If false: classification
+     * @param dataType          Data type for the feature and label arrays
+     * @param zeroCopy          If true: return arrays that point directly at the Arrow memory where possible. See class javadoc
+     */
+    public ArrowDataSetIterator(@NonNull ArrowRecordReader recordReader, int batchSize, int labelIndexFrom, int labelIndexTo,
+                                int numPossibleLabels, boolean regression, @NonNull DataType dataType, boolean zeroCopy) {
+        Preconditions.checkArgument(batchSize > 0, "Batch size must be positive, got %s", batchSize);
+        Preconditions.checkArgument(dataType.isFPType(), "Data type must be a floating point type, got %s", dataType);
+        Preconditions.checkArgument(labelIndexFrom < 0 || regression || numPossibleLabels > 0,
+                "Number of possible labels must be positive for classification, got %s", numPossibleLabels);
+        this.recordReader = recordReader;
+        this.batchSize = batchSize;
+        this.labelIndex = labelIndexFrom;
+        this.labelIndexTo = regression ? labelIndexTo : labelIndexFrom;
+        this.numPossibleLabels = numPossibleLabels;
+        this.regression = regression;
+        this.dataType = dataType;
+        this.zeroCopy = zeroCopy;
+    }
+
+    protected ArrowDataSetIterator(Builder b) {
+        this(b.recordReader, b.batchSize, b.labelIndex, b.labelIndexTo, b.numPossibleLabels, b.regression, b.dataType, b.zeroCopy);
+        this.labelNames = b.labelNames;
+        this.preProcessor = b.preProcessor;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return (current != null && currentIdx < current.size()) || recordReader.hasNext();
+    }
+
+    @Override
+    public DataSet next() {
+        return next(batchSize);
+    }
+
+    @Override
+    public DataSet next(int num) {
+        List<Segment> segments = new ArrayList<>();
+        int total = 0;
+        while (total < num) {
+            if (current == null || currentIdx >= current.size()) {
+                if (!recordReader.hasNext())
+                    break;
+                loadNextBatch();
+                continue;
+            }
+            int n = Math.min(num - total, current.size() - currentIdx);
+            segments.add(new Segment(current, currentIdx, n));
+            currentIdx += n;
+            total += n;
+        }
+        if (total == 0)
+            throw new NoSuchElementException("No next element");
+
+        INDArray features = columns(segments, total, featureColumns);
+        INDArray labels = null;
+        if (labelIndex >= 0) {
+            if (regression) {
+                int[] labelColumns = new int[labelIndexTo - labelIndex + 1];
+                for (int i = 0; i < labelColumns.length; i++) {
+                    labelColumns[i] = labelIndex + i;
+                }
+                labels = columns(segments, total, labelColumns);
+            } else {
+                labels = oneHot(segments, total);
+            }
+        }
+
+        DataSet ds = new DataSet(features, labels);
+        if (preProcessor != null)
+            preProcessor.preProcess(ds);
+        return ds;
+    }
+
+    protected void loadNextBatch() {
+        current = recordReader.nextBatch();
+        currentIdx = 0;
+        if (schema == null)
+            initSchema(current.getSchema());
+    }
+
+    protected void initSchema(Schema schema) {
+        int numColumns = schema.numColumns();
+        Preconditions.checkState(labelIndex < numColumns && labelIndexTo < numColumns, "Label column indices [%s, %s] " +
+                "are invalid for schema with %s columns", labelIndex, labelIndexTo, numColumns);
+        int numLabelColumns = labelIndex < 0 ? 0 : labelIndexTo - labelIndex + 1;
+        int[] features = new int[numColumns - numLabelColumns];
+        int j = 0;
+        for (int i = 0; i < numColumns; i++) {
+            if (labelIndex >= 0 && i >= labelIndex && i <= labelIndexTo)
+                continue;
+            checkNumeric(schema, i);
+            features[j++] = i;
+        }
+        if (regression) {
+            for (int i = labelIndex; i <= labelIndexTo; i++) {
+                checkNumeric(schema, i);
+            }
+        } else if (labelIndex >= 0) {
+            ColumnType type = schema.getType(labelIndex);
+            if (type == ColumnType.String) {
+                Preconditions.checkState(labelNames != null, "Label column %s (\"%s\") is a String column: label " +
+                        "names must be provided for classification", labelIndex, schema.getName(labelIndex));
+            } else if (type != ColumnType.Categorical) {
+                checkNumeric(schema, labelIndex);
+            }
+        }
+        this.schema = schema;
+        this.featureColumns = features;
+    }
+
+    private static void checkNumeric(Schema schema, int column) {
+        ColumnType type = schema.getType(column);
+        switch (type) {
+            case Integer:
+            case Long:
+            case Float:
+            case Double:
+            case Boolean:
+                return;
+            default:
+                throw new IllegalStateException("Column " + column + " (\"" + schema.getName(column) + "\") has type " +
+                        type + ", only numerical and boolean columns are supported for features and regression labels");
+        }
+    }
+
+    /**
+     * Create an array of shape [total, columns.length] with the values of the specified columns
+     */
+    protected INDArray columns(List<Segment> segments, int total, int[] columns) {
+        if (zeroCopy && columns.length == 1 && segments.size() == 1) {
+            Segment s = segments.get(0);
+            INDArray view = ArrowConverter.toArrayView(s.vector(columns[0]), s.offset(), s.count);
+            if (view != null && view.dataType() == dataType)
+                return view;
+        }
+
+        INDArray out = Nd4j.createUninitialized(dataType, total, columns.length);
+        int row = 0;
+        for (Segment s : segments) {
+            for (int j = 0; j < columns.length; j++) {
+                FieldVector v = s.vector(columns[j]);
+                INDArray target = out.get(NDArrayIndex.interval(row, row + s.count), NDArrayIndex.point(j));
+                INDArray view = ArrowConverter.toArrayView(v, s.offset(), s.count);
+                if (view != null) {
+                    target.assign(view.reshape(s.count));
+                } else {
+                    for (int i = 0; i < s.count; i++) {
+                        target.putScalar(i, numericValue(v, s.offset() + i, columns[j]));
+                    }
+                }
+            }
+            row += s.count;
+        }
+        return out;
+    }
+
+    protected INDArray oneHot(List<Segment> segments, int total) {
+        INDArray out = Nd4j.create(dataType, total, numPossibleLabels);
+        List<String> stateNames = labelNames();
+        int row = 0;
+        for (Segment s : segments) {
+            FieldVector v = s.vector(labelIndex);
+            for (int i = 0; i < s.count; i++) {
+                int idx = s.offset() + i;
+                int classIdx;
+                if (stateNames != null) {
+                    String value = new String(((VarCharVector) v).get(idx), StandardCharsets.UTF_8);
+                    classIdx = stateNames.indexOf(value);
+                    if (classIdx < 0)
+                        throw new IllegalStateException("Invalid label value \"" + value + "\" at row " + (row + i) +
+                                " of minibatch: not one of the label names " + stateNames);
+                } else {
+                    classIdx = (int) numericValue(v, idx, labelIndex);
+                }
+                if (classIdx < 0 || classIdx >= numPossibleLabels) {
+                    throw new IllegalStateException("Invalid classification data: expect label value (at label index " +
+                            "column = " + labelIndex + ") to be in range 0 to " + (numPossibleLabels - 1) +
+                            " inclusive (0 to numClasses-1, with numClasses=" + numPossibleLabels + "); got label value of " + classIdx);
+                }
+                out.putScalar(row + i, classIdx, 1.0);
+            }
+            row += s.count;
+        }
+        return out;
+    }
+
+    private double numericValue(FieldVector v, int idx, int column) {
+        if (v.isNull(idx))
+            throw new IllegalStateException("Null value found in column " + column + " (\"" + schema.getName(column) + "\")");
+        Object o = v.getObject(idx);
+        if (o instanceof Number)
+            return ((Number) o).doubleValue();
+        if (o instanceof Boolean)
+            return ((Boolean) o) ? 1.0 : 0.0;
+        throw new IllegalStateException("Non-numerical value found in column " + column + " (\"" +
+                schema.getName(column) + "\"): " + o);
+    }
+
+    private List<String> labelNames() {
+        ColumnType type = schema.getType(labelIndex);
+        if (type != ColumnType.Categorical && type != ColumnType.String)
+            return null;
+        if (labelNames != null)
+            return labelNames;
+        return ((CategoricalMetaData) schema.getMetaData(labelIndex)).getStateNames();
+    }
+
+    protected void ensureSchema() {
+        if (schema == null) {
+            Preconditions.checkState(hasNext(), "Cannot determine number of columns: no data available");
+            loadNextBatch();
+        }
+    }
+
+    @Override
+    public int inputColumns() {
+        ensureSchema();
+        return featureColumns.length;
+    }
+
+    @Override
+    public int totalOutcomes() {
+        if (labelIndex < 0)
+            return -1;
+        return regression ? labelIndexTo - labelIndex + 1 : numPossibleLabels;
+    }
+
+    @Override
+    public boolean resetSupported() {
+        return recordReader.resetSupported();
+    }
+
+    @Override
+    public boolean asyncSupported() {
+        return true;
+    }
+
+    @Override
+    public void reset() {
+        recordReader.reset();
+        current = null;
+        currentIdx = 0;
+    }
+
+    @Override
+    public int batch() {
+        return batchSize;
+    }
+
+    @Override
+    public void setPreProcessor(DataSetPreProcessor preProcessor) {
+        this.preProcessor = preProcessor;
+    }
+
+    @Override
+    public List<String> getLabels() {
+        if (labelIndex < 0 || regression)
+            return null;
+        if (labelNames != null)
+            return labelNames;
+        ensureSchema();
+        return labelNames();
+    }
+
+    protected static class Segment {
+        protected final ArrowWritableRecordBatch batch;
+        protected final int start;
+        protected final int count;
+
+        protected Segment(ArrowWritableRecordBatch batch, int start, int count) {
+            this.batch = batch;
+            this.start = start;
+            this.count = count;
+        }
+
+        protected FieldVector vector(int column) {
+            return batch.getList().get(column);
+        }
+
+        protected int offset() {
+            return batch.getOffset() + start;
+        }
+    }
+
+    /**
+     * Builder class for ArrowDataSetIterator
+     */
+    public static class Builder {
+
+        protected ArrowRecordReader recordReader;
+        protected int batchSize;
+        protected int labelIndex = -1;
+        protected int labelIndexTo = -1;
+        protected int numPossibleLabels = -1;
+        protected boolean regression = false;
+        protected List<String> labelNames;
+        protected DataType dataType = Nd4j.defaultFloatingPointType();
+        protected boolean zeroCopy = false;
+        protected DataSetPreProcessor preProcessor;
+
+        /**
+         * @param rr        Underlying Arrow record reader to source data from
+         * @param batchSize Batch size to use
+         */
+        public Builder(@NonNull ArrowRecordReader rr, int batchSize) {
+            this.recordReader = rr;
+            this.batchSize = batchSize;
+        }
+
+        /**
+         * Use this for single output regression (i.e., 1 output/regression target)
+         *
+         * @param labelIndex Column index that contains the regression target (indexes start at 0)
+         */
+        public Builder regression(int labelIndex) {
+            return regression(labelIndex, labelIndex);
+        }
+
+        /**
+         * Use this for multiple output regression (1 or more output/regression targets). Note that all regression
+         * targets must be contiguous (i.e., positions x to y, without gaps)
+         *
+         * @param labelIndexFrom Column index of the first regression target (indexes start at 0)
+         * @param labelIndexTo   Column index of the last regression target (inclusive)
+         */
+        public Builder regression(int labelIndexFrom, int labelIndexTo) {
+            this.labelIndex = labelIndexFrom;
+            this.labelIndexTo = labelIndexTo;
+            this.regression = true;
+            return this;
+        }
+
+        /**
+         * Use this for classification
+         *
+         * @param labelIndex Column index that contains the class: an integer column with values 0 to numClasses-1,
+         *                   or a categorical column
+         * @param numClasses Number of label classes (i.e., number of categories/classes in the dataset)
+         */
+        public Builder classification(int labelIndex, int numClasses) {
+            this.labelIndex = labelIndex;
+            this.labelIndexTo = labelIndex;
+            this.numPossibleLabels = numClasses;
+            this.regression = false;
+            return this;
+        }
+
+        /**
+         * Use this for classification with a categorical or string label column
+         *
+         * @param labelIndex Column index that contains the class
+         * @param labelNames Names of the classes. The class index of each example is the position of the column value
+         *                   in this list
+         */
+        public Builder classification(int labelIndex, @NonNull List<String> labelNames) {
+            classification(labelIndex, labelNames.size());
+            this.labelNames = labelNames;
+            return this;
+        }
+
+        /**
+         * Data type for the feature and label arrays. Defaults to {@link Nd4j#defaultFloatingPointType()}
+         */
+        public Builder dataType(@NonNull DataType dataType) {
+            this.dataType = dataType;
+            return this;
+        }
+
+        /**
+         * If true: where the layout and data type allow, return feature/label arrays that point directly at the Arrow
+         * memory instead of copying. Such arrays are only valid until the record reader is closed. Disabled by default
+         */
+        public Builder zeroCopy(boolean zeroCopy) {
+            this.zeroCopy = zeroCopy;
+            return this;
+        }
+
+        /**
+         * Optional arg. Allows the preprocessor to be set
+         * @param preProcessor Preprocessor to use
+         */
+        public Builder preProcessor(DataSetPreProcessor preProcessor) {
+            this.preProcessor = preProcessor;
+            return this;
+        }
+
+        public ArrowDataSetIterator build() {
+            return new ArrowDataSetIterator(this);
+        }
+    }
+}
@@ -111,6 +111,27 @@ public class ArrowRecordReader implements RecordReader {
 
     }
 
+    /**
+     * Return all remaining records of the current Arrow record batch (or, if the current batch has been fully
+     * consumed, the next record batch) as a single {@link ArrowWritableRecordBatch}, without converting them to
+     * individual records. This allows the underlying Arrow column vectors to be used directly.<br>
+     * Note that the returned batch is only valid until this record reader is closed.
+     *
+     * @return The remaining records of the current record batch
+     */
+    public ArrowWritableRecordBatch nextBatch() {
+        if (currentBatch == null || currIdx >= currentBatch.size()) {
+            loadNextBatch();
+            currIdx = 0;
+        }
+
+        ArrowWritableRecordBatch ret = currIdx == 0 ? currentBatch :
+                new ArrowWritableRecordBatch(currentBatch.getList(), currentBatch.getSchema(),
+                        currentBatch.getOffset() + currIdx, currentBatch.size() - currIdx);
+        currIdx = currentBatch.size();
+        return ret;
+    }
+
     private void loadNextBatch() {
         String url = pathsIter.next();
         try (InputStream inputStream = split.openInputStreamFor(url)) {
@@ -134,7 +155,7 @@ public class ArrowRecordReader implements RecordReader {
 
     @Override
     public boolean hasNext() {
-        return pathsIter.hasNext() || currIdx < this.currentBatch.size();
+        return pathsIter.hasNext() || (currentBatch != null && currIdx < this.currentBatch.size());
     }
 
     @Override
@@ -146,7 +167,10 @@ public class ArrowRecordReader implements RecordReader {
     public void reset() {
         if(split != null) {
             split.reset();
+            this.pathsIter = split.locationsPathIterator();
         }
+        this.currentBatch = null;
+        this.currIdx = 0;
     }
 
     @Override
@@ -0,0 +1,168 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.datavec.arrow.iterator;
+
+import org.datavec.api.split.FileSplit;
+import org.datavec.api.transform.schema.Schema;
+import org.datavec.api.writable.*;
+import org.datavec.arrow.ArrowConverter;
+import org.datavec.arrow.recordreader.ArrowRecordReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.nd4j.common.tests.BaseND4JTest;
+import org.nd4j.common.tests.tags.TagNames;
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Arrow DataSet Iterator Test")
+@Tag(TagNames.JAVA_ONLY)
+@Tag(TagNames.FILE_IO)
+class ArrowDataSetIteratorTest extends BaseND4JTest {
+
+    @TempDir
+    public Path testDir;
+
+    @Test
+    @DisplayName("Test Classification")
+    void testClassification() throws Exception {
+        Schema schema = new Schema.Builder()
+                .addColumnDouble("x0")
+                .addColumnFloat("x1")
+                .addColumnInteger("label")
+                .build();
+        File dir = testDir.toFile();
+        //Two files, so minibatches span Arrow record batches
+        write(new File(dir, "a.arrow"), schema, records(0, 3));
+        write(new File(dir, "b.arrow"), schema, records(3, 5));
+
+        ArrowRecordReader rr = new ArrowRecordReader();
+        rr.initialize(new FileSplit(dir, new String[]{"arrow"}));
+        ArrowDataSetIterator iter = new ArrowDataSetIterator(rr, 2, 2, 3);
+        assertEquals(2, iter.inputColumns());
+        assertEquals(3, iter.totalOutcomes());
+
+        List<DataSet> list = new ArrayList<>();
+        while (iter.hasNext()) {
+            list.add(iter.next());
+        }
+        assertEquals(3, list.size());
+        DataSet all = DataSet.merge(list);
+
+        INDArray expFeatures = Nd4j.create(new double[][]{{0, 0.5}, {1, 1.5}, {2, 2.5}, {3, 3.5}, {4, 4.5}}).castTo(DataType.FLOAT);
+        INDArray expLabels = Nd4j.create(new double[][]{{1, 0, 0}, {0, 1, 0}, {0, 0, 1}, {1, 0, 0}, {0, 1, 0}}).castTo(DataType.FLOAT);
+        assertEquals(expFeatures, all.getFeatures());
+        assertEquals(expLabels, all.getLabels());
+
+        iter.reset();
+        assertTrue(iter.hasNext());
+        assertEquals(2, iter.next().numExamples());
+    }
+
+    @Test
+    @DisplayName("Test String Labels")
+    void testStringLabels() throws Exception {
+        Schema schema = new Schema.Builder()
+                .addColumnCategorical("cat", "a", "b")
+                .addColumnDouble("y0")
+                .addColumnDouble("y1")
+                .build();
+        List<List<Writable>> records = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            records.add(Arrays.<Writable>asList(new Text(i % 2 == 0 ? "a" : "b"), new DoubleWritable(i), new DoubleWritable(-i)));
+        }
+        File f = new File(testDir.toFile(), "c.arrow");
+        write(f, schema, records);
+
+        ArrowRecordReader rr = new ArrowRecordReader();
+        rr.initialize(new FileSplit(f));
+        ArrowDataSetIterator iter = new ArrowDataSetIterator.Builder(rr, 4)
+                .classification(0, Arrays.asList("a", "b"))
+                .dataType(DataType.DOUBLE)
+                .build();
+        assertEquals(Arrays.asList("a", "b"), iter.getLabels());
+        DataSet ds = iter.next();
+        assertEquals(Nd4j.create(new double[][]{{0, 0}, {1, -1}, {2, -2}, {3, -3}}), ds.getFeatures());
+        assertEquals(Nd4j.create(new double[][]{{1, 0}, {0, 1}, {1, 0}, {0, 1}}), ds.getLabels());
+        assertFalse(iter.hasNext());
+
+        rr = new ArrowRecordReader();
+        rr.initialize(new FileSplit(f));
+        ArrowDataSetIterator regIter = new ArrowDataSetIterator.Builder(rr, 4).regression(0, 1).build();
+        assertThrows(IllegalStateException.class, regIter::next, "Non-numerical column should not be allowed as a regression label");
+    }
+
+    @Test
+    @DisplayName("Test Zero Copy")
+    void testZeroCopy() throws Exception {
+        Schema schema = new Schema.Builder()
+                .addColumnFloat("x")
+                .addColumnFloat("y")
+                .build();
+        List<List<Writable>> records = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            records.add(Arrays.<Writable>asList(new FloatWritable(i), new FloatWritable(10 * i)));
+        }
+        File f = new File(testDir.toFile(), "d.arrow");
+        write(f, schema, records);
+
+        ArrowRecordReader rr = new ArrowRecordReader();
+        rr.initialize(new FileSplit(f));
+        ArrowDataSetIterator iter = new ArrowDataSetIterator.Builder(rr, 4)
+                .regression(1)
+                .dataType(DataType.FLOAT)
+                .zeroCopy(true)
+                .build();
+        DataSet ds = iter.next();
+        assertEquals(Nd4j.create(new float[]{0, 1, 2, 3}, 4, 1), ds.getFeatures());
+        assertEquals(Nd4j.create(new float[]{0, 10, 20, 30}, 4, 1), ds.getLabels());
+        assertEquals(ds.getFeatures().data().address(),
+                ArrowConverter.toArrayView(rr.getCurrentBatch().getList().get(0), 0, 4).data().address());
+        rr.close();
+    }
+
+    private static List<List<Writable>> records(int from, int to) {
+        List<List<Writable>> out = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            out.add(Arrays.<Writable>asList(new DoubleWritable(i), new FloatWritable(i + 0.5f), new IntWritable(i % 3)));
+        }
+        return out;
+    }
+
+    private static void write(File f, Schema schema, List<List<Writable>> records) throws Exception {
+        try (OutputStream os = new FileOutputStream(f)) {
+            ArrowConverter.writeRecordBatchTo(records, schema, os);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.datavec.benchmarks;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+
+/**
+ * Entry point for the shaded benchmark jar. Arguments are standard JMH command line options (run with {@code -h} for
+ * details). Fixture data is generated in a temporary directory when each benchmark trial starts.<br>
+ * Throughput benchmarks report passes over the fixture data per second as the primary result, with records/sec
+ * ("records") and MB/sec ("megabytes") as secondary results.<br>
+ * Examples:
+ * <pre>
+ * java -jar datavec-benchmarks.jar                                          # All benchmarks
+ * java -jar datavec-benchmarks.jar RecordReader -p format=CSV               # CSV reader only
+ * java -jar datavec-benchmarks.jar Transform -p numRecords=100000 -rf json  # Larger dataset, JSON results for tracking
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new CommandLineOptions(args)).run();
+    }
+}
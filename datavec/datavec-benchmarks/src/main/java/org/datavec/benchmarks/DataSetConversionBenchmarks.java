@@ -0,0 +1,114 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.datavec.benchmarks;
+
+import org.datavec.api.records.reader.RecordReader;
+import org.datavec.api.records.reader.impl.collection.CollectionRecordReader;
+import org.datavec.api.records.reader.impl.csv.CSVRecordReader;
+import org.datavec.api.records.reader.impl.transform.TransformProcessRecordReader;
+import org.datavec.api.split.FileSplit;
+import org.datavec.api.transform.TransformProcess;
+import org.datavec.api.writable.Writable;
+import org.datavec.local.transforms.LocalTransformExecutor;
+import org.deeplearning4j.datasets.datavec.RecordReaderDataSetIterator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of records to minibatch DataSets with {@link RecordReaderDataSetIterator}: either from in-memory records
+ * (conversion cost only) or end to end from a CSV file via a TransformProcess (typical ETL pipeline). The categorical
+ * column is removed so that all remaining columns are numeric, with a one-hot class label.
+ * MB/sec is relative to the size of the records in CSV format; see {@link ThroughputCounters}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DataSetConversionBenchmarks {
+
+    public enum Source {
+        /**
+         * CollectionRecordReader over pre-processed, typed records
+         */
+        MEMORY,
+        /**
+         * CSVRecordReader and TransformProcessRecordReader over the CSV fixture file
+         */
+        CSV
+    }
+
+    @Param({"MEMORY", "CSV"})
+    public Source source;
+
+    @Param({"32", "256"})
+    public int batchSize;
+
+    @Param({"10000"})
+    public int numRecords;
+
+    private File dir;
+    private long csvBytes;
+    private RecordReader reader;
+    private RecordReaderDataSetIterator iterator;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        TransformProcess tp = new TransformProcess.Builder(FixtureData.schema())
+                .removeColumns("category")
+                .build();
+        List<List<Writable>> records = FixtureData.records(numRecords);
+        csvBytes = FixtureData.csvBytes(records);
+        if (source == Source.MEMORY) {
+            reader = new CollectionRecordReader(LocalTransformExecutor.execute(records, tp));
+        } else {
+            dir = FixtureData.tempDir();
+            File f = FixtureData.writeCsv(dir, numRecords);
+            CSVRecordReader csv = new CSVRecordReader();
+            csv.initialize(new FileSplit(f));
+            reader = new TransformProcessRecordReader(csv, tp);
+        }
+        int labelIndex = FixtureData.NUM_DOUBLE_COLUMNS;
+        iterator = new RecordReaderDataSetIterator(reader, batchSize, labelIndex, FixtureData.NUM_CLASSES);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        reader.close();
+        if (dir != null)
+            FixtureData.delete(dir);
+    }
+
+    @Benchmark
+    public void iterateAll(ThroughputCounters counters, Blackhole bh) {
+        iterator.reset();
+        long n = 0;
+        while (iterator.hasNext()) {
+            n += iterator.next().numExamples();
+        }
+        bh.consume(n);
+        counters.add(n, csvBytes);
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.datavec.benchmarks;
+
+import org.apache.commons.io.FileUtils;
+import org.datavec.api.transform.schema.Schema;
+import org.datavec.api.writable.DoubleWritable;
+import org.datavec.api.writable.IntWritable;
+import org.datavec.api.writable.Text;
+import org.datavec.api.writable.Writable;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates the local fixture data used by the benchmarks. All tabular fixtures contain the same records:
+ * {@link #NUM_DOUBLE_COLUMNS} double columns ("d0", "d1", ...), a categorical column ("category", stored as a string)
+ * and an integer class label ("label"), generated from a fixed seed
+ */
+public class FixtureData {
+    public static final long SEED = 12345;
+    public static final int NUM_DOUBLE_COLUMNS = 8;
+    public static final int NUM_CLASSES = 10;
+    public static final List<String> CATEGORIES = Arrays.asList("red", "green", "blue", "cyan", "magenta");
+    /**
+     * Index of the label column in the tabular records
+     */
+    public static final int LABEL_INDEX = NUM_DOUBLE_COLUMNS + 1;
+
+    private FixtureData() {
+    }
+
+    /**
+     * @return Schema of the tabular fixture records
+     */
+    public static Schema schema() {
+        return new Schema.Builder()
+                .addColumnsDouble("d%d", 0, NUM_DOUBLE_COLUMNS - 1)
+                .addColumnString("category")
+                .addColumnInteger("label")
+                .build();
+    }
+
+    /**
+     * @return Typed (DoubleWritable, Text and IntWritable) tabular records
+     */
+    public static List<List<Writable>> records(int numRecords) {
+        Random r = new Random(SEED);
+        List<List<Writable>> out = new ArrayList<>(numRecords);
+        for (int i = 0; i < numRecords; i++) {
+            List<Writable> record = new ArrayList<>(NUM_DOUBLE_COLUMNS + 2);
+            for (int j = 0; j < NUM_DOUBLE_COLUMNS; j++) {
+                record.add(new DoubleWritable(r.nextGaussian()));
+            }
+            record.add(new Text(CATEGORIES.get(r.nextInt(CATEGORIES.size()))));
+            record.add(new IntWritable(r.nextInt(NUM_CLASSES)));
+            out.add(record);
+        }
+        return out;
+    }
+
+    /**
+     * Write the tabular records as CSV, one record per line with no header
+     */
+    public static File writeCsv(File dir, int numRecords) throws IOException {
+        File f = new File(dir, "records.csv");
+        try (Writer w = writer(f)) {
+            for (List<Writable> record : records(numRecords)) {
+                w.write(toCsvLine(record));
+                w.write('\n');
+            }
+        }
+        return f;
+    }
+
+    /**
+     * @return Size in bytes of the records in CSV format (as written by {@link #writeCsv(File, int)}). Used to report
+     * MB/sec for benchmarks on in-memory records, relative to the equivalent CSV input
+     */
+    public static long csvBytes(List<List<Writable>> records) {
+        long bytes = 0;
+        for (List<Writable> record : records) {
+            bytes += toCsvLine(record).getBytes(StandardCharsets.UTF_8).length + 1;
+        }
+        return bytes;
+    }
+
+    private static String toCsvLine(List<Writable> record) {
+        StringBuilder sb = new StringBuilder();
+        for (int j = 0; j < record.size(); j++) {
+            if (j > 0)
+                sb.append(',');
+            sb.append(record.get(j).toString());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Write the tabular records in LibSVM format: the label followed by 1-based index:value pairs for the double columns.
+     * Features with an absolute value below 0.5 are omitted, so the records are sparse
+     */
+    public static File writeLibSvm(File dir, int numRecords) throws IOException {
+        File f = new File(dir, "records.libsvm");
+        try (Writer w = writer(f)) {
+            for (List<Writable> record : records(numRecords)) {
+                w.write(record.get(LABEL_INDEX).toString());
+                for (int j = 0; j < NUM_DOUBLE_COLUMNS; j++) {
+                    double d = record.get(j).toDouble();
+                    if (Math.abs(d) >= 0.5) {
+                        w.write(' ');
+                        w.write(String.valueOf(j + 1));
+                        w.write(':');
+                        w.write(String.valueOf(d));
+                    }
+                }
+                w.write('\n');
+            }
+        }
+        return f;
+    }
+
+    /**
+     * Write the tabular records as JSON lines: one JSON object per line, with one field per column
+     */
+    public static File writeJsonLines(File dir, int numRecords) throws IOException {
+        File f = new File(dir, "records.jsonl");
+        List<String> names = schema().getColumnNames();
+        try (Writer w = writer(f)) {
+            for (List<Writable> record : records(numRecords)) {
+                w.write('{');
+                for (int j = 0; j < record.size(); j++) {
+                    if (j > 0)
+                        w.write(',');
+                    w.write('"');
+                    w.write(names.get(j));
+                    w.write("\":");
+                    if (record.get(j) instanceof Text) {
+                        w.write('"');
+                        w.write(record.get(j).toString());
+                        w.write('"');
+                    } else {
+                        w.write(record.get(j).toString());
+                    }
+                }
+                w.write("}\n");
+            }
+        }
+        return f;
+    }
+
+    /**
+     * Write random noise RGB PNG images, split evenly between {@code numClasses} subdirectories ("class0", "class1", ...)
+     * so that the parent directory can be used as the label
+     *
+     * @return The root directory of the images
+     */
+    public static File writeImages(File dir, int numImages, int numClasses, int height, int width) throws IOException {
+        File root = new File(dir, "images");
+        Random r = new Random(SEED);
+        for (int i = 0; i < numImages; i++) {
+            File classDir = new File(root, "class" + (i % numClasses));
+            if (!classDir.exists() && !classDir.mkdirs())
+                throw new IOException("Could not create directory: " + classDir.getAbsolutePath());
+            BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    img.setRGB(x, y, r.nextInt(0x1000000));
+                }
+            }
+            ImageIO.write(img, "png", new File(classDir, "image_" + i + ".png"));
+        }
+        return root;
+    }
+
+    /**
+     * @return Total size in bytes of the specified file, or of all files in the specified directory
+     */
+    public static long size(File f) {
+        return f.isDirectory() ? FileUtils.sizeOfDirectory(f) : f.length();
+    }
+
+    /**
+     * @return A new temporary directory for fixture data, deleted on JVM exit
+     */
+    public static File tempDir() throws IOException {
+        File dir = Files.createTempDirectory("datavec-benchmarks").toFile();
+        dir.deleteOnExit();
+        return dir;
+    }
+
+    /**
+     * Delete a fixture directory created by {@link #tempDir()}
+     */
+    public static void delete(File dir) {
+        FileUtils.deleteQuietly(dir);
+    }
+
+    private static Writer writer(File f) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8));
+    }
+}
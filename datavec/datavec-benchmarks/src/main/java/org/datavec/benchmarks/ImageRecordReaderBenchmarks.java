@@ -0,0 +1,83 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.datavec.benchmarks;
+
+import org.datavec.api.io.labels.ParentPathLabelGenerator;
+import org.datavec.api.split.FileSplit;
+import org.datavec.image.loader.NativeImageLoader;
+import org.datavec.image.recordreader.ImageRecordReader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ImageRecordReader throughput: PNG decoding, resizing to {@code size x size} and conversion to an NDArrayWritable,
+ * plus label generation from the parent directory. Each benchmark invocation reads every image in the fixture;
+ * see {@link ThroughputCounters} for the records (images)/sec and MB/sec results
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ImageRecordReaderBenchmarks {
+    public static final int SOURCE_SIZE = 128;
+    public static final int CHANNELS = 3;
+
+    @Param({"200"})
+    public int numImages;
+
+    @Param({"32", "128"})
+    public int size;
+
+    private File dir;
+    private long fileBytes;
+    private ImageRecordReader reader;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        dir = FixtureData.tempDir();
+        File root = FixtureData.writeImages(dir, numImages, FixtureData.NUM_CLASSES, SOURCE_SIZE, SOURCE_SIZE);
+        fileBytes = FixtureData.size(root);
+        reader = new ImageRecordReader(size, size, CHANNELS, new ParentPathLabelGenerator());
+        reader.initialize(new FileSplit(root, NativeImageLoader.ALLOWED_FORMATS, new Random(FixtureData.SEED)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        reader.close();
+        FixtureData.delete(dir);
+    }
+
+    @Benchmark
+    public void readAll(ThroughputCounters counters, Blackhole bh) {
+        reader.reset();
+        long n = 0;
+        while (reader.hasNext()) {
+            bh.consume(reader.next());
+            n++;
+        }
+        counters.add(n, fileBytes);
+    }
+}
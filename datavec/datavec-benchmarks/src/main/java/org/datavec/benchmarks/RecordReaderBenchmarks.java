@@ -0,0 +1,108 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.datavec.benchmarks;
+
+import org.datavec.api.conf.Configuration;
+import org.datavec.api.records.reader.RecordReader;
+import org.datavec.api.records.reader.impl.csv.CSVRecordReader;
+import org.datavec.api.records.reader.impl.jackson.FieldSelection;
+import org.datavec.api.records.reader.impl.jackson.JacksonLineRecordReader;
+import org.datavec.api.records.reader.impl.misc.LibSvmRecordReader;
+import org.datavec.api.records.reader.impl.misc.SVMLightRecordReader;
+import org.datavec.api.split.FileSplit;
+import org.nd4j.shade.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Record reader throughput for the main text formats. Each benchmark invocation reads every record in the fixture
+ * file; see {@link ThroughputCounters} for the records/sec and MB/sec results
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RecordReaderBenchmarks {
+
+    public enum Format {CSV, LIBSVM, JSON}
+
+    @Param({"CSV", "LIBSVM", "JSON"})
+    public Format format;
+
+    @Param({"10000"})
+    public int numRecords;
+
+    private File dir;
+    private long fileBytes;
+    private RecordReader reader;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        dir = FixtureData.tempDir();
+        File f;
+        Configuration conf = new Configuration();
+        switch (format) {
+            case CSV:
+                f = FixtureData.writeCsv(dir, numRecords);
+                reader = new CSVRecordReader();
+                break;
+            case LIBSVM:
+                f = FixtureData.writeLibSvm(dir, numRecords);
+                conf.setInt(SVMLightRecordReader.NUM_FEATURES, FixtureData.NUM_DOUBLE_COLUMNS);
+                conf.setBoolean(SVMLightRecordReader.ZERO_BASED_INDEXING, false);
+                reader = new LibSvmRecordReader();
+                break;
+            case JSON:
+                f = FixtureData.writeJsonLines(dir, numRecords);
+                FieldSelection.Builder fs = new FieldSelection.Builder();
+                for (String name : FixtureData.schema().getColumnNames()) {
+                    fs.addField(name);
+                }
+                reader = new JacksonLineRecordReader(fs.build(), new ObjectMapper());
+                break;
+            default:
+                throw new IllegalStateException("Unknown format: " + format);
+        }
+        fileBytes = f.length();
+        reader.initialize(conf, new FileSplit(f));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        reader.close();
+        FixtureData.delete(dir);
+    }
+
+    @Benchmark
+    public void readAll(ThroughputCounters counters, Blackhole bh) {
+        reader.reset();
+        long n = 0;
+        while (reader.hasNext()) {
+            bh.consume(reader.next());
+            n++;
+        }
+        counters.add(n, fileBytes);
+    }
+}
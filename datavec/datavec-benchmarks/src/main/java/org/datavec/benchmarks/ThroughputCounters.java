@@ -0,0 +1,53 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.datavec.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Secondary benchmark results: number of records and megabytes processed. In throughput mode JMH reports these as
+ * records/sec and MB/sec, alongside the primary result (benchmark invocations, i.e. passes over the fixture data, per second)
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class ThroughputCounters {
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+    public long records;
+    public double megabytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        records = 0;
+        megabytes = 0;
+    }
+
+    /**
+     * Record one pass over the fixture data
+     */
+    public void add(long numRecords, long numBytes) {
+        records += numRecords;
+        megabytes += numBytes / BYTES_PER_MB;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.datavec.benchmarks;
+
+import org.datavec.api.transform.MathFunction;
+import org.datavec.api.transform.MathOp;
+import org.datavec.api.transform.TransformProcess;
+import org.datavec.api.transform.condition.ConditionOp;
+import org.datavec.api.transform.condition.column.DoubleColumnCondition;
+import org.datavec.api.writable.Writable;
+import org.datavec.local.transforms.LocalTransformExecutor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransformProcess execution throughput for common transform chains, both via {@link LocalTransformExecutor} (parallel,
+ * whole dataset) and record by record via {@link TransformProcess#execute(List)} (as used by TransformProcessRecordReader).
+ * MB/sec is relative to the size of the records in CSV format; see {@link ThroughputCounters}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TransformBenchmarks {
+
+    public enum Chain {
+        /**
+         * String to categorical, then categorical to one-hot
+         */
+        CATEGORICAL,
+        /**
+         * Scalar math op, column math op, math function and column removal on the double columns
+         */
+        NUMERIC,
+        /**
+         * Filter out records based on a double column condition
+         */
+        FILTER,
+        /**
+         * All of the above
+         */
+        FULL
+    }
+
+    @Param({"CATEGORICAL", "NUMERIC", "FILTER", "FULL"})
+    public Chain chain;
+
+    @Param({"10000"})
+    public int numRecords;
+
+    private List<List<Writable>> records;
+    private long csvBytes;
+    private TransformProcess tp;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        records = FixtureData.records(numRecords);
+        csvBytes = FixtureData.csvBytes(records);
+        tp = transformProcess(chain);
+    }
+
+    protected static TransformProcess transformProcess(Chain chain) {
+        TransformProcess.Builder b = new TransformProcess.Builder(FixtureData.schema());
+        if (chain == Chain.FILTER || chain == Chain.FULL) {
+            b.filter(new DoubleColumnCondition("d0", ConditionOp.LessThan, -1.0));
+        }
+        if (chain == Chain.NUMERIC || chain == Chain.FULL) {
+            b.doubleMathOp("d1", MathOp.Multiply, 2.0)
+                    .doubleColumnsMathOp("d2plusd3", MathOp.Add, "d2", "d3")
+                    .doubleMathFunction("d4", MathFunction.ABS)
+                    .removeColumns("d5");
+        }
+        if (chain == Chain.CATEGORICAL || chain == Chain.FULL) {
+            b.stringToCategorical("category", FixtureData.CATEGORIES)
+                    .categoricalToOneHot("category");
+        }
+        return b.build();
+    }
+
+    @Benchmark
+    public List<List<Writable>> localExecutor(ThroughputCounters counters) {
+        List<List<Writable>> out = LocalTransformExecutor.execute(records, tp);
+        counters.add(records.size(), csvBytes);
+        return out;
+    }
+
+    @Benchmark
+    public void perRecord(ThroughputCounters counters, Blackhole bh) {
+        for (List<Writable> record : records) {
+            bh.consume(tp.execute(record));
+        }
+        counters.add(records.size(), csvBytes);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.datavec.benchmarks;
+
+import org.datavec.api.writable.Writable;
+import org.datavec.api.writable.WritableFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writable serialization throughput: typed records written to and read from a byte array with
+ * {@link WritableFactory#writeWithType(Writable, DataOutput)} and {@link WritableFactory#readWithType(DataInput)}.
+ * MB/sec is relative to the serialized size; see {@link ThroughputCounters}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class WritableSerializationBenchmarks {
+
+    @Param({"10000"})
+    public int numRecords;
+
+    private List<List<Writable>> records;
+    private byte[] serialized;
+    private ByteArrayOutputStream baos;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        records = FixtureData.records(numRecords);
+        serialized = write(records, new ByteArrayOutputStream());
+        baos = new ByteArrayOutputStream(serialized.length);
+    }
+
+    private static byte[] write(List<List<Writable>> records, ByteArrayOutputStream baos) throws IOException {
+        WritableFactory wf = WritableFactory.getInstance();
+        baos.reset();
+        DataOutputStream dos = new DataOutputStream(baos);
+        dos.writeInt(records.size());
+        for (List<Writable> record : records) {
+            dos.writeInt(record.size());
+            for (Writable w : record) {
+                wf.writeWithType(w, dos);
+            }
+        }
+        dos.flush();
+        return baos.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] serialize(ThroughputCounters counters) throws IOException {
+        byte[] out = write(records, baos);
+        counters.add(records.size(), out.length);
+        return out;
+    }
+
+    @Benchmark
+    public List<List<Writable>> deserialize(ThroughputCounters counters) throws IOException {
+        WritableFactory wf = WritableFactory.getInstance();
+        DataInputStream dis = new DataInputStream(new ByteArrayInputStream(serialized));
+        int n = dis.readInt();
+        List<List<Writable>> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int size = dis.readInt();
+            List<Writable> record = new ArrayList<>(size);
+            for (int j = 0; j < size; j++) {
+                record.add(wf.readWithType(dis));
+            }
+            out.add(record);
+        }
+        counters.add(n, serialized.length);
+        return out;
+    }
+}
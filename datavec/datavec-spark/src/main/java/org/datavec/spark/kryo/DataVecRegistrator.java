@@ -0,0 +1,45 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.datavec.spark.kryo;
+
+import com.esotericsoftware.kryo.Kryo;
+import org.apache.spark.serializer.KryoRegistrator;
+import org.datavec.api.writable.*;
+
+/**
+ * Kryo registrator for DataVec: registers the core writables with the compact {@link WritableSerializer}.<br>
+ * Usage: {@code sparkConf.set("spark.kryo.registrator", DataVecRegistrator.class.getName())}, or
+ * {@link org.datavec.spark.transform.utils.SparkUtils#registerKryoClasses(org.apache.spark.SparkConf)}
+ */
+public class DataVecRegistrator implements KryoRegistrator {
+    @Override
+    public void registerClasses(Kryo kryo) {
+        WritableSerializer serializer = new WritableSerializer();
+        kryo.register(BooleanWritable.class, serializer);
+        kryo.register(ByteWritable.class, serializer);
+        kryo.register(DoubleWritable.class, serializer);
+        kryo.register(FloatWritable.class, serializer);
+        kryo.register(IntWritable.class, serializer);
+        kryo.register(LongWritable.class, serializer);
+        kryo.register(NullWritable.class, serializer);
+        kryo.register(Text.class, serializer);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.datavec.spark.kryo;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.util.ObjectMap;
+import org.datavec.api.writable.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Compact Kryo serializer for the core DataVec writables: values are written as primitives (variable length for
+ * Int and Long), without field metadata.<br>
+ * Text values are dictionary encoded within each serialized object: for example, a categorical value that is repeated
+ * across the time steps of a sequence (or the columns of a record) is only written once, and later occurrences are
+ * written as an index into the dictionary. The dictionary is kept in the Kryo graph context, which is reset after each
+ * top level object, so each record/sequence can still be deserialized independently.
+ */
+public class WritableSerializer extends Serializer<Writable> {
+
+    private static final String TEXT_WRITE_DICTIONARY = "datavec.text.dictionary.write";
+    private static final String TEXT_READ_DICTIONARY = "datavec.text.dictionary.read";
+
+    @Override
+    public void write(Kryo kryo, Output output, Writable w) {
+        switch (w.getType()) {
+            case Boolean:
+                output.writeBoolean(((BooleanWritable) w).get());
+                break;
+            case Byte:
+                output.writeByte(((ByteWritable) w).get());
+                break;
+            case Double:
+                output.writeDouble(((DoubleWritable) w).get());
+                break;
+            case Float:
+                output.writeFloat(((FloatWritable) w).get());
+                break;
+            case Int:
+                output.writeVarInt(((IntWritable) w).get(), false);
+                break;
+            case Long:
+                output.writeVarLong(((LongWritable) w).get(), false);
+                break;
+            case Null:
+                break;
+            case Text:
+                writeText(kryo, output, (Text) w);
+                break;
+            default:
+                throw new UnsupportedOperationException("Writable type not supported by " + getClass().getSimpleName()
+                                + ": " + w.getType());
+        }
+    }
+
+    @Override
+    public Writable read(Kryo kryo, Input input, Class<Writable> type) {
+        Class<?> c = type;
+        if (c == BooleanWritable.class)
+            return new BooleanWritable(input.readBoolean());
+        if (c == ByteWritable.class)
+            return new ByteWritable(input.readByte());
+        if (c == DoubleWritable.class)
+            return new DoubleWritable(input.readDouble());
+        if (c == FloatWritable.class)
+            return new FloatWritable(input.readFloat());
+        if (c == IntWritable.class)
+            return new IntWritable(input.readVarInt(false));
+        if (c == LongWritable.class)
+            return new LongWritable(input.readVarLong(false));
+        if (c == NullWritable.class)
+            return NullWritable.INSTANCE;
+        if (c == Text.class)
+            return readText(kryo, input);
+        throw new UnsupportedOperationException("Writable class not supported by " + getClass().getSimpleName()
+                        + ": " + type);
+    }
+
+    /**
+     * Format: 0 followed by length and UTF-8 bytes for a value not seen before in the current object,
+     * or (index + 1) of a value already written
+     */
+    private void writeText(Kryo kryo, Output output, Text t) {
+        ObjectMap<Text, Integer> dictionary = graphContextValue(kryo, TEXT_WRITE_DICTIONARY, ObjectMap::new);
+
+        Integer idx = dictionary.get(t);
+        if (idx != null) {
+            output.writeVarInt(idx + 1, true);
+            return;
+        }
+
+        //Copy, as the key must not change if the original Text is modified later
+        dictionary.put(new Text(t), dictionary.size);
+        output.writeVarInt(0, true);
+        output.writeVarInt(t.getLength(), true);
+        output.writeBytes(t.getBytes(), 0, t.getLength());
+    }
+
+    private Text readText(Kryo kryo, Input input) {
+        List<Text> dictionary = graphContextValue(kryo, TEXT_READ_DICTIONARY, ArrayList::new);
+
+        int ref = input.readVarInt(true);
+        if (ref > 0) {
+            //New instance for each value, as writables are mutable
+            return new Text(dictionary.get(ref - 1));
+        }
+
+        int length = input.readVarInt(true);
+        Text t = new Text(input.readBytes(length));
+        dictionary.add(t);
+        return new Text(t);
+    }
+
+    /**
+     * Get the value stored in the Kryo graph context for the given key, creating it if it isn't present yet.
+     * Kryo's graph context is untyped, but each key is only ever used with one type of value
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T graphContextValue(Kryo kryo, String key, Supplier<T> factory) {
+        ObjectMap<Object, Object> context = kryo.getGraphContext();
+        T value = (T) context.get(key);
+        if (value == null) {
+            value = factory.get();
+            context.put(key, value);
+        }
+        return value;
+    }
+}
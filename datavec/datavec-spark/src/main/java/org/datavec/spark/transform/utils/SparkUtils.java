@@ -35,6 +35,7 @@ import org.datavec.api.transform.split.RandomSplit;
 import org.datavec.api.transform.split.SplitStrategy;
 import org.datavec.api.transform.ui.HtmlAnalysis;
 import org.datavec.api.writable.*;
+import org.datavec.spark.kryo.DataVecRegistrator;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
@@ -45,6 +46,8 @@ import java.util.List;
 
 public class SparkUtils {
 
+    private static final String KRYO_REGISTRATOR = "spark.kryo.registrator";
+
     public static <T> List<JavaRDD<T>> splitData(SplitStrategy splitStrategy, JavaRDD<T> data, long seed) {
 
         if (splitStrategy instanceof RandomSplit) {
@@ -271,7 +274,8 @@ public class SparkUtils {
     }
 
     /**
-     * Register the DataVec writable classes for Kryo
+     * Register the DataVec writable classes for Kryo, and add {@link DataVecRegistrator} to the Kryo registrators,
+     * so that writables are serialized with the compact {@link org.datavec.spark.kryo.WritableSerializer}
      */
     public static void registerKryoClasses(SparkConf conf) {
         List<Class<?>> classes = Arrays.<Class<?>>asList(BooleanWritable.class, ByteWritable.class,
@@ -279,6 +283,14 @@ public class SparkUtils {
                         NullWritable.class, Text.class);
 
         conf.registerKryoClasses((Class<?>[]) classes.toArray());
+
+        String registrator = DataVecRegistrator.class.getName();
+        String registrators = conf.get(KRYO_REGISTRATOR, "");
+        if (registrators.isEmpty()) {
+            conf.set(KRYO_REGISTRATOR, registrator);
+        } else if (!Arrays.asList(registrators.split(",")).contains(registrator)) {
+            conf.set(KRYO_REGISTRATOR, registrators + "," + registrator);
+        }
     }
 
     public static Class<? extends CompressionCodec> getCompressionCodeClass(String compressionCodecClass) {
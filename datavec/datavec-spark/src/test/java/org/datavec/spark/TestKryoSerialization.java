@@ -20,11 +20,16 @@
 
 package org.datavec.spark;
 
+import org.apache.spark.SparkConf;
+import org.apache.spark.serializer.KryoSerializer;
 import org.apache.spark.serializer.KryoSerializerInstance;
 import org.apache.spark.serializer.SerializerInstance;
 import org.datavec.api.records.reader.RecordReader;
 import org.datavec.api.records.reader.impl.csv.CSVRecordReader;
 import org.datavec.api.split.FileSplit;
+import org.datavec.api.writable.*;
+import org.datavec.spark.kryo.DataVecRegistrator;
+import org.datavec.spark.transform.utils.SparkUtils;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.nd4j.common.io.ClassPathResource;
@@ -32,6 +37,9 @@ import org.nd4j.common.tests.tags.TagNames;
 
 import java.io.File;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -66,6 +74,44 @@ public class TestKryoSerialization extends BaseSparkTest {
     }
 
 
+    @Test
+    public void testCompactWritableSerialization() {
+        SerializerInstance compact = new KryoSerializer(new SparkConf()
+                .set("spark.kryo.registrator", DataVecRegistrator.class.getName())).newInstance();
+        SerializerInstance plain = new KryoSerializer(new SparkConf()).newInstance();
+
+        List<Writable> record = Arrays.<Writable>asList(new BooleanWritable(true), new ByteWritable((byte) -3),
+                new DoubleWritable(1.5), new FloatWritable(-2.5f), new IntWritable(-123456), new LongWritable(Long.MAX_VALUE),
+                NullWritable.INSTANCE, new Text("text"), new Text(""));
+        assertEquals(record, serDe(record, compact));
+
+        //Repeated categorical values in a sequence are dictionary encoded
+        List<List<Writable>> sequence = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            sequence.add(Arrays.<Writable>asList(new Text(i % 2 == 0 ? "category_a" : "category_b"), new IntWritable(i),
+                    new DoubleWritable(i / 10.0)));
+        }
+        List<List<Writable>> restored = serDe(sequence, compact);
+        assertEquals(sequence, restored);
+
+        //Restored values must be independent instances
+        ((Text) restored.get(0).get(0)).set("changed");
+        assertEquals(new Text("category_a"), restored.get(2).get(0));
+
+        long compactSize = compact.serialize(sequence, null).limit();
+        long plainSize = plain.serialize(sequence, null).limit();
+        assertTrue(compactSize < plainSize, "Expected compact size " + compactSize + " < " + plainSize);
+    }
+
+    @Test
+    public void testRegisterKryoClasses() {
+        SparkConf conf = new SparkConf().set("spark.kryo.registrator", "org.nd4j.kryo.Nd4jRegistrator");
+        SparkUtils.registerKryoClasses(conf);
+        SparkUtils.registerKryoClasses(conf);
+        assertEquals("org.nd4j.kryo.Nd4jRegistrator," + DataVecRegistrator.class.getName(),
+                conf.get("spark.kryo.registrator"));
+    }
+
     private <T> T serDe(T in, SerializerInstance si){
         ByteBuffer bb = si.serialize(in, null);
         return (T)si.deserialize(bb, null);
@@ -0,0 +1,151 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.deeplearning4j.benchmarks;
+
+import org.deeplearning4j.nn.api.Model;
+import org.deeplearning4j.nn.conf.CacheMode;
+import org.deeplearning4j.nn.conf.MultiLayerConfiguration;
+import org.deeplearning4j.nn.conf.NeuralNetConfiguration;
+import org.deeplearning4j.nn.conf.WorkspaceMode;
+import org.deeplearning4j.nn.conf.inputs.InputType;
+import org.deeplearning4j.nn.conf.layers.GlobalPoolingLayer;
+import org.deeplearning4j.nn.conf.layers.OutputLayer;
+import org.deeplearning4j.nn.conf.layers.PoolingType;
+import org.deeplearning4j.nn.conf.layers.SelfAttentionLayer;
+import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
+import org.deeplearning4j.nn.weights.WeightInit;
+import org.deeplearning4j.zoo.model.LeNet;
+import org.deeplearning4j.zoo.model.ResNet50;
+import org.deeplearning4j.zoo.model.TextGenerationLSTM;
+import org.nd4j.linalg.activations.Activation;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.learning.config.Adam;
+import org.nd4j.linalg.lossfunctions.LossFunctions;
+
+/**
+ * The networks used by the benchmarks, covering convolutional (small and large), recurrent and attention architectures
+ */
+public enum BenchmarkModel {
+    /**
+     * LeNet (zoo model), MNIST sized input: [minibatch, 1, 28, 28]
+     */
+    LENET,
+    /**
+     * ResNet50 (zoo model), ImageNet sized input: [minibatch, 3, 224, 224]
+     */
+    RESNET50,
+    /**
+     * Two layer, 256 unit character-level LSTM (zoo TextGenerationLSTM): [minibatch, 47, 40]
+     */
+    LSTM,
+    /**
+     * Transformer style encoder block: multi-head self attention (a SameDiff layer) followed by global pooling and a
+     * classifier: [minibatch, 64, 32]
+     */
+    ATTENTION;
+
+    public static final int NUM_CLASSES = 10;
+    public static final int LSTM_CHARACTERS = 47;
+    public static final int LSTM_LENGTH = 40;
+    public static final int ATTENTION_SIZE = 64;
+    public static final int ATTENTION_LENGTH = 32;
+
+    /**
+     * Create and initialize the network
+     */
+    public Model create(WorkspaceMode workspaceMode, CacheMode cacheMode) {
+        switch (this) {
+            case LENET:
+                return LeNet.builder().numClasses(NUM_CLASSES).workspaceMode(workspaceMode).cacheMode(cacheMode)
+                        .build().init();
+            case RESNET50:
+                return ResNet50.builder().numClasses(NUM_CLASSES).workspaceMode(workspaceMode).cacheMode(cacheMode)
+                        .build().init();
+            case LSTM:
+                return TextGenerationLSTM.builder().totalUniqueCharacters(LSTM_CHARACTERS).maxLength(LSTM_LENGTH)
+                        .workspaceMode(workspaceMode).cacheMode(cacheMode).build().init();
+            case ATTENTION:
+                MultiLayerConfiguration conf = new NeuralNetConfiguration.Builder()
+                        .seed(12345)
+                        .updater(new Adam(1e-3))
+                        .weightInit(WeightInit.XAVIER)
+                        .trainingWorkspaceMode(workspaceMode)
+                        .inferenceWorkspaceMode(workspaceMode)
+                        .cacheMode(cacheMode)
+                        .list()
+                        .layer(new SelfAttentionLayer.Builder().nIn(ATTENTION_SIZE).nOut(ATTENTION_SIZE).nHeads(4)
+                                .projectInput(true).build())
+                        .layer(new GlobalPoolingLayer.Builder().poolingType(PoolingType.AVG).build())
+                        .layer(new OutputLayer.Builder().nOut(NUM_CLASSES).activation(Activation.SOFTMAX)
+                                .lossFunction(LossFunctions.LossFunction.MCXENT).build())
+                        .setInputType(InputType.recurrent(ATTENTION_SIZE, ATTENTION_LENGTH))
+                        .build();
+                MultiLayerNetwork net = new MultiLayerNetwork(conf);
+                net.init();
+                return net;
+            default:
+                throw new IllegalStateException("Unknown model: " + this);
+        }
+    }
+
+    /**
+     * Create a random example minibatch (features and one-hot labels) for this network
+     */
+    public DataSet example(int minibatch) {
+        INDArray features;
+        INDArray labels;
+        switch (this) {
+            case LENET:
+                features = Nd4j.rand(minibatch, 1, 28, 28);
+                labels = oneHot(minibatch, NUM_CLASSES);
+                break;
+            case RESNET50:
+                features = Nd4j.rand(minibatch, 3, 224, 224);
+                labels = oneHot(minibatch, NUM_CLASSES);
+                break;
+            case LSTM:
+                features = Nd4j.rand(minibatch, LSTM_CHARACTERS, LSTM_LENGTH);
+                labels = Nd4j.zeros(minibatch, LSTM_CHARACTERS, LSTM_LENGTH);
+                for (int i = 0; i < minibatch; i++) {
+                    for (int t = 0; t < LSTM_LENGTH; t++) {
+                        labels.putScalar(i, (i + t) % LSTM_CHARACTERS, t, 1.0);
+                    }
+                }
+                break;
+            case ATTENTION:
+                features = Nd4j.rand(minibatch, ATTENTION_SIZE, ATTENTION_LENGTH);
+                labels = oneHot(minibatch, NUM_CLASSES);
+                break;
+            default:
+                throw new IllegalStateException("Unknown model: " + this);
+        }
+        return new DataSet(features, labels);
+    }
+
+    private static INDArray oneHot(int minibatch, int numClasses) {
+        INDArray labels = Nd4j.zeros(minibatch, numClasses);
+        for (int i = 0; i < minibatch; i++) {
+            labels.putScalar(i, i % numClasses, 1.0);
+        }
+        return labels;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.deeplearning4j.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point for the shaded benchmark jar. Arguments are standard JMH command line options (run with {@code -h} for
+ * details). If no profilers are specified with {@code -prof}, the GC profiler (allocation rate) and
+ * {@link OffHeapProfiler} (peak off-heap memory) are enabled.<br>
+ * Examples:
+ * <pre>
+ * java -jar deeplearning4j-benchmarks.jar                                       # Everything (slow: includes ResNet50)
+ * java -jar deeplearning4j-benchmarks.jar Training -p model=LENET,ATTENTION     # Training throughput, two models
+ * java -jar deeplearning4j-benchmarks.jar Inference -p workspaceMode=ENABLED -p minibatch=1,32
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        ChainedOptionsBuilder opts = new OptionsBuilder().parent(cmd);
+        if (cmd.getProfilers().isEmpty()) {
+            opts.addProfiler(GCProfiler.class)
+                    .addProfiler(OffHeapProfiler.class);
+        }
+        new Runner(opts.build()).run();
+    }
+}
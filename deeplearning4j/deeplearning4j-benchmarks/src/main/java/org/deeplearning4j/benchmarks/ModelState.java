@@ -0,0 +1,98 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.deeplearning4j.benchmarks;
+
+import org.deeplearning4j.datasets.iterator.impl.BenchmarkDataSetIterator;
+import org.deeplearning4j.nn.api.Model;
+import org.deeplearning4j.nn.conf.CacheMode;
+import org.deeplearning4j.nn.conf.WorkspaceMode;
+import org.deeplearning4j.nn.graph.ComputationGraph;
+import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.factory.Nd4j;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Per-thread network and data, parameterised by model, workspace mode, cache mode and minibatch size.
+ * Data is provided by a {@link BenchmarkDataSetIterator} that returns the same random minibatch on every call, so
+ * that data loading does not contribute to the measurements
+ */
+@State(Scope.Thread)
+public class ModelState {
+
+    @Param({"LENET", "RESNET50", "LSTM", "ATTENTION"})
+    public BenchmarkModel model;
+
+    @Param({"ENABLED", "NONE"})
+    public WorkspaceMode workspaceMode;
+
+    @Param({"NONE", "HOST"})
+    public CacheMode cacheMode;
+
+    @Param({"16"})
+    public int minibatch;
+
+    public Model network;
+    public BenchmarkDataSetIterator iterator;
+    public INDArray features;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Nd4j.getRandom().setSeed(12345);
+        network = model.create(workspaceMode, cacheMode);
+        DataSet example = model.example(minibatch);
+        iterator = new BenchmarkDataSetIterator(example, Integer.MAX_VALUE);
+        features = example.getFeatures();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        network = null;
+        iterator = null;
+        features = null;
+        System.gc();
+    }
+
+    /**
+     * Perform one training iteration (one minibatch)
+     */
+    public void fit() {
+        if (!iterator.hasNext())
+            iterator.reset();
+        DataSet ds = iterator.next();
+        if (network instanceof MultiLayerNetwork) {
+            ((MultiLayerNetwork) network).fit(ds);
+        } else {
+            ((ComputationGraph) network).fit(ds);
+        }
+    }
+
+    /**
+     * Perform inference on one minibatch
+     */
+    public INDArray output() {
+        if (network instanceof MultiLayerNetwork) {
+            return ((MultiLayerNetwork) network).output(features, false);
+        } else {
+            return ((ComputationGraph) network).outputSingle(false, features);
+        }
+    }
+}
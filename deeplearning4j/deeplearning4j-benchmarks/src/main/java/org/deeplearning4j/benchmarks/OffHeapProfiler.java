@@ -0,0 +1,92 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.deeplearning4j.benchmarks;
+
+import org.bytedeco.javacpp.Pointer;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * JMH profiler reporting peak off-heap memory during each iteration, as tracked by JavaCPP: both the bytes allocated
+ * through JavaCPP ({@link Pointer#totalBytes()}) and the physical memory of the process ({@link Pointer#physicalBytes()}).
+ * Memory is sampled every {@link #SAMPLE_INTERVAL_MS} milliseconds on a background thread.<br>
+ * Usage: {@code -prof org.deeplearning4j.benchmarks.OffHeapProfiler}
+ */
+public class OffHeapProfiler implements InternalProfiler {
+    public static final long SAMPLE_INTERVAL_MS = 10;
+
+    private volatile boolean running;
+    private volatile long peakTotal;
+    private volatile long peakPhysical;
+    private Thread sampler;
+
+    @Override
+    public String getDescription() {
+        return "Peak JavaCPP off-heap and process physical memory";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        peakTotal = Pointer.totalBytes();
+        peakPhysical = Pointer.physicalBytes();
+        running = true;
+        sampler = new Thread(() -> {
+            while (running) {
+                sample();
+                try {
+                    Thread.sleep(SAMPLE_INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "OffHeapProfiler");
+        sampler.setDaemon(true);
+        sampler.start();
+    }
+
+    private void sample() {
+        peakTotal = Math.max(peakTotal, Pointer.totalBytes());
+        peakPhysical = Math.max(peakPhysical, Pointer.physicalBytes());
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams,
+                                                       IterationResult result) {
+        running = false;
+        try {
+            sampler.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sample();
+        double mb = 1024.0 * 1024.0;
+        return Arrays.asList(
+                new ScalarResult("offheap.peak.javacpp", peakTotal / mb, "MB", AggregationPolicy.MAX),
+                new ScalarResult("offheap.peak.physical", peakPhysical / mb, "MB", AggregationPolicy.MAX));
+    }
+}
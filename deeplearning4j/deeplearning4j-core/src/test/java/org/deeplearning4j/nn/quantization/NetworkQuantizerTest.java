@@ -0,0 +1,88 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.deeplearning4j.nn.quantization;
+
+import org.deeplearning4j.BaseDL4JTest;
+import org.deeplearning4j.datasets.iterator.impl.IrisDataSetIterator;
+import org.deeplearning4j.nn.conf.MultiLayerConfiguration;
+import org.deeplearning4j.nn.conf.NeuralNetConfiguration;
+import org.deeplearning4j.nn.conf.layers.DenseLayer;
+import org.deeplearning4j.nn.conf.layers.OutputLayer;
+import org.deeplearning4j.nn.graph.ComputationGraph;
+import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
+import org.junit.jupiter.api.Test;
+import org.nd4j.autodiff.samediff.quantization.QuantizationConfig;
+import org.nd4j.autodiff.samediff.quantization.QuantizationReport;
+import org.nd4j.common.primitives.Pair;
+import org.nd4j.linalg.activations.Activation;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.lossfunctions.LossFunctions;
+import org.nd4j.linalg.ops.transforms.Transforms;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NetworkQuantizerTest extends BaseDL4JTest {
+
+    @Test
+    public void testQuantizeMlnAndGraph() {
+        MultiLayerConfiguration conf = new NeuralNetConfiguration.Builder()
+                .seed(12345)
+                .list()
+                .layer(new DenseLayer.Builder().nIn(4).nOut(64).activation(Activation.TANH).build())
+                .layer(new OutputLayer.Builder().nIn(64).nOut(3).activation(Activation.SOFTMAX).lossFunction(LossFunctions.LossFunction.MCXENT).build())
+                .build();
+        MultiLayerNetwork net = new MultiLayerNetwork(conf);
+        net.init();
+        net.fit(new IrisDataSetIterator(150, 150), 10);
+        INDArray origParams = net.params().dup();
+
+        QuantizationConfig qConf = QuantizationConfig.builder().minElements(100).build();
+        Pair<MultiLayerNetwork, QuantizationReport> p = new NetworkQuantizer(qConf).quantize(net, new IrisDataSetIterator(50, 150));
+        MultiLayerNetwork q = p.getFirst();
+        QuantizationReport report = p.getSecond();
+
+        //Original network should not be modified
+        assertEquals(origParams, net.params());
+
+        //layer0 W (256 elements) and layer1 W (192 elements) are quantized; biases are not
+        assertEquals(2, report.getNumQuantizedArrays());
+        assertNotEquals(net.getParam("0_W"), q.getParam("0_W"));
+        assertEquals(net.getParam("0_b"), q.getParam("0_b"));
+        assertTrue(report.getCompressionRatio() > 2.0, report.toString());
+
+        //Quantized weights are INT8 values times the per-output-channel scale
+        INDArray w = q.getParam("0_W");
+        INDArray scale = Transforms.abs(w, true).max(true, 0).divi(127.0);
+        INDArray levels = w.div(scale);
+        assertTrue(levels.equalsWithEps(Transforms.round(levels, true), 1e-3));
+
+        QuantizationReport.OutputStats stats = report.getOutputStats().get("layer1");
+        assertNotNull(stats, report.toString());
+        assertTrue(stats.getMaxAbsError() < 5e-2, report.toString());
+        assertTrue(stats.getArgMaxAgreement() > 0.9, report.toString());
+
+        ComputationGraph cg = net.toComputationGraph();
+        Pair<ComputationGraph, QuantizationReport> p2 = new NetworkQuantizer(qConf).quantize(cg, new IrisDataSetIterator(50, 150));
+        assertEquals(2, p2.getSecond().getNumQuantizedArrays());
+        assertEquals(q.params(), p2.getFirst().params());
+        assertTrue(p2.getSecond().getOutputStats().containsKey("1"));
+    }
+}
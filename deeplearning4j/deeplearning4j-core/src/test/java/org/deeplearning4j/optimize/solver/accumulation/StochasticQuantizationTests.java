@@ -0,0 +1,105 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.deeplearning4j.optimize.solver.accumulation;
+
+import org.deeplearning4j.BaseDL4JTest;
+import org.deeplearning4j.optimize.solvers.accumulation.EncodingHandler;
+import org.deeplearning4j.optimize.solvers.accumulation.encoding.StochasticQuantization;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.nd4j.common.tests.tags.NativeTag;
+import org.nd4j.common.tests.tags.TagNames;
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.compression.QuantizedCompression;
+import org.nd4j.linalg.compression.ThresholdCompression;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.ops.transforms.Transforms;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NativeTag
+@Tag(TagNames.DL4J_OLD_API)
+public class StochasticQuantizationTests extends BaseDL4JTest {
+
+    @Test
+    public void testEncodeDecode() {
+        for (int bits : new int[]{2, 4, 8}) {
+            StochasticQuantization quantization = new StochasticQuantization(bits, 64);
+
+            INDArray original = Nd4j.rand(DataType.FLOAT, 1, 1000).subi(0.5);
+            INDArray updates = original.dup();
+
+            INDArray encoded = quantization.encode(updates);
+            assertNotNull(encoded);
+            assertEquals(quantization.encodedLength(1000), encoded.length());
+            assertEquals(1000, encoded.getInt(0));
+            assertEquals(64, encoded.getInt(1));
+            assertEquals(bits, encoded.getInt(2));
+            assertEquals(ThresholdCompression.QUANTIZED_ENCODING, encoded.getInt(3));
+
+            //Decoded updates plus residual should be equal to original updates
+            INDArray decoded = Nd4j.create(DataType.FLOAT, 1, 1000);
+            QuantizedCompression.decode(encoded, decoded);
+            assertEquals(original, decoded.add(updates), "bits=" + bits);
+
+            //Residual is less than one quantization step
+            double step = 0.5 / ((1 << (bits - 1)) - 1);
+            assertTrue(updates.amaxNumber().doubleValue() <= step + 1e-6, "bits=" + bits);
+        }
+    }
+
+    @Test
+    public void testUnbiased() {
+        INDArray original = Nd4j.rand(DataType.DOUBLE, 1, 100).subi(0.5);
+        INDArray sum = Nd4j.create(DataType.DOUBLE, 1, 100);
+
+        int n = 1000;
+        for (int i = 0; i < n; i++) {
+            INDArray encoded = QuantizedCompression.encode(original.dup(), 2, 100);
+            QuantizedCompression.decode(encoded, sum);
+        }
+
+        //Mean of stochastically rounded values should be close to the original values
+        INDArray mean = sum.divi(n);
+        assertTrue(Transforms.abs(mean.sub(original)).maxNumber().doubleValue() < 0.05);
+    }
+
+    @Test
+    public void testZeroUpdates() {
+        StochasticQuantization quantization = new StochasticQuantization();
+        assertNull(quantization.encode(Nd4j.create(DataType.FLOAT, 1, 100)));
+    }
+
+    @Test
+    public void testEncodingHandler() {
+        EncodingHandler handler = new EncodingHandler(null, null, new StochasticQuantization(4), null, false);
+
+        INDArray original = Nd4j.rand(DataType.FLOAT, 1, 300).subi(0.5);
+        INDArray updates = original.dup();
+        INDArray encoded = handler.encodeUpdates(0, 0, updates);
+        assertEquals(ThresholdCompression.QUANTIZED_ENCODING, encoded.getInt(3));
+
+        INDArray decoded = Nd4j.create(DataType.FLOAT, 1, 300);
+        QuantizedCompression.decode(encoded, decoded);
+        assertEquals(original, decoded.add(updates));
+    }
+}
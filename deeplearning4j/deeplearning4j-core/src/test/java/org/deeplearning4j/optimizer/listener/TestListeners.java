@@ -32,6 +32,7 @@ import org.deeplearning4j.nn.conf.ComputationGraphConfiguration;
 import org.deeplearning4j.nn.conf.MultiLayerConfiguration;
 import org.deeplearning4j.nn.conf.NeuralNetConfiguration;
 import org.deeplearning4j.nn.conf.layers.AutoEncoder;
+import org.deeplearning4j.nn.conf.layers.DenseLayer;
 import org.deeplearning4j.nn.conf.layers.OutputLayer;
 import org.deeplearning4j.nn.conf.layers.variational.VariationalAutoencoder;
 import org.deeplearning4j.nn.graph.ComputationGraph;
@@ -42,12 +43,15 @@ import org.deeplearning4j.optimize.listeners.ComposableIterationListener;
 import org.deeplearning4j.optimize.listeners.PerformanceListener;
 import org.deeplearning4j.optimize.listeners.ScoreIterationListener;
 import org.deeplearning4j.optimize.listeners.TimeIterationListener;
+import org.deeplearning4j.optimize.listeners.TimelineProfilingListener;
 import org.deeplearning4j.optimize.listeners.CheckpointListener;
 import org.deeplearning4j.optimize.solvers.BaseOptimizer;
 
 import org.junit.jupiter.api.Test;
 
 import org.junit.jupiter.api.io.TempDir;
+import org.nd4j.autodiff.listeners.profiler.comparison.ProfileAnalyzer;
+import org.nd4j.autodiff.listeners.profiler.data.TraceEvent;
 import org.nd4j.linalg.activations.Activation;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.dataset.api.iterator.DataSetIterator;
@@ -56,15 +60,18 @@ import org.nd4j.common.primitives.Triple;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Slf4j
@@ -276,6 +283,58 @@ public class TestListeners extends BaseDL4JTest {
         assertEquals(exp, tl.getCalls());
     }
 
+    @Test
+    public void testTimelineProfilingListener(@TempDir Path tempDir) throws Exception {
+        MultiLayerConfiguration conf = new NeuralNetConfiguration.Builder()
+                .list()
+                .layer(new DenseLayer.Builder().nIn(4).nOut(5).activation(Activation.TANH).build())
+                .layer(new OutputLayer.Builder().nIn(5).nOut(3).activation(Activation.SOFTMAX).lossFunction(LossFunctions.LossFunction.MCXENT).build())
+                .build();
+
+        MultiLayerNetwork net = new MultiLayerNetwork(conf);
+        net.init();
+
+        File f1 = new File(tempDir.toFile(), "mln.json");
+        TimelineProfilingListener l1 = TimelineProfilingListener.builder(f1).warmup(1).build();
+        net.setListeners(l1);
+        net.fit(new IrisDataSetIterator(50, 150), 2);
+        l1.close();
+
+        //6 iterations, first is warmup: 5 recorded
+        Map<String, Integer> counts = countEvents(f1);
+        for (String s : new String[]{"layer0/forward", "layer1/forward", "layer0/backward", "layer1/backward", "updater", "step"}) {
+            assertTrue(counts.containsKey(s), s);
+            assertEquals(5, (int) counts.get(s), s);
+        }
+        assertTrue(counts.containsKey("data_wait"));
+        assertTrue(counts.containsKey("off_heap_bytes"));
+
+        ComputationGraph cg = net.toComputationGraph();
+        File f2 = new File(tempDir.toFile(), "cg.json");
+        TimelineProfilingListener l2 = TimelineProfilingListener.builder(f2).maxProfileIterations(3).build();
+        cg.setListeners(l2);
+        cg.fit(new IrisDataSetIterator(50, 150), 2);
+        l2.close();
+
+        counts = countEvents(f2);
+        for (String s : new String[]{"0/forward", "1/forward", "0/backward", "1/backward", "updater", "step"}) {
+            assertTrue(counts.containsKey(s), s);
+            assertEquals(3, (int) counts.get(s), s);
+        }
+        assertFalse(counts.containsKey("in/forward"));
+
+        String comparison = TimelineProfilingListener.compare(f1, f2);
+        assertTrue(comparison.contains("layer1/backward"));
+    }
+
+    private static Map<String, Integer> countEvents(File f) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (TraceEvent te : ProfileAnalyzer.getTraceEvents(f, ProfileAnalyzer.ProfileFormat.SAMEDIFF)) {
+            counts.put(te.getName(), counts.containsKey(te.getName()) ? counts.get(te.getName()) + 1 : 1);
+        }
+        return counts;
+    }
+
     private static enum Call {
         ITER_DONE,
         EPOCH_START,
@@ -85,6 +85,23 @@ class ModelSerializerTest extends BaseDL4JTest {
         assertEquals(net.getUpdater().getStateViewArray(), network.getUpdater().getStateViewArray());
     }
 
+    @Test
+    @DisplayName("Test Write MLN Model Compressed")
+    void testWriteMLNModelCompressed() throws Exception {
+        MultiLayerConfiguration conf = new NeuralNetConfiguration.Builder().seed(12345).updater(new Sgd(0.1)).activation(Activation.TANH).weightInit(WeightInit.XAVIER).list().layer(0, new DenseLayer.Builder().nIn(5).nOut(20).build()).layer(1, new OutputLayer.Builder().lossFunction(LossFunctions.LossFunction.MSE).nIn(20).nOut(6).build()).build();
+        MultiLayerNetwork net = new MultiLayerNetwork(conf);
+        net.init();
+        for (String compression : new String[]{"LZ4", "SHUFFLE_LZ4"}) {
+            File tempFile = new File(tempDir.toFile(), "model_" + compression + ".zip");
+            ModelSerializer.writeModel(net, tempFile, true, null, compression);
+            MultiLayerNetwork network = ModelSerializer.restoreMultiLayerNetwork(tempFile);
+            assertEquals(net.getLayerWiseConfigurations().toJson(), network.getLayerWiseConfigurations().toJson());
+            assertFalse(network.params().isCompressed());
+            assertEquals(net.params(), network.params());
+            assertEquals(net.getUpdater().getStateViewArray(), network.getUpdater().getStateViewArray());
+        }
+    }
+
     @Test
     @DisplayName("Test Write Mln Model Input Stream")
     void testWriteMlnModelInputStream() throws Exception {
@@ -23,6 +23,9 @@ package org.deeplearning4j.nn.modelexport.solr.handler;
 import java.io.File;
 import java.io.InputStream;
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import org.apache.solr.client.solrj.io.Tuple;
@@ -46,11 +49,21 @@ import org.deeplearning4j.util.NetworkUtils;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 
+/**
+ * A streaming expression decorator that adds the outputs of a model to each tuple of the underlying stream:<br>
+ * {@code model(<stream>, serializedModelFileName="...", inputKeys="a,b,c", outputKeys="x,y", batchSize="64")}<br>
+ * Tuples are read ahead from the underlying stream in batches of up to {@code batchSize} tuples (default:
+ * {@link #DEFAULT_BATCH_SIZE}), which are scored with a single forward pass and then emitted in their original order.
+ * Use {@code batchSize="1"} to score each tuple as soon as it is read.
+ */
 public class ModelTupleStream extends TupleStream implements Expressible {
 
+  final public static int DEFAULT_BATCH_SIZE = 64;
+
   final private static String SERIALIZED_MODEL_FILE_NAME_PARAM = "serializedModelFileName";
   final private static String INPUT_KEYS_PARAM = "inputKeys";
   final private static String OUTPUT_KEYS_PARAM = "outputKeys";
+  final private static String BATCH_SIZE_PARAM = "batchSize";
 
   final private TupleStream tupleStream;
   final private String serializedModelFileName;
@@ -58,9 +71,14 @@ public class ModelTupleStream extends TupleStream implements Expressible {
   final private String outputKeysParam;
   final private String[] inputKeys;
   final private String[] outputKeys;
+  final private String batchSizeParam;
+  final private int batchSize;
   final private SolrResourceLoader solrResourceLoader;
   final private Model model;
 
+  final private Deque<Tuple> scoredTuples = new ArrayDeque<>();
+  private Tuple eofTuple;
+
   public ModelTupleStream(StreamExpression streamExpression, StreamFactory streamFactory) throws IOException {
 
     final List<StreamExpression> streamExpressions = streamFactory.getExpressionOperandsRepresentingTypes(streamExpression, Expressible.class, TupleStream.class);
@@ -78,6 +96,20 @@ public class ModelTupleStream extends TupleStream implements Expressible {
     this.outputKeysParam = getOperandValue(streamExpression, streamFactory, OUTPUT_KEYS_PARAM);
     this.outputKeys = outputKeysParam.split(",");
 
+    this.batchSizeParam = getOptionalOperandValue(streamExpression, streamFactory, BATCH_SIZE_PARAM);
+    if (batchSizeParam == null) {
+      this.batchSize = DEFAULT_BATCH_SIZE;
+    } else {
+      try {
+        this.batchSize = Integer.parseInt(batchSizeParam);
+      } catch (NumberFormatException e) {
+        throw new IOException("Expected integer '"+BATCH_SIZE_PARAM+"' in expression: "+streamExpression, e);
+      }
+      if (batchSize <= 0) {
+        throw new IOException("Expected positive '"+BATCH_SIZE_PARAM+"' in expression: "+streamExpression);
+      }
+    }
+
     if (!(streamFactory instanceof SolrDefaultStreamFactory)) {
       throw new IOException(this.getClass().getName()+" requires a "+SolrDefaultStreamFactory.class.getName()+" StreamFactory");
     }
@@ -86,12 +118,16 @@ public class ModelTupleStream extends TupleStream implements Expressible {
     this.model = restoreModel(openInputStream());
   }
 
-  private static String getOperandValue(StreamExpression streamExpression, StreamFactory streamFactory, String operandName) throws IOException {
+  private static String getOptionalOperandValue(StreamExpression streamExpression, StreamFactory streamFactory, String operandName) {
     final StreamExpressionNamedParameter namedParameter = streamFactory.getNamedOperand(streamExpression, operandName);
-    String operandValue = null;
     if (namedParameter != null && namedParameter.getParameter() instanceof StreamExpressionValue) {
-      operandValue = ((StreamExpressionValue)namedParameter.getParameter()).getValue();
+      return ((StreamExpressionValue)namedParameter.getParameter()).getValue();
     }
+    return null;
+  }
+
+  private static String getOperandValue(StreamExpression streamExpression, StreamFactory streamFactory, String operandName) throws IOException {
+    final String operandValue = getOptionalOperandValue(streamExpression, streamFactory, operandName);
     if (operandValue == null) {
       throw new IOException("Expected '"+operandName+"' in expression: "+streamExpression);
     } else {
@@ -116,21 +152,49 @@ public class ModelTupleStream extends TupleStream implements Expressible {
   }
 
   public void open() throws IOException {
+    scoredTuples.clear();
+    eofTuple = null;
     tupleStream.open();
   }
 
   public void close() throws IOException {
+    scoredTuples.clear();
+    eofTuple = null;
     tupleStream.close();
   }
 
   public Tuple read() throws IOException {
-    final Tuple tuple = tupleStream.read();
-    if (tuple.EOF) {
-      return tuple;
+    if (scoredTuples.isEmpty() && eofTuple == null) {
+      readAndScoreBatch();
+    }
+    if (scoredTuples.isEmpty()) {
+      return eofTuple;
     } else {
-      final INDArray inputs = getInputsFromTuple(tuple);
-      final INDArray outputs = NetworkUtils.output(model, inputs);
-      return applyOutputsToTuple(tuple, outputs);
+      return scoredTuples.poll();
+    }
+  }
+
+  /**
+   * Reads up to batchSize tuples (stopping early at EOF) from the underlying stream and scores them in one forward pass.
+   */
+  protected void readAndScoreBatch() throws IOException {
+    final List<Tuple> batch = new ArrayList<>(batchSize);
+    while (batch.size() < batchSize) {
+      final Tuple tuple = tupleStream.read();
+      if (tuple.EOF) {
+        eofTuple = tuple;
+        break;
+      }
+      batch.add(tuple);
+    }
+    if (batch.isEmpty()) {
+      return;
+    }
+    final INDArray inputs = getInputsFromTuples(batch);
+    final INDArray outputs = NetworkUtils.output(model, inputs);
+    for (int ii=0; ii<batch.size(); ++ii)
+    {
+      scoredTuples.add(applyOutputsToTuple(batch.get(ii), outputs.getRow(ii)));
     }
   }
 
@@ -170,6 +234,9 @@ public class ModelTupleStream extends TupleStream implements Expressible {
     streamExpression.addParameter(new StreamExpressionNamedParameter(SERIALIZED_MODEL_FILE_NAME_PARAM, this.serializedModelFileName));
     streamExpression.addParameter(new StreamExpressionNamedParameter(INPUT_KEYS_PARAM, this.inputKeysParam));
     streamExpression.addParameter(new StreamExpressionNamedParameter(OUTPUT_KEYS_PARAM, this.outputKeysParam));
+    if (this.batchSizeParam != null) {
+      streamExpression.addParameter(new StreamExpressionNamedParameter(BATCH_SIZE_PARAM, this.batchSizeParam));
+    }
 
     return streamExpression;
   }
@@ -191,12 +258,28 @@ public class ModelTupleStream extends TupleStream implements Expressible {
   }
 
   protected INDArray getInputsFromTuple(Tuple tuple) {
+    return Nd4j.create(new double[][]{ getInputValues(tuple) });
+  }
+
+  /**
+   * @return Inputs for the specified tuples, one row per tuple
+   */
+  protected INDArray getInputsFromTuples(List<Tuple> tuples) {
+    final double[][] inputs = new double[tuples.size()][];
+    for (int ii=0; ii<inputs.length; ++ii)
+    {
+      inputs[ii] = getInputValues(tuples.get(ii));
+    }
+    return Nd4j.create(inputs);
+  }
+
+  private double[] getInputValues(Tuple tuple) {
     final double[] inputs = new double[inputKeys.length];
     for (int ii=0; ii<inputKeys.length; ++ii)
     {
       inputs[ii] = tuple.getDouble(inputKeys[ii]).doubleValue();
     }
-    return Nd4j.create(new double[][]{ inputs });
+    return inputs;
   }
 
   protected Tuple applyOutputsToTuple(Tuple tuple, INDArray output) {
@@ -0,0 +1,66 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.deeplearning4j.nn.modelexport.solr.ltr;
+
+import org.apache.lucene.search.Query;
+import org.apache.solr.common.params.SolrParams;
+import org.apache.solr.ltr.LTRScoringQuery;
+import org.apache.solr.ltr.SolrQueryRequestContextUtils;
+import org.apache.solr.ltr.search.LTRQParserPlugin;
+import org.apache.solr.ltr.search.LTRQuery;
+import org.apache.solr.request.SolrQueryRequest;
+import org.apache.solr.search.QParser;
+import org.apache.solr.search.SyntaxError;
+
+/**
+ * A drop-in replacement of {@link LTRQParserPlugin} that re-ranks with a {@link BatchScoringRescorer}, so that all
+ * re-ranked documents are scored by a {@link org.deeplearning4j.nn.modelexport.solr.ltr.model.ScoringModel} with a
+ * single forward pass.<br>
+ * Query syntax, feature and model stores are the same as for {@link LTRQParserPlugin}, so it is installed by replacing
+ * the class of the <code>ltr</code> query parser in <code>solrconfig.xml</code>:
+ * <pre>
+ * &lt;queryParser name="ltr" class="org.deeplearning4j.nn.modelexport.solr.ltr.BatchScoringLTRQParserPlugin"/&gt;
+ * </pre>
+ * Interleaving queries (more than one model) are left as they are, and models other than ScoringModel are still scored
+ * one document at a time.
+ */
+public class BatchScoringLTRQParserPlugin extends LTRQParserPlugin {
+
+  @Override
+  public QParser createParser(String qstr, SolrParams localParams, SolrParams params, SolrQueryRequest req) {
+    final QParser ltrParser = super.createParser(qstr, localParams, params, req);
+    return new QParser(qstr, localParams, params, req) {
+      @Override
+      public Query parse() throws SyntaxError {
+        final Query query = ltrParser.parse();
+        if (query.getClass() != LTRQuery.class) {
+          return query;
+        }
+        final LTRScoringQuery[] scoringQueries = SolrQueryRequestContextUtils.getScoringQueries(req);
+        if (scoringQueries == null || scoringQueries.length != 1) {
+          return query;
+        }
+        final int reRankDocs = localParams.getInt(LTRQParserPlugin.RERANK_DOCS, LTRQParserPlugin.DEFAULT_RERANK_DOCS);
+        return new BatchScoringLTRQuery(scoringQueries[0], reRankDocs);
+      }
+    };
+  }
+
+}
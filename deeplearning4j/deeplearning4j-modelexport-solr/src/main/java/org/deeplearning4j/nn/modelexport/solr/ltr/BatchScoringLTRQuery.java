@@ -0,0 +1,47 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.deeplearning4j.nn.modelexport.solr.ltr;
+
+import java.io.IOException;
+
+import org.apache.lucene.search.Query;
+import org.apache.solr.ltr.LTRScoringQuery;
+import org.apache.solr.ltr.search.LTRQuery;
+
+/**
+ * An {@link LTRQuery} that re-ranks with a {@link BatchScoringRescorer} instead of a plain
+ * {@link org.apache.solr.ltr.LTRRescorer}. Usually created by {@link BatchScoringLTRQParserPlugin}.
+ */
+public class BatchScoringLTRQuery extends LTRQuery {
+
+  final private LTRScoringQuery scoringQuery;
+
+  public BatchScoringLTRQuery(LTRScoringQuery scoringQuery, int reRankDocs) {
+    super(scoringQuery, reRankDocs, new BatchScoringRescorer(scoringQuery));
+    this.scoringQuery = scoringQuery;
+  }
+
+  @Override
+  protected Query rewrite(Query rewrittenMainQuery) throws IOException {
+    // LTRQuery would rewrite into a plain LTRQuery, dropping the batch scoring rescorer
+    return new BatchScoringLTRQuery(scoringQuery, reRankDocs).wrap(rewrittenMainQuery);
+  }
+
+}
@@ -0,0 +1,121 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.deeplearning4j.nn.modelexport.solr.ltr;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.TopDocs;
+import org.apache.solr.ltr.LTRRescorer;
+import org.apache.solr.ltr.LTRScoringQuery;
+import org.deeplearning4j.nn.modelexport.solr.ltr.model.ScoringModel;
+
+/**
+ * An {@link LTRRescorer} that scores all first pass documents with a single forward pass of a {@link ScoringModel},
+ * instead of one forward pass per document.<br>
+ * Features are still extracted per document, but model scoring is deferred (see {@link ScoringModel#beginBatch()})
+ * until the feature vectors of all documents have been collected.<br>
+ * If the query's model is not a {@link ScoringModel}, or feature logging is enabled, re-ranking falls back to
+ * {@link LTRRescorer#rescore(IndexSearcher, TopDocs, int)}.<br>
+ * Use {@link BatchScoringLTRQParserPlugin} as the <code>ltr</code> query parser to re-rank with this rescorer.
+ */
+public class BatchScoringRescorer extends LTRRescorer {
+
+  final private LTRScoringQuery scoringQuery;
+
+  public BatchScoringRescorer(LTRScoringQuery scoringQuery) {
+    super(scoringQuery);
+    this.scoringQuery = scoringQuery;
+  }
+
+  @Override
+  public TopDocs rescore(IndexSearcher searcher, TopDocs firstPassTopDocs, int topN) throws IOException {
+    if ((topN == 0) || (firstPassTopDocs.scoreDocs.length == 0)) {
+      return firstPassTopDocs;
+    }
+    if (!(scoringQuery.getScoringModel() instanceof ScoringModel) || scoringQuery.getFeatureLogger() != null) {
+      return super.rescore(searcher, firstPassTopDocs, topN);
+    }
+    final ScoringModel scoringModel = (ScoringModel) scoringQuery.getScoringModel();
+
+    final ScoreDoc[] hits = getFirstPassDocsRanked(firstPassTopDocs);
+    topN = Math.toIntExact(Math.min(topN, firstPassTopDocs.totalHits.value));
+
+    final List<LeafReaderContext> leaves = searcher.getIndexReader().leaves();
+    final LTRScoringQuery.ModelWeight modelWeight = (LTRScoringQuery.ModelWeight) searcher
+        .createWeight(searcher.rewrite(scoringQuery), ScoreMode.COMPLETE, 1);
+
+    scoringModel.beginBatch();
+    try {
+      extractFeatures(modelWeight, hits, leaves);
+    } catch (IOException | RuntimeException e) {
+      scoringModel.cancelBatch();
+      throw e;
+    }
+    final float[] scores = scoringModel.endBatch();
+    if (scores.length != hits.length) {
+      throw new IllegalStateException("Expected "+hits.length+" scores for model "+scoringModel.getName()+", got "+scores.length);
+    }
+
+    for (int ii=0; ii<hits.length; ++ii)
+    {
+      hits[ii].score = scores[ii];
+    }
+    sortByScore(hits);
+    return new TopDocs(firstPassTopDocs.totalHits, Arrays.copyOf(hits, Math.min(topN, hits.length)));
+  }
+
+  /**
+   * Extracts (and normalizes) the features of each hit, in doc id order. With batch scoring active, this records the
+   * model's feature vectors without scoring them.
+   */
+  protected void extractFeatures(LTRScoringQuery.ModelWeight modelWeight, ScoreDoc[] hits,
+      List<LeafReaderContext> leaves) throws IOException {
+    int readerUpto = -1;
+    int endDoc = 0;
+    int docBase = 0;
+    LTRScoringQuery.ModelWeight.ModelScorer scorer = null;
+    for (final ScoreDoc hit : hits) {
+      final int docID = hit.doc;
+      LeafReaderContext readerContext = null;
+      while (docID >= endDoc) {
+        readerUpto++;
+        readerContext = leaves.get(readerUpto);
+        endDoc = readerContext.docBase + readerContext.reader().maxDoc();
+      }
+      if (readerContext != null) {
+        docBase = readerContext.docBase;
+        scorer = modelWeight.scorer(readerContext);
+      }
+      final int targetDoc = docID - docBase;
+      if (scorer.docID() < targetDoc) {
+        scorer.iterator().advance(targetDoc);
+      }
+      scorer.getDocInfo().setOriginalDocScore(hit.score);
+      scorer.score();
+    }
+  }
+
+}
@@ -23,6 +23,7 @@ package org.deeplearning4j.nn.modelexport.solr.ltr.model;
 import java.io.File;
 import java.io.InputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -41,11 +42,19 @@ import org.deeplearning4j.util.NetworkUtils;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 
+/**
+ * A Solr LTR model that scores documents with a deeplearning4j network.<br>
+ * Solr scores one document at a time via {@link #score(float[])}. To score all re-ranked candidates with a single
+ * forward pass instead, use {@link #score(float[][])} directly, or defer scoring with {@link #beginBatch()} and
+ * {@link #endBatch()} as done by {@link org.deeplearning4j.nn.modelexport.solr.ltr.BatchScoringRescorer}.
+ */
 public class ScoringModel extends AdapterModel {
 
   private String serializedModelFileName;
   protected Model model;
 
+  final private ThreadLocal<List<float[]>> deferredFeatureValues = new ThreadLocal<>();
+
   public ScoringModel(String name, List<Feature> features, List<Normalizer> norms, String featureStoreName,
       List<Feature> allFeatures, Map<String,Object> params) {
     super(name, features, norms, featureStoreName, allFeatures, params);
@@ -98,11 +107,60 @@ public class ScoringModel extends AdapterModel {
     }
   }
 
+  /**
+   * Scores the given feature values, unless a batch was started on the current thread with {@link #beginBatch()},
+   * in which case a copy of the feature values is added to the batch and 0 is returned.
+   */
   @Override
   public float score(float[] modelFeatureValuesNormalized) {
+    final List<float[]> deferred = deferredFeatureValues.get();
+    if (deferred != null) {
+      deferred.add(modelFeatureValuesNormalized.clone());
+      return 0f;
+    }
     return outputScore(model, modelFeatureValuesNormalized);
   }
 
+  /**
+   * Scores multiple feature vectors with a single forward pass.
+   *
+   * @param modelFeatureValuesNormalized One row of normalized feature values per document
+   * @return One score per document
+   */
+  public float[] score(float[][] modelFeatureValuesNormalized) {
+    return outputScores(model, modelFeatureValuesNormalized);
+  }
+
+  /**
+   * Starts deferring scoring on the current thread: subsequent {@link #score(float[])} calls on this thread only
+   * record the feature values, until {@link #endBatch()} is called.
+   */
+  public void beginBatch() {
+    deferredFeatureValues.set(new ArrayList<float[]>());
+  }
+
+  /**
+   * Ends deferred scoring on the current thread and scores all feature values recorded since {@link #beginBatch()}
+   * with a single forward pass.
+   *
+   * @return One score per deferred {@link #score(float[])} call, in call order
+   */
+  public float[] endBatch() {
+    final List<float[]> deferred = deferredFeatureValues.get();
+    deferredFeatureValues.remove();
+    if (deferred == null) {
+      throw new IllegalStateException("endBatch() called without beginBatch() for model "+name);
+    }
+    return score(deferred.toArray(new float[deferred.size()][]));
+  }
+
+  /**
+   * Ends deferred scoring on the current thread without scoring the recorded feature values.
+   */
+  public void cancelBatch() {
+    deferredFeatureValues.remove();
+  }
+
   /**
    * Uses the {@link NetworkUtils#output(Model, INDArray)} method.
    */
@@ -112,6 +170,23 @@ public class ScoringModel extends AdapterModel {
     return output.getFloat(0);
   }
 
+  /**
+   * Uses the {@link NetworkUtils#output(Model, INDArray)} method, with one row per feature vector.
+   */
+  public static float[] outputScores(Model model, float[][] modelFeatureValuesNormalized) {
+    final float[] scores = new float[modelFeatureValuesNormalized.length];
+    if (scores.length == 0) {
+      return scores;
+    }
+    final INDArray input = Nd4j.create(modelFeatureValuesNormalized);
+    final INDArray output = NetworkUtils.output(model, input);
+    for (int ii=0; ii<scores.length; ++ii)
+    {
+      scores[ii] = output.getRow(ii).getFloat(0);
+    }
+    return scores;
+  }
+
   @Override
   public Explanation explain(LeafReaderContext context, int doc, float finalScore,
       List<Explanation> featureExplanations) {
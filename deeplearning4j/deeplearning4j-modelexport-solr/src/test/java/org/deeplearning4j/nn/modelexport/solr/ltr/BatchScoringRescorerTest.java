@@ -0,0 +1,156 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.deeplearning4j.nn.modelexport.solr.ltr;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.solr.core.SolrResourceLoader;
+import org.apache.solr.ltr.LTRRescorer;
+import org.apache.solr.ltr.LTRScoringQuery;
+import org.apache.solr.ltr.feature.Feature;
+import org.apache.solr.ltr.feature.FieldValueFeature;
+import org.apache.solr.ltr.norm.IdentityNormalizer;
+import org.apache.solr.ltr.norm.Normalizer;
+import org.deeplearning4j.nn.conf.MultiLayerConfiguration;
+import org.deeplearning4j.nn.conf.NeuralNetConfiguration;
+import org.deeplearning4j.nn.conf.layers.OutputLayer;
+import org.deeplearning4j.nn.modelexport.solr.ltr.model.ScoringModel;
+import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
+import org.deeplearning4j.util.ModelSerializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.nd4j.common.tests.tags.TagNames;
+import org.nd4j.linalg.activations.Activation;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.lossfunctions.LossFunctions;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Batch Scoring Rescorer Test")
+@Tag(TagNames.SOLR)
+@Tag(TagNames.DIST_SYSTEMS)
+class BatchScoringRescorerTest {
+
+    private static final int NUM_FEATURES = 3;
+
+    private static final int NUM_DOCS = 8;
+
+    @Test
+    @DisplayName("Test Rescore")
+    void testRescore() throws Exception {
+        final Path tempDirPath = Files.createTempDirectory(null);
+        tempDirPath.toFile().deleteOnExit();
+        final SolrResourceLoader solrResourceLoader = new SolrResourceLoader(tempDirPath);
+        final ScoringModel ltrModel = buildScoringModel(solrResourceLoader, tempDirPath);
+
+        try (Directory dir = new ByteBuffersDirectory()) {
+            try (IndexWriter w = new IndexWriter(dir, new IndexWriterConfig())) {
+                for (int ii = 0; ii < NUM_DOCS; ++ii) {
+                    final Document doc = new Document();
+                    doc.add(new StringField("id", Integer.toString(ii), Field.Store.YES));
+                    doc.add(new StoredField("f0", (float) ii));
+                    doc.add(new StoredField("f1", (float) ((ii * 7) % 5)));
+                    doc.add(new StoredField("f2", 1f - ii / 10f));
+                    w.addDocument(doc);
+                }
+            }
+
+            try (IndexReader reader = DirectoryReader.open(dir)) {
+                final IndexSearcher searcher = new IndexSearcher(reader);
+                for (int topN : new int[] { NUM_DOCS, 5, 1 }) {
+                    // per document scoring, as done by Solr itself
+                    final TopDocs expected = new LTRRescorer(new LTRScoringQuery(ltrModel))
+                            .rescore(searcher, searcher.search(new MatchAllDocsQuery(), NUM_DOCS), topN);
+                    final TopDocs actual = new BatchScoringRescorer(new LTRScoringQuery(ltrModel))
+                            .rescore(searcher, searcher.search(new MatchAllDocsQuery(), NUM_DOCS), topN);
+
+                    assertEquals(topN, expected.scoreDocs.length);
+                    assertEquals(expected.scoreDocs.length, actual.scoreDocs.length);
+                    for (int ii = 0; ii < expected.scoreDocs.length; ++ii) {
+                        assertEquals(expected.scoreDocs[ii].doc, actual.scoreDocs[ii].doc, "topN=" + topN + ", position " + ii);
+                        assertEquals(expected.scoreDocs[ii].score, actual.scoreDocs[ii].score, 1e-4f);
+                        assertEquals(expectedScore(expected.scoreDocs[ii].doc), actual.scoreDocs[ii].score, 1e-4f);
+                    }
+                }
+
+                // rewriting the main query keeps the batch scoring rescorer
+                final Query mainQuery = new BooleanQuery.Builder().add(new TermQuery(new Term("id", "1")), BooleanClause.Occur.MUST).build();
+                final Query rewritten = new BatchScoringLTRQuery(new LTRScoringQuery(ltrModel), NUM_DOCS).wrap(mainQuery).rewrite(reader);
+                assertTrue(rewritten instanceof BatchScoringLTRQuery, rewritten.getClass().getName());
+            }
+        }
+    }
+
+    /**
+     * Score of a linear model with weights 2, 4, 8 and bias 16, see {@link #buildScoringModel(SolrResourceLoader, Path)}
+     */
+    private static float expectedScore(int doc) {
+        return 2f * doc + 4f * ((doc * 7) % 5) + 8f * (1f - doc / 10f) + 16f;
+    }
+
+    private static ScoringModel buildScoringModel(SolrResourceLoader solrResourceLoader, Path tempDirPath) throws Exception {
+        final MultiLayerConfiguration conf = new NeuralNetConfiguration.Builder().list(new OutputLayer.Builder().nIn(NUM_FEATURES).nOut(1).lossFunction(LossFunctions.LossFunction.MSE).activation(Activation.IDENTITY).build()).build();
+        final MultiLayerNetwork model = new MultiLayerNetwork(conf);
+        model.init();
+        model.setParams(Nd4j.create(new float[] { 2f, 4f, 8f, 16f }));
+        final File modelFile = File.createTempFile("prefix", "suffix", tempDirPath.toFile());
+        modelFile.deleteOnExit();
+        ModelSerializer.writeModel(model, modelFile.getPath(), false);
+
+        final List<Feature> features = new ArrayList<Feature>();
+        final List<Normalizer> norms = new ArrayList<Normalizer>();
+        for (int ii = 0; ii < NUM_FEATURES; ++ii) {
+            final Map<String, Object> params = new HashMap<String, Object>();
+            params.put("field", "f" + ii);
+            final Feature feature = Feature.getInstance(solrResourceLoader, FieldValueFeature.class.getName(), "f" + ii, params);
+            feature.setIndex(ii);
+            features.add(feature);
+            norms.add(IdentityNormalizer.INSTANCE);
+        }
+        final ScoringModel ltrModel = new ScoringModel("myModel", features, norms, null, features, null);
+        ltrModel.setSerializedModelFileName(modelFile.getPath());
+        ltrModel.init(solrResourceLoader);
+        return ltrModel;
+    }
+}
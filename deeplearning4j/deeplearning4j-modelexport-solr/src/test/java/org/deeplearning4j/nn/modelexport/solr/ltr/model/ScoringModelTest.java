@@ -154,6 +154,20 @@ class ScoringModelTest {
                 assertEquals(ltrScore + " = (name=myModel" + ",class=" + ltrModel.getClass().getSimpleName() + ",featureValues=" + "[dummy1=" + Float.toString(floats[0]) + ",dummy2=" + Float.toString(floats[1]) + ",dummy3=" + Float.toString(floats[2]) + "])\n", explanation.toString());
             }
         }
+        final float[][] batch = floatsList(numFeatures).toArray(new float[0][]);
+        final float[] batchScores = ltrModel.score(batch);
+        ltrModel.beginBatch();
+        for (final float[] floats : batch) {
+            assertEquals(0f, ltrModel.score(floats), 0f);
+        }
+        final float[] deferredScores = ltrModel.endBatch();
+        assertEquals(batch.length, batchScores.length);
+        assertEquals(batch.length, deferredScores.length);
+        for (int ii = 0; ii < batch.length; ++ii) {
+            assertEquals(ScoringModel.outputScore((Model) originalModel, batch[ii]), batchScores[ii], 1e-4f);
+            assertEquals(batchScores[ii], deferredScores[ii], 0f);
+        }
+        assertEquals(ScoringModel.outputScore((Model) originalModel, batch[1]), ltrModel.score(batch[1]), 0f);
         final ScoringModel invalidLtrModel = new ScoringModel("invalidModel", featuresList(numFeatures + 1), normalizersList(numFeatures + 1), null, null, null);
         invalidLtrModel.setSerializedModelFileName(serializedModelFileName);
         try {
@@ -59,6 +59,7 @@ import org.deeplearning4j.nn.workspace.ArrayType;
 import org.deeplearning4j.nn.workspace.LayerWorkspaceMgr;
 import org.deeplearning4j.optimize.Solver;
 import org.deeplearning4j.optimize.api.ConvexOptimizer;
+import org.deeplearning4j.optimize.api.TimingTrainingListener;
 import org.deeplearning4j.optimize.api.TrainingListener;
 import org.deeplearning4j.optimize.solvers.accumulation.GradientsAccumulator;
 import org.nd4j.common.base.Preconditions;
@@ -1383,12 +1384,15 @@ public class ComputationGraph implements Serializable, Model, NeuralNetwork {
             workspaceMgr.assertCurrentWorkspace(ArrayType.ACTIVATIONS, null);
 
             //Score: sum of the scores for the various output layers...
+            //Computing the score runs the output layers' forward pass, so is timed as such
+            boolean timeLayers = hasTimingTrainingListeners();
             double r = calcRegularizationScore(true);
 
             score = 0.0;
             int outNum = 0;
             for (String s : configuration.getNetworkOutputs()) {
                 GraphVertex gv = verticesMap.get(s);
+                long vertexStart = timeLayers ? System.nanoTime() : 0;
                 if(gv instanceof LayerVertex) {
                     //At this point: the input to the output layer might not be set on the layer itself - just the vertex
                     LayerVertex lv = (LayerVertex) gv;
@@ -1405,6 +1409,9 @@ public class ComputationGraph implements Serializable, Model, NeuralNetwork {
                 try(MemoryWorkspace ws = workspaceMgr.notifyScopeEntered(ArrayType.FF_WORKING_MEM)) {
                     score += ((IOutputLayer) vertexLayer).computeScore(r, true, workspaceMgr);
                 }
+                if (timeLayers) {
+                    notifyLayerTiming(true, gv, vertexStart);
+                }
 
                 //Only want to add l1/l2 component once...
                 r = 0.0;
@@ -2101,6 +2108,7 @@ public class ComputationGraph implements Serializable, Model, NeuralNetwork {
         workspaceMgr.setHelperWorkspacePointers(helperWorkspaces);
 
         boolean traceLog = log.isTraceEnabled();
+        boolean timeLayers = train && hasTimingTrainingListeners();
 
         Map<String, INDArray> activations = new HashMap<>();
         //Do forward pass according to the topological ordering of the network
@@ -2123,6 +2131,7 @@ public class ComputationGraph implements Serializable, Model, NeuralNetwork {
                 continue;
             }
 
+            long vertexStart = timeLayers ? System.nanoTime() : 0;
             try(MemoryWorkspace wsFFWorking = workspaceMgr.notifyScopeEntered(ArrayType.FF_WORKING_MEM)){
                 VertexIndices[] inputsTo = current.getOutputVertices();
 
@@ -2177,6 +2186,10 @@ public class ComputationGraph implements Serializable, Model, NeuralNetwork {
                 }
             }
 
+            if(timeLayers && !current.isInputVertex()){
+                notifyLayerTiming(true, current, vertexStart);
+            }
+
             if(traceLog){
                 log.trace("Completed forward pass: {} (\"{}\") - {}", i, vName, current.getClass().getSimpleName());
             }
@@ -2658,6 +2671,7 @@ public class ComputationGraph implements Serializable, Model, NeuralNetwork {
         MemoryWorkspace initialWorkspace = Nd4j.getMemoryManager().getCurrentWorkspace();
 
         boolean traceLog = log.isTraceEnabled();
+        boolean timeLayers = hasTimingTrainingListeners();
 
         Throwable t = null;
         try {
@@ -2766,6 +2780,7 @@ public class ComputationGraph implements Serializable, Model, NeuralNetwork {
                     closeAtEndIteraton[closeableAt].add(wsActivationGrads);
                 }
 
+                long vertexStart = timeLayers ? System.nanoTime() : 0;
                 Pair<Gradient, INDArray[]> pair;
                 INDArray[] epsilons;
                 try (MemoryWorkspace wsWorkingMem = workspaceMgr.notifyScopeEntered(ArrayType.BP_WORKING_MEM)) {
@@ -2781,6 +2796,9 @@ public class ComputationGraph implements Serializable, Model, NeuralNetwork {
                         }
                     }
                 }
+                if (timeLayers) {
+                    notifyLayerTiming(false, current, vertexStart);
+                }
 
                 //Inputs to the current GraphVertex:
                 VertexIndices[] inputVertices = current.getInputVertices();
@@ -2979,6 +2997,27 @@ public class ComputationGraph implements Serializable, Model, NeuralNetwork {
         return trainingListeners;
     }
 
+    protected boolean hasTimingTrainingListeners() {
+        for (TrainingListener tl : trainingListeners) {
+            if (tl instanceof TimingTrainingListener)
+                return true;
+        }
+        return false;
+    }
+
+    protected void notifyLayerTiming(boolean forward, GraphVertex vertex, long startNanos) {
+        long endNanos = System.nanoTime();
+        for (TrainingListener tl : trainingListeners) {
+            if (tl instanceof TimingTrainingListener) {
+                if (forward) {
+                    ((TimingTrainingListener) tl).onLayerForwardPass(this, vertex.getVertexIndex(), vertex.getVertexName(), startNanos, endNanos);
+                } else {
+                    ((TimingTrainingListener) tl).onLayerBackwardPass(this, vertex.getVertexIndex(), vertex.getVertexName(), startNanos, endNanos);
+                }
+            }
+        }
+    }
+
     /**
      * Get the ComputationGraphUpdater for the network. Creates one on demand, if required
      */
@@ -55,6 +55,7 @@ import org.deeplearning4j.nn.workspace.ArrayType;
 import org.deeplearning4j.nn.workspace.LayerWorkspaceMgr;
 import org.deeplearning4j.optimize.Solver;
 import org.deeplearning4j.optimize.api.ConvexOptimizer;
+import org.deeplearning4j.optimize.api.TimingTrainingListener;
 import org.deeplearning4j.optimize.api.TrainingListener;
 import org.deeplearning4j.optimize.solvers.accumulation.GradientsAccumulator;
 import org.deeplearning4j.util.*;
@@ -1077,6 +1078,8 @@ public class MultiLayerNetwork implements Serializable, Classifier, Layer, Neura
      * Note that this method does NOT clear the inputs to each layer - instead, they are in the WS_ALL_LAYERS_ACT workspace
      * for use in later backprop.
      *
+     * @param train             True if the forward pass is part of fitting the network. Layer timings are only reported
+     *                          to {@link TimingTrainingListener}s when training
      * @param layerIndex        Index (inclusive) to stop forward pass at. For all layers, use numLayers-1
      * @param fwdPassType       Type of forward pass to perform (STANDARD or RNN_ACTIVATE_WITH_STORED_STATE only)
      * @param storeLastForTBPTT ONLY used if fwdPassType == FwdPassType.RNN_ACTIVATE_WITH_STORED_STATE
@@ -1085,7 +1088,7 @@ public class MultiLayerNetwork implements Serializable, Classifier, Layer, Neura
      * @param lMask             Label mask aray. May be null.
      * @return
      */
-    protected synchronized List<INDArray> ffToLayerActivationsInWs(int layerIndex, @NonNull FwdPassType fwdPassType, boolean storeLastForTBPTT,
+    protected synchronized List<INDArray> ffToLayerActivationsInWs(boolean train, int layerIndex, @NonNull FwdPassType fwdPassType, boolean storeLastForTBPTT,
                                                                    @NonNull INDArray input, INDArray fMask, INDArray lMask){
         setInput(input);
         setLayerMaskArrays(fMask, lMask);
@@ -1121,8 +1124,10 @@ public class MultiLayerNetwork implements Serializable, Classifier, Layer, Neura
         out.add(workspaceMgr.leverageTo(ArrayType.INPUT, input));    //Probably unnecessary usually
 
         boolean traceLog = log.isTraceEnabled();
+        boolean timeLayers = train && hasTimingTrainingListeners();
 
         for( int i = 0; i <=layerIndex; i++) {
+            long layerStart = timeLayers ? System.nanoTime() : 0;
             try(MemoryWorkspace wsFFWorking = workspaceMgr.notifyScopeEntered(ArrayType.FF_WORKING_MEM)){
                 if (getLayerWiseConfigurations().getInputPreProcess(i) != null) {
                     input = getLayerWiseConfigurations().getInputPreProcess(i).preProcess(input, getInputMiniBatchSize(), workspaceMgr);
@@ -1166,6 +1171,9 @@ public class MultiLayerNetwork implements Serializable, Classifier, Layer, Neura
                     log.trace("Completed forward pass: {} - {}", i, layers[i].getClass().getSimpleName());
                 }
             }
+            if(timeLayers){
+                notifyLayerTiming(true, i, layerStart);
+            }
         }
 
         return out;
@@ -1174,7 +1182,7 @@ public class MultiLayerNetwork implements Serializable, Classifier, Layer, Neura
     /**
      * Provide the output of the specified layer, detached from any workspace. This is most commonly used at inference/test
      * time, and is more memory efficient than {@link #ffToLayerActivationsDetached(boolean, FwdPassType, boolean, int, INDArray, INDArray, INDArray, boolean)}
-     * and {@link #ffToLayerActivationsInWs(int, FwdPassType, boolean, INDArray, INDArray, INDArray)}.<br>
+     * and {@link #ffToLayerActivationsInWs(boolean, int, FwdPassType, boolean, INDArray, INDArray, INDArray)}.<br>
      * This method clears all layer inputs.
      *
      * NOTE: in general, no workspaces should be activated externally for this method!
@@ -1823,7 +1831,7 @@ public class MultiLayerNetwork implements Serializable, Classifier, Layer, Neura
             //First: do a feed-forward through the network
             //Note that we don't actually need to do the full forward pass through the output layer right now; but we do
             // need the input to the output layer to be set (such that backprop can be done)
-            List<INDArray> activations = ffToLayerActivationsInWs(layers.length - 2, FwdPassType.STANDARD, false, input, mask, fMask);
+            List<INDArray> activations = ffToLayerActivationsInWs(false, layers.length - 2, FwdPassType.STANDARD, false, input, mask, fMask);
             if (!trainingListeners.isEmpty()) {
                 //TODO: We possibly do want output layer activations in some cases here...
                 for (TrainingListener tl : trainingListeners) {
@@ -1940,6 +1948,7 @@ public class MultiLayerNetwork implements Serializable, Classifier, Layer, Neura
         MemoryWorkspace initialWorkspace = Nd4j.getMemoryManager().getCurrentWorkspace();
 
         boolean traceLog = log.isTraceEnabled();
+        boolean timeLayers = hasTimingTrainingListeners();
 
         Throwable t = null;
         try {
@@ -1947,6 +1956,7 @@ public class MultiLayerNetwork implements Serializable, Classifier, Layer, Neura
                 if (layers[i] instanceof FrozenLayer) {
                     break;
                 }
+                long layerStart = timeLayers ? System.nanoTime() : 0;
 
                 if (traceLog) {
                     log.trace("About to backprop: {} - {}", i, layers[i].getClass().getSimpleName());
@@ -2028,6 +2038,10 @@ public class MultiLayerNetwork implements Serializable, Classifier, Layer, Neura
                     wsActGradTemp = null;
                 }
 
+                if (timeLayers) {
+                    notifyLayerTiming(false, i, layerStart);
+                }
+
                 if (traceLog) {
                     log.trace("Completed backprop: {} - {}", i, layers[i].getClass().getSimpleName());
                 }
@@ -2191,6 +2205,30 @@ public class MultiLayerNetwork implements Serializable, Classifier, Layer, Neura
         return trainingListeners;
     }
 
+    protected boolean hasTimingTrainingListeners() {
+        for (TrainingListener tl : trainingListeners) {
+            if (tl instanceof TimingTrainingListener)
+                return true;
+        }
+        return false;
+    }
+
+    protected void notifyLayerTiming(boolean forward, int layerIdx, long startNanos) {
+        long endNanos = System.nanoTime();
+        String layerName = layers[layerIdx].conf().getLayer().getLayerName();
+        if (layerName == null)
+            layerName = String.valueOf(layerIdx);
+        for (TrainingListener tl : trainingListeners) {
+            if (tl instanceof TimingTrainingListener) {
+                if (forward) {
+                    ((TimingTrainingListener) tl).onLayerForwardPass(this, layerIdx, layerName, startNanos, endNanos);
+                } else {
+                    ((TimingTrainingListener) tl).onLayerBackwardPass(this, layerIdx, layerName, startNanos, endNanos);
+                }
+            }
+        }
+    }
+
     @Override
     public void setListeners(Collection<TrainingListener> listeners) {
         if (layers == null) {
@@ -2774,13 +2812,14 @@ public class MultiLayerNetwork implements Serializable, Classifier, Layer, Neura
         boolean tbptt = layerWiseConfigurations.getBackpropType() == BackpropType.TruncatedBPTT;
         FwdPassType fwdType = (tbptt ? FwdPassType.RNN_ACTIVATE_WITH_STORED_STATE : FwdPassType.STANDARD);
         synchronizeIterEpochCounts();
+        boolean timeLayers = hasTimingTrainingListeners();
 
         //Calculate activations (which are stored in each layer, and used in backprop)
         try(MemoryWorkspace ws = mgr.notifyScopeEntered(ArrayType.ACTIVATIONS)) {
             //First: do a feed-forward through the network
             //Note that we don't actually need to do the full forward pass through the output layer right now; but we do
             // need the input to the output layer to be set (such that backprop can be done)
-            List<INDArray> activations = ffToLayerActivationsInWs(layers.length - 2, fwdType, tbptt, input, mask, null);
+            List<INDArray> activations = ffToLayerActivationsInWs(true, layers.length - 2, fwdType, tbptt, input, mask, null);
             if (!trainingListeners.isEmpty()) {
                 //TODO: We possibly do want output layer activations in some cases here...
                 for (TrainingListener tl : trainingListeners) {
@@ -2798,11 +2837,15 @@ public class MultiLayerNetwork implements Serializable, Classifier, Layer, Neura
             Pair<Gradient, INDArray> pair = calcBackpropGradients(null, true, false, false);
             this.gradient = (pair == null ? null : pair.getFirst());
 
-            //Calculate score
+            //Calculate score. This runs the output layer's forward pass, so is timed as such
+            long outputLayerStart = timeLayers ? System.nanoTime() : 0;
             try(MemoryWorkspace wsFF = mgr.notifyScopeEntered(ArrayType.FF_WORKING_MEM)) {
                 double r = calcRegularizationScore(true);
                 score = ((IOutputLayer) getOutputLayer()).computeScore(r, true, mgr);
             }
+            if (timeLayers) {
+                notifyLayerTiming(true, layers.length - 1, outputLayerStart);
+            }
 
             //Listeners
             if (!trainingListeners.isEmpty()) {
@@ -0,0 +1,168 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.deeplearning4j.nn.quantization;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.deeplearning4j.nn.api.Layer;
+import org.deeplearning4j.nn.graph.ComputationGraph;
+import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
+import org.nd4j.autodiff.samediff.quantization.PostTrainingQuantizer;
+import org.nd4j.autodiff.samediff.quantization.QuantizationConfig;
+import org.nd4j.autodiff.samediff.quantization.QuantizationReport;
+import org.nd4j.common.base.Preconditions;
+import org.nd4j.common.primitives.Pair;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.adapter.MultiDataSetIteratorAdapter;
+import org.nd4j.linalg.dataset.api.DataSet;
+import org.nd4j.linalg.dataset.api.MultiDataSet;
+import org.nd4j.linalg.dataset.api.iterator.DataSetIterator;
+import org.nd4j.linalg.dataset.api.iterator.MultiDataSetIterator;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Post-training int8 weight quantization for {@link MultiLayerNetwork} and {@link ComputationGraph}, the DL4J
+ * equivalent of {@link PostTrainingQuantizer}.<br>
+ * The weight parameters of each layer (as per the layer's ParamInitializer - biases are not quantized) are rounded to
+ * symmetric INT8 values with per-channel scales (the last dimension for 2d weights such as dense and recurrent
+ * layers, and the first dimension for convolution weights), on a copy of the network. The outputs of the original and
+ * quantized networks are then compared on the provided data - see {@link QuantizationReport}.<br>
+ * <br>
+ * DL4J networks store their parameters as a single floating point array, so the quantized network holds the rounded
+ * weights in the original data type: its inference speed and memory use are those of the original network. Use this
+ * to measure the accuracy impact of int8 weights on a DL4J model. The quantized size in the report is the size of the
+ * parameters with the quantized weights stored as INT8, plus their scales.<br>
+ * Only {@link QuantizationConfig#getMinElements()}, {@link QuantizationConfig#isPerChannel()} and
+ * {@link QuantizationConfig#getEvaluationBatches()} are used.
+ */
+@Slf4j
+public class NetworkQuantizer {
+
+    @Getter
+    private final QuantizationConfig config;
+
+    public NetworkQuantizer() {
+        this(new QuantizationConfig());
+    }
+
+    public NetworkQuantizer(@NonNull QuantizationConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Quantize the weights of the specified network. The network itself is not modified.
+     *
+     * @param net  Network to quantize
+     * @param data Data used to produce the accuracy report
+     * @return A copy of the network with quantized weights, and the accuracy report
+     */
+    public Pair<MultiLayerNetwork, QuantizationReport> quantize(@NonNull MultiLayerNetwork net, @NonNull DataSetIterator data) {
+        MultiLayerNetwork q = net.clone();
+        QuantizationReport report = quantizeLayers(q.getLayers(), net.params());
+
+        String outputName = net.getLayer(net.getnLayers() - 1).conf().getLayer().getLayerName();
+        if (data.resetSupported())
+            data.reset();
+        int count = 0;
+        while (data.hasNext() && (config.getEvaluationBatches() <= 0 || count < config.getEvaluationBatches())) {
+            DataSet ds = data.next();
+            INDArray fOut = net.output(ds.getFeatures(), false, ds.getFeaturesMaskArray(), ds.getLabelsMaskArray());
+            INDArray qOut = q.output(ds.getFeatures(), false, ds.getFeaturesMaskArray(), ds.getLabelsMaskArray());
+            report.addMinibatch(outputName, fOut, qOut);
+            count++;
+        }
+        Preconditions.checkState(count > 0, "No data was available to evaluate the quantized network on");
+        log.info("Quantization report:\n{}", report);
+        return new Pair<>(q, report);
+    }
+
+    /**
+     * See {@link #quantize(ComputationGraph, MultiDataSetIterator)}
+     */
+    public Pair<ComputationGraph, QuantizationReport> quantize(@NonNull ComputationGraph net, @NonNull DataSetIterator data) {
+        return quantize(net, new MultiDataSetIteratorAdapter(data));
+    }
+
+    /**
+     * Quantize the weights of the specified network. The network itself is not modified.
+     *
+     * @param net  Network to quantize
+     * @param data Data used to produce the accuracy report
+     * @return A copy of the network with quantized weights, and the accuracy report
+     */
+    public Pair<ComputationGraph, QuantizationReport> quantize(@NonNull ComputationGraph net, @NonNull MultiDataSetIterator data) {
+        ComputationGraph q = net.clone();
+        QuantizationReport report = quantizeLayers(q.getLayers(), net.params());
+
+        List<String> outputs = net.getConfiguration().getNetworkOutputs();
+        if (data.resetSupported())
+            data.reset();
+        int count = 0;
+        while (data.hasNext() && (config.getEvaluationBatches() <= 0 || count < config.getEvaluationBatches())) {
+            MultiDataSet mds = data.next();
+            INDArray[] fOut = net.output(false, mds.getFeatures(), mds.getFeaturesMaskArrays(), mds.getLabelsMaskArrays());
+            INDArray[] qOut = q.output(false, mds.getFeatures(), mds.getFeaturesMaskArrays(), mds.getLabelsMaskArrays());
+            for (int i = 0; i < outputs.size(); i++) {
+                report.addMinibatch(outputs.get(i), fOut[i], qOut[i]);
+            }
+            count++;
+        }
+        Preconditions.checkState(count > 0, "No data was available to evaluate the quantized network on");
+        log.info("Quantization report:\n{}", report);
+        return new Pair<>(q, report);
+    }
+
+    /**
+     * Quantize the weights of the specified layers in place, returning the (empty) report with the parameter sizes
+     */
+    protected QuantizationReport quantizeLayers(Layer[] layers, INDArray params) {
+        long floatBytes = params == null ? 0 : params.length() * params.dataType().width();
+        long quantizedBytes = floatBytes;
+        int count = 0;
+        for (Layer l : layers) {
+            org.deeplearning4j.nn.conf.layers.Layer conf = l.conf().getLayer();
+            for (Map.Entry<String, INDArray> e : l.paramTable().entrySet()) {
+                INDArray w = e.getValue();
+                if (!canQuantize(conf, e.getKey(), w))
+                    continue;
+                int channelDim = !config.isPerChannel() ? -1 : (w.rank() == 2 ? 1 : 0);
+                Pair<INDArray, INDArray> p = PostTrainingQuantizer.quantizeWeights(w, channelDim);
+                w.assign(PostTrainingQuantizer.dequantizeWeights(p.getFirst(), p.getSecond()));
+
+                int width = w.dataType().width();
+                quantizedBytes -= w.length() * width;
+                quantizedBytes += w.length() + p.getSecond().length() * width;
+                count++;
+            }
+        }
+        log.info("Quantized {} weight arrays to INT8 values", count);
+        return new QuantizationReport(floatBytes, quantizedBytes, count);
+    }
+
+    protected boolean canQuantize(org.deeplearning4j.nn.conf.layers.Layer conf, String paramKey, INDArray w) {
+        if (conf == null || !conf.initializer().isWeightParam(conf, paramKey))
+            return false;
+        return w.dataType().isFPType() && w.rank() >= 2 && w.length() >= config.getMinElements();
+    }
+}
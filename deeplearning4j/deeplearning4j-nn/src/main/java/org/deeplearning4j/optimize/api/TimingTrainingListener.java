@@ -0,0 +1,82 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.deeplearning4j.optimize.api;
+
+import org.deeplearning4j.nn.api.Model;
+
+/**
+ * A {@link TrainingListener} that is additionally notified of the time taken by each stage of a training iteration:
+ * the forward and backward pass of each layer (for a {@link org.deeplearning4j.nn.multilayer.MultiLayerNetwork}) or
+ * vertex (for a {@link org.deeplearning4j.nn.graph.ComputationGraph}), the updater, and the parameter update (including
+ * gradient sharing, when used).<br>
+ * Timing is only performed when at least one listener of this type is set on the network, so there is no
+ * overhead otherwise. Times are from {@link System#nanoTime()}, and are measured on the training thread; as ops may
+ * execute asynchronously on some backends (such as CUDA), per-layer times are approximate unless the backend is
+ * synchronized after each op.
+ */
+public interface TimingTrainingListener extends TrainingListener {
+
+    /**
+     * Called once per layer/vertex after its forward pass has completed, only at training time
+     *
+     * @param model      Model
+     * @param layerIdx   Index of the layer or vertex
+     * @param layerName  Name of the layer or vertex
+     * @param startNanos Start time of the forward pass, from {@link System#nanoTime()}
+     * @param endNanos   End time of the forward pass, from {@link System#nanoTime()}
+     */
+    void onLayerForwardPass(Model model, int layerIdx, String layerName, long startNanos, long endNanos);
+
+    /**
+     * Called once per layer/vertex after its backward pass (gradient calculation) has completed
+     *
+     * @param model      Model
+     * @param layerIdx   Index of the layer or vertex
+     * @param layerName  Name of the layer or vertex
+     * @param startNanos Start time of the backward pass, from {@link System#nanoTime()}
+     * @param endNanos   End time of the backward pass, from {@link System#nanoTime()}
+     */
+    void onLayerBackwardPass(Model model, int layerIdx, String layerName, long startNanos, long endNanos);
+
+    /**
+     * Called once per iteration after the updater (learning rate, momentum etc) has been applied to the gradients.
+     * Note that this is called after {@link #onGradientCalculation(Model)}
+     *
+     * @param model      Model
+     * @param startNanos Start time of the updater, from {@link System#nanoTime()}
+     * @param endNanos   End time of the updater, from {@link System#nanoTime()}
+     */
+    void onUpdaterApplied(Model model, long startNanos, long endNanos);
+
+    /**
+     * Called after the updates have been applied to the parameters. This is called once per iteration, before
+     * {@link #iterationDone(Model, int, int)}, and also before the forward pass if updates received from other workers
+     * are applied at that point
+     *
+     * @param model           Model
+     * @param startNanos      Start time of the parameter update, from {@link System#nanoTime()}
+     * @param endNanos        End time of the parameter update, from {@link System#nanoTime()}
+     * @param sharedGradients True if the updates were shared with (or received from) other workers via a
+     *                        {@link org.deeplearning4j.optimize.solvers.accumulation.GradientsAccumulator}
+     */
+    void onParametersUpdated(Model model, long startNanos, long endNanos, boolean sharedGradients);
+
+}
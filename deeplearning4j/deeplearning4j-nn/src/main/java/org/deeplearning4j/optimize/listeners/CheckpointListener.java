@@ -48,6 +48,7 @@ public class CheckpointListener extends BaseTrainingListener implements Serializ
     private int keepEvery;
     private boolean logSaving;
     private boolean deleteExisting;
+    private String compressionAlgorithm;
 
     private Integer saveEveryNEpochs;
     private Integer saveEveryNIterations;
@@ -72,6 +73,7 @@ public class CheckpointListener extends BaseTrainingListener implements Serializ
         this.keepEvery = builder.keepEvery;
         this.logSaving = builder.logSaving;
         this.deleteExisting = builder.deleteExisting;
+        this.compressionAlgorithm = builder.compressionAlgorithm;
 
         this.saveEveryNEpochs = builder.saveEveryNEpochs;
         this.saveEveryNIterations = builder.saveEveryNIterations;
@@ -183,7 +185,7 @@ public class CheckpointListener extends BaseTrainingListener implements Serializ
                 getModelType(model), null);
         setFileName(c);
 
-        ModelSerializer.writeModel(model, new File(rootDir, c.getFilename()), true);
+        ModelSerializer.writeModel(model, new File(rootDir, c.getFilename()), true, null, compressionAlgorithm);
 
         String s = c.toFileString();
         write(s + "\n", checkpointRecordFile);
@@ -496,6 +498,7 @@ public class CheckpointListener extends BaseTrainingListener implements Serializ
         private int keepEvery;
         private boolean logSaving = true;
         private boolean deleteExisting = false;
+        private String compressionAlgorithm;
 
         private Integer saveEveryNEpochs;
         private Integer saveEveryNIterations;
@@ -640,6 +643,18 @@ public class CheckpointListener extends BaseTrainingListener implements Serializ
             return this;
         }
 
+        /**
+         * Compress parameters and updater state of saved models with the specified lossless compression algorithm,
+         * such as "SHUFFLE_LZ4" or "LZ4". Compressed checkpoints are decompressed when loaded.<br>
+         * Default: null (no compression, other than zip deflate)
+         *
+         * @param compressionAlgorithm Name of the compression algorithm
+         */
+        public Builder compression(String compressionAlgorithm){
+            this.compressionAlgorithm = compressionAlgorithm;
+            return this;
+        }
+
         public CheckpointListener build(){
             if(saveEveryNEpochs == null && saveEveryAmount == null && saveEveryNIterations == null){
                 throw new IllegalStateException("Cannot construct listener: no models will be saved (must use at least" +
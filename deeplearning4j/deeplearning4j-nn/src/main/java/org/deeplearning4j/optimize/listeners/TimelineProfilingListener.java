@@ -0,0 +1,406 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.deeplearning4j.optimize.listeners;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.bytedeco.javacpp.Pointer;
+import org.deeplearning4j.nn.api.Model;
+import org.deeplearning4j.nn.graph.ComputationGraph;
+import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
+import org.deeplearning4j.optimize.api.BaseTrainingListener;
+import org.deeplearning4j.optimize.api.TimingTrainingListener;
+import org.nd4j.autodiff.listeners.profiler.ProfilingListener;
+import org.nd4j.autodiff.listeners.profiler.comparison.ProfileAnalyzer;
+import org.nd4j.autodiff.listeners.profiler.data.Phase;
+import org.nd4j.autodiff.listeners.profiler.data.TraceEvent;
+import org.nd4j.common.base.Preconditions;
+import org.nd4j.linalg.api.memory.MemoryWorkspace;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.shade.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A training listener for {@link MultiLayerNetwork} and {@link ComputationGraph} that records a timeline of each
+ * training iteration in the Chrome trace format (the same format as the SameDiff {@link ProfilingListener}).
+ * The output file can be opened in Chrome (chrome://tracing) or similar tools, and summarized or compared using
+ * {@link #summarize(File)} and {@link #compare(File, File)}.<br>
+ * The following are recorded for each iteration, as complete events:<br>
+ * - "&lt;layer name&gt;/forward" and "&lt;layer name&gt;/backward": forward and backward pass time for each layer (or vertex)<br>
+ * - "updater": time to apply the updater (learning rate, momentum etc) to the gradients<br>
+ * - "gradient_sharing": time to share the updates with other workers and apply them to the parameters, if gradient
+ * sharing (for example, via ParallelWrapper or Spark) is used; "step" (applying the updates only) otherwise<br>
+ * - "data_wait": time between the end of one iteration and the start of the next - mostly time spent waiting for the
+ * next DataSet from the iterator (such as an AsyncDataSetIterator). The ETL time reported by the network is included
+ * as an argument<br>
+ * In addition, workspace sizes and total off-heap memory are recorded as counter events after each iteration.<br>
+ * Note that as ops may execute asynchronously on some backends (such as CUDA), times are approximate unless the backend
+ * is synchronized after each op.
+ */
+@Slf4j
+public class TimelineProfilingListener extends BaseTrainingListener implements TimingTrainingListener, Closeable {
+
+    @Getter
+    private final File outputFile;
+    @Getter
+    private final int warmup;
+    @Getter
+    private final int nIter;
+    @Getter
+    private final boolean recordMemory;
+
+    private final long pid;
+    private final ThreadLocal<ThreadState> state = new ThreadLocal<ThreadState>() {
+        @Override
+        protected ThreadState initialValue() {
+            return new ThreadState();
+        }
+    };
+
+    private final Writer writer;
+    private final ObjectMapper json;
+    private final Thread fileWritingThread;
+    private final BlockingQueue<TraceEvent> writeQueue;
+    private final AtomicBoolean writing = new AtomicBoolean(false);
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    protected TimelineProfilingListener(@NonNull File outputFile, int warmup, int nIter, boolean recordMemory) {
+        Preconditions.checkArgument(!outputFile.exists(), "Output file already exists: %s", outputFile);
+        this.outputFile = outputFile;
+        this.warmup = warmup;
+        this.nIter = nIter;
+        this.recordMemory = recordMemory;
+        this.pid = getProcessId();
+
+        try {
+            this.writer = new BufferedWriter(new FileWriter(outputFile, false));
+            this.writer.write("[");     //JSON array open (array close is optional for Chrome profiler format)
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        this.json = ProfilingListener.jsonMapper();
+
+        //Set up a queue so file access doesn't add latency to the training thread
+        writeQueue = new LinkedBlockingDeque<>();
+        fileWritingThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    while (true) {
+                        TraceEvent te = writeQueue.take();    //Blocking
+                        writing.set(true);
+                        try {
+                            writer.append(json.writeValueAsString(te));
+                            writer.append(",\n");
+                        } finally {
+                            writing.set(false);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Throwable t) {
+                    log.error("Error when attempting to write results to file", t);
+                }
+            }
+        }, "TimelineProfilingListener-writer");
+        fileWritingThread.setDaemon(true);
+        fileWritingThread.start();
+    }
+
+    @Override
+    public void onLayerForwardPass(Model model, int layerIdx, String layerName, long startNanos, long endNanos) {
+        ThreadState s = state.get();
+        if (!s.inIteration) {
+            endDataWait(model, s, startNanos, endNanos);
+            s.inIteration = true;
+        }
+        if (isRecording(s)) {
+            recordLayer(layerName + "/forward", "Forward", layerIdx, layerName, startNanos, endNanos);
+        }
+    }
+
+    @Override
+    public void onLayerBackwardPass(Model model, int layerIdx, String layerName, long startNanos, long endNanos) {
+        ThreadState s = state.get();
+        if (!s.inIteration) {
+            //Output layer only network: the backward pass is the first event of the iteration
+            endDataWait(model, s, startNanos, endNanos);
+            s.inIteration = true;
+        }
+        if (isRecording(s)) {
+            recordLayer(layerName + "/backward", "Backward", layerIdx, layerName, startNanos, endNanos);
+        }
+    }
+
+    @Override
+    public void onUpdaterApplied(Model model, long startNanos, long endNanos) {
+        if (isRecording(state.get())) {
+            record("updater", "Updater", startNanos, endNanos, Collections.<String, Object>singletonMap("name", "updater"));
+        }
+    }
+
+    @Override
+    public void onParametersUpdated(Model model, long startNanos, long endNanos, boolean sharedGradients) {
+        ThreadState s = state.get();
+        if (!s.inIteration) {
+            //Updates from other workers, applied before the forward pass
+            endDataWait(model, s, startNanos, endNanos);
+        }
+        if (isRecording(s)) {
+            String name = sharedGradients ? "gradient_sharing" : "step";
+            record(name, "Update", startNanos, endNanos, Collections.<String, Object>singletonMap("name", name));
+        }
+    }
+
+    @Override
+    public void iterationDone(Model model, int iteration, int epoch) {
+        ThreadState s = state.get();
+        if (recordMemory && isRecording(s)) {
+            recordMemory(System.nanoTime());
+        }
+        s.inIteration = false;
+        s.idleSince = System.nanoTime();
+        s.iterationCount++;
+    }
+
+    @Override
+    public void onEpochStart(Model model) {
+        ThreadState s = state.get();
+        s.inIteration = false;
+        s.idleSince = System.nanoTime();
+    }
+
+    @Override
+    public void onEpochEnd(Model model) {
+        flush();
+    }
+
+    /**
+     * Wait for all recorded events to be written, and flush the output file. This is called automatically at the end
+     * of each epoch, but should be called manually when training using methods such as {@code fit(DataSet)}
+     */
+    public void flush() {
+        if (closed.get())
+            return;
+        while ((!writeQueue.isEmpty() || writing.get()) && fileWritingThread.isAlive()) {
+            //Wait for file writing thread to catch up
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Write any remaining events, then stop the file writing thread and close the output file. Events recorded after
+     * this listener has been closed are discarded
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        if (!closed.compareAndSet(false, true))
+            return;
+        fileWritingThread.interrupt();
+        try {
+            fileWritingThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer.close();
+    }
+
+    /**
+     * Record the time between the end of the last iteration (or other recorded event outside of an iteration) and the
+     * start of the next recorded event as data wait time
+     */
+    protected void endDataWait(Model model, ThreadState s, long startNanos, long endNanos) {
+        if (s.idleSince > 0 && isRecording(s)) {
+            Map<String, Object> args = new LinkedHashMap<>();
+            args.put("name", "data_wait");
+            args.put("etlMs", lastEtlTime(model));
+            record("data_wait", "Data", s.idleSince, startNanos, args);
+        }
+        s.idleSince = endNanos;
+    }
+
+    protected boolean isRecording(ThreadState s) {
+        if (s.iterationCount < warmup)
+            return false;
+        return nIter <= 0 || s.iterationCount < warmup + (long) nIter;
+    }
+
+    protected void recordLayer(String name, String category, int layerIdx, String layerName, long startNanos, long endNanos) {
+        Map<String, Object> args = new LinkedHashMap<>();
+        args.put("name", name);
+        args.put("layer", layerName);
+        args.put("layerIdx", layerIdx);
+        record(name, category, startNanos, endNanos, args);
+    }
+
+    protected void record(String name, String category, long startNanos, long endNanos, Map<String, Object> args) {
+        if (closed.get())
+            return;
+        writeQueue.add(TraceEvent.builder()
+                .name(name)
+                .categories(Collections.singletonList(category))
+                .ts(startNanos / 1000)
+                .dur((endNanos - startNanos) / 1000)
+                .pid((int) pid)
+                .tid(Thread.currentThread().getId())
+                .ph(Phase.X)
+                .args(args)
+                .build());
+    }
+
+    protected void recordMemory(long nowNanos) {
+        if (closed.get())
+            return;
+        Map<String, Object> sizes = new LinkedHashMap<>();
+        for (MemoryWorkspace ws : Nd4j.getWorkspaceManager().getAllWorkspacesForCurrentThread()) {
+            sizes.put(ws.getId(), ws.getCurrentSize());
+        }
+        long tid = Thread.currentThread().getId();
+        if (!sizes.isEmpty()) {
+            writeQueue.add(TraceEvent.builder().name("workspace_bytes").ts(nowNanos / 1000).pid((int) pid).tid(tid)
+                    .ph(Phase.C).args(sizes).build());
+        }
+
+        Map<String, Object> offHeap = new LinkedHashMap<>();
+        offHeap.put("totalBytes", Pointer.totalBytes());
+        offHeap.put("physicalBytes", Pointer.physicalBytes());
+        writeQueue.add(TraceEvent.builder().name("off_heap_bytes").ts(nowNanos / 1000).pid((int) pid).tid(tid)
+                .ph(Phase.C).args(offHeap).build());
+    }
+
+    protected static long lastEtlTime(Model model) {
+        if (model instanceof MultiLayerNetwork)
+            return ((MultiLayerNetwork) model).getLastEtlTime();
+        if (model instanceof ComputationGraph)
+            return ((ComputationGraph) model).getLastEtlTime();
+        return 0;
+    }
+
+    private static long getProcessId() {
+        //Something like '<pid>@<hostname>', at least in SUN / Oracle JVMs
+        final String jvmName = ManagementFactory.getRuntimeMXBean().getName();
+        final int index = jvmName.indexOf('@');
+        if (index < 1)
+            return 0;
+        try {
+            return Long.parseLong(jvmName.substring(0, index));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Summarize the timeline recorded by this listener: total, mean, min and max time for each layer and phase
+     *
+     * @param profile Profile file written by a TimelineProfilingListener
+     * @return Summary as a String
+     */
+    public static String summarize(@NonNull File profile) {
+        return ProfileAnalyzer.summarizeProfileStr(profile, ProfileAnalyzer.ProfileFormat.SAMEDIFF);
+    }
+
+    /**
+     * Compare two timelines recorded by this listener - for example, before and after a configuration change.
+     * Results are sorted by the fraction of total time in the first profile
+     *
+     * @param profile1 First profile file
+     * @param profile2 Second profile file
+     * @return Comparison as a String
+     */
+    public static String compare(@NonNull File profile1, @NonNull File profile2) {
+        return ProfileAnalyzer.compareProfiles(profile1, profile2, ProfileAnalyzer.ProfileFormat.SAMEDIFF,
+                ProfileAnalyzer.ProfileFormat.SAMEDIFF);
+    }
+
+    /**
+     * Create a new builder
+     * @param outputFile Output file. Must not already exist
+     */
+    public static Builder builder(File outputFile) {
+        return new Builder(outputFile);
+    }
+
+    protected static class ThreadState {
+        private boolean inIteration;
+        private long idleSince;
+        private long iterationCount;
+    }
+
+    public static class Builder {
+        private final File outputFile;
+        private int warmup = 0;
+        private int nIter = -1;
+        private boolean recordMemory = true;
+
+        public Builder(@NonNull File outputFile) {
+            this.outputFile = outputFile;
+        }
+
+        /**
+         * Specify the number of warmup iterations - i.e., these will be excluded from profiling results
+         */
+        public Builder warmup(int iterations) {
+            this.warmup = iterations;
+            return this;
+        }
+
+        /**
+         * Set a limit on the maximum number of iterations to profile (after warmup, if any)
+         */
+        public Builder maxProfileIterations(int iterations) {
+            this.nIter = iterations;
+            return this;
+        }
+
+        /**
+         * Whether workspace sizes and total off-heap memory should be recorded after each iteration. Default: true
+         */
+        public Builder recordMemory(boolean recordMemory) {
+            this.recordMemory = recordMemory;
+            return this;
+        }
+
+        /**
+         * Create the profiling listener
+         */
+        public TimelineProfilingListener build() {
+            return new TimelineProfilingListener(outputFile, warmup, nIter, recordMemory);
+        }
+    }
+}
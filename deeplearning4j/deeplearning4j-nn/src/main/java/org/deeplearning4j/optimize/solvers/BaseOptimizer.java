@@ -36,6 +36,7 @@ import org.deeplearning4j.nn.updater.graph.ComputationGraphUpdater;
 import org.deeplearning4j.nn.workspace.LayerWorkspaceMgr;
 import org.deeplearning4j.optimize.api.ConvexOptimizer;
 import org.deeplearning4j.optimize.api.StepFunction;
+import org.deeplearning4j.optimize.api.TimingTrainingListener;
 import org.deeplearning4j.optimize.api.TrainingListener;
 import org.deeplearning4j.optimize.solvers.accumulation.GradientsAccumulator;
 import org.deeplearning4j.optimize.stepfunctions.NegativeDefaultStepFunction;
@@ -183,10 +184,37 @@ public abstract class BaseOptimizer implements ConvexOptimizer {
 
         Pair<Gradient, Double> pair = model.gradientAndScore();
         score = pair.getSecond();
+        boolean timing = hasTimingListeners();
+        long updaterStart = timing ? System.nanoTime() : 0;
         updateGradientAccordingToParams(pair.getFirst(), model, model.batchSize(), workspaceMgr);
+        if (timing) {
+            long updaterEnd = System.nanoTime();
+            for (TrainingListener l : trainingListeners) {
+                if (l instanceof TimingTrainingListener)
+                    ((TimingTrainingListener) l).onUpdaterApplied(model, updaterStart, updaterEnd);
+            }
+        }
         return pair;
     }
 
+    protected boolean hasTimingListeners() {
+        if (trainingListeners == null)
+            return false;
+        for (TrainingListener l : trainingListeners) {
+            if (l instanceof TimingTrainingListener)
+                return true;
+        }
+        return false;
+    }
+
+    protected void notifyParametersUpdated(long startNanos, boolean sharedGradients) {
+        long endNanos = System.nanoTime();
+        for (TrainingListener l : trainingListeners) {
+            if (l instanceof TimingTrainingListener)
+                ((TimingTrainingListener) l).onParametersUpdated(model, startNanos, endNanos, sharedGradients);
+        }
+    }
+
     /**
      * Optimize call. This runs the optimizer.
      * @return whether it converged or not
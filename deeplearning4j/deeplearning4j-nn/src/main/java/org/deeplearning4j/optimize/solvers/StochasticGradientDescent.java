@@ -48,13 +48,17 @@ public class StochasticGradientDescent extends BaseOptimizer {
 
     @Override
     public boolean optimize(LayerWorkspaceMgr workspaceMgr) {
+        boolean timing = hasTimingListeners();
         if (accumulator != null) {
             // before going FF, we're checking if there are any updates available
             if (accumulator.hasAnything()) {
                 log.info("Applying external updates before FF...");
+                long applyStart = timing ? System.nanoTime() : 0;
 
                 // we'll just fire off params update process
                 accumulator.applyUpdate(stepFunction, model.params(), Nd4j.createUninitialized(model.params().shape(), model.params().ordering()), false);
+                if (timing)
+                    notifyParametersUpdated(applyStart, true);
             }
         }
 
@@ -63,6 +67,7 @@ public class StochasticGradientDescent extends BaseOptimizer {
         Gradient gradient = pair.getFirst();
 
         INDArray params = model.params();
+        long updateStart = timing ? System.nanoTime() : 0;
 
         // if optimizer has GradientsAccumulator defined - go for it
         if (accumulator != null) {
@@ -95,6 +100,8 @@ public class StochasticGradientDescent extends BaseOptimizer {
         //However: for pretrain layers, params are NOT a view. Thus a setParams call is necessary
         //But setParams should be a no-op for MLN and CG
         model.setParams(params);
+        if (timing)
+            notifyParametersUpdated(updateStart, accumulator != null);
 
         int iterationCount = BaseOptimizer.getIterationCount(model);
         int epochCount = BaseOptimizer.getEpochCount(model);
@@ -28,6 +28,7 @@ import org.deeplearning4j.exception.DL4JInvalidConfigException;
 import org.deeplearning4j.nn.api.Model;
 import org.deeplearning4j.optimize.api.StepFunction;
 import org.deeplearning4j.optimize.solvers.accumulation.encoding.ResidualPostProcessor;
+import org.deeplearning4j.optimize.solvers.accumulation.encoding.StochasticQuantization;
 import org.deeplearning4j.optimize.solvers.accumulation.encoding.ThresholdAlgorithm;
 import org.deeplearning4j.optimize.solvers.accumulation.encoding.residual.ResidualClippingPostProcessor;
 import org.deeplearning4j.optimize.solvers.accumulation.encoding.threshold.AdaptiveThresholdAlgorithm;
@@ -37,6 +38,7 @@ import org.nd4j.linalg.api.memory.MemoryWorkspace;
 import org.nd4j.linalg.api.memory.conf.WorkspaceConfiguration;
 import org.nd4j.linalg.api.memory.enums.*;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.compression.QuantizedCompression;
 import org.nd4j.linalg.compression.ThresholdCompression;
 import org.nd4j.linalg.exception.ND4JIllegalStateException;
 import org.nd4j.linalg.factory.Nd4j;
@@ -175,6 +177,24 @@ public class EncodedGradientsAccumulator implements GradientsAccumulator, Regist
         return getOptimalBufferSize(model.params().length(), numWorkers, queueSize);
     }
 
+    /**
+     * This method returns optimal bufferSize for a given model, taking into account the size of quantized updates
+     *
+     * @param paramsLength
+     * @param numWorkers
+     * @param queueSize
+     * @param quantization Stochastic quantization used to encode updates. If null, threshold encoding is assumed
+     * @return
+     */
+    public static long getOptimalBufferSize(long paramsLength, int numWorkers, int queueSize, StochasticQuantization quantization) {
+        if (quantization == null)
+            return getOptimalBufferSize(paramsLength, numWorkers, queueSize);
+
+        // quantized updates are always dense, so their size is known in advance
+        val bufferSize = (quantization.encodedLength(paramsLength) + 65536) * numWorkers * queueSize * 4;
+        return bufferSize;
+    }
+
     @Override
     public void fallbackToSingleConsumerMode(boolean reallyFallback) {
         if (externalSource != null && externalSource instanceof Registerable)
@@ -297,6 +317,8 @@ public class EncodedGradientsAccumulator implements GradientsAccumulator, Regist
                     Nd4j.getExecutioner().thresholdDecode(compressed, updates);
                 else if (encoding == ThresholdCompression.BITMAP_ENCODING)
                     Nd4j.getExecutioner().bitmapDecode(compressed, updates);
+                else if (encoding == ThresholdCompression.QUANTIZED_ENCODING)
+                    QuantizedCompression.decode(compressed, updates);
                 else
                     throw new DL4JInvalidConfigException("Unknown compression header received: " + encoding);
 
@@ -362,6 +384,8 @@ public class EncodedGradientsAccumulator implements GradientsAccumulator, Regist
                     Nd4j.getExecutioner().thresholdDecode(compressed, updates);
                 else if (encoding == ThresholdCompression.BITMAP_ENCODING)
                     Nd4j.getExecutioner().bitmapDecode(compressed, updates);
+                else if (encoding == ThresholdCompression.QUANTIZED_ENCODING)
+                    QuantizedCompression.decode(compressed, updates);
                 else
                     throw new DL4JInvalidConfigException("Unknown compression header received: " + encoding);
 
@@ -547,6 +571,7 @@ public class EncodedGradientsAccumulator implements GradientsAccumulator, Regist
         protected int parties;
         protected ThresholdAlgorithm thresholdAlgorithm;
         protected ResidualPostProcessor residualPostProcessor;
+        protected StochasticQuantization quantization;
         protected long initialMemory = DEFAULT_INITIAL_MEMORY;
         protected int queueSize = 5;
         protected MessageHandler handler;
@@ -594,6 +619,19 @@ public class EncodedGradientsAccumulator implements GradientsAccumulator, Regist
             return this;
         }
 
+        /**
+         * This method allows to use stochastic quantization for updates encoding, instead of threshold encoding.
+         * If set, threshold algorithm and residual post processor are not used
+         *
+         * Default value: null (threshold encoding)
+         * @param quantization
+         * @return
+         */
+        public Builder quantization(StochasticQuantization quantization) {
+            this.quantization = quantization;
+            return this;
+        }
+
         /**
          * This method enables optional limit for max number of updates per message
          *
@@ -631,8 +669,8 @@ public class EncodedGradientsAccumulator implements GradientsAccumulator, Regist
 
         public EncodedGradientsAccumulator build() {
             if (handler == null) {
-                Preconditions.checkNotNull(thresholdAlgorithm, "Both threshold algorithm and handler are null - one or the other must be set");
-                handler = new EncodingHandler(thresholdAlgorithm, residualPostProcessor, boundary, encodingDebugMode);
+                Preconditions.checkState(thresholdAlgorithm != null || quantization != null, "Threshold algorithm, quantization and handler are all null - one or the other must be set");
+                handler = new EncodingHandler(thresholdAlgorithm, residualPostProcessor, quantization, boundary, encodingDebugMode);
             }
 
             EncodedGradientsAccumulator accumulator = new EncodedGradientsAccumulator(parties, handler, initialMemory, queueSize, boundary, encodingDebugMode);
@@ -25,6 +25,7 @@ import org.nd4j.shade.guava.util.concurrent.AtomicDouble;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.deeplearning4j.optimize.solvers.accumulation.encoding.ResidualPostProcessor;
+import org.deeplearning4j.optimize.solvers.accumulation.encoding.StochasticQuantization;
 import org.deeplearning4j.optimize.solvers.accumulation.encoding.ThresholdAlgorithm;
 import org.deeplearning4j.optimize.solvers.accumulation.encoding.ThresholdAlgorithmReducer;
 import org.nd4j.linalg.api.buffer.DataBuffer;
@@ -48,6 +49,7 @@ public class EncodingHandler implements MessageHandler {
     protected transient GradientsAccumulator accumulator;
     protected ThresholdAlgorithm initialThresholdAlgorithm;
     protected ResidualPostProcessor initialResidualPostProcessor;
+    protected StochasticQuantization quantization;
 
     protected Integer boundary;
     protected boolean encodingDebugMode;
@@ -68,8 +70,18 @@ public class EncodingHandler implements MessageHandler {
 
     public EncodingHandler(final ThresholdAlgorithm thresholdAlgorithm, final ResidualPostProcessor residualPostProcessor,
                            Integer boundary, boolean encodingDebugMode){
+        this(thresholdAlgorithm, residualPostProcessor, null, boundary, encodingDebugMode);
+    }
+
+    /**
+     * @param quantization If not null, updates are encoded with stochastic quantization instead of threshold encoding,
+     *                     and threshold algorithm and residual post processor are not used
+     */
+    public EncodingHandler(final ThresholdAlgorithm thresholdAlgorithm, final ResidualPostProcessor residualPostProcessor,
+                           StochasticQuantization quantization, Integer boundary, boolean encodingDebugMode){
         this.initialThresholdAlgorithm = thresholdAlgorithm;
         this.initialResidualPostProcessor = residualPostProcessor;
+        this.quantization = quantization;
         this.boundary = boundary == null ? Integer.MAX_VALUE : boundary;
         this.encodingDebugMode = encodingDebugMode;
     }
@@ -80,6 +92,11 @@ public class EncodingHandler implements MessageHandler {
     }
 
     public INDArray encodeUpdates(int iteration, int epoch, INDArray updates) {
+        if (quantization != null) {
+            // quantized updates are always dense, and rounding error stays in updates as residual
+            return quantization.encode(updates);
+        }
+
         if(thresholdAlgorithm.get() == null){
             synchronized (this){
                 //Synchronized in case threshold algorithm has INDArrays and we're running on GPU - don't want race condition for shifting devices
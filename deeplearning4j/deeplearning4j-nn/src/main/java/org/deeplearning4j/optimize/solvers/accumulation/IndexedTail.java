@@ -28,6 +28,7 @@ import lombok.var;
 import org.nd4j.common.base.Preconditions;
 import org.nd4j.linalg.api.buffer.DataType;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.compression.QuantizedCompression;
 import org.nd4j.linalg.compression.ThresholdCompression;
 import org.nd4j.linalg.exception.ND4JIllegalStateException;
 import org.nd4j.linalg.factory.Nd4j;
@@ -340,6 +341,8 @@ public class IndexedTail {
                 Nd4j.getExecutioner().thresholdDecode(encoded, result);
             } else if (encoding == ThresholdCompression.BITMAP_ENCODING) {
                 Nd4j.getExecutioner().bitmapDecode(encoded, result);
+            } else if (encoding == ThresholdCompression.QUANTIZED_ENCODING) {
+                QuantizedCompression.decode(encoded, result);
             } else
                 throw new ND4JIllegalStateException("Unknown encoding mode: [" + encoding + "]");
         } else {
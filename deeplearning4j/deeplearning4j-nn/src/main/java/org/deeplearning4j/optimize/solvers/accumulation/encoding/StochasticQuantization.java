@@ -0,0 +1,88 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.deeplearning4j.optimize.solvers.accumulation.encoding;
+
+import lombok.Data;
+import org.nd4j.common.base.Preconditions;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.compression.QuantizedCompression;
+
+import java.io.Serializable;
+
+/**
+ * Stochastic quantization of updates for gradients sharing, used instead of threshold encoding (see {@link ThresholdAlgorithm}).<br>
+ * Each update is sent as a dense array with a fixed number of bits per value, so bandwidth reduction is predictable
+ * and there's no threshold to tune. Values are stochastically rounded to one of {@code 2^(bits-1)-1} levels of the max
+ * absolute value within each bucket of {@code bucketSize} values (as in QSGD); rounding error stays in the residual,
+ * and is sent with later updates.<br>
+ * See {@link QuantizedCompression} for details of the encoding.
+ */
+@Data
+public class StochasticQuantization implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private int bits;
+    private int bucketSize;
+
+    /**
+     * 8 bits per value, 512 values per bucket
+     */
+    public StochasticQuantization() {
+        this(QuantizedCompression.DEFAULT_BITS);
+    }
+
+    /**
+     * @param bits Bits per value: 2, 4 or 8
+     */
+    public StochasticQuantization(int bits) {
+        this(bits, QuantizedCompression.DEFAULT_BUCKET_SIZE);
+    }
+
+    /**
+     * @param bits       Bits per value: 2, 4 or 8
+     * @param bucketSize Number of values sharing the same scale. Smaller buckets reduce quantization error, at the cost
+     *                   of one extra float per bucket
+     */
+    public StochasticQuantization(int bits, int bucketSize) {
+        Preconditions.checkArgument(bits == 2 || bits == 4 || bits == 8, "Number of bits per value should be 2, 4 or 8, got %s", bits);
+        Preconditions.checkArgument(bucketSize > 0, "Bucket size should be positive, got %s", bucketSize);
+        this.bits = bits;
+        this.bucketSize = bucketSize;
+    }
+
+    /**
+     * Quantize updates, subtracting quantized values from the updates array (so it holds the residual afterwards)
+     *
+     * @param updates Updates plus residual
+     * @return Encoded updates, or null if there's nothing to send
+     */
+    public INDArray encode(INDArray updates) {
+        return QuantizedCompression.encode(updates, bits, bucketSize);
+    }
+
+    /**
+     * @param length Number of values in updates array
+     * @return Number of INT32 elements in encoded updates
+     */
+    public long encodedLength(long length) {
+        return QuantizedCompression.encodedLength(length, bits, bucketSize);
+    }
+}
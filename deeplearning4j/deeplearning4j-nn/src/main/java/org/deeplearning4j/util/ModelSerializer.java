@@ -50,6 +50,7 @@ import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
@@ -89,8 +90,23 @@ public class ModelSerializer {
      * @throws IOException
      */
     public static void writeModel(@NonNull Model model, @NonNull File file, boolean saveUpdater,DataNormalization dataNormalization) throws IOException {
+        writeModel(model, file, saveUpdater, dataNormalization, null);
+    }
+
+    /**
+     * Write a model to a file, with parameters and updater state compressed
+     * @param model the model to write
+     * @param file the file to write to
+     * @param saveUpdater whether to save the updater or not
+     * @param dataNormalization the normalizer to save (optional)
+     * @param compressionAlgorithm name of the lossless compression algorithm for parameters and updater state
+     *                             (such as "SHUFFLE_LZ4"), or null to save them uncompressed
+     * @throws IOException
+     */
+    public static void writeModel(@NonNull Model model, @NonNull File file, boolean saveUpdater, DataNormalization dataNormalization,
+                                  String compressionAlgorithm) throws IOException {
         try (BufferedOutputStream stream = new BufferedOutputStream(new FileOutputStream(file))) {
-            writeModel(model, stream, saveUpdater,dataNormalization);
+            writeModel(model, stream, saveUpdater, dataNormalization, compressionAlgorithm);
         }
     }
 
@@ -134,6 +150,22 @@ public class ModelSerializer {
      */
     public static void writeModel(@NonNull Model model, @NonNull OutputStream stream, boolean saveUpdater,DataNormalization dataNormalization)
             throws IOException {
+        writeModel(model, stream, saveUpdater, dataNormalization, null);
+    }
+
+    /**
+     * Write a model to an output stream, with parameters and updater state compressed.
+     * Models saved this way are decompressed when restored
+     * @param model the model to save
+     * @param stream the output stream to write to
+     * @param saveUpdater whether to save the updater for the model or not
+     * @param dataNormalization the normalizer ot save (may be null)
+     * @param compressionAlgorithm name of the lossless compression algorithm for parameters and updater state
+     *                             (such as "SHUFFLE_LZ4"), or null to save them uncompressed
+     * @throws IOException
+     */
+    public static void writeModel(@NonNull Model model, @NonNull OutputStream stream, boolean saveUpdater, DataNormalization dataNormalization,
+                                  String compressionAlgorithm) throws IOException {
         ZipOutputStream zipfile = new ZipOutputStream(new CloseShieldOutputStream(stream));
 
         // Save configuration as JSON
@@ -149,13 +181,16 @@ public class ModelSerializer {
         zipfile.write(json.getBytes());
 
         // Save parameters as binary
+        // compressed arrays won't get any smaller with deflate, so we're not wasting time on that
+        if (compressionAlgorithm != null)
+            zipfile.setLevel(Deflater.NO_COMPRESSION);
         ZipEntry coefficients = new ZipEntry(COEFFICIENTS_BIN);
         zipfile.putNextEntry(coefficients);
         DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(zipfile));
         INDArray params = model.params();
         if(params != null) {
             try {
-                Nd4j.write(model.params(), dos);
+                Nd4j.write(model.params(), dos, compressionAlgorithm);
             } finally {
                 dos.flush();
             }
@@ -177,7 +212,7 @@ public class ModelSerializer {
                 zipfile.putNextEntry(updater);
 
                 try {
-                    Nd4j.write(updaterState, dos);
+                    Nd4j.write(updaterState, dos, compressionAlgorithm);
                 } finally {
                     dos.flush();
                 }
@@ -186,6 +221,7 @@ public class ModelSerializer {
 
 
         if(dataNormalization != null) {
+            zipfile.setLevel(Deflater.DEFAULT_COMPRESSION);
             // now, add our normalizer as additional entry
             ZipEntry nEntry = new ZipEntry(NORMALIZER_BIN);
             zipfile.putNextEntry(nEntry);
@@ -279,7 +315,7 @@ public class ModelSerializer {
             if(coefficients.length > 0) {
                 InputStream stream = new ByteArrayInputStream(coefficients);
                 DataInputStream dis = new DataInputStream(new BufferedInputStream(stream));
-                params = Nd4j.read(dis);
+                params = Nd4j.read(dis, true);
 
                 dis.close();
                 gotCoefficients = true;
@@ -294,7 +330,7 @@ public class ModelSerializer {
             if (updaterStateEntry != null) {
                 InputStream stream = new ByteArrayInputStream(updaterStateEntry);
                 DataInputStream dis = new DataInputStream(new BufferedInputStream(stream));
-                updaterState = Nd4j.read(dis);
+                updaterState = Nd4j.read(dis, true);
 
                 dis.close();
                 gotUpdaterState = true;
@@ -503,7 +539,7 @@ public class ModelSerializer {
             if(coefficients.length > 0) {
                 InputStream stream = new ByteArrayInputStream(coefficients);
                 DataInputStream dis = new DataInputStream(stream);
-                params = Nd4j.read(dis);
+                params = Nd4j.read(dis, true);
 
                 dis.close();
                 gotCoefficients = true;
@@ -519,7 +555,7 @@ public class ModelSerializer {
             if (updaterStateEntry != null) {
                 InputStream stream = new ByteArrayInputStream(updaterStateEntry);
                 DataInputStream dis = new DataInputStream(stream);
-                updaterState = Nd4j.read(dis);
+                updaterState = Nd4j.read(dis, true);
 
                 dis.close();
                 gotUpdaterState = true;
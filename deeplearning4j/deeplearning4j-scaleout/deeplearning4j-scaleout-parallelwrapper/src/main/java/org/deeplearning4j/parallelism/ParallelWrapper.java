@@ -44,10 +44,13 @@ import org.deeplearning4j.optimize.solvers.accumulation.EncodedGradientsAccumula
 import org.deeplearning4j.optimize.solvers.accumulation.GradientsAccumulator;
 import org.deeplearning4j.optimize.solvers.accumulation.Registerable;
 import org.deeplearning4j.optimize.solvers.accumulation.encoding.ResidualPostProcessor;
+import org.deeplearning4j.optimize.solvers.accumulation.encoding.StochasticQuantization;
 import org.deeplearning4j.optimize.solvers.accumulation.encoding.ThresholdAlgorithm;
+import org.deeplearning4j.parallelism.factory.AsyncAveragingTrainerContext;
 import org.deeplearning4j.parallelism.factory.DefaultTrainerContext;
 import org.deeplearning4j.parallelism.factory.SymmetricTrainerContext;
 import org.deeplearning4j.parallelism.factory.TrainerContext;
+import org.deeplearning4j.parallelism.trainer.ReplicaStats;
 import org.deeplearning4j.parallelism.trainer.Trainer;
 import org.nd4j.common.base.Preconditions;
 import org.nd4j.linalg.api.ndarray.INDArray;
@@ -65,6 +68,7 @@ import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 // TODO: We want this thing to be NUMA-aware in foreseeable future
 @Slf4j
@@ -85,6 +89,12 @@ public class ParallelWrapper implements AutoCloseable {
          * This option assumes use of GradientsAccumulator with any MessageHandler
          */
         CUSTOM,
+
+        /**
+         * Each model replica mixes with shared center copy every X iterations on its own (elastic averaging),
+         * so trainers never wait for each other
+         */
+        ASYNC_AVERAGING,
     }
 
     protected Supplier<INDArray> modelParamsSupplier;
@@ -104,6 +114,7 @@ public class ParallelWrapper implements AutoCloseable {
     protected boolean averageUpdaters = true;
     protected boolean legacyAveraging = false;
     protected boolean wasAveraged = false;
+    protected boolean asyncAveraging = false;
     protected AtomicBoolean stopFit = new AtomicBoolean(false);
     protected List<TrainingListener> listeners = new ArrayList<>();
     protected StatsStorageRouter storageRouter;
@@ -279,6 +290,12 @@ public class ParallelWrapper implements AutoCloseable {
 
             iterationsCounter.incrementAndGet();
 
+            // in async averaging mode workers are never joined, shared queue provides backpressure instead
+            if (asyncAveraging) {
+                time1 = System.currentTimeMillis();
+                continue;
+            }
+
             /*
              * if all workers are dispatched now, join till all are finished
              */
@@ -308,6 +325,9 @@ public class ParallelWrapper implements AutoCloseable {
         if (debug)
             log.info("Stopping everyone...");
 
+        if (asyncAveraging)
+            finalizeAsyncAveraging();
+
         if (debug)
             log.info("Shutting down iterator...");
 
@@ -340,6 +360,62 @@ public class ParallelWrapper implements AutoCloseable {
         //        iterationsCounter.set(0);
     }
 
+    /**
+     * This method waits till all queued minibatches are fitted, and propagates center copy to the original model.
+     * Used in async averaging mode only.
+     */
+    protected void finalizeAsyncAveraging() {
+        // trainers share one running counter, but each of them should be checked for exceptions
+        boolean finished = false;
+        while (!finished) {
+            finished = true;
+            for (val z : zoo) {
+                if (!z.isRunning()) {
+                    finished = false;
+                    break;
+                }
+            }
+
+            if (!finished)
+                LockSupport.parkNanos(1000L);
+        }
+
+        Model[] models = new Model[zoo.length];
+        double score = 0.0;
+        for (int cnt = 0; cnt < zoo.length; cnt++) {
+            models[cnt] = zoo[cnt].getModel();
+            score += models[cnt].score();
+        }
+        score /= zoo.length;
+
+        trainerContext.finalizeTraining(model, models);
+        wasAveraged = true;
+
+        if (model instanceof MultiLayerNetwork)
+            ((MultiLayerNetwork) model).setScore(score);
+        else if (model instanceof ComputationGraph)
+            ((ComputationGraph) model).setScore(score);
+
+        if (reportScore) {
+            log.info("Averaged score: " + score);
+            for (val stats : getReplicaStats())
+                log.info("{}", stats);
+        }
+    }
+
+    /**
+     * This method returns per-replica throughput stats collected during last fit() call.
+     * Available in ASYNC_AVERAGING training mode only, empty list is returned otherwise.
+     *
+     * @return
+     */
+    public List<ReplicaStats> getReplicaStats() {
+        if (trainerContext instanceof AsyncAveragingTrainerContext)
+            return ((AsyncAveragingTrainerContext) trainerContext).getReplicaStats();
+
+        return Collections.emptyList();
+    }
+
     private double getScore(AtomicInteger locker) {
         wasAveraged = true;
         double score = 0.0;
@@ -582,6 +658,11 @@ public class ParallelWrapper implements AutoCloseable {
 
             iterationsCounter.incrementAndGet();
 
+            // in async averaging mode workers are never joined, shared queue provides backpressure instead
+            if (asyncAveraging) {
+                time1 = System.currentTimeMillis();
+                continue;
+            }
 
             // waiting till all threads are done
             for (int pos = 0; pos < dataSets.length; pos++) {
@@ -616,11 +697,15 @@ public class ParallelWrapper implements AutoCloseable {
             log.info("Stopping everyone...");
 
         // ensure all threads stopped processing
-        for (int cnt = 0; cnt < workers; cnt++) {
-            try {
-                zoo[cnt].waitTillRunning();
-            } catch (Exception e) {
-                throw new RuntimeException(e);
+        if (asyncAveraging) {
+            finalizeAsyncAveraging();
+        } else {
+            for (int cnt = 0; cnt < workers; cnt++) {
+                try {
+                    zoo[cnt].waitTillRunning();
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
             }
         }
 
@@ -686,7 +771,10 @@ public class ParallelWrapper implements AutoCloseable {
         protected Supplier<INDArray> updaterParamsSupplier;
         protected ThresholdAlgorithm thresholdAlgorithm;
         protected ResidualPostProcessor residualPostProcessor;
+        protected StochasticQuantization quantization;
         protected Long encoderMemory = -1L;
+        protected double elasticAlpha = -1.0;
+        protected int maxStaleness = 0;
 
         protected GradientsAccumulator accumulator;
 
@@ -787,6 +875,40 @@ public class ParallelWrapper implements AutoCloseable {
             return this;
         }
 
+        /**
+         * Elastic moving rate for ASYNC_AVERAGING training mode: on each mix, replica and center copy move towards
+         * each other by alpha * (replica - center).
+         *
+         * Default value: 0.9 / number of workers
+         *
+         * @param alpha value in range (0, 1]
+         * @return
+         */
+        public Builder elasticAlpha(double alpha) {
+            if (alpha <= 0.0 || alpha > 1.0)
+                throw new DL4JInvalidConfigException("Elastic moving rate should be in range (0, 1], got " + alpha);
+
+            this.elasticAlpha = alpha;
+            return this;
+        }
+
+        /**
+         * Staleness bound for ASYNC_AVERAGING training mode: replica mixes with center copy before its averaging
+         * frequency is reached, if other replicas updated the center more than maxStaleness times since its last mix.
+         *
+         * Default value: 0, staleness isn't bounded
+         *
+         * @param maxStaleness max number of center updates, or 0 to disable
+         * @return
+         */
+        public Builder maxStaleness(int maxStaleness) {
+            if (maxStaleness < 0)
+                maxStaleness = 0;
+
+            this.maxStaleness = maxStaleness;
+            return this;
+        }
+
         /**
          * This method enables/disables updaters averaging.
          *
@@ -827,6 +949,7 @@ public class ParallelWrapper implements AutoCloseable {
          *  1) AVERAGING - stands for parameters averaging. Each X epochs weights and updaters state will be averaged across all models<br>
          *  2) SHARED_GRADIENTS - stands for gradients sharing - more details available here: <a href="https://deeplearning4j.konduit.ai/distributed-deep-learning/intro">https://deeplearning4j.konduit.ai/distributed-deep-learning/intro</a><br>
          *  3) CUSTOM - this method allows you to specify custom gradients accumulator, this giving you better control of configuration params for training.<br>
+         *  4) ASYNC_AVERAGING - each model replica mixes with shared center copy every X iterations on its own, without stopping other workers<br>
          *
          * @param mode
          * @return
@@ -894,6 +1017,17 @@ public class ParallelWrapper implements AutoCloseable {
             return this;
         }
 
+        /**
+         * Use stochastic quantization instead of threshold encoding for gradients sharing. Quantized updates have
+         * fixed size, so there's no threshold to tune; threshold algorithm and residual post processor are not used
+         * if this is set. Only used in SHARED_GRADIENTS training mode.
+         * @param quantization Stochastic quantization to use, or null to use threshold encoding (default)
+         */
+        public Builder quantization(StochasticQuantization quantization){
+            this.quantization = quantization;
+            return this;
+        }
+
         /**
          * This method returns ParallelWrapper instance
          *
@@ -918,6 +1052,14 @@ public class ParallelWrapper implements AutoCloseable {
                     log.info("Creating new AveragingTraining instance");
                 }
                     break;
+                case ASYNC_AVERAGING: {
+                    double alpha = elasticAlpha > 0 ? elasticAlpha : Math.min(1.0, 0.9 / workers);
+                    this.trainerContext = new AsyncAveragingTrainerContext(alpha, maxStaleness, averageUpdaters, workers);
+                    this.accumulator = null;
+                    wrapper.asyncAveraging = true;
+                    log.info("Creating new AsyncAveragingTraining instance with elastic moving rate [{}]", alpha);
+                }
+                    break;
                 case SHARED_GRADIENTS: {
                     if (thresholdAlgorithm == null)
                         thresholdAlgorithm = new AdaptiveThresholdAlgorithm();
@@ -928,14 +1070,17 @@ public class ParallelWrapper implements AutoCloseable {
                         val numParams = model.numParams();
 
                         // we're limiting max size of updates for Sparse encoding to the size of bitmap encoded message
-                        val maxUpdate = (int) (numParams / 16 + 5);
+                        // quantized updates are always dense, so their size is fixed
+                        val maxUpdate = quantization != null
+                                            ? (int) quantization.encodedLength(numParams)
+                                            : (int) (numParams / 16 + 5);
 
                         // memory sie in number of bytes
                         long memorySize = encoderMemory == null || encoderMemory < 0
                                             ? maxUpdate * 4 * (workers + 3)
                                             : encoderMemory;
 
-                        this.accumulator = new EncodedGradientsAccumulator(workers, new EncodingHandler(thresholdAlgorithm, residualPostProcessor, maxUpdate, false), memorySize, workers + 2, Integer.MAX_VALUE, false);
+                        this.accumulator = new EncodedGradientsAccumulator(workers, new EncodingHandler(thresholdAlgorithm, residualPostProcessor, quantization, maxUpdate, false), memorySize, workers + 2, Integer.MAX_VALUE, false);
                     }
                 }
                     break;
@@ -0,0 +1,144 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.deeplearning4j.parallelism.factory;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.deeplearning4j.nn.api.Model;
+import org.deeplearning4j.nn.conf.WorkspaceMode;
+import org.deeplearning4j.optimize.api.TrainingListener;
+import org.deeplearning4j.parallelism.ParallelWrapper;
+import org.deeplearning4j.parallelism.trainer.AsyncAveragingTrainer;
+import org.deeplearning4j.parallelism.trainer.ElasticAveragingCenter;
+import org.deeplearning4j.parallelism.trainer.ReplicaStats;
+import org.deeplearning4j.parallelism.trainer.Trainer;
+import org.nd4j.linalg.dataset.api.DataSet;
+import org.nd4j.linalg.dataset.api.MultiDataSet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TrainerContext for asynchronous averaging: all trainers share one minibatch queue, and mix with the shared
+ * {@link ElasticAveragingCenter} independently. Center copy is propagated to the original model when training ends.
+ */
+@Slf4j
+public class AsyncAveragingTrainerContext implements TrainerContext {
+    @Getter protected final double alpha;
+    @Getter protected final int maxStaleness;
+    @Getter protected final boolean averageUpdaters;
+    @Getter protected final int workers;
+
+    @Getter protected ElasticAveragingCenter center;
+    protected List<ReplicaStats> stats = new ArrayList<>();
+    protected LinkedBlockingQueue<DataSet> queue;
+    protected LinkedBlockingQueue<MultiDataSet> queueMDS;
+    protected AtomicInteger running;
+
+    /**
+     * @param alpha           elastic moving rate, in range (0, 1]
+     * @param maxStaleness    max number of center updates by other replicas before replica is forced to mix, 0 to disable
+     * @param averageUpdaters if true, updater state is mixed along with params
+     * @param workers         number of replicas
+     */
+    public AsyncAveragingTrainerContext(double alpha, int maxStaleness, boolean averageUpdaters, int workers) {
+        this.alpha = alpha;
+        this.maxStaleness = maxStaleness;
+        this.averageUpdaters = averageUpdaters;
+        this.workers = workers;
+    }
+
+    /**
+     * Initialize the context
+     *
+     * @param model
+     * @param args the arguments to initialize with (maybe null)
+     */
+    @Override
+    public void init(Model model, Object... args) {
+        center = new ElasticAveragingCenter(model, alpha, averageUpdaters, workers);
+        stats = Collections.synchronizedList(new ArrayList<ReplicaStats>());
+
+        // one prefetched minibatch per replica
+        queue = new LinkedBlockingQueue<>(workers);
+        queueMDS = new LinkedBlockingQueue<>(workers);
+        running = new AtomicInteger(0);
+    }
+
+    /**
+     * Create a {@link Trainer}
+     * based on the given parameters
+     *
+     * @param threadId   the thread id to use for this worker
+     * @param model      the model to start the trainer with
+     * @param rootDevice the root device id
+     * @param useMDS     whether to use MultiDataSet or DataSet
+     *                   or not
+     * @param wrapper    the wrapper instance to use with this trainer (this refernece is needed
+     *                   for coordination with the {@link ParallelWrapper} 's {@link TrainingListener}
+     * @return the created training instance
+     */
+    @Override
+    public Trainer create(String uuid, int threadId, Model model, int rootDevice, boolean useMDS, ParallelWrapper wrapper,
+                    WorkspaceMode mode, int averagingFrequency) {
+        if (center == null)
+            throw new IllegalStateException("AsyncAveragingTrainerContext.init() should be called before create()");
+
+        ReplicaStats replicaStats = new ReplicaStats(threadId);
+        stats.add(replicaStats);
+
+        AsyncAveragingTrainer trainer = new AsyncAveragingTrainer(model, uuid, threadId, mode, wrapper, useMDS,
+                        averagingFrequency, center, maxStaleness, replicaStats, queue, queueMDS, running);
+
+        trainer.setName("AsyncAveragingTrainer thread " + threadId);
+        trainer.setDaemon(true);
+
+        return trainer;
+    }
+
+    @Override
+    public void finalizeRound(Model originalModel, Model... models) {
+        // no-op, replicas are mixed within trainer threads
+    }
+
+    @Override
+    public void finalizeTraining(Model originalModel, Model... models) {
+        // local progress made since last mix is pushed to the center first
+        for (int i = 0; i < models.length; i++)
+            center.mix(i, models[i].params(), ElasticAveragingCenter.updaterState(models[i]));
+
+        center.applyTo(originalModel);
+    }
+
+    /**
+     * This method returns throughput stats for each replica, collected during last fit() call
+     *
+     * @return
+     */
+    public List<ReplicaStats> getReplicaStats() {
+        synchronized (stats) {
+            return new ArrayList<>(stats);
+        }
+    }
+}
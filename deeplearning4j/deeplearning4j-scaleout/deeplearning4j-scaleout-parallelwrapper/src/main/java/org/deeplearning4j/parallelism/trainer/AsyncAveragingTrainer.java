@@ -0,0 +1,118 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.deeplearning4j.parallelism.trainer;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.deeplearning4j.nn.api.Model;
+import org.deeplearning4j.nn.conf.WorkspaceMode;
+import org.deeplearning4j.parallelism.ParallelWrapper;
+import org.nd4j.linalg.dataset.api.DataSet;
+import org.nd4j.linalg.dataset.api.MultiDataSet;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Trainer for asynchronous averaging: replica takes next minibatch from the queue shared by all replicas,
+ * and mixes with the shared {@link ElasticAveragingCenter} every averagingFrequency local iterations,
+ * without waiting for other replicas.
+ *
+ * If maxStaleness is positive, replica also mixes as soon as other replicas updated the center more than
+ * maxStaleness times since its last mix, so slow replicas don't drift too far from the center.
+ */
+@Slf4j
+public class AsyncAveragingTrainer extends DefaultTrainer {
+    protected ElasticAveragingCenter center;
+    protected int maxStaleness;
+    @Getter protected ReplicaStats stats;
+    protected long localIterations = 0;
+
+    public AsyncAveragingTrainer(@NonNull Model originalModel, String uuid, int threadIdx, @NonNull WorkspaceMode mode,
+                    @NonNull ParallelWrapper wrapper, boolean useMDS, int averagingFrequency,
+                    @NonNull ElasticAveragingCenter center, int maxStaleness, @NonNull ReplicaStats stats,
+                    @NonNull LinkedBlockingQueue<DataSet> queue, @NonNull LinkedBlockingQueue<MultiDataSet> queueMDS,
+                    @NonNull AtomicInteger running) {
+        super();
+        this.uuid = uuid + "_thread_" + threadIdx;
+        this.useMDS = useMDS;
+        this.originalModel = originalModel;
+        this.threadId = threadIdx;
+        this.workspaceMode = mode;
+        this.parallelWrapper = wrapper;
+        this.averagingFrequency = Math.max(1, averagingFrequency);
+        this.center = center;
+        this.maxStaleness = maxStaleness;
+        this.stats = stats;
+
+        // queues and counter are shared by all replicas, so any idle replica picks up next minibatch
+        this.queue = queue;
+        this.queueMDS = queueMDS;
+        this.running = running;
+    }
+
+    @Override
+    protected void fit(DataSet dataSet) {
+        long time = System.nanoTime();
+        super.fit(dataSet);
+        stats.fitted(dataSet.numExamples(), System.nanoTime() - time);
+
+        mixIfRequired();
+    }
+
+    @Override
+    protected void fit(MultiDataSet dataSet) {
+        long time = System.nanoTime();
+        super.fit(dataSet);
+        stats.fitted(dataSet.getFeatures(0).size(0), System.nanoTime() - time);
+
+        mixIfRequired();
+    }
+
+    protected void mixIfRequired() {
+        localIterations++;
+
+        long staleness = center.staleness(threadId);
+        boolean scheduled = localIterations % averagingFrequency == 0;
+        boolean forced = !scheduled && maxStaleness > 0 && staleness > maxStaleness;
+        if (!scheduled && !forced)
+            return;
+
+        long time = System.nanoTime();
+        try {
+            modelLock.writeLock().lock();
+            center.mix(threadId, replicatedModel.params(), ElasticAveragingCenter.updaterState(replicatedModel));
+        } finally {
+            modelLock.writeLock().unlock();
+        }
+        stats.mixed(staleness, forced, System.nanoTime() - time);
+
+        if (forced)
+            log.debug("Replica {} mixed after {} center updates", threadId, staleness);
+    }
+
+    @Override
+    public boolean averagingRequired() {
+        // averaging happens within trainer threads, ParallelWrapper shouldn't block for it
+        return false;
+    }
+}
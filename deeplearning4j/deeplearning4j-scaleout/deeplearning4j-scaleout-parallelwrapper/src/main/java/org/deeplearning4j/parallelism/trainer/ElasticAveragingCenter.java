@@ -0,0 +1,146 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.deeplearning4j.parallelism.trainer;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.deeplearning4j.nn.api.Model;
+import org.deeplearning4j.nn.api.Updater;
+import org.deeplearning4j.nn.graph.ComputationGraph;
+import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
+import org.deeplearning4j.nn.updater.graph.ComputationGraphUpdater;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Shared center copy of the model, used for asynchronous elastic averaging.
+ *
+ * Each replica mixes with the center on its own schedule: both the replica and the center move towards each other by
+ * {@code alpha * (replica - center)}. Only one replica mixes at a time, and other replicas keep training meanwhile.
+ */
+public class ElasticAveragingCenter {
+    @Getter protected final double alpha;
+    @Getter protected final INDArray params;
+    @Getter protected final INDArray updaterState;
+
+    protected final AtomicLong version = new AtomicLong(0);
+    protected final AtomicLongArray lastMixed;
+    protected final INDArray[] paramsDiff;
+    protected final INDArray[] updaterDiff;
+
+    /**
+     * @param model           model to take initial center params from
+     * @param alpha           elastic moving rate, in range (0, 1]
+     * @param averageUpdaters if true, updater state is mixed along with params
+     * @param numReplicas     number of replicas that will mix with this center
+     */
+    public ElasticAveragingCenter(@NonNull Model model, double alpha, boolean averageUpdaters, int numReplicas) {
+        if (alpha <= 0.0 || alpha > 1.0)
+            throw new IllegalArgumentException("Elastic moving rate should be in range (0, 1], got " + alpha);
+
+        this.alpha = alpha;
+        this.params = model.params().dup();
+
+        INDArray state = averageUpdaters ? updaterState(model) : null;
+        this.updaterState = state == null ? null : state.dup();
+
+        this.lastMixed = new AtomicLongArray(numReplicas);
+        this.paramsDiff = new INDArray[numReplicas];
+        this.updaterDiff = new INDArray[numReplicas];
+    }
+
+    /**
+     * This method returns number of center updates made by other replicas since given replica was mixed last time
+     *
+     * @param replica replica index
+     * @return
+     */
+    public long staleness(int replica) {
+        return version.get() - lastMixed.get(replica);
+    }
+
+    /**
+     * This method mixes replica params (and optionally updater state) with the center, in place
+     *
+     * @param replica      replica index
+     * @param params       replica params
+     * @param updaterState replica updater state, may be null
+     */
+    public synchronized void mix(int replica, @NonNull INDArray params, INDArray updaterState) {
+        paramsDiff[replica] = mix(this.params, params, paramsDiff[replica]);
+
+        if (this.updaterState != null && updaterState != null)
+            updaterDiff[replica] = mix(this.updaterState, updaterState, updaterDiff[replica]);
+
+        Nd4j.getExecutioner().commit();
+
+        lastMixed.set(replica, version.incrementAndGet());
+    }
+
+    protected INDArray mix(INDArray center, INDArray local, INDArray diff) {
+        if (diff == null)
+            diff = local.dup();
+        else
+            diff.assign(local);
+
+        diff.subi(center).muli(alpha);
+        local.subi(diff);
+        center.addi(diff);
+
+        return diff;
+    }
+
+    /**
+     * This method copies center params and updater state into the given model
+     *
+     * @param model
+     */
+    public synchronized void applyTo(@NonNull Model model) {
+        model.setParams(params);
+
+        INDArray state = updaterState(model);
+        if (updaterState != null && state != null)
+            state.assign(updaterState);
+
+        Nd4j.getExecutioner().commit();
+    }
+
+    /**
+     * This method returns updater state view of the given model, or null if model has no updater state
+     *
+     * @param model
+     * @return
+     */
+    public static INDArray updaterState(Model model) {
+        if (model instanceof MultiLayerNetwork) {
+            Updater updater = ((MultiLayerNetwork) model).getUpdater();
+            return updater == null ? null : updater.getStateViewArray();
+        } else if (model instanceof ComputationGraph) {
+            ComputationGraphUpdater updater = ((ComputationGraph) model).getUpdater();
+            return updater == null ? null : updater.getStateViewArray();
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.deeplearning4j.parallelism.trainer;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-replica throughput counters collected during asynchronous averaging training.
+ * Values are updated by the trainer thread, and can be read from any thread.
+ */
+public class ReplicaStats {
+    @Getter protected final int replicaId;
+
+    protected final AtomicLong iterations = new AtomicLong(0);
+    protected final AtomicLong examples = new AtomicLong(0);
+    protected final AtomicLong fitTimeNanos = new AtomicLong(0);
+    protected final AtomicLong mixes = new AtomicLong(0);
+    protected final AtomicLong forcedMixes = new AtomicLong(0);
+    protected final AtomicLong mixingTimeNanos = new AtomicLong(0);
+    protected final AtomicLong maxStaleness = new AtomicLong(0);
+
+    public ReplicaStats(int replicaId) {
+        this.replicaId = replicaId;
+    }
+
+    protected void fitted(long numExamples, long nanos) {
+        iterations.incrementAndGet();
+        examples.addAndGet(numExamples);
+        fitTimeNanos.addAndGet(nanos);
+    }
+
+    protected void mixed(long staleness, boolean forced, long nanos) {
+        mixes.incrementAndGet();
+        if (forced)
+            forcedMixes.incrementAndGet();
+        mixingTimeNanos.addAndGet(nanos);
+
+        long current;
+        while ((current = maxStaleness.get()) < staleness && !maxStaleness.compareAndSet(current, staleness));
+    }
+
+    /**
+     * @return number of minibatches fitted by this replica
+     */
+    public long getIterations() {
+        return iterations.get();
+    }
+
+    /**
+     * @return number of examples fitted by this replica
+     */
+    public long getExamples() {
+        return examples.get();
+    }
+
+    /**
+     * @return time spent in fit(), in milliseconds
+     */
+    public long getFitTimeMillis() {
+        return fitTimeNanos.get() / 1000000L;
+    }
+
+    /**
+     * @return number of times this replica was mixed with the center copy
+     */
+    public long getMixes() {
+        return mixes.get();
+    }
+
+    /**
+     * @return number of mixes triggered by the staleness bound rather than by averaging frequency
+     */
+    public long getForcedMixes() {
+        return forcedMixes.get();
+    }
+
+    /**
+     * @return time spent mixing with the center copy, in milliseconds
+     */
+    public long getMixingTimeMillis() {
+        return mixingTimeNanos.get() / 1000000L;
+    }
+
+    /**
+     * @return highest number of center updates made by other replicas between two mixes of this replica
+     */
+    public long getMaxStaleness() {
+        return maxStaleness.get();
+    }
+
+    /**
+     * @return training throughput of this replica, in examples per second of fit() time
+     */
+    public double getExamplesPerSecond() {
+        long nanos = fitTimeNanos.get();
+        return nanos == 0 ? 0.0 : examples.get() * 1e9 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Replica %d: %d iterations, %.1f examples/s, %d mixes (%d forced by staleness, max staleness %d), mixing time %d ms",
+                replicaId, getIterations(), getExamplesPerSecond(), getMixes(), getForcedMixes(), getMaxStaleness(),
+                getMixingTimeMillis());
+    }
+}
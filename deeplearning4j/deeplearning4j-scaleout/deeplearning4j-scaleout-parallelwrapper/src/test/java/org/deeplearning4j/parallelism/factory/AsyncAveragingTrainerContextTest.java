@@ -0,0 +1,150 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.deeplearning4j.parallelism.factory;
+
+import lombok.val;
+import org.deeplearning4j.BaseDL4JTest;
+import org.deeplearning4j.datasets.iterator.impl.ListDataSetIterator;
+import org.deeplearning4j.nn.conf.MultiLayerConfiguration;
+import org.deeplearning4j.nn.conf.NeuralNetConfiguration;
+import org.deeplearning4j.nn.conf.WorkspaceMode;
+import org.deeplearning4j.nn.conf.layers.DenseLayer;
+import org.deeplearning4j.nn.conf.layers.OutputLayer;
+import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
+import org.deeplearning4j.nn.weights.WeightInit;
+import org.deeplearning4j.parallelism.ParallelWrapper;
+import org.deeplearning4j.parallelism.trainer.AsyncAveragingTrainer;
+import org.deeplearning4j.parallelism.trainer.ElasticAveragingCenter;
+import org.deeplearning4j.parallelism.trainer.ReplicaStats;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.nd4j.common.tests.tags.NativeTag;
+import org.nd4j.common.tests.tags.TagNames;
+import org.nd4j.linalg.activations.Activation;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.learning.config.Adam;
+import org.nd4j.linalg.lossfunctions.LossFunctions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag(TagNames.FILE_IO)
+@NativeTag
+public class AsyncAveragingTrainerContextTest extends BaseDL4JTest {
+
+    private MultiLayerNetwork getModel() {
+        MultiLayerConfiguration conf = new NeuralNetConfiguration.Builder().seed(123)
+                .weightInit(WeightInit.XAVIER)
+                .updater(new Adam(1e-2)).list()
+                .layer(0, new DenseLayer.Builder().nIn(4).nOut(8).activation(Activation.TANH).build())
+                .layer(1, new OutputLayer.Builder(LossFunctions.LossFunction.MCXENT)
+                        .nIn(8).nOut(3).activation(Activation.SOFTMAX).build())
+                .build();
+
+        MultiLayerNetwork model = new MultiLayerNetwork(conf);
+        model.init();
+        return model;
+    }
+
+    @Test
+    public void testEqualUuid1() {
+        val model = getModel();
+
+        ParallelWrapper wrapper = new ParallelWrapper.Builder(model)
+                .workers(2)
+                .trainingMode(ParallelWrapper.TrainingMode.ASYNC_AVERAGING)
+                .build();
+
+        val context = new AsyncAveragingTrainerContext(0.45, 0, true, 4);
+        context.init(model);
+        val trainer = context.create("alpha", 3, model, 0, true, wrapper, WorkspaceMode.NONE, 3);
+
+        assertTrue(trainer instanceof AsyncAveragingTrainer);
+        assertFalse(trainer.averagingRequired());
+        assertEquals("alpha_thread_3", trainer.getUuid());
+        assertEquals(1, context.getReplicaStats().size());
+    }
+
+    @Test
+    public void testElasticMixing() {
+        val model = getModel();
+        val center = new ElasticAveragingCenter(model, 0.25, false, 2);
+
+        INDArray initial = model.params().dup();
+        INDArray local = initial.add(4.0);
+
+        center.mix(1, local, null);
+
+        // replica moves by alpha * (local - center) towards center, center moves by the same amount towards replica
+        assertEquals(initial.add(3.0), local);
+        assertEquals(initial.add(1.0), center.getParams());
+
+        // replica 0 didn't mix yet, so it missed one center update
+        assertEquals(1, center.staleness(0));
+        assertEquals(0, center.staleness(1));
+
+        center.applyTo(model);
+        assertEquals(center.getParams(), model.params());
+    }
+
+    @Test
+    public void testAsyncAveragingFit() {
+        val model = getModel();
+        INDArray initial = model.params().dup();
+
+        List<DataSet> list = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            INDArray features = Nd4j.rand(8, 4);
+            INDArray labels = Nd4j.zeros(8, 3);
+            for (int j = 0; j < 8; j++)
+                labels.putScalar(j, j % 3, 1.0);
+
+            list.add(new DataSet(features, labels));
+        }
+
+        ParallelWrapper wrapper = new ParallelWrapper.Builder(model)
+                .workers(4)
+                .prefetchBuffer(4)
+                .averagingFrequency(2)
+                .maxStaleness(4)
+                .trainingMode(ParallelWrapper.TrainingMode.ASYNC_AVERAGING)
+                .workspaceMode(WorkspaceMode.ENABLED)
+                .build();
+
+        wrapper.fit(new ListDataSetIterator<>(list, 8));
+
+        assertNotEquals(initial, model.params());
+        assertTrue(wrapper.isWasAveraged());
+
+        val stats = wrapper.getReplicaStats();
+        assertEquals(4, stats.size());
+
+        long iterations = 0;
+        for (ReplicaStats s : stats)
+            iterations += s.getIterations();
+
+        assertEquals(4, iterations);
+    }
+}
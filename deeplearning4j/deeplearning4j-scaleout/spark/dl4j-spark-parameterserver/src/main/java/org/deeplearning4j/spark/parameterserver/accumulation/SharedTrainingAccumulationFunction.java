@@ -132,7 +132,28 @@ public class SharedTrainingAccumulationFunction implements
                 .listenerMetaData(listenerMetaData).listenerUpdates(listenerUpdates)
                 .listenerStaticInfo(listenerStaticInfo)
                 .minibatchesPerExecutor(minibatchesPerExecutor)
+                .trainingTimeMsPerExecutor(sumPerExecutor(tuple1.getTrainingTimeMsPerExecutor(), tuple2.getTrainingTimeMsPerExecutor()))
+                .staleUpdatesPerExecutor(sumPerExecutor(tuple1.getStaleUpdatesPerExecutor(), tuple2.getStaleUpdatesPerExecutor()))
                 .thresholdAlgorithmReducer(thresholdAlgorithmReducer)
                 .build();
     }
+
+    /**
+     * Merge two per-executor counters, summing values for the same executor
+     */
+    protected static Map<String,Long> sumPerExecutor(Map<String,Long> first, Map<String,Long> second) {
+        if (first == null && second == null)
+            return null;
+
+        Map<String,Long> result = new HashMap<>();
+        if (first != null)
+            result.putAll(first);
+        if (second != null) {
+            for (Map.Entry<String, Long> e : second.entrySet()) {
+                Long current = result.get(e.getKey());
+                result.put(e.getKey(), current == null ? e.getValue() : current + e.getValue());
+            }
+        }
+        return result;
+    }
 }
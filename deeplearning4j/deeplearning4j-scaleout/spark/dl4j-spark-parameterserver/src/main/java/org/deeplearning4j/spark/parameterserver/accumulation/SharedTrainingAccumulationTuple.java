@@ -47,5 +47,7 @@ public class SharedTrainingAccumulationTuple implements Serializable {
     private Collection<Persistable> listenerStaticInfo;
     private Collection<Persistable> listenerUpdates;
     private Map<String,Integer> minibatchesPerExecutor;
+    private Map<String,Long> trainingTimeMsPerExecutor;
+    private Map<String,Long> staleUpdatesPerExecutor;
     private ThresholdAlgorithmReducer thresholdAlgorithmReducer;
 }
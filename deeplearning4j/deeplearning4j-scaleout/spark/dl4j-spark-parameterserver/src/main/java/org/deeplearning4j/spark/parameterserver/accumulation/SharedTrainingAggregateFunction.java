@@ -52,6 +52,8 @@ public class SharedTrainingAggregateFunction implements
                             .sparkTrainingStats(result.getSparkTrainingStats())
                             .aggregationsCount(result.getAggregationsCount())
                             .minibatchesPerExecutor(result.getMinibatchesPerExecutor())
+                            .trainingTimeMsPerExecutor(result.getTrainingTimeMsPerExecutor())
+                            .staleUpdatesPerExecutor(result.getStaleUpdatesPerExecutor())
                             .thresholdAlgorithmReducer(tar)
                     .build();
         }
@@ -140,6 +142,10 @@ public class SharedTrainingAggregateFunction implements
                 .listenerMetaData(listenerMetaData).listenerUpdates(listenerUpdates)
                 .listenerStaticInfo(listenerStaticInfo)
                 .minibatchesPerExecutor(minibatchesPerExecutor)
+                .trainingTimeMsPerExecutor(SharedTrainingAccumulationFunction.sumPerExecutor(
+                        tuple.getTrainingTimeMsPerExecutor(), result.getTrainingTimeMsPerExecutor()))
+                .staleUpdatesPerExecutor(SharedTrainingAccumulationFunction.sumPerExecutor(
+                        tuple.getStaleUpdatesPerExecutor(), result.getStaleUpdatesPerExecutor()))
                 .thresholdAlgorithmReducer(thresholdAlgorithmReducer)
                 .build();
     }
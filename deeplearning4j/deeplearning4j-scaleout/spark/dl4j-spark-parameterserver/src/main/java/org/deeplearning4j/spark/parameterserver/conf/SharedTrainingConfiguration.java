@@ -24,6 +24,7 @@ import lombok.*;
 import org.deeplearning4j.nn.conf.WorkspaceMode;
 import org.deeplearning4j.optimize.solvers.accumulation.MessageHandler;
 import org.deeplearning4j.optimize.solvers.accumulation.encoding.ResidualPostProcessor;
+import org.deeplearning4j.optimize.solvers.accumulation.encoding.StochasticQuantization;
 import org.deeplearning4j.optimize.solvers.accumulation.encoding.ThresholdAlgorithm;
 import org.nd4j.parameterserver.distributed.conf.VoidConfiguration;
 
@@ -57,6 +58,14 @@ public class SharedTrainingConfiguration implements Serializable {
 
     protected ThresholdAlgorithm thresholdAlgorithm;
     protected ResidualPostProcessor residualPostProcessor;
+    /**
+     * If set, updates are encoded with stochastic quantization instead of threshold encoding
+     */
+    protected StochasticQuantization quantization;
+    /**
+     * If set, this value overrides {@link VoidConfiguration#getMaxUpdateStaleness()}
+     */
+    protected Integer maxUpdateStaleness;
     protected String messageHandlerClass;
 
 
@@ -30,6 +30,7 @@ import org.deeplearning4j.optimize.solvers.accumulation.IndexedTail;
 import org.deeplearning4j.spark.parameterserver.networking.v1.messages.SilentUpdatesMessage;
 import org.nd4j.linalg.api.memory.MemoryWorkspace;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.compression.QuantizedCompression;
 import org.nd4j.linalg.compression.ThresholdCompression;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.parameterserver.distributed.conf.VoidConfiguration;
@@ -166,6 +167,8 @@ public class SilentTrainingDriver implements TrainingDriver<SilentUpdatesMessage
                 } else if (encoding == ThresholdCompression.BITMAP_ENCODING) {
                     Nd4j.getExecutioner().bitmapDecode(message.getUpdates(), updates);
                     denseCounter.incrementAndGet();
+                } else if (encoding == ThresholdCompression.QUANTIZED_ENCODING) {
+                    QuantizedCompression.decode(message.getUpdates(), updates);
                 } else
                     throw new DL4JInvalidConfigException("Unknown compression header received: " + encoding);
 
@@ -32,6 +32,7 @@ import org.deeplearning4j.optimize.solvers.accumulation.GradientsAccumulator;
 import org.deeplearning4j.optimize.solvers.accumulation.IndexedTail;
 import org.deeplearning4j.optimize.solvers.accumulation.SmartFancyBlockingQueue;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.compression.QuantizedCompression;
 import org.nd4j.linalg.compression.ThresholdCompression;
 import org.nd4j.linalg.exception.ND4JIllegalStateException;
 import org.nd4j.linalg.factory.Nd4j;
@@ -132,6 +133,8 @@ public class UpdatesConsumer implements UpdatesHandler {
                     } else if (encoding == ThresholdCompression.BITMAP_ENCODING) {
                         Nd4j.getExecutioner().bitmapDecode(array, updates);
                         denseCounter.incrementAndGet();
+                    } else if (encoding == ThresholdCompression.QUANTIZED_ENCODING) {
+                        QuantizedCompression.decode(array, updates);
                     } else
                         throw new DL4JInvalidConfigException("Unknown compression header received: " + encoding);
 
@@ -25,6 +25,7 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.deeplearning4j.optimize.solvers.accumulation.EncodingHandler;
 import org.deeplearning4j.optimize.solvers.accumulation.encoding.ResidualPostProcessor;
+import org.deeplearning4j.optimize.solvers.accumulation.encoding.StochasticQuantization;
 import org.deeplearning4j.optimize.solvers.accumulation.encoding.ThresholdAlgorithm;
 import org.nd4j.linalg.api.memory.MemoryWorkspace;
 import org.nd4j.linalg.api.ndarray.INDArray;
@@ -36,6 +37,7 @@ import java.util.concurrent.atomic.AtomicLong;
 @Slf4j
 public class WiredEncodingHandler extends EncodingHandler {
     protected AtomicLong updatesCounter = new AtomicLong(0);
+    protected Integer maxUpdateStaleness;
 
     /**
      * This method builds new WiredEncodingHandler instance
@@ -46,6 +48,43 @@ public class WiredEncodingHandler extends EncodingHandler {
         super(thresholdAlgorithm, residualPostProcessor, boundary, encodingDebugMode);
     }
 
+    /**
+     * This method builds new WiredEncodingHandler instance
+     *
+     * @param thresholdAlgorithm The threshold algorithm to use
+     * @param quantization       If not null, stochastic quantization is used instead of threshold encoding
+     */
+    public WiredEncodingHandler(ThresholdAlgorithm thresholdAlgorithm, ResidualPostProcessor residualPostProcessor, StochasticQuantization quantization,
+                                Integer boundary, boolean encodingDebugMode) {
+        super(thresholdAlgorithm, residualPostProcessor, quantization, boundary, encodingDebugMode);
+    }
+
+    /**
+     * This method sets bounded staleness for updates sent by this handler
+     *
+     * @param maxUpdateStaleness Max staleness of updates, in iterations, 0 for no limit, or null to use
+     *                           {@link org.nd4j.parameterserver.distributed.conf.VoidConfiguration#getMaxUpdateStaleness()}
+     */
+    public void setMaxUpdateStaleness(Integer maxUpdateStaleness) {
+        this.maxUpdateStaleness = maxUpdateStaleness;
+    }
+
+    @Override
+    public boolean broadcastUpdates(INDArray updates, int iterationNumber, int epochNumber) {
+        // bounded staleness: a straggler's update is neither encoded, applied locally nor sent anywhere, so every node
+        // makes the same decision. It stays in the residual, which is still post processed to keep it bounded
+        val server = ModelParameterServer.getInstance();
+        val stale = maxUpdateStaleness == null ? server.isStale(iterationNumber) : server.isStale(iterationNumber, maxUpdateStaleness);
+        if (stale) {
+            server.markStaleUpdate();
+            if (residualPostProcessor.get() != null && lastThreshold.get() != null)
+                residualPostProcessor.get().processResidual(iterationNumber, epochNumber, lastThreshold.get().get(), updates);
+            return false;
+        }
+
+        return super.broadcastUpdates(updates, iterationNumber, epochNumber);
+    }
+
     /**
      * This method sends given message to all registered recipients
      *
@@ -250,7 +250,9 @@ public class SharedTrainingWrapper {
                     }
                 }
 
-                val handler = new WiredEncodingHandler(trainingConfiguration.getThresholdAlgorithm(), trainingConfiguration.getResidualPostProcessor(), null, trainingConfiguration.isEncodingDebugMode());
+                val handler = new WiredEncodingHandler(trainingConfiguration.getThresholdAlgorithm(), trainingConfiguration.getResidualPostProcessor(),
+                        trainingConfiguration.getQuantization(), null, trainingConfiguration.isEncodingDebugMode());
+                handler.setMaxUpdateStaleness(trainingConfiguration.getMaxUpdateStaleness());
 
                 // TODO: if there will be no code difference - use the same class instead of 2 different classes
                 val modelParamsSupplier = new ModelParamsConsumer();
@@ -269,11 +271,12 @@ public class SharedTrainingWrapper {
                     int queueSize = numWorkers * 2;
 
                     val bufferSize = trainingConfiguration.getBufferSize() > 0 ? trainingConfiguration.getBufferSize()
-                                    : EncodedGradientsAccumulator.getOptimalBufferSize(model, numWorkers, 2);
+                                    : EncodedGradientsAccumulator.getOptimalBufferSize(model.params().length(), numWorkers, 2, trainingConfiguration.getQuantization());
 
                     accumulator = new EncodedGradientsAccumulator.Builder(numWorkers).messageHandler(handler)
                             .thresholdAlgorithm(trainingConfiguration.getThresholdAlgorithm())
                             .residualPostProcessor(trainingConfiguration.getResidualPostProcessor())
+                            .quantization(trainingConfiguration.getQuantization())
                             .memoryParameters(bufferSize, queueSize)
                             .encodingDebugMode(trainingConfiguration.isEncodingDebugMode())
                             .build();
@@ -403,6 +406,7 @@ public class SharedTrainingWrapper {
                                     .updaterParamsSupplier(updateParamsSupplier)
                                     .thresholdAlgorithm(trainingConfiguration.getThresholdAlgorithm())
                                     .residualPostProcessor(trainingConfiguration.getResidualPostProcessor())
+                                    .quantization(trainingConfiguration.getQuantization())
                                     .build();
                     wrapper.setExceptionEncountered(exceptionEncountered);
                 } else {
@@ -442,6 +446,10 @@ public class SharedTrainingWrapper {
             if(iteratorDS == null && iteratorMDS == null)
                 throw new DL4JInvalidConfigException("No iterators were defined for training");
 
+            // wall time of this fit, and number of remote updates discarded as stale - used for throughput reporting
+            long fitStart = System.currentTimeMillis();
+            long staleUpdatesBefore = ModelParameterServer.getInstance().getStaleUpdatesCount();
+
             try {
                 boolean dsNext;
                 boolean mdsNext;
@@ -478,6 +486,8 @@ public class SharedTrainingWrapper {
                 exceptionEncountered.set(true);
                 exception = t;
             }
+            long fitTimeMs = System.currentTimeMillis() - fitStart;
+            long staleUpdates = ModelParameterServer.getInstance().getStaleUpdatesCount() - staleUpdatesBefore;
 
 
             // conditionally shutdown & reset ParallelWrapper
@@ -520,10 +530,13 @@ public class SharedTrainingWrapper {
             val taAveraged = mh.getAverageThresholdAlgorithm();
 
             // FIXME: fill stats here
+            val executorId = SparkUtils.getSparkExecutorId();
             val result = SharedTrainingResult.builder().aggregationsCount(1).scoreSum(originalModel.score())
                             .updaterStateArray(updaterState).listenerMetaData(new ArrayList<>())
                             .listenerStaticInfo(new ArrayList<>()).listenerUpdates(new ArrayList<>())
-                            .minibatchesPerExecutor(Collections.singletonMap(SparkUtils.getSparkExecutorId(), iteratorDataSetCount.get().get()))
+                            .minibatchesPerExecutor(Collections.singletonMap(executorId, iteratorDataSetCount.get().get()))
+                            .trainingTimeMsPerExecutor(Collections.singletonMap(executorId, fitTimeMs))
+                            .staleUpdatesPerExecutor(Collections.singletonMap(executorId, staleUpdates))
                             .thresholdAlgorithm(taAveraged)
                             .build();
 
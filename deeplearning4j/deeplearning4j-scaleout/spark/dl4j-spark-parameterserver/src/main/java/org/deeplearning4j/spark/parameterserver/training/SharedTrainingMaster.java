@@ -41,19 +41,23 @@ import org.deeplearning4j.core.storage.StatsStorageRouter;
 import org.deeplearning4j.core.storage.StorageMetaData;
 import org.deeplearning4j.common.config.DL4JEnvironmentVars;
 import org.deeplearning4j.exception.DL4JInvalidConfigException;
+import org.deeplearning4j.nn.api.Model;
 import org.deeplearning4j.optimize.api.TrainingListener;
 import org.deeplearning4j.optimize.solvers.accumulation.encoding.ResidualPostProcessor;
+import org.deeplearning4j.optimize.solvers.accumulation.encoding.StochasticQuantization;
 import org.deeplearning4j.optimize.solvers.accumulation.encoding.ThresholdAlgorithm;
 import org.deeplearning4j.optimize.solvers.accumulation.encoding.residual.ResidualClippingPostProcessor;
 import org.deeplearning4j.optimize.solvers.accumulation.encoding.threshold.AdaptiveThresholdAlgorithm;
 import org.deeplearning4j.spark.api.*;
 import org.deeplearning4j.spark.api.stats.SparkTrainingStats;
 import org.deeplearning4j.spark.api.worker.NetBroadcastTuple;
+import org.deeplearning4j.spark.impl.checkpoint.TrainingCheckpoint;
 import org.deeplearning4j.spark.impl.graph.SparkComputationGraph;
 import org.deeplearning4j.spark.impl.multilayer.SparkDl4jMultiLayer;
 import org.deeplearning4j.spark.impl.paramavg.BaseTrainingMaster;
 import org.deeplearning4j.spark.impl.paramavg.stats.ParameterAveragingTrainingMasterStats;
 import org.deeplearning4j.spark.impl.repartitioner.DefaultRepartitioner;
+import org.deeplearning4j.spark.impl.repartitioner.EqualRepartitioner;
 import org.deeplearning4j.spark.parameterserver.accumulation.SharedTrainingAccumulationFunction;
 import org.deeplearning4j.spark.parameterserver.accumulation.SharedTrainingAccumulationTuple;
 import org.deeplearning4j.spark.parameterserver.accumulation.SharedTrainingAggregateFunction;
@@ -112,9 +116,13 @@ public class SharedTrainingMaster extends BaseTrainingMaster<SharedTrainingResul
     protected long debugLongerIterations = 0L;
     protected boolean logMinibatchesPerWorker = false;
     protected boolean encodingDebugMode = false;
+    protected int tasksPerWorker = 1;
+    // if set, overrides VoidConfiguration.maxUpdateStaleness on workers
+    protected Integer maxUpdateStaleness;
 
     protected ThresholdAlgorithm thresholdAlgorithm;
     protected ResidualPostProcessor residualPostProcessor;
+    protected StochasticQuantization quantization;
 
     protected Repartition repartition;
     protected RepartitionStrategy repartitionStrategy;
@@ -134,6 +142,11 @@ public class SharedTrainingMaster extends BaseTrainingMaster<SharedTrainingResul
 
     protected transient UpdatesConsumer updatesConsumer;
 
+    // per executor stats, as reported in the last SharedTrainingResult aggregate
+    protected transient Map<String, Integer> minibatchesPerExecutor;
+    protected transient Map<String, Double> workerThroughput;
+    protected transient Map<String, Long> staleUpdatesPerExecutor;
+
     protected boolean setupDone;
 
     protected SharedTrainingMaster() {
@@ -259,7 +272,9 @@ public class SharedTrainingMaster extends BaseTrainingMaster<SharedTrainingResul
         SharedTrainingConfiguration configuration = SharedTrainingConfiguration.builder()
                 .thresholdAlgorithm(thresholdAlgorithm)
                 .residualPostProcessor(residualPostProcessor)
+                .quantization(quantization)
                 .voidConfiguration(voidConfiguration)
+                .maxUpdateStaleness(maxUpdateStaleness)
                 .debugLongerIterations(debugLongerIterations)
                 .numberOfWorkersPerNode(numWorkersPerNode)
                 .encodingDebugMode(encodingDebugMode).build();
@@ -290,7 +305,9 @@ public class SharedTrainingMaster extends BaseTrainingMaster<SharedTrainingResul
         SharedTrainingConfiguration configuration = SharedTrainingConfiguration.builder()
                 .thresholdAlgorithm(thresholdAlgorithm)
                 .residualPostProcessor(residualPostProcessor)
+                .quantization(quantization)
                 .voidConfiguration(voidConfiguration).debugLongerIterations(debugLongerIterations)
+                .maxUpdateStaleness(maxUpdateStaleness)
                 .numberOfWorkersPerNode(numWorkersPerNode)
                 .prefetchSize(workerPrefetchBatches)
                 .encodingDebugMode(encodingDebugMode)
@@ -314,6 +331,15 @@ public class SharedTrainingMaster extends BaseTrainingMaster<SharedTrainingResul
         return worker;
     }
 
+    /**
+     * Number of Spark tasks (partitions) to split the data into on each fit. With {@link #tasksPerWorker} > 1 there are
+     * more tasks than workers, so tasks not yet started are picked up by whichever executor frees up first, and
+     * slow executors end up processing fewer minibatches
+     */
+    protected int numTrainingTasks() {
+        return numWorkers * Math.max(1, tasksPerWorker);
+    }
+
     protected int numObjectsEachWorker(int numExamplesEachRddObject) {
         return batchSizePerWorker / numExamplesEachRddObject;
     }
@@ -346,6 +372,8 @@ public class SharedTrainingMaster extends BaseTrainingMaster<SharedTrainingResul
         // since this is real distributed training, we don't need to split data
         doIteration(network, trainingData, 1, 1);
 
+        epochFinished(network.getSparkContext(), network.getNetwork());
+
         if (collectTrainingStats)
             stats.logFitEnd((int) totalDataSetObjectCount);
     }
@@ -365,6 +393,8 @@ public class SharedTrainingMaster extends BaseTrainingMaster<SharedTrainingResul
         // since this is real distributed training, we don't need to split data
         doIterationMDS(network, trainingData, 1, 1);
 
+        epochFinished(network.getSparkContext(), network.getNetwork());
+
         if (collectTrainingStats)
             stats.logFitEnd((int) totalDataSetObjectCount);
     }
@@ -384,6 +414,8 @@ public class SharedTrainingMaster extends BaseTrainingMaster<SharedTrainingResul
         // since this is real distributed training, we don't need to split data
         doIteration(network, trainingData, 1, 1);
 
+        epochFinished(network.getSparkContext(), network.getNetwork());
+
         if (collectTrainingStats)
             stats.logFitEnd((int) totalDataSetObjectCount);
     }
@@ -407,20 +439,53 @@ public class SharedTrainingMaster extends BaseTrainingMaster<SharedTrainingResul
             }
         }
 
+        JavaSparkContext sc = network != null ? network.getSparkContext() : graph.getSparkContext();
+        Model model = network != null ? network.getNetwork() : graph.getNetwork();
+
         if (collectTrainingStats)
             stats.logFitStart();
 
+        trainingDataPaths = excludeConsumedPaths(sc, trainingDataPaths);
         if (storageLevelStreams != null)
             trainingDataPaths.persist(storageLevelStreams);
 
         long totalDataSetObjectCount = getTotalDataSetObjectCount(trainingDataPaths);
 
-        doIterationPaths(network, graph, trainingDataPaths, 1, 1, dsLoader, mdsLoader, dataSetObjectsNumExamples);
+        if (isCheckpointingEnabled() && totalDataSetObjectCount > checkpointFrequency) {
+            // data is fitted in chunks, so we know which paths were consumed when checkpoint is made
+            // parameter server stays up between chunks, and checkpoints are written in background
+            // note that each chunk is a separate Spark job, so all workers wait for the slowest one before the next chunk
+            if (rng == null)
+                rng = new Random();
+
+            JavaRDD<String>[] splits = SparkUtils.balancedRandomSplit((int) totalDataSetObjectCount,
+                            checkpointFrequency, trainingDataPaths, rng.nextLong());
+            for (int i = 0; i < splits.length; i++) {
+                doIterationPaths(network, graph, splits[i], i + 1, splits.length, dsLoader, mdsLoader, dataSetObjectsNumExamples);
+                pathsConsumed(sc, model, splits[i].collect());
+            }
+        } else {
+            doIterationPaths(network, graph, trainingDataPaths, 1, 1, dsLoader, mdsLoader, dataSetObjectsNumExamples);
+        }
+
+        epochFinished(sc, model);
 
         if (collectTrainingStats)
             stats.logFitEnd((int) totalDataSetObjectCount);
     }
 
+    @Override
+    protected void restoreState(TrainingCheckpoint checkpoint) {
+        // threshold algorithm keeps its adaption history, so we don't start from scratch after resume
+        if (checkpoint.getThresholdAlgorithm() != null)
+            this.thresholdAlgorithm = checkpoint.getThresholdAlgorithm();
+    }
+
+    @Override
+    protected void saveState(TrainingCheckpoint checkpoint) {
+        checkpoint.setThresholdAlgorithm(thresholdAlgorithm == null ? null : thresholdAlgorithm.clone());
+    }
+
     protected void prepareNetworkAndStuff(SparkDl4jMultiLayer network, SparkComputationGraph graph) {
         if (network == null && graph == null)
             throw new IllegalStateException("Both MLN & CG are undefined");
@@ -720,6 +785,16 @@ public class SharedTrainingMaster extends BaseTrainingMaster<SharedTrainingResul
             }
         }
 
+        minibatchesPerExecutor = finalResult.getMinibatchesPerExecutor();
+        staleUpdatesPerExecutor = finalResult.getStaleUpdatesPerExecutor();
+        if (finalResult.getMinibatchesPerExecutor() != null && finalResult.getTrainingTimeMsPerExecutor() != null) {
+            workerThroughput = computeThroughput(finalResult.getMinibatchesPerExecutor(), finalResult.getTrainingTimeMsPerExecutor());
+
+            if (logMinibatchesPerWorker)
+                log.info("Minibatches per second per JVM/executor: {}; stale updates discarded: {}", workerThroughput,
+                        staleUpdatesPerExecutor);
+        }
+
         if(finalResult.getThresholdAlgorithmReducer() != null){
             //Store the final threshold algorithm after aggregation
             //Some threshold algorithms contain state/history, used to adapt the threshold algorithm
@@ -732,6 +807,24 @@ public class SharedTrainingMaster extends BaseTrainingMaster<SharedTrainingResul
         Nd4j.getExecutioner().commit();
     }
 
+    /**
+     * Minibatches per second for each executor
+     *
+     * @param minibatchesPerExecutor Number of minibatches processed by each executor
+     * @param trainingTimeMsPerExecutor Training wall time, in milliseconds, of each executor
+     * @return Throughput for each executor with a known minibatch count and a positive training time
+     */
+    public static Map<String, Double> computeThroughput(@NonNull Map<String, Integer> minibatchesPerExecutor,
+                                                        @NonNull Map<String, Long> trainingTimeMsPerExecutor) {
+        Map<String, Double> throughput = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> e : trainingTimeMsPerExecutor.entrySet()) {
+            Integer minibatches = minibatchesPerExecutor.get(e.getKey());
+            if (minibatches != null && e.getValue() > 0)
+                throughput.put(e.getKey(), minibatches * 1000.0 / e.getValue());
+        }
+        return throughput;
+    }
+
     protected void doIteration(SparkDl4jMultiLayer network, JavaRDD<DataSet> split, int splitNum, int numSplits) {
         log.info("Starting training of split {} of {}. workerMiniBatchSize={}, thresholdAlgorithm={}, Configured for {} workers",
                         splitNum, numSplits, batchSizePerWorker, thresholdAlgorithm, numWorkers);
@@ -747,10 +840,10 @@ public class SharedTrainingMaster extends BaseTrainingMaster<SharedTrainingResul
         if(repartitioner != null){
             log.info("Repartitioning training data using repartitioner: {}", repartitioner);
             int minPerWorker = Math.max(1, batchSizePerWorker/rddDataSetNumExamples);
-            splitData = repartitioner.repartition(splitData, minPerWorker, numWorkers);
+            splitData = repartitioner.repartition(splitData, minPerWorker, numTrainingTasks());
         } else {
             log.info("Repartitioning training data using SparkUtils repartitioner");
-            splitData = SparkUtils.repartitionEqually(splitData, repartition, numWorkers);
+            splitData = SparkUtils.repartitionEqually(splitData, repartition, numTrainingTasks());
         }
         int nPartitions = splitData.partitions().size();
 
@@ -785,10 +878,10 @@ public class SharedTrainingMaster extends BaseTrainingMaster<SharedTrainingResul
         if(repartitioner != null){
             log.info("Repartitioning training data using repartitioner: {}", repartitioner);
             int minPerWorker = Math.max(1, batchSizePerWorker/rddDataSetNumExamples);
-            splitData = repartitioner.repartition(splitData, minPerWorker, numWorkers);
+            splitData = repartitioner.repartition(splitData, minPerWorker, numTrainingTasks());
         } else {
             log.info("Repartitioning training data using SparkUtils repartitioner");
-            splitData = SparkUtils.repartitionEqually(splitData, repartition, numWorkers);
+            splitData = SparkUtils.repartitionEqually(splitData, repartition, numTrainingTasks());
         }
         int nPartitions = splitData.partitions().size();
 
@@ -820,10 +913,10 @@ public class SharedTrainingMaster extends BaseTrainingMaster<SharedTrainingResul
         if(repartitioner != null){
             log.info("Repartitioning training data using repartitioner: {}", repartitioner);
             int minPerWorker = Math.max(1, batchSizePerWorker/rddDataSetNumExamples);
-            data = repartitioner.repartition(data, minPerWorker, numWorkers);
+            data = repartitioner.repartition(data, minPerWorker, numTrainingTasks());
         } else {
             log.info("Repartitioning training data using SparkUtils repartitioner");
-            data = SparkUtils.repartitionEqually(data, repartition, numWorkers);
+            data = SparkUtils.repartitionEqually(data, repartition, numTrainingTasks());
         }
         int nPartitions = data.partitions().size();
 
@@ -859,10 +952,10 @@ public class SharedTrainingMaster extends BaseTrainingMaster<SharedTrainingResul
         if(repartitioner != null){
             log.info("Repartitioning training data using repartitioner: {}", repartitioner);
             int minPerWorker = Math.max(1, batchSizePerWorker/dataSetObjectNumExamples);
-            data = repartitioner.repartition(data, minPerWorker, numWorkers);
+            data = repartitioner.repartition(data, minPerWorker, numTrainingTasks());
         } else {
             log.info("Repartitioning training data using SparkUtils repartitioner");
-            data = SparkUtils.repartitionEqually(data, repartition, numWorkers);
+            data = SparkUtils.repartitionEqually(data, repartition, numTrainingTasks());
         }
 
         int nPartitions = data.partitions().size();
@@ -892,6 +985,7 @@ public class SharedTrainingMaster extends BaseTrainingMaster<SharedTrainingResul
     public static class Builder {
         protected ThresholdAlgorithm thresholdAlgorithm = new AdaptiveThresholdAlgorithm();
         protected ResidualPostProcessor residualPostProcessor = new ResidualClippingPostProcessor(5.0, 5);
+        protected StochasticQuantization quantization;
         protected int rddDataSetNumExamples = 1;
         @Deprecated
         protected Repartition repartition = Repartition.Always;
@@ -913,6 +1007,11 @@ public class SharedTrainingMaster extends BaseTrainingMaster<SharedTrainingResul
         protected Boolean workerTogglePeriodicGC = new Boolean(true);
         protected Integer workerPeriodicGCFrequency = new Integer(5000);
         protected boolean encodingDebugMode = false;
+        protected String checkpointDirectory;
+        protected int checkpointFrequency = 0;
+        protected int checkpointKeepLast = 2;
+        protected int tasksPerWorker = 1;
+        protected Integer maxUpdateStaleness;
 
         /**
          * Create a SharedTrainingMaster with defaults other than the RDD number of examples
@@ -1116,6 +1215,21 @@ public class SharedTrainingMaster extends BaseTrainingMaster<SharedTrainingResul
             return this;
         }
 
+        /**
+         * Use stochastic quantization to encode updates instead of threshold encoding. Each update is sent as a dense
+         * array with a fixed number of bits per value, so network usage is predictable and there's no threshold to adapt.
+         * If set, threshold algorithm and residual post processor are not used.
+         * See {@link StochasticQuantization} for details.
+         *
+         * Default: null (threshold encoding)
+         *
+         * @param quantization Stochastic quantization to use
+         */
+        public Builder quantization(StochasticQuantization quantization){
+            this.quantization = quantization;
+            return this;
+        }
+
         /**
          * Minibatch size to use when training workers. In principle, the source data (i.e., {@code RDD<DataSet>} etc)
          * can have a different number of examples in each {@code DataSet} than we want to use when training.
@@ -1246,6 +1360,77 @@ public class SharedTrainingMaster extends BaseTrainingMaster<SharedTrainingResul
             return this;
         }
 
+        /**
+         * Enable periodic checkpoints, that allow to resume training from the middle of an epoch via
+         * {@link SharedTrainingMaster#resumeFromCheckpoint(JavaSparkContext, Model)}. Checkpoint contains params,
+         * updater state, threshold algorithm state and the list of exported DataSet objects fitted in current epoch.<br>
+         * When enabled, each epoch is fitted in chunks of the given number of DataSet objects, and checkpoint is written
+         * in background after each chunk (and at the end of each epoch). Parameter server is not restarted between chunks.
+         * However, each chunk is a separate Spark job: every {@code frequency} paths, all workers wait for the slowest
+         * one to finish its part of the chunk (and for the consumed paths to be collected) before the next chunk starts.
+         * This barrier adds idle time on every worker, so a frequency much larger than the number of workers is
+         * recommended.<br>
+         * Resuming from the middle of an epoch is available for path-based training only (i.e.
+         * {@link RDDTrainingApproach#Export} or fitPaths methods). With {@link RDDTrainingApproach#Direct}, a checkpoint is
+         * written at the end of each epoch only.
+         *
+         * @param directory Base directory for checkpoints: local path or any URI supported by Hadoop
+         * @param frequency Number of DataSet/MultiDataSet objects (paths) to fit between checkpoints
+         */
+        public Builder checkpoints(@NonNull String directory, int frequency) {
+            Preconditions.checkArgument(frequency > 0, "Checkpoint frequency must be >= 1, got %s", frequency);
+            this.checkpointDirectory = directory;
+            this.checkpointFrequency = frequency;
+            return this;
+        }
+
+        /**
+         * Number of checkpoints to keep, older checkpoints are deleted. Default: 2
+         *
+         * @param keepLast number of checkpoints to keep, or 0 to keep all checkpoints
+         */
+        public Builder checkpointKeepLast(int keepLast) {
+            Preconditions.checkArgument(keepLast >= 0, "Number of checkpoints to keep must be >= 0, got %s", keepLast);
+            this.checkpointKeepLast = keepLast;
+            return this;
+        }
+
+        /**
+         * Straggler tolerance: number of Spark tasks to split each worker's share of the data into, on each fit.<br>
+         * Applies to repartitioning strategies that create one partition per worker ({@link EqualRepartitioner},
+         * {@link #repartitionData(Repartition)}): with the default of 1, a slow executor (GC pauses, noisy neighbours,
+         * etc) delays the end of every epoch. With values > 1, remaining tasks are handed out by Spark to whichever
+         * executor frees up first, so minibatches are effectively reassigned from slow workers to fast ones within
+         * an epoch, at the cost of some per-task overhead. Values in range 2-8 are usually suitable.<br>
+         * Note that {@link DefaultRepartitioner} already creates partitions of {@link #batchSizePerWorker(int)}
+         * examples, and isn't affected by this setting.
+         *
+         * @param tasksPerWorker Number of tasks per worker, 1 or more
+         */
+        public Builder tasksPerWorker(int tasksPerWorker) {
+            Preconditions.checkArgument(tasksPerWorker > 0, "Number of tasks per worker must be >= 1, got %s", tasksPerWorker);
+            this.tasksPerWorker = tasksPerWorker;
+            return this;
+        }
+
+        /**
+         * Straggler tolerance: bounded staleness for updates shared between workers. A worker whose update is more
+         * than this number of iterations behind the most recent update received from other workers doesn't share or
+         * apply it (it's kept in the worker's residual instead), so fast workers are neither blocked by a straggler
+         * nor pushed back by its outdated updates, and all workers still apply the same set of updates.
+         * Number of discarded updates is reported per executor in {@link SharedTrainingResult}.<br>
+         * If set, this value overrides {@link VoidConfiguration#getMaxUpdateStaleness()} on workers; the
+         * VoidConfiguration passed to this builder isn't modified. Default: not set, so the VoidConfiguration value is used
+         * (0 unless changed, all updates are shared)
+         *
+         * @param maxStaleness Max staleness of shared updates, in iterations, or 0 for no limit
+         */
+        public Builder maxUpdateStaleness(int maxStaleness) {
+            Preconditions.checkArgument(maxStaleness >= 0, "Max update staleness must be >= 0, got %s", maxStaleness);
+            this.maxUpdateStaleness = maxStaleness;
+            return this;
+        }
+
         public SharedTrainingMaster build() {
             SharedTrainingMaster master = new SharedTrainingMaster(voidConfiguration, numWorkers, rddTrainingApproach,
                             storageLevel, collectTrainingStats, repartitionStrategy, repartition,
@@ -1255,6 +1440,13 @@ public class SharedTrainingMaster extends BaseTrainingMaster<SharedTrainingResul
             if (transport != null)
                 master.transport = this.transport;
 
+            master.quantization = this.quantization;
+            master.checkpointDirectory = this.checkpointDirectory;
+            master.checkpointFrequency = this.checkpointFrequency;
+            master.checkpointKeepLast = this.checkpointKeepLast;
+            master.tasksPerWorker = this.tasksPerWorker;
+            master.maxUpdateStaleness = this.maxUpdateStaleness;
+
             return master;
         }
     }
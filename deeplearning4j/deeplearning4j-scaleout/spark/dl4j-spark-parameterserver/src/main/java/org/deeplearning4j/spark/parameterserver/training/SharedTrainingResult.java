@@ -49,6 +49,8 @@ public class SharedTrainingResult extends BaseTrainingResult implements Training
     private Collection<Persistable> listenerStaticInfo;
     private Collection<Persistable> listenerUpdates;
     private Map<String,Integer> minibatchesPerExecutor;
+    private Map<String,Long> trainingTimeMsPerExecutor;
+    private Map<String,Long> staleUpdatesPerExecutor;
     private ThresholdAlgorithm thresholdAlgorithm;
 
 
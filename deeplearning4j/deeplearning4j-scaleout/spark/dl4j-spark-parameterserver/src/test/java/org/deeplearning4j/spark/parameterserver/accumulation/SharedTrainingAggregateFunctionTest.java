@@ -21,6 +21,7 @@
 package org.deeplearning4j.spark.parameterserver.accumulation;
 
 import com.sun.jna.Platform;
+import org.deeplearning4j.spark.parameterserver.training.SharedTrainingMaster;
 import org.deeplearning4j.spark.parameterserver.training.SharedTrainingResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
@@ -30,6 +31,9 @@ import org.nd4j.common.tests.tags.TagNames;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 
+import java.util.Collections;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 @Tag(TagNames.FILE_IO)
 @Tag(TagNames.SPARK)
@@ -67,4 +71,37 @@ public class SharedTrainingAggregateFunctionTest {
         assertEquals(3.0, tuple2.getScoreSum(), 0.001);
         assertEquals(expUpdates, tuple2.getUpdaterStateArray());
     }
+
+    @Test
+    public void testStragglerStats() throws Exception {
+        //"fast" finished 3 tasks of 4 minibatches while "slow" was busy with a single one. Only "slow" lagged behind
+        SharedTrainingAggregateFunction aggregateFunction = new SharedTrainingAggregateFunction();
+        SharedTrainingAccumulationTuple tuple = null;
+        for (int i = 0; i < 3; i++) {
+            tuple = aggregateFunction.call(tuple, executorResult("fast", 4, 100L, 0L));
+        }
+        tuple = aggregateFunction.call(tuple, executorResult("slow", 4, 300L, 2L));
+
+        assertEquals(4, tuple.getAggregationsCount());
+        assertEquals(12, (int) tuple.getMinibatchesPerExecutor().get("fast"));
+        assertEquals(4, (int) tuple.getMinibatchesPerExecutor().get("slow"));
+        assertEquals(300L, (long) tuple.getTrainingTimeMsPerExecutor().get("fast"));
+        assertEquals(300L, (long) tuple.getTrainingTimeMsPerExecutor().get("slow"));
+        assertEquals(0L, (long) tuple.getStaleUpdatesPerExecutor().get("fast"));
+        assertEquals(2L, (long) tuple.getStaleUpdatesPerExecutor().get("slow"));
+
+        Map<String, Double> throughput = SharedTrainingMaster.computeThroughput(tuple.getMinibatchesPerExecutor(),
+                tuple.getTrainingTimeMsPerExecutor());
+        assertEquals(40.0, throughput.get("fast"), 1e-6);
+        assertEquals(13.333, throughput.get("slow"), 1e-3);
+    }
+
+    private static SharedTrainingResult executorResult(String executorId, int minibatches, long timeMs, long staleUpdates) {
+        return SharedTrainingResult.builder().updaterStateArray(Nd4j.create(10).assign(1.0)).aggregationsCount(1)
+                .scoreSum(1.0)
+                .minibatchesPerExecutor(Collections.singletonMap(executorId, minibatches))
+                .trainingTimeMsPerExecutor(Collections.singletonMap(executorId, timeMs))
+                .staleUpdatesPerExecutor(Collections.singletonMap(executorId, staleUpdates))
+                .build();
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.deeplearning4j.spark.parameterserver.networking.v2;
+
+import org.deeplearning4j.optimize.solvers.accumulation.encoding.threshold.FixedThresholdAlgorithm;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.nd4j.common.tests.tags.NativeTag;
+import org.nd4j.common.tests.tags.TagNames;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.parameterserver.distributed.conf.VoidConfiguration;
+import org.nd4j.parameterserver.distributed.v2.ModelParameterServer;
+import org.nd4j.parameterserver.distributed.v2.messages.impl.GradientsUpdateMessage;
+import org.nd4j.parameterserver.distributed.v2.transport.impl.DummyTransport;
+import org.nd4j.parameterserver.distributed.v2.transport.impl.StaticPortSupplier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag(TagNames.DIST_SYSTEMS)
+@NativeTag
+public class WiredEncodingHandlerTest {
+
+    @Test
+    public void testStaleUpdateKeptInResidual() throws Exception {
+        String nodeId = "NODE_" + UUID.randomUUID().toString();
+        DummyTransport.Connector connector = new DummyTransport.Connector();
+        DummyTransport transport = new DummyTransport(nodeId, connector);
+        connector.register(transport);
+
+        VoidConfiguration configuration = VoidConfiguration.builder().portSupplier(new StaticPortSupplier(40123))
+                .streamId(119).build();
+        ModelParameterServer server = ModelParameterServer.getInstance();
+        if (server.isInitialized())
+            server.shutdown();
+        server.configure(configuration, transport, true);
+        server.launch();
+        try {
+            // most recent update received from another node: the singleton may already have seen later iterations
+            int latest = server.getStartPosition().getFirst() + 100;
+            GradientsUpdateMessage message = new GradientsUpdateMessage(UUID.randomUUID().toString(), Nd4j.create(10, 10));
+            message.setOriginatorId("OTHER_NODE");
+            message.setIteration(latest);
+            transport.processMessage(message);
+            assertEquals(latest, (int) server.getStartPosition().getFirst());
+
+            CapturingHandler handler = new CapturingHandler();
+            handler.setMaxUpdateStaleness(5);
+            long staleBefore = server.getStaleUpdatesCount();
+
+            // straggler: the update is neither applied locally nor sent, and stays in the residual unchanged
+            INDArray updates = Nd4j.create(10, 10).assign(1.0);
+            INDArray original = updates.dup();
+            assertFalse(handler.broadcastUpdates(updates, latest - 10, 0));
+            assertTrue(handler.sent.isEmpty());
+            assertEquals(original, updates);
+            assertEquals(staleBefore + 1, server.getStaleUpdatesCount());
+
+            // within the bound: the update is encoded and sent, and the sent part is removed from the residual
+            assertTrue(handler.broadcastUpdates(updates, latest - 2, 0));
+            assertEquals(1, handler.sent.size());
+            assertEquals(latest - 2, (int) handler.sent.get(0));
+            assertNotEquals(original, updates);
+            assertEquals(staleBefore + 1, server.getStaleUpdatesCount());
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    private static class CapturingHandler extends WiredEncodingHandler {
+        private final List<Integer> sent = new ArrayList<>();
+
+        private CapturingHandler() {
+            super(new FixedThresholdAlgorithm(1e-3), null, null, false);
+        }
+
+        @Override
+        protected void sendMessage(INDArray message, int iterationNumber, int epochNumber) {
+            // records the iteration instead of applying the update locally and sending it to the cluster
+            sent.add(iterationNumber);
+        }
+    }
+}
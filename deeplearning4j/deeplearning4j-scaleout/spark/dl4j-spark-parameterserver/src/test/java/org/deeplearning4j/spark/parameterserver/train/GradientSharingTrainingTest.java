@@ -22,6 +22,8 @@ package org.deeplearning4j.spark.parameterserver.train;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.spark.api.java.JavaRDD;
+import org.deeplearning4j.core.loader.DataSetLoader;
+import org.deeplearning4j.core.loader.impl.SerializedDataSetLoader;
 import org.deeplearning4j.datasets.iterator.EarlyTerminationDataSetIterator;
 import org.deeplearning4j.datasets.iterator.impl.IrisDataSetIterator;
 import org.deeplearning4j.datasets.iterator.impl.MnistDataSetIterator;
@@ -42,8 +44,11 @@ import org.deeplearning4j.optimize.solvers.accumulation.encoding.threshold.Adapt
 import org.deeplearning4j.optimize.solvers.accumulation.encoding.threshold.FixedThresholdAlgorithm;
 import org.deeplearning4j.spark.api.RDDTrainingApproach;
 import org.deeplearning4j.spark.api.TrainingMaster;
+import org.deeplearning4j.spark.impl.checkpoint.CheckpointManager;
+import org.deeplearning4j.spark.impl.checkpoint.TrainingCheckpoint;
 import org.deeplearning4j.spark.impl.graph.SparkComputationGraph;
 import org.deeplearning4j.spark.impl.multilayer.SparkDl4jMultiLayer;
+import org.deeplearning4j.spark.impl.repartitioner.EqualRepartitioner;
 import org.deeplearning4j.spark.parameterserver.training.SharedTrainingMaster;
 import org.junit.jupiter.api.Disabled;
 
@@ -51,6 +56,7 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
 import org.junit.jupiter.api.io.TempDir;
+import org.nd4j.common.loader.Source;
 import org.nd4j.common.tests.tags.NativeTag;
 import org.nd4j.common.tests.tags.TagNames;
 import org.nd4j.linalg.activations.Activation;
@@ -66,6 +72,7 @@ import org.nd4j.parameterserver.distributed.conf.VoidConfiguration;
 import org.nd4j.parameterserver.distributed.v2.enums.MeshBuildMode;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.Serializable;
 import java.net.Inet4Address;
 import java.nio.file.Files;
@@ -412,6 +419,219 @@ public class GradientSharingTrainingTest extends BaseSparkTest {
         assertEquals(expectedEpochs, TestListener.epochs);
     }
 
+    @Test
+    public void testStragglerTolerance(@TempDir Path testDir) throws Exception {
+        //One task's worth of data is slow to load: all remaining work should still be completed, and stats reported per executor
+
+        File temp = testDir.resolve("new-dir-" + UUID.randomUUID().toString()).toFile();
+        temp.mkdirs();
+
+        String controller = Inet4Address.getLocalHost().getHostAddress();
+        String networkMask = controller.substring(0, controller.lastIndexOf('.')) + ".0" + "/16";
+
+        VoidConfiguration voidConfiguration = VoidConfiguration.builder()
+                .unicastPort(40123)
+                .networkMask(networkMask)
+                .controllerAddress(controller)
+                .meshBuildMode(MeshBuildMode.PLAIN)
+                .build();
+        SharedTrainingMaster tm = new SharedTrainingMaster.Builder(voidConfiguration, 2, new AdaptiveThresholdAlgorithm(1e-3), 16)
+                .rngSeed(12345)
+                .collectTrainingStats(false)
+                .batchSizePerWorker(16)
+                .workersPerNode(2)
+                .repartitioner(new EqualRepartitioner())
+                .tasksPerWorker(4)
+                .maxUpdateStaleness(10)
+                .exportDirectory("file:///" + temp.getAbsolutePath().replaceAll("\\\\", "/"))
+                .build();
+        assertEquals(10, (int) tm.getMaxUpdateStaleness());
+        assertEquals(0, voidConfiguration.getMaxUpdateStaleness());
+
+        ComputationGraphConfiguration conf = new NeuralNetConfiguration.Builder()
+                .seed(12345)
+                .updater(new AMSGrad(0.001))
+                .graphBuilder()
+                .addInputs("in")
+                .layer("out", new OutputLayer.Builder().nIn(784).nOut(10).activation(Activation.SOFTMAX)
+                        .lossFunction(LossFunctions.LossFunction.MCXENT).build(), "in")
+                .setOutputs("out")
+                .build();
+
+        SparkComputationGraph sparkNet = new SparkComputationGraph(sc, conf, tm);
+
+        DataSetIterator iter = new MnistDataSetIterator(16, true, 12345);
+        int count = 0;
+        List<String> paths = new ArrayList<>();
+        File f = new File(testDir.toFile(),"test-dir-1");
+        f.mkdirs();
+        while (iter.hasNext() && count++ < 16) {
+            DataSet d = iter.next();
+            //16 paths over 2 workers x 4 tasks: 2 paths per task, only those 2 are delayed
+            File out = new File(f, (count <= 2 ? "slow-" : "") + count + ".bin");
+            d.save(out);
+            paths.add("file:///" + out.getAbsolutePath().replaceAll("\\\\", "/"));
+        }
+
+        INDArray paramsBefore = sparkNet.getNetwork().params().dup();
+        sparkNet.fitPaths(sc.parallelize(paths), new StragglerLoader(500));
+        assertNotEquals(paramsBefore, sparkNet.getNetwork().params());
+
+        //Nothing is lost because of the straggler
+        Map<String, Integer> minibatches = tm.getMinibatchesPerExecutor();
+        assertNotNull(minibatches);
+        int totalMinibatches = 0;
+        for (Integer i : minibatches.values()) {
+            totalMinibatches += i;
+        }
+        assertEquals(16, totalMinibatches);
+
+        Map<String, Double> throughput = tm.getWorkerThroughput();
+        assertNotNull(throughput);
+        assertEquals(minibatches.keySet(), throughput.keySet());
+        for (Double d : throughput.values()) {
+            assertTrue(d > 0, "Expected positive throughput, got " + d);
+        }
+
+        //Single node: there are no remote updates to advance the clock, so none of the local updates can be stale
+        Map<String, Long> staleUpdates = tm.getStaleUpdatesPerExecutor();
+        assertNotNull(staleUpdates);
+        assertEquals(minibatches.keySet(), staleUpdates.keySet());
+        for (Long l : staleUpdates.values()) {
+            assertEquals(0L, (long) l);
+        }
+    }
+
+    @Test
+    public void testCheckpointResumeMidEpoch(@TempDir Path testDir) throws Exception {
+        //Resume from a checkpoint made in the middle of an epoch: paths fitted before it are skipped, and the
+        // threshold algorithm state is restored
+        File dataDir = new File(testDir.toFile(), "data");
+        dataDir.mkdirs();
+        List<String> paths = new ArrayList<>();
+        DataSetIterator iter = new IrisDataSetIterator(15, 150);
+        int count = 0;
+        while (iter.hasNext()) {
+            File out = new File(dataDir, count++ + ".bin");
+            iter.next().save(out);
+            paths.add("file:///" + out.getAbsolutePath().replaceAll("\\\\", "/"));
+        }
+        String checkpointDir = new File(testDir.toFile(), "checkpoints").toURI().toString();
+
+        //Checkpoint of the interrupted run: half of the paths were fitted
+        SparkDl4jMultiLayer original = new SparkDl4jMultiLayer(sc, getIrisConf(), getCheckpointingMaster(checkpointDir, testDir));
+        List<String> consumed = new ArrayList<>(paths.subList(0, paths.size() / 2));
+        CheckpointManager manager = new CheckpointManager(checkpointDir, 0, sc.hadoopConfiguration());
+        manager.saveAsync(original.getNetwork(), TrainingCheckpoint.builder().checkpointNumber(0)
+                .timestamp(System.currentTimeMillis()).epoch(0).consumedPaths(consumed)
+                .thresholdAlgorithm(new FixedThresholdAlgorithm(5e-4)).build());
+        manager.waitForPending();
+
+        SharedTrainingMaster tm = getCheckpointingMaster(checkpointDir, testDir);
+        SparkDl4jMultiLayer resumed = new SparkDl4jMultiLayer(sc, getIrisConf(), tm);
+        assertTrue(tm.resumeFromCheckpoint(sc, resumed.getNetwork()));
+        assertEquals(0, tm.getEpochCount());
+        assertEquals(new FixedThresholdAlgorithm(5e-4), tm.getThresholdAlgorithm());
+        assertEquals(original.getNetwork().params(), resumed.getNetwork().params());
+
+        resumed.fitPaths(sc.parallelize(paths));
+        tm.waitForCheckpoints();
+        assertEquals(1, tm.getEpochCount());
+
+        TrainingCheckpoint last = manager.getLastCheckpoint();
+        assertEquals(1, last.getEpoch());
+        assertTrue(last.getConsumedPaths().isEmpty());
+        assertTrue(last.getThresholdAlgorithm() instanceof FixedThresholdAlgorithm);
+
+        //Each remaining path is fitted in its own chunk, and each path is fitted exactly once in this epoch
+        TrainingCheckpoint midEpoch = manager.getCheckpoint(last.getCheckpointNumber() - 1);
+        assertEquals(0, midEpoch.getEpoch());
+        assertEquals(paths.size(), midEpoch.getConsumedPaths().size());
+        assertEquals(new HashSet<>(paths), new HashSet<>(midEpoch.getConsumedPaths()));
+        assertEquals(consumed, midEpoch.getConsumedPaths().subList(0, consumed.size()));
+        assertEquals(paths.size() - consumed.size() + 1, last.getCheckpointNumber());
+        manager.close();
+    }
+
+    @Test
+    public void testDirectTrainingEpochCount(@TempDir Path testDir) throws Exception {
+        SharedTrainingMaster tm = new SharedTrainingMaster.Builder(getVoidConfiguration(), 2, new AdaptiveThresholdAlgorithm(1e-3), 15)
+                .rngSeed(12345)
+                .collectTrainingStats(false)
+                .batchSizePerWorker(15)
+                .workersPerNode(2)
+                .rddTrainingApproach(RDDTrainingApproach.Direct)
+                .build();
+        SparkDl4jMultiLayer sparkNet = new SparkDl4jMultiLayer(sc, getIrisConf(), tm);
+
+        List<DataSet> list = new ArrayList<>();
+        DataSetIterator iter = new IrisDataSetIterator(15, 150);
+        while (iter.hasNext()) {
+            list.add(iter.next());
+        }
+        JavaRDD<DataSet> rdd = sc.parallelize(list);
+        sparkNet.fit(rdd);
+        sparkNet.fit(rdd);
+        assertEquals(2, tm.getEpochCount());
+    }
+
+    private SharedTrainingMaster getCheckpointingMaster(String checkpointDir, Path testDir) throws Exception {
+        File temp = testDir.resolve("export-" + UUID.randomUUID().toString()).toFile();
+        temp.mkdirs();
+        return new SharedTrainingMaster.Builder(getVoidConfiguration(), 2, new AdaptiveThresholdAlgorithm(1e-3), 15)
+                .rngSeed(12345)
+                .collectTrainingStats(false)
+                .batchSizePerWorker(15)
+                .workersPerNode(2)
+                .checkpoints(checkpointDir, 1)
+                .checkpointKeepLast(0)
+                .exportDirectory("file:///" + temp.getAbsolutePath().replaceAll("\\\\", "/"))
+                .build();
+    }
+
+    private static VoidConfiguration getVoidConfiguration() throws Exception {
+        String controller = Inet4Address.getLocalHost().getHostAddress();
+        String networkMask = controller.substring(0, controller.lastIndexOf('.')) + ".0" + "/16";
+        return VoidConfiguration.builder()
+                .unicastPort(40123)
+                .networkMask(networkMask)
+                .controllerAddress(controller)
+                .meshBuildMode(MeshBuildMode.PLAIN)
+                .build();
+    }
+
+    private static MultiLayerConfiguration getIrisConf() {
+        return new NeuralNetConfiguration.Builder()
+                .seed(12345)
+                .updater(new AMSGrad(0.01))
+                .list()
+                .layer(new DenseLayer.Builder().nIn(4).nOut(10).activation(Activation.TANH).build())
+                .layer(new OutputLayer.Builder().nIn(10).nOut(3).activation(Activation.SOFTMAX)
+                        .lossFunction(LossFunctions.LossFunction.MCXENT).build())
+                .build();
+    }
+
+    private static class StragglerLoader implements DataSetLoader {
+        private final long delayMs;
+        private final SerializedDataSetLoader loader = new SerializedDataSetLoader();
+
+        private StragglerLoader(long delayMs) {
+            this.delayMs = delayMs;
+        }
+
+        @Override
+        public DataSet load(Source source) throws IOException {
+            if (source.getPath().contains("slow-")) {
+                try {
+                    Thread.sleep(delayMs);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            return loader.load(source);
+        }
+    }
+
     private static class TestListener extends BaseTrainingListener implements Serializable {
         private static final Set<Integer> iterations = Collections.newSetFromMap(new ConcurrentHashMap<>());
         private static final Set<Integer> epochs = Collections.newSetFromMap(new ConcurrentHashMap<>());
@@ -35,5 +35,13 @@ public class WorkerConfiguration implements Serializable {
     protected final int maxBatchesPerWorker;
     protected final int prefetchNumBatches;
     protected final boolean collectTrainingStats;
+    protected final int dataReaderThreads; //Number of threads for streaming reads of exported data (0: read on training thread)
+    protected final int dataPrefetchFiles; //Max number of exported files read ahead by the streaming reader
+
+    public WorkerConfiguration(boolean isGraphNetwork, int dataSetObjectSizeExamples, int batchSizePerWorker,
+                    int maxBatchesPerWorker, int prefetchNumBatches, boolean collectTrainingStats) {
+        this(isGraphNetwork, dataSetObjectSizeExamples, batchSizePerWorker, maxBatchesPerWorker, prefetchNumBatches,
+                        collectTrainingStats, 0, 0);
+    }
 
 }
@@ -37,11 +37,13 @@ public class CommonSparkTrainingStats implements SparkTrainingStats {
     public static final String FILENAME_GET_INITIAL_MODEL_STATS = "workerFlatMapGetInitialModelTimeMs.txt";
     public static final String FILENAME_DATASET_GET_TIME_STATS = "workerFlatMapDataSetGetTimesMs.txt";
     public static final String FILENAME_PROCESS_MINIBATCH_TIME_STATS = "workerFlatMapProcessMiniBatchTimesMs.txt";
+    public static final String FILENAME_DATA_READ_TIME_STATS = "workerFlatMapDataReadTimesMs.txt";
 
     public static final String WORKER_FLAT_MAP_TOTAL_TIME_MS = "WorkerFlatMapTotalTimeMs";
     public static final String WORKER_FLAT_MAP_GET_INITIAL_MODEL_TIME_MS = "WorkerFlatMapGetInitialModelTimeMs";
     public static final String WORKER_FLAT_MAP_DATA_SET_GET_TIMES_MS = "WorkerFlatMapDataSetGetTimesMs";
     public static final String WORKER_FLAT_MAP_PROCESS_MINI_BATCH_TIMES_MS = "WorkerFlatMapProcessMiniBatchTimesMs";
+    public static final String WORKER_FLAT_MAP_DATA_READ_TIMES_MS = "WorkerFlatMapDataReadTimesMs";
     private static Set<String> columnNames =
                     Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(WORKER_FLAT_MAP_TOTAL_TIME_MS,
                                     WORKER_FLAT_MAP_GET_INITIAL_MODEL_TIME_MS, WORKER_FLAT_MAP_DATA_SET_GET_TIMES_MS,
@@ -52,6 +54,8 @@ public class CommonSparkTrainingStats implements SparkTrainingStats {
     private List<EventStats> workerFlatMapGetInitialModelTimeMs;
     private List<EventStats> workerFlatMapDataSetGetTimesMs;
     private List<EventStats> workerFlatMapProcessMiniBatchTimesMs;
+    //Only present when data is read by background reader threads
+    private List<EventStats> workerFlatMapDataReadTimesMs;
 
 
 
@@ -65,12 +69,15 @@ public class CommonSparkTrainingStats implements SparkTrainingStats {
         this.workerFlatMapGetInitialModelTimeMs = builder.workerFlatMapGetInitialModelTimeMs;
         this.workerFlatMapDataSetGetTimesMs = builder.workerFlatMapDataSetGetTimesMs;
         this.workerFlatMapProcessMiniBatchTimesMs = builder.workerFlatMapProcessMiniBatchTimesMs;
+        this.workerFlatMapDataReadTimesMs = builder.workerFlatMapDataReadTimesMs;
     }
 
 
     @Override
     public Set<String> getKeySet() {
         Set<String> set = new LinkedHashSet<>(columnNames);
+        if (workerFlatMapDataReadTimesMs != null && !workerFlatMapDataReadTimesMs.isEmpty())
+            set.add(WORKER_FLAT_MAP_DATA_READ_TIMES_MS);
         if (trainingWorkerSpecificStats != null)
             set.addAll(trainingWorkerSpecificStats.getKeySet());
 
@@ -88,6 +95,8 @@ public class CommonSparkTrainingStats implements SparkTrainingStats {
                 return workerFlatMapDataSetGetTimesMs;
             case WORKER_FLAT_MAP_PROCESS_MINI_BATCH_TIMES_MS:
                 return workerFlatMapProcessMiniBatchTimesMs;
+            case WORKER_FLAT_MAP_DATA_READ_TIMES_MS:
+                return workerFlatMapDataReadTimesMs;
             default:
                 if (trainingWorkerSpecificStats != null)
                     return trainingWorkerSpecificStats.getValue(key);
@@ -106,6 +115,8 @@ public class CommonSparkTrainingStats implements SparkTrainingStats {
                 return "GetDataSet";
             case WORKER_FLAT_MAP_PROCESS_MINI_BATCH_TIMES_MS:
                 return "ProcessBatch";
+            case WORKER_FLAT_MAP_DATA_READ_TIMES_MS:
+                return "ReadData";
             default:
                 if (trainingWorkerSpecificStats != null)
                     return trainingWorkerSpecificStats.getShortNameForKey(key);
@@ -121,6 +132,7 @@ public class CommonSparkTrainingStats implements SparkTrainingStats {
             case WORKER_FLAT_MAP_PROCESS_MINI_BATCH_TIMES_MS:
                 return false; //Covered by worker stats generally
             case WORKER_FLAT_MAP_DATA_SET_GET_TIMES_MS:
+            case WORKER_FLAT_MAP_DATA_READ_TIMES_MS:
                 return true;
             default:
                 if (trainingWorkerSpecificStats != null)
@@ -141,6 +153,11 @@ public class CommonSparkTrainingStats implements SparkTrainingStats {
         workerFlatMapGetInitialModelTimeMs.addAll(o.workerFlatMapGetInitialModelTimeMs);
         workerFlatMapDataSetGetTimesMs.addAll(o.workerFlatMapDataSetGetTimesMs);
         workerFlatMapProcessMiniBatchTimesMs.addAll(o.workerFlatMapProcessMiniBatchTimesMs);
+        if (o.workerFlatMapDataReadTimesMs != null) {
+            if (workerFlatMapDataReadTimesMs == null)
+                workerFlatMapDataReadTimesMs = new ArrayList<>();
+            workerFlatMapDataReadTimesMs.addAll(o.workerFlatMapDataReadTimesMs);
+        }
 
         if (trainingWorkerSpecificStats != null)
             trainingWorkerSpecificStats.addOtherTrainingStats(o.trainingWorkerSpecificStats);
@@ -183,6 +200,11 @@ public class CommonSparkTrainingStats implements SparkTrainingStats {
         else
             sb.append(StatsUtils.getDurationAsString(workerFlatMapProcessMiniBatchTimesMs, ",")).append("\n");
 
+        if (workerFlatMapDataReadTimesMs != null && !workerFlatMapDataReadTimesMs.isEmpty()) {
+            sb.append(String.format(f, WORKER_FLAT_MAP_DATA_READ_TIMES_MS));
+            sb.append(StatsUtils.getDurationAsString(workerFlatMapDataReadTimesMs, ",")).append("\n");
+        }
+
         if (trainingWorkerSpecificStats != null)
             sb.append(trainingWorkerSpecificStats.statsAsString()).append("\n");
 
@@ -210,6 +232,12 @@ public class CommonSparkTrainingStats implements SparkTrainingStats {
         String processMiniBatchStatsPath = FilenameUtils.concat(outputPath, FILENAME_PROCESS_MINIBATCH_TIME_STATS);
         StatsUtils.exportStats(workerFlatMapProcessMiniBatchTimesMs, processMiniBatchStatsPath, d, sc);
 
+        //Background data read time stats:
+        if (workerFlatMapDataReadTimesMs != null && !workerFlatMapDataReadTimesMs.isEmpty()) {
+            String dataReadStatsPath = FilenameUtils.concat(outputPath, FILENAME_DATA_READ_TIME_STATS);
+            StatsUtils.exportStats(workerFlatMapDataReadTimesMs, dataReadStatsPath, d, sc);
+        }
+
         if (trainingWorkerSpecificStats != null)
             trainingWorkerSpecificStats.exportStatFiles(outputPath, sc);
     }
@@ -220,6 +248,7 @@ public class CommonSparkTrainingStats implements SparkTrainingStats {
         private List<EventStats> workerFlatMapGetInitialModelTimeMs;
         private List<EventStats> workerFlatMapDataSetGetTimesMs;
         private List<EventStats> workerFlatMapProcessMiniBatchTimesMs;
+        private List<EventStats> workerFlatMapDataReadTimesMs;
 
         public Builder trainingMasterSpecificStats(SparkTrainingStats trainingMasterSpecificStats) {
             this.trainingMasterSpecificStats = trainingMasterSpecificStats;
@@ -246,6 +275,11 @@ public class CommonSparkTrainingStats implements SparkTrainingStats {
             return this;
         }
 
+        public Builder workerFlatMapDataReadTimesMs(List<EventStats> workerFlatMapDataReadTimesMs) {
+            this.workerFlatMapDataReadTimesMs = workerFlatMapDataReadTimesMs;
+            return this;
+        }
+
         public CommonSparkTrainingStats build() {
             return new CommonSparkTrainingStats(this);
         }
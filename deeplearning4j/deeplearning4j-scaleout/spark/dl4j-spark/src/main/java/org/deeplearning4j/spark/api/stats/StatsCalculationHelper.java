@@ -41,6 +41,7 @@ public class StatsCalculationHelper {
     private long totalExampleCount;
     private List<EventStats> dataSetGetTimes = new ArrayList<>();
     private List<EventStats> processMiniBatchTimes = new ArrayList<>();
+    private List<EventStats> dataReadTimes;
 
     private TimeSource timeSource = TimeSourceProvider.getInstance();
 
@@ -81,6 +82,14 @@ public class StatsCalculationHelper {
         processMiniBatchTimes.add(new BaseEventStats(lastProcessBefore, duration));
     }
 
+    /**
+     * Set the times spent by background readers on reading data, if data is read asynchronously.
+     * List is copied when stats are built, so it may still be modified by reader threads before then.
+     */
+    public void setDataReadTimes(List<EventStats> dataReadTimes) {
+        this.dataReadTimes = dataReadTimes;
+    }
+
     public CommonSparkTrainingStats build(SparkTrainingStats masterSpecificStats) {
 
         List<EventStats> totalTime = new ArrayList<>();
@@ -91,6 +100,8 @@ public class StatsCalculationHelper {
         return new CommonSparkTrainingStats.Builder().trainingMasterSpecificStats(masterSpecificStats)
                         .workerFlatMapTotalTimeMs(totalTime).workerFlatMapGetInitialModelTimeMs(initTime)
                         .workerFlatMapDataSetGetTimesMs(dataSetGetTimes)
-                        .workerFlatMapProcessMiniBatchTimesMs(processMiniBatchTimes).build();
+                        .workerFlatMapProcessMiniBatchTimesMs(processMiniBatchTimes)
+                        .workerFlatMapDataReadTimesMs(dataReadTimes == null ? null : new ArrayList<>(dataReadTimes))
+                        .build();
     }
 }
@@ -30,6 +30,7 @@ import org.deeplearning4j.spark.api.TrainingWorker;
 import org.deeplearning4j.spark.api.WorkerConfiguration;
 import org.deeplearning4j.spark.api.stats.SparkTrainingStats;
 import org.deeplearning4j.spark.api.stats.StatsCalculationHelper;
+import org.deeplearning4j.spark.iterator.StreamingPathReader;
 import org.nd4j.linalg.dataset.DataSet;
 import org.nd4j.linalg.dataset.api.iterator.DataSetIterator;
 import org.nd4j.linalg.factory.Nd4j;
@@ -55,6 +56,8 @@ public class ExecuteWorkerFlatMap<R extends TrainingResult> implements FlatMapFu
         StatsCalculationHelper s = (stats ? new StatsCalculationHelper() : null);
         if (stats)
             s.logMethodStartTime();
+        if (stats && dataSetIterator instanceof StreamingPathReader)
+            s.setDataReadTimes(((StreamingPathReader<?>) dataSetIterator).getReadTimes());
 
         if (!dataSetIterator.hasNext()) {
             if (stats) {
@@ -30,6 +30,7 @@ import org.deeplearning4j.spark.api.TrainingWorker;
 import org.deeplearning4j.spark.api.WorkerConfiguration;
 import org.deeplearning4j.spark.api.stats.SparkTrainingStats;
 import org.deeplearning4j.spark.api.stats.StatsCalculationHelper;
+import org.deeplearning4j.spark.iterator.StreamingPathReader;
 import org.nd4j.linalg.dataset.api.MultiDataSet;
 import org.nd4j.linalg.dataset.api.iterator.MultiDataSetIterator;
 import org.nd4j.linalg.factory.Nd4j;
@@ -51,6 +52,8 @@ public class ExecuteWorkerMultiDataSetFlatMap<R extends TrainingResult> implemen
         StatsCalculationHelper s = (stats ? new StatsCalculationHelper() : null);
         if (stats)
             s.logMethodStartTime();
+        if (stats && dataSetIterator instanceof StreamingPathReader)
+            s.setDataReadTimes(((StreamingPathReader<?>) dataSetIterator).getReadTimes());
 
         if (!dataSetIterator.hasNext()) {
             if (stats)
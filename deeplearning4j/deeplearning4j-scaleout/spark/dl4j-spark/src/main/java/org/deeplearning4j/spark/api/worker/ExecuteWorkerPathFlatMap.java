@@ -28,6 +28,7 @@ import org.deeplearning4j.spark.api.TrainingResult;
 import org.deeplearning4j.spark.api.TrainingWorker;
 import org.deeplearning4j.spark.api.WorkerConfiguration;
 import org.deeplearning4j.spark.iterator.PathSparkDataSetIterator;
+import org.deeplearning4j.spark.iterator.StreamingPathReader;
 import org.nd4j.linalg.dataset.DataSet;
 
 import java.util.ArrayList;
@@ -40,6 +41,8 @@ public class ExecuteWorkerPathFlatMap<R extends TrainingResult> implements FlatM
     private final DataSetLoader dataSetLoader;
     private final int maxDataSetObjects;
     private final Broadcast<SerializableHadoopConfig> hadoopConfig;
+    private final int dataReaderThreads;
+    private final int dataPrefetchFiles;
 
     public ExecuteWorkerPathFlatMap(TrainingWorker<R> worker, DataSetLoader dataSetLoader, Broadcast<SerializableHadoopConfig> hadoopConfig) {
         this.workerFlatMap = new ExecuteWorkerFlatMap<>(worker);
@@ -51,6 +54,8 @@ public class ExecuteWorkerPathFlatMap<R extends TrainingResult> implements FlatM
         //Most of the time we'll get exactly the number we want, but this isn't guaranteed all the time for all
         // splitting strategies
         WorkerConfiguration conf = worker.getDataConfiguration();
+        dataReaderThreads = conf.getDataReaderThreads();
+        dataPrefetchFiles = conf.getDataPrefetchFiles();
         int dataSetObjectNumExamples = conf.getDataSetObjectSizeExamples();
         int workerMinibatchSize = conf.getBatchSizePerWorker();
         int maxMinibatches = (conf.getMaxBatchesPerWorker() > 0 ? conf.getMaxBatchesPerWorker() : Integer.MAX_VALUE);
@@ -72,6 +77,13 @@ public class ExecuteWorkerPathFlatMap<R extends TrainingResult> implements FlatM
             list.add(iter.next());
         }
 
-        return workerFlatMap.call(new PathSparkDataSetIterator(list.iterator(), dataSetLoader, hadoopConfig));
+        if (dataReaderThreads <= 0 || list.isEmpty())
+            return workerFlatMap.call(new PathSparkDataSetIterator(list.iterator(), dataSetLoader, hadoopConfig));
+
+        //Read and deserialize files in background threads, while training on already loaded ones
+        try (StreamingPathReader<DataSet> reader = new StreamingPathReader<>(list.iterator(), dataSetLoader, hadoopConfig,
+                        dataReaderThreads, Math.max(dataReaderThreads, dataPrefetchFiles))) {
+            return workerFlatMap.call(reader);
+        }
     }
 }
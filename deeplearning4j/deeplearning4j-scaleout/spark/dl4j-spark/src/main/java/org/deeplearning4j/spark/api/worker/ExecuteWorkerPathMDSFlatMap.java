@@ -28,6 +28,7 @@ import org.deeplearning4j.spark.api.TrainingResult;
 import org.deeplearning4j.spark.api.TrainingWorker;
 import org.deeplearning4j.spark.api.WorkerConfiguration;
 import org.deeplearning4j.spark.iterator.PathSparkMultiDataSetIterator;
+import org.deeplearning4j.spark.iterator.StreamingPathReader;
 import org.nd4j.linalg.dataset.api.MultiDataSet;
 
 import java.util.ArrayList;
@@ -39,6 +40,8 @@ public class ExecuteWorkerPathMDSFlatMap<R extends TrainingResult> implements Fl
     private MultiDataSetLoader loader;
     private final int maxDataSetObjects;
     private final Broadcast<SerializableHadoopConfig> hadoopConfig;
+    private final int dataReaderThreads;
+    private final int dataPrefetchFiles;
 
     public ExecuteWorkerPathMDSFlatMap(TrainingWorker<R> worker, MultiDataSetLoader loader, Broadcast<SerializableHadoopConfig> hadoopConfig) {
         this.workerFlatMap = new ExecuteWorkerMultiDataSetFlatMap<>(worker);
@@ -50,6 +53,8 @@ public class ExecuteWorkerPathMDSFlatMap<R extends TrainingResult> implements Fl
         //Most of the time we'll get exactly the number we want, but this isn't guaranteed all the time for all
         // splitting strategies
         WorkerConfiguration conf = worker.getDataConfiguration();
+        dataReaderThreads = conf.getDataReaderThreads();
+        dataPrefetchFiles = conf.getDataPrefetchFiles();
         int dataSetObjectNumExamples = conf.getDataSetObjectSizeExamples();
         int workerMinibatchSize = conf.getBatchSizePerWorker();
         int maxMinibatches = (conf.getMaxBatchesPerWorker() > 0 ? conf.getMaxBatchesPerWorker() : Integer.MAX_VALUE);
@@ -71,6 +76,13 @@ public class ExecuteWorkerPathMDSFlatMap<R extends TrainingResult> implements Fl
             list.add(iter.next());
         }
 
-        return workerFlatMap.call(new PathSparkMultiDataSetIterator(list.iterator(), loader, hadoopConfig));
+        if (dataReaderThreads <= 0 || list.isEmpty())
+            return workerFlatMap.call(new PathSparkMultiDataSetIterator(list.iterator(), loader, hadoopConfig));
+
+        //Read and deserialize files in background threads, while training on already loaded ones
+        try (StreamingPathReader<MultiDataSet> reader = new StreamingPathReader<>(list.iterator(), loader, hadoopConfig,
+                        dataReaderThreads, Math.max(dataReaderThreads, dataPrefetchFiles))) {
+            return workerFlatMap.call(reader);
+        }
     }
 }
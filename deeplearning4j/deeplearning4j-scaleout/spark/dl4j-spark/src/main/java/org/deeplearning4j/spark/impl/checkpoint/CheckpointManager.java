@@ -0,0 +1,276 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.deeplearning4j.spark.impl.checkpoint;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.deeplearning4j.nn.api.Model;
+import org.deeplearning4j.nn.api.Updater;
+import org.deeplearning4j.nn.graph.ComputationGraph;
+import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
+import org.deeplearning4j.nn.updater.graph.ComputationGraphUpdater;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.io.*;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.*;
+
+/**
+ * This class writes and reads Spark training checkpoints on any Hadoop-supported file system (including local one).
+ *
+ * Checkpoints are written in background thread: model params and updater state are copied on the caller side,
+ * so training may proceed while checkpoint is being written. Layout of checkpoint directory:
+ * <pre>
+ * {directory}/checkpoint_{N}/params.bin
+ * {directory}/checkpoint_{N}/updater.bin     (only if updater has state)
+ * {directory}/checkpoint_{N}/checkpoint.bin  (serialized {@link TrainingCheckpoint})
+ * {directory}/latest                         (number of the last complete checkpoint)
+ * </pre>
+ * The "latest" file is replaced only after checkpoint is completely written, so partially written checkpoints are never used.
+ */
+@Slf4j
+public class CheckpointManager implements Closeable {
+    protected static final String LATEST = "latest";
+    protected static final String PARAMS = "params.bin";
+    protected static final String UPDATER = "updater.bin";
+    protected static final String METADATA = "checkpoint.bin";
+
+    @Getter protected final String directory;
+    @Getter protected final int keepLast;
+    protected final Configuration hadoopConfig;
+
+    protected final ExecutorService executor;
+    protected Future<?> pending;
+
+    /**
+     * @param directory    base directory for checkpoints, local path or any URI supported by Hadoop
+     * @param keepLast     number of checkpoints to keep, older ones are deleted. 0 to keep all checkpoints
+     * @param hadoopConfig Hadoop configuration
+     */
+    public CheckpointManager(@NonNull String directory, int keepLast, @NonNull Configuration hadoopConfig) {
+        this.directory = directory.endsWith("/") ? directory : directory + "/";
+        this.keepLast = keepLast;
+        this.hadoopConfig = new Configuration(hadoopConfig);
+
+        this.executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "Spark training checkpoint writer");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    /**
+     * This method copies model params and updater state, and writes checkpoint in background thread.
+     * If previous checkpoint is still being written, this method waits for it first.
+     *
+     * @param model      model to save
+     * @param checkpoint checkpoint metadata
+     */
+    public synchronized void saveAsync(@NonNull Model model, @NonNull final TrainingCheckpoint checkpoint) {
+        waitForPending();
+
+        final INDArray params = model.params().dup();
+        INDArray state = updaterState(model);
+        final INDArray updater = state == null ? null : state.dup();
+        Nd4j.getExecutioner().commit();
+
+        pending = executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    write(params, updater, checkpoint);
+                } catch (IOException e) {
+                    // failed checkpoint shouldn't stop training, previous checkpoint is still valid
+                    log.error("Failed to write checkpoint {} to {}", checkpoint.getCheckpointNumber(), directory, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * This method blocks until background checkpoint write (if any) is finished
+     */
+    public synchronized void waitForPending() {
+        if (pending == null)
+            return;
+
+        try {
+            pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Checkpoint writer failed", e);
+        }
+
+        pending = null;
+    }
+
+    protected void write(INDArray params, INDArray updater, TrainingCheckpoint checkpoint) throws IOException {
+        long time = System.currentTimeMillis();
+        FileSystem fs = getFileSystem();
+        String dir = checkpointDir(checkpoint.getCheckpointNumber());
+
+        try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(fs.create(new Path(dir + PARAMS))))) {
+            Nd4j.write(params, dos);
+        }
+
+        if (updater != null) {
+            try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(fs.create(new Path(dir + UPDATER))))) {
+                Nd4j.write(updater, dos);
+            }
+        }
+
+        try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(fs.create(new Path(dir + METADATA))))) {
+            oos.writeObject(checkpoint);
+        }
+
+        // checkpoint is complete now, so we can point to it
+        Path latest = new Path(directory + LATEST);
+        Path latestTmp = new Path(directory + LATEST + ".tmp");
+        try (OutputStream os = fs.create(latestTmp, true)) {
+            os.write(String.valueOf(checkpoint.getCheckpointNumber()).getBytes(StandardCharsets.UTF_8));
+        }
+        fs.delete(latest, false);
+        if (!fs.rename(latestTmp, latest))
+            throw new IOException("Failed to update " + latest);
+
+        if (keepLast > 0) {
+            Path old = new Path(checkpointDir(checkpoint.getCheckpointNumber() - keepLast));
+            if (fs.exists(old))
+                fs.delete(old, true);
+        }
+
+        log.info("Checkpoint {} written to {} in {} ms", checkpoint.getCheckpointNumber(), dir,
+                        System.currentTimeMillis() - time);
+    }
+
+    /**
+     * This method returns metadata of the last complete checkpoint, or null if there are no checkpoints
+     *
+     * @return
+     * @throws IOException
+     */
+    public TrainingCheckpoint getLastCheckpoint() throws IOException {
+        FileSystem fs = getFileSystem();
+        Path latest = new Path(directory + LATEST);
+        if (!fs.exists(latest))
+            return null;
+
+        int number;
+        try (InputStream is = fs.open(latest)) {
+            number = Integer.parseInt(new String(IOUtils.toByteArray(is), StandardCharsets.UTF_8).trim());
+        }
+
+        return getCheckpoint(number);
+    }
+
+    /**
+     * This method returns metadata of the checkpoint with the given number
+     *
+     * @param number checkpoint number
+     * @return
+     * @throws IOException
+     */
+    public TrainingCheckpoint getCheckpoint(int number) throws IOException {
+        FileSystem fs = getFileSystem();
+        try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(fs.open(new Path(checkpointDir(number) + METADATA))))) {
+            return (TrainingCheckpoint) ois.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * This method loads params and updater state stored in the given checkpoint into the model.
+     * Model should have the same configuration as the model used for training.
+     *
+     * @param checkpoint checkpoint to load
+     * @param model      model to load params into
+     * @throws IOException
+     */
+    public void restoreModel(@NonNull TrainingCheckpoint checkpoint, @NonNull Model model) throws IOException {
+        FileSystem fs = getFileSystem();
+        String dir = checkpointDir(checkpoint.getCheckpointNumber());
+
+        INDArray params;
+        try (DataInputStream dis = new DataInputStream(new BufferedInputStream(fs.open(new Path(dir + PARAMS))))) {
+            params = Nd4j.read(dis);
+        }
+
+        if (params.length() != model.numParams())
+            throw new IllegalStateException("Checkpoint has " + params.length() + " params, but model has "
+                            + model.numParams() + ". Model configuration should match the one used for training");
+
+        model.params().assign(params.reshape(model.params().shape()));
+
+        INDArray state = updaterState(model);
+        Path updaterPath = new Path(dir + UPDATER);
+        if (state != null && fs.exists(updaterPath)) {
+            try (DataInputStream dis = new DataInputStream(new BufferedInputStream(fs.open(updaterPath)))) {
+                INDArray updater = Nd4j.read(dis);
+                state.assign(updater.reshape(state.shape()));
+            }
+        }
+
+        Nd4j.getExecutioner().commit();
+    }
+
+    @Override
+    public void close() {
+        waitForPending();
+        executor.shutdown();
+    }
+
+    protected String checkpointDir(int number) {
+        return directory + "checkpoint_" + number + "/";
+    }
+
+    protected FileSystem getFileSystem() throws IOException {
+        try {
+            return FileSystem.get(new URI(directory), hadoopConfig);
+        } catch (URISyntaxException e) {
+            throw new IOException(e);
+        }
+    }
+
+    protected static INDArray updaterState(Model model) {
+        if (model instanceof MultiLayerNetwork) {
+            Updater updater = ((MultiLayerNetwork) model).getUpdater();
+            return updater == null ? null : updater.getStateViewArray();
+        } else if (model instanceof ComputationGraph) {
+            ComputationGraphUpdater updater = ((ComputationGraph) model).getUpdater();
+            return updater == null ? null : updater.getStateViewArray();
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.deeplearning4j.spark.impl.checkpoint;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.deeplearning4j.optimize.solvers.accumulation.encoding.ThresholdAlgorithm;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Metadata of a Spark training checkpoint: everything besides model parameters and updater state,
+ * that is required to resume training from the point where checkpoint was made.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainingCheckpoint implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Sequential number of this checkpoint
+     */
+    private int checkpointNumber;
+
+    /**
+     * Time when this checkpoint was made, in milliseconds since epoch
+     */
+    private long timestamp;
+
+    /**
+     * Number of epochs (fit calls) completed before this checkpoint was made
+     */
+    private int epoch;
+
+    /**
+     * Base directory of exported training data used in current epoch, if any
+     */
+    private String exportPath;
+
+    /**
+     * Paths of serialized DataSets/MultiDataSets that were already fitted in current epoch
+     */
+    @Builder.Default
+    private List<String> consumedPaths = new ArrayList<>();
+
+    /**
+     * Threshold algorithm state, for gradients sharing training only
+     */
+    private ThresholdAlgorithm thresholdAlgorithm;
+}
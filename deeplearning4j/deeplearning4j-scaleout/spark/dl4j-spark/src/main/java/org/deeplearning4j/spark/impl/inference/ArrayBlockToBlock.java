@@ -0,0 +1,34 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.deeplearning4j.spark.impl.inference;
+
+import org.apache.spark.api.java.function.Function;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import scala.Tuple2;
+
+import java.util.List;
+
+public class ArrayBlockToBlock<K> implements Function<Tuple2<List<K>, INDArray[]>, Tuple2<List<K>, INDArray>> {
+    @Override
+    public Tuple2<List<K>, INDArray> call(Tuple2<List<K>, INDArray[]> v1) throws Exception {
+        return new Tuple2<>(v1._1(), v1._2()[0]);
+    }
+}
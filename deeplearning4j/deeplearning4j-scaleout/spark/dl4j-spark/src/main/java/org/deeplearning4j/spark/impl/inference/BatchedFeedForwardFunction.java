@@ -0,0 +1,223 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.deeplearning4j.spark.impl.inference;
+
+import org.apache.spark.api.java.function.FlatMapFunction;
+import org.apache.spark.broadcast.Broadcast;
+import org.deeplearning4j.nn.api.Model;
+import org.deeplearning4j.nn.graph.ComputationGraph;
+import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import scala.Tuple2;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Batched feed forward with keys: examples are stacked into minibatches of up to batchSize examples, and the
+ * network output is returned as one block per minibatch - a list of keys, and the output arrays where row i
+ * corresponds to key i - instead of one Tuple2 per example.<br>
+ * Networks are obtained from the {@link InferenceModelCache}, so they are initialized once per executor and shared
+ * between tasks. With numThreads > 1, minibatches are processed by multiple threads within each task.
+ * At most 2 * numThreads minibatches are buffered at any time, and output is produced lazily, so memory use doesn't
+ * depend on the partition size.
+ * <p>
+ * Each input array must contain a single example (i.e., size 1 along dimension 0). Examples with different shapes
+ * (for example, time series of different lengths) are put into separate minibatches.
+ *
+ * @param <K> Type of the keys
+ */
+public class BatchedFeedForwardFunction<K>
+                implements FlatMapFunction<Iterator<Tuple2<K, INDArray[]>>, Tuple2<List<K>, INDArray[]>> {
+
+    private final boolean isGraph;
+    private final Broadcast<String> json;
+    private final Broadcast<byte[]> params;
+    private final int batchSize;
+    private final int numThreads;
+
+    /**
+     * @param isGraph    True if ComputationGraph, false for MultiLayerNetwork
+     * @param json       Network configuration, as JSON
+     * @param params     Network parameters, see {@link org.deeplearning4j.spark.util.SparkUtils#asByteArrayBroadcast}
+     * @param batchSize  Maximum number of examples in each minibatch
+     * @param numThreads Number of inference threads in each task. If 1, inference is done in the task thread
+     */
+    public BatchedFeedForwardFunction(boolean isGraph, Broadcast<String> json, Broadcast<byte[]> params, int batchSize,
+                    int numThreads) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batch size must be >= 1, got " + batchSize);
+        if (numThreads < 1)
+            throw new IllegalArgumentException("Number of inference threads must be >= 1, got " + numThreads);
+        this.isGraph = isGraph;
+        this.json = json;
+        this.params = params;
+        this.batchSize = batchSize;
+        this.numThreads = numThreads;
+    }
+
+    @Override
+    public Iterator<Tuple2<List<K>, INDArray[]>> call(Iterator<Tuple2<K, INDArray[]>> iterator) throws Exception {
+        if (!iterator.hasNext())
+            return Collections.emptyIterator();
+
+        return new OutputIterator(iterator);
+    }
+
+    protected INDArray[] output(List<INDArray[]> examples) {
+        int numInputs = examples.get(0).length;
+        INDArray[] inputs = new INDArray[numInputs];
+        for (int i = 0; i < numInputs; i++) {
+            INDArray[] toStack = new INDArray[examples.size()];
+            for (int j = 0; j < toStack.length; j++)
+                toStack[j] = examples.get(j)[i];
+            inputs[i] = toStack.length == 1 ? toStack[0] : Nd4j.concat(0, toStack);
+        }
+
+        InferenceModelCache cache = InferenceModelCache.getInstance();
+        Model model = cache.acquire(isGraph, json, params);
+        try {
+            if (isGraph)
+                return ((ComputationGraph) model).output(false, inputs);
+            else
+                return new INDArray[] {((MultiLayerNetwork) model).output(inputs[0], false)};
+        } finally {
+            cache.release(params, model);
+        }
+    }
+
+    protected static boolean sameShape(INDArray[] first, INDArray[] other) {
+        if (first.length != other.length)
+            return false;
+        for (int i = 0; i < first.length; i++) {
+            if (!Arrays.equals(first[i].shape(), other[i].shape()))
+                return false;
+        }
+        return true;
+    }
+
+    protected class OutputIterator implements Iterator<Tuple2<List<K>, INDArray[]>> {
+        private final Iterator<Tuple2<K, INDArray[]>> input;
+        private final ThreadPoolExecutor executor;
+        private final int maxPending;
+        private final LinkedList<Future<Tuple2<List<K>, INDArray[]>>> pending = new LinkedList<>();
+        private Tuple2<K, INDArray[]> carried;
+
+        protected OutputIterator(Iterator<Tuple2<K, INDArray[]>> input) {
+            this.input = input;
+            if (numThreads > 1) {
+                executor = new ThreadPoolExecutor(numThreads, numThreads, 30, TimeUnit.SECONDS,
+                                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread t = Executors.defaultThreadFactory().newThread(r);
+                        t.setName("BatchedFeedForward thread " + t.getId());
+                        t.setDaemon(true);
+                        return t;
+                    }
+                });
+                //Idle threads exit on their own, if the output iterator is abandoned before all data is consumed
+                executor.allowCoreThreadTimeOut(true);
+                maxPending = 2 * numThreads;
+            } else {
+                executor = null;
+                maxPending = 1;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            fill();
+            return !pending.isEmpty();
+        }
+
+        @Override
+        public Tuple2<List<K>, INDArray[]> next() {
+            fill();
+            if (pending.isEmpty())
+                throw new NoSuchElementException();
+
+            Tuple2<List<K>, INDArray[]> result;
+            try {
+                result = pending.removeFirst().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                shutdown();
+                if (e.getCause() instanceof RuntimeException)
+                    throw (RuntimeException) e.getCause();
+                throw new RuntimeException(e.getCause());
+            }
+
+            if (pending.isEmpty() && carried == null && !input.hasNext())
+                shutdown();
+            return result;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private void fill() {
+            while (pending.size() < maxPending && (carried != null || input.hasNext())) {
+                final List<K> keys = new ArrayList<>(batchSize);
+                final List<INDArray[]> examples = new ArrayList<>(batchSize);
+                while (examples.size() < batchSize && (carried != null || input.hasNext())) {
+                    Tuple2<K, INDArray[]> next = carried != null ? carried : input.next();
+                    carried = null;
+                    for (INDArray arr : next._2()) {
+                        if (arr.size(0) != 1)
+                            throw new IllegalArgumentException("Each input array must contain a single example: got array with shape "
+                                            + Arrays.toString(arr.shape()) + " for key " + next._1());
+                    }
+                    if (!examples.isEmpty() && !sameShape(examples.get(0), next._2())) {
+                        //Different shape: process what we have, and start the next minibatch with this example
+                        carried = next;
+                        break;
+                    }
+                    keys.add(next._1());
+                    examples.add(next._2());
+                }
+
+                FutureTask<Tuple2<List<K>, INDArray[]>> task =
+                                new FutureTask<>(new Callable<Tuple2<List<K>, INDArray[]>>() {
+                                    @Override
+                                    public Tuple2<List<K>, INDArray[]> call() {
+                                        return new Tuple2<>(keys, output(examples));
+                                    }
+                                });
+                if (executor != null)
+                    executor.execute(task);
+                else
+                    task.run();
+                pending.add(task);
+            }
+        }
+
+        private void shutdown() {
+            if (executor != null)
+                executor.shutdownNow();
+        }
+    }
+}
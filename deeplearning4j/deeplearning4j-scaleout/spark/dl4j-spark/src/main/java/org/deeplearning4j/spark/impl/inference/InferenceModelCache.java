@@ -0,0 +1,130 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.deeplearning4j.spark.impl.inference;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.spark.broadcast.Broadcast;
+import org.deeplearning4j.nn.api.Model;
+import org.deeplearning4j.nn.conf.ComputationGraphConfiguration;
+import org.deeplearning4j.nn.conf.MultiLayerConfiguration;
+import org.deeplearning4j.nn.graph.ComputationGraph;
+import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.util.DeviceLocalNDArray;
+
+import java.io.ByteArrayInputStream;
+import java.util.*;
+
+/**
+ * JVM-wide cache of networks used for inference: for each model version (i.e., each parameters broadcast), networks
+ * are created once per executor and reused by all tasks and threads, instead of being initialized by every partition.<br>
+ * All networks of the same model version share a single copy of the parameters (per device), which is safe as
+ * parameters are never modified during inference. Networks are handed out to one thread at a time via
+ * {@link #acquire(boolean, Broadcast, Broadcast)} and must be returned via {@link #release(Broadcast, Model)}.
+ */
+@Slf4j
+public class InferenceModelCache {
+
+    private static final InferenceModelCache INSTANCE = new InferenceModelCache();
+
+    public static InferenceModelCache getInstance() {
+        return INSTANCE;
+    }
+
+    //As in EvaluationRunner: byte[] doesn't override Object.equals, so these are effectively *identity* weak hash maps
+    //keyed by the broadcast content. Cached params and networks can be GC'd once the broadcast is no longer referenced
+    private final Map<byte[], DeviceLocalNDArray> paramsMap = new WeakHashMap<>();
+    private final Map<byte[], Map<Integer, Queue<Model>>> modelsMap = new WeakHashMap<>();
+
+    private InferenceModelCache() { }
+
+    /**
+     * Get a network for the given model version, for exclusive use by the current thread until released
+     *
+     * @param isGraph True if ComputationGraph, false for MultiLayerNetwork
+     * @param json    JSON configuration of the network
+     * @param params  Parameters of the network, serialized with Nd4j.write
+     * @return Network ready for inference
+     */
+    public Model acquire(boolean isGraph, Broadcast<String> json, Broadcast<byte[]> params) {
+        byte[] key = params.getValue();
+        DeviceLocalNDArray deviceLocalParams;
+        synchronized (this) {
+            Model m = getPool(key).poll();
+            if (m != null)
+                return m;
+
+            deviceLocalParams = paramsMap.get(key);
+            if (deviceLocalParams == null) {
+                deviceLocalParams = new DeviceLocalNDArray(Nd4j.read(new ByteArrayInputStream(key)));
+                paramsMap.put(key, deviceLocalParams);
+            }
+        }
+
+        //Network initialization doesn't need the lock: params are shared, not copied
+        log.debug("Creating inference network in thread {}", Thread.currentThread().getId());
+        if (isGraph) {
+            ComputationGraph cg = new ComputationGraph(ComputationGraphConfiguration.fromJson(json.getValue()));
+            cg.init(deviceLocalParams.get(), false);
+            return cg;
+        } else {
+            MultiLayerNetwork net = new MultiLayerNetwork(MultiLayerConfiguration.fromJson(json.getValue()));
+            net.init(deviceLocalParams.get(), false);
+            return net;
+        }
+    }
+
+    /**
+     * Return the network obtained via {@link #acquire(boolean, Broadcast, Broadcast)} to the cache.
+     * Should be called from the same thread that acquired the network.
+     *
+     * @param params Parameters broadcast the network was acquired for
+     * @param model  Network to return
+     */
+    public synchronized void release(Broadcast<byte[]> params, Model model) {
+        getPool(params.getValue()).add(model);
+    }
+
+    /**
+     * Remove all cached networks and parameters
+     */
+    public synchronized void clear() {
+        paramsMap.clear();
+        modelsMap.clear();
+    }
+
+    private Queue<Model> getPool(byte[] key) {
+        //Networks are kept per device, so that params of a network are always local to the thread using it
+        int device = Nd4j.getAffinityManager().getDeviceForCurrentThread();
+        Map<Integer, Queue<Model>> devices = modelsMap.get(key);
+        if (devices == null) {
+            devices = new HashMap<>();
+            modelsMap.put(key, devices);
+        }
+        Queue<Model> pool = devices.get(device);
+        if (pool == null) {
+            pool = new ArrayDeque<>();
+            devices.put(device, pool);
+        }
+        return pool;
+    }
+}
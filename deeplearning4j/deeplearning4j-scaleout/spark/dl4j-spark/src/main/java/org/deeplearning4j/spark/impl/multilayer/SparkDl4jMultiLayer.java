@@ -45,6 +45,9 @@ import org.deeplearning4j.spark.impl.SparkListenable;
 import org.deeplearning4j.spark.impl.common.LoadDataSetFunction;
 import org.deeplearning4j.spark.impl.common.reduce.IntDoubleReduceFunction;
 import org.deeplearning4j.spark.impl.graph.evaluation.IEvaluateMDSPathsFlatMapFunction;
+import org.deeplearning4j.spark.impl.graph.scoring.PairToArrayPair;
+import org.deeplearning4j.spark.impl.inference.ArrayBlockToBlock;
+import org.deeplearning4j.spark.impl.inference.BatchedFeedForwardFunction;
 import org.deeplearning4j.spark.impl.multilayer.evaluation.IEvaluateAggregateFunction;
 import org.deeplearning4j.spark.impl.multilayer.evaluation.IEvaluateFlatMapFunction;
 import org.deeplearning4j.spark.impl.multilayer.evaluation.IEvaluationReduceFunction;
@@ -498,6 +501,28 @@ public class SparkDl4jMultiLayer extends SparkListenable {
                         sc.broadcast(conf.toJson()), batchSize));
     }
 
+    /**
+     * Feed-forward the specified data with the given keys, returning the network output in blocks: one
+     * {@code Tuple2<List<K>, INDArray>} per minibatch, where row i of the output array corresponds to key i.
+     * Compared to {@link #feedForwardWithKey(JavaPairRDD, int)}, the network is initialized only once per executor and
+     * shared between tasks, inference may use multiple threads in each task, and memory use doesn't depend on
+     * partition size.<br>
+     * Each features array must contain a single example (size 1 along dimension 0).
+     *
+     * @param featuresData Features data to feed through the network, one example per key
+     * @param batchSize    Maximum number of examples in each minibatch/block
+     * @param numThreads   Number of inference threads in each task
+     * @param <K>          Type of data for key - may be anything
+     * @return Network output given the input, in blocks of up to batchSize examples
+     */
+    public <K> JavaRDD<Tuple2<List<K>, INDArray>> feedForwardWithKeyBatched(JavaPairRDD<K, INDArray> featuresData,
+                    int batchSize, int numThreads) {
+        return featuresData.mapToPair(new PairToArrayPair<K>())
+                .mapPartitions(new BatchedFeedForwardFunction<K>(false, sc.broadcast(conf.toJson()),
+                        SparkUtils.asByteArrayBroadcast(sc, network.params()), batchSize, numThreads))
+                .map(new ArrayBlockToBlock<K>());
+    }
+
     /**
      * {@code RDD<DataSet>} overload of {@link #evaluate(JavaRDD)}
      */
@@ -21,6 +21,7 @@
 package org.deeplearning4j.spark.impl.paramavg;
 
 import lombok.Getter;
+import lombok.NonNull;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.conf.Configuration;
@@ -29,14 +30,18 @@ import org.apache.hadoop.fs.Path;
 import org.apache.spark.SparkContext;
 import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.spark.api.java.function.Function;
 import org.apache.spark.broadcast.Broadcast;
 import org.apache.spark.storage.StorageLevel;
 import org.datavec.spark.util.SerializableHadoopConfig;
 import org.deeplearning4j.core.storage.StatsStorageRouter;
+import org.deeplearning4j.nn.api.Model;
 import org.deeplearning4j.optimize.api.TrainingListener;
 import org.deeplearning4j.spark.api.*;
 import org.deeplearning4j.spark.data.BatchAndExportDataSetsFunction;
 import org.deeplearning4j.spark.data.BatchAndExportMultiDataSetsFunction;
+import org.deeplearning4j.spark.impl.checkpoint.CheckpointManager;
+import org.deeplearning4j.spark.impl.checkpoint.TrainingCheckpoint;
 import org.deeplearning4j.spark.impl.paramavg.stats.ParameterAveragingTrainingMasterStats;
 import org.deeplearning4j.spark.impl.paramavg.util.ExportSupport;
 import org.deeplearning4j.spark.util.serde.StorageLevelDeserializer;
@@ -57,8 +62,11 @@ import org.nd4j.shade.jackson.dataformat.yaml.YAMLFactory;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 
 @Slf4j
 public abstract class BaseTrainingMaster<R extends TrainingResult, W extends TrainingWorker<R>>
@@ -99,6 +107,20 @@ public abstract class BaseTrainingMaster<R extends TrainingResult, W extends Tra
 
     protected Broadcast<SerializableHadoopConfig> broadcastHadoopConfig;
 
+    //Checkpointing configuration
+    protected String checkpointDirectory;
+    protected int checkpointFrequency;
+    protected int checkpointKeepLast = 2;
+
+    //Checkpointing state: not a part of configuration
+    protected transient CheckpointManager checkpointManager;
+    protected transient List<String> consumedPaths;
+    protected transient int pathsSinceCheckpoint;
+    protected transient int checkpointCount;
+    protected transient int epochCount;
+    protected transient Set<String> resumeConsumedPaths;
+    protected transient String resumeExportPath;
+
     protected BaseTrainingMaster() {
 
     }
@@ -144,13 +166,16 @@ public abstract class BaseTrainingMaster<R extends TrainingResult, W extends Tra
         int currentRDDUid = trainingData.id(); //Id is a "A unique ID for this RDD (within its SparkContext)."
 
         String baseDir;
-        if (lastExportedRDDId == Integer.MIN_VALUE) {
+        if (lastExportedRDDId == Integer.MIN_VALUE && resumedExportAvailable(sc)) {
+            //Resuming from checkpoint: use data exported before the restart, so consumed paths are still valid
+            baseDir = useResumedExport(trainingData);
+        } else if (lastExportedRDDId == Integer.MIN_VALUE) {
             //Haven't seen a RDD<DataSet> yet in this training master -> export data
             baseDir = export(trainingData);
         } else {
             if (lastExportedRDDId == currentRDDUid) {
                 //Use the already-exported data again for another epoch
-                baseDir = getBaseDirForRDD(trainingData);
+                baseDir = lastRDDExportPath;
             } else {
                 //The new RDD is different to the last one
                 // Clean up the data for the last one, and export
@@ -178,13 +203,16 @@ public abstract class BaseTrainingMaster<R extends TrainingResult, W extends Tra
         int currentRDDUid = trainingData.id(); //Id is a "A unique ID for this RDD (within its SparkContext)."
 
         String baseDir;
-        if (lastExportedRDDId == Integer.MIN_VALUE) {
+        if (lastExportedRDDId == Integer.MIN_VALUE && resumedExportAvailable(sc)) {
+            //Resuming from checkpoint: use data exported before the restart, so consumed paths are still valid
+            baseDir = useResumedExport(trainingData);
+        } else if (lastExportedRDDId == Integer.MIN_VALUE) {
             //Haven't seen a RDD<DataSet> yet in this training master -> export data
             baseDir = exportMDS(trainingData);
         } else {
             if (lastExportedRDDId == currentRDDUid) {
                 //Use the already-exported data again for another epoch
-                baseDir = getBaseDirForRDD(trainingData);
+                baseDir = lastRDDExportPath;
             } else {
                 //The new RDD is different to the last one
                 // Clean up the data for the last one, and export
@@ -231,6 +259,32 @@ public abstract class BaseTrainingMaster<R extends TrainingResult, W extends Tra
         return baseDir;
     }
 
+    protected boolean resumedExportAvailable(JavaSparkContext sc) {
+        if (resumeExportPath == null)
+            return false;
+
+        try {
+            FileSystem fileSystem = FileSystem.get(new URI(resumeExportPath), sc.hadoopConfiguration());
+            if (fileSystem.exists(new Path(resumeExportPath + "paths/")))
+                return true;
+        } catch (URISyntaxException | IOException e) {
+            log.warn("Could not access exported data at {}", resumeExportPath, e);
+        }
+
+        log.warn("Exported data from checkpoint is not available at {}, data will be exported again", resumeExportPath);
+        resumeExportPath = null;
+        resumeConsumedPaths = null;
+        return false;
+    }
+
+    protected String useResumedExport(JavaRDD<?> trainingData) {
+        log.info("Using data exported before resume at {}", resumeExportPath);
+        lastExportedRDDId = trainingData.id();
+        lastRDDExportPath = resumeExportPath;
+        resumeExportPath = null;
+        return lastRDDExportPath;
+    }
+
     protected String getBaseDirForRDD(JavaRDD<?> rdd) {
         if (exportDirectory == null) {
             exportDirectory = getDefaultExportDirectory(rdd.context());
@@ -268,6 +322,163 @@ public abstract class BaseTrainingMaster<R extends TrainingResult, W extends Tra
     }
 
 
+    /**
+     * Returns true if periodic checkpoints are enabled for this training master
+     */
+    public boolean isCheckpointingEnabled() {
+        return checkpointDirectory != null && checkpointFrequency > 0;
+    }
+
+    /**
+     * Returns number of epochs (fit calls) completed by this training master, including epochs restored from checkpoint
+     */
+    public int getEpochCount() {
+        return epochCount;
+    }
+
+    /**
+     * This method restores training state from the last checkpoint in the checkpoint directory: params and updater state
+     * are loaded into the given network, and paths already fitted in the interrupted epoch will be skipped by the next
+     * fit call. The network should have the same configuration as the one used for training.
+     *
+     * @param sc    Spark context
+     * @param model network to restore params into
+     * @return true if checkpoint was found and restored, false if there are no checkpoints
+     */
+    public boolean resumeFromCheckpoint(@NonNull JavaSparkContext sc, @NonNull Model model) {
+        if (checkpointDirectory == null)
+            throw new IllegalStateException("Checkpoint directory wasn't set for this training master");
+
+        TrainingCheckpoint checkpoint;
+        try {
+            CheckpointManager manager = getCheckpointManager(sc);
+            checkpoint = manager.getLastCheckpoint();
+            if (checkpoint == null) {
+                log.info("No checkpoints found at {}", checkpointDirectory);
+                return false;
+            }
+
+            manager.restoreModel(checkpoint, model);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to restore checkpoint from " + checkpointDirectory, e);
+        }
+
+        checkpointCount = checkpoint.getCheckpointNumber() + 1;
+        epochCount = checkpoint.getEpoch();
+        consumedPaths = new ArrayList<>(checkpoint.getConsumedPaths());
+        pathsSinceCheckpoint = 0;
+
+        if (!consumedPaths.isEmpty()) {
+            resumeConsumedPaths = new HashSet<>(consumedPaths);
+            resumeExportPath = checkpoint.getExportPath();
+        }
+
+        restoreState(checkpoint);
+
+        log.info("Resumed from checkpoint {}: epoch {}, {} paths already fitted in this epoch",
+                        checkpoint.getCheckpointNumber(), epochCount, consumedPaths.size());
+        return true;
+    }
+
+    /**
+     * This method blocks until checkpoint being written in background (if any) is complete
+     */
+    public void waitForCheckpoints() {
+        if (checkpointManager != null)
+            checkpointManager.waitForPending();
+    }
+
+    /**
+     * This method restores training master specific state from the checkpoint
+     */
+    protected void restoreState(TrainingCheckpoint checkpoint) {
+        //No op by default
+    }
+
+    /**
+     * This method stores training master specific state in the checkpoint
+     */
+    protected void saveState(TrainingCheckpoint checkpoint) {
+        //No op by default
+    }
+
+    protected CheckpointManager getCheckpointManager(JavaSparkContext sc) {
+        if (checkpointManager == null)
+            checkpointManager = new CheckpointManager(checkpointDirectory, checkpointKeepLast, sc.hadoopConfiguration());
+
+        return checkpointManager;
+    }
+
+    /**
+     * This method removes paths fitted before the restart, if training was resumed from the middle of an epoch
+     */
+    protected JavaRDD<String> excludeConsumedPaths(JavaSparkContext sc, JavaRDD<String> paths) {
+        if (resumeConsumedPaths == null || resumeConsumedPaths.isEmpty())
+            return paths;
+
+        log.info("Skipping {} paths fitted before resume", resumeConsumedPaths.size());
+        Broadcast<Set<String>> exclude = sc.broadcast(resumeConsumedPaths);
+        resumeConsumedPaths = null;
+
+        return paths.filter(new ExcludePathsFunction(exclude));
+    }
+
+    protected static class ExcludePathsFunction implements Function<String, Boolean> {
+        protected final Broadcast<Set<String>> exclude;
+
+        protected ExcludePathsFunction(Broadcast<Set<String>> exclude) {
+            this.exclude = exclude;
+        }
+
+        @Override
+        public Boolean call(String path) {
+            return !exclude.getValue().contains(path);
+        }
+    }
+
+    /**
+     * This method records paths fitted in current epoch, and makes a checkpoint if checkpoint frequency was reached
+     */
+    protected void pathsConsumed(JavaSparkContext sc, Model model, List<String> paths) {
+        if (!isCheckpointingEnabled())
+            return;
+
+        if (consumedPaths == null)
+            consumedPaths = new ArrayList<>();
+
+        consumedPaths.addAll(paths);
+        pathsSinceCheckpoint += paths.size();
+
+        if (pathsSinceCheckpoint >= checkpointFrequency)
+            checkpoint(sc, model);
+    }
+
+    /**
+     * This method should be called when fit on the whole data is completed
+     */
+    protected void epochFinished(JavaSparkContext sc, Model model) {
+        epochCount++;
+        consumedPaths = null;
+        resumeConsumedPaths = null;
+
+        if (isCheckpointingEnabled())
+            checkpoint(sc, model);
+    }
+
+    protected void checkpoint(JavaSparkContext sc, Model model) {
+        TrainingCheckpoint checkpoint = TrainingCheckpoint.builder()
+                        .checkpointNumber(checkpointCount++)
+                        .timestamp(System.currentTimeMillis())
+                        .epoch(epochCount)
+                        .exportPath(lastRDDExportPath)
+                        .consumedPaths(consumedPaths == null ? new ArrayList<String>() : new ArrayList<>(consumedPaths))
+                        .build();
+        saveState(checkpoint);
+
+        getCheckpointManager(sc).saveAsync(model, checkpoint);
+        pathsSinceCheckpoint = 0;
+    }
+
     @Override
     public boolean deleteTempFiles(JavaSparkContext sc) {
         return lastRDDExportPath == null || deleteTempDir(sc, lastRDDExportPath);
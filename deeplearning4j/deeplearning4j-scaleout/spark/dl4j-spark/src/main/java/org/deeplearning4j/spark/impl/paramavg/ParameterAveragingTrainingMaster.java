@@ -40,6 +40,7 @@ import org.deeplearning4j.core.storage.Persistable;
 import org.deeplearning4j.core.storage.StatsStorageRouter;
 import org.deeplearning4j.core.storage.StatsStorageRouterProvider;
 import org.deeplearning4j.core.storage.StorageMetaData;
+import org.deeplearning4j.nn.api.Model;
 import org.deeplearning4j.nn.conf.ComputationGraphConfiguration;
 import org.deeplearning4j.nn.conf.MultiLayerConfiguration;
 import org.deeplearning4j.nn.graph.ComputationGraph;
@@ -92,6 +93,8 @@ public class ParameterAveragingTrainingMaster
     protected int averagingFrequency;
     protected int aggregationDepth;
     protected int prefetchNumBatches;
+    protected int dataReaderThreads;
+    protected int dataPrefetchFiles;
     protected int iterationCount = 0;
 
     protected Collection<TrainingHook> trainingHookList;
@@ -113,6 +116,8 @@ public class ParameterAveragingTrainingMaster
         this.averagingFrequency = builder.averagingFrequency;
         this.aggregationDepth = builder.aggregationDepth;
         this.prefetchNumBatches = builder.prefetchNumBatches;
+        this.dataReaderThreads = builder.dataReaderThreads;
+        this.dataPrefetchFiles = builder.dataPrefetchFiles;
         this.repartition = builder.repartition;
         this.repartitionStrategy = builder.repartitionStrategy;
         this.storageLevel = builder.storageLevel;
@@ -121,6 +126,9 @@ public class ParameterAveragingTrainingMaster
         this.exportDirectory = builder.exportDirectory;
         this.trainingHookList = builder.trainingHooks;
         this.collectTrainingStats = builder.collectTrainingStats;
+        this.checkpointDirectory = builder.checkpointDirectory;
+        this.checkpointFrequency = builder.checkpointFrequency;
+        this.checkpointKeepLast = builder.checkpointKeepLast;
         if (collectTrainingStats)
             stats = new ParameterAveragingTrainingMasterStats.ParameterAveragingTrainingMasterStatsHelper();
 
@@ -284,7 +292,7 @@ public class ParameterAveragingTrainingMaster
             stats.logBroadcastEnd();
 
         WorkerConfiguration configuration = new WorkerConfiguration(false, rddDataSetNumExamples, batchSizePerWorker,
-                        averagingFrequency, prefetchNumBatches, collectTrainingStats);
+                        averagingFrequency, prefetchNumBatches, collectTrainingStats, dataReaderThreads, dataPrefetchFiles);
         return new ParameterAveragingTrainingWorker(broadcast, saveUpdater, configuration, trainingHookList, listeners,
                         getRouterProvider());
     }
@@ -301,7 +309,7 @@ public class ParameterAveragingTrainingMaster
             stats.logBroadcastEnd();
 
         WorkerConfiguration configuration = new WorkerConfiguration(true, rddDataSetNumExamples, batchSizePerWorker,
-                        averagingFrequency, prefetchNumBatches, collectTrainingStats);
+                        averagingFrequency, prefetchNumBatches, collectTrainingStats, dataReaderThreads, dataPrefetchFiles);
         return new ParameterAveragingTrainingWorker(broadcast, saveUpdater, configuration, trainingHookList, listeners,
                         getRouterProvider());
     }
@@ -394,6 +402,8 @@ public class ParameterAveragingTrainingMaster
             doIteration(network, split, splitNum++, splits.length);
         }
 
+        epochFinished(network.getSparkContext(), network.getNetwork());
+
         if (collectTrainingStats)
             stats.logFitEnd((int) totalDataSetObjectCount);
     }
@@ -408,8 +418,13 @@ public class ParameterAveragingTrainingMaster
         if (numWorkers == null)
             numWorkers = network.getSparkContext().defaultParallelism();
 
+        JavaSparkContext sc = network != null ? network.getSparkContext() : graph.getSparkContext();
+        Model model = network != null ? network.getNetwork() : graph.getNetwork();
+
         if (collectTrainingStats)
             stats.logFitStart();
+
+        trainingDataPaths = excludeConsumedPaths(sc, trainingDataPaths);
         if (storageLevelStreams != null)
             trainingDataPaths.persist(storageLevelStreams);
 
@@ -420,8 +435,13 @@ public class ParameterAveragingTrainingMaster
         int splitNum = 1;
         for (JavaRDD<String> split : splits) {
             doIterationPaths(network, graph, split, splitNum++, splits.length, dataSetObjectsNumExamples, dsLoader, mdsLoader);
+
+            if (isCheckpointingEnabled())
+                pathsConsumed(sc, model, split.collect());
         }
 
+        epochFinished(sc, model);
+
         if (collectTrainingStats)
             stats.logFitEnd((int) totalDataSetObjectCount);
     }
@@ -469,6 +489,8 @@ public class ParameterAveragingTrainingMaster
             doIteration(graph, split, splitNum++, splits.length);
         }
 
+        epochFinished(graph.getSparkContext(), graph.getNetwork());
+
         if (collectTrainingStats)
             stats.logFitEnd((int) totalDataSetObjectCount);
     }
@@ -754,6 +776,8 @@ public class ParameterAveragingTrainingMaster
         protected int averagingFrequency = 5;
         protected int aggregationDepth = 2;
         protected int prefetchNumBatches = 0;
+        protected int dataReaderThreads = 0;
+        protected int dataPrefetchFiles = 0;
         protected Repartition repartition = Repartition.Always;
         protected RepartitionStrategy repartitionStrategy = RepartitionStrategy.Balanced;
         protected StorageLevel storageLevel = StorageLevel.MEMORY_ONLY_SER();
@@ -763,6 +787,9 @@ public class ParameterAveragingTrainingMaster
         protected Long rngSeed;
         protected Collection<TrainingHook> trainingHooks;
         protected boolean collectTrainingStats = false;
+        protected String checkpointDirectory;
+        protected int checkpointFrequency = 0;
+        protected int checkpointKeepLast = 2;
 
 
         /**
@@ -880,6 +907,27 @@ public class ParameterAveragingTrainingMaster
             return this;
         }
 
+        /**
+         * Enable streaming reads of exported/path data in the worker: files are read and deserialized by a pool of
+         * background threads, while the training thread works on the files already loaded. Small files are grouped
+         * into larger sequential reads. Time spent on reading is reported as WorkerFlatMapDataReadTimesMs in the
+         * training stats (if enabled), in addition to the time spent waiting for data (WorkerFlatMapDataSetGetTimesMs).
+         * Only applies to path based training: {@link RDDTrainingApproach#Export} or fitPaths methods.
+         * <p>
+         * Default: 0 threads (files are read one at a time, when requested by the training thread)
+         *
+         * @param numThreads    Number of reader threads in each worker
+         * @param prefetchFiles Maximum number of files to read ahead in each worker. Should be >= numThreads
+         */
+        public Builder workerDataReaderThreads(int numThreads, int prefetchFiles) {
+            checkArgument(numThreads >= 0, "Invalid input: number of reader threads must be >= 0");
+            checkArgument(numThreads == 0 || prefetchFiles >= numThreads,
+                            "Invalid input: number of files to prefetch must be >= number of reader threads");
+            this.dataReaderThreads = numThreads;
+            this.dataPrefetchFiles = prefetchFiles;
+            return this;
+        }
+
         /**
          * Set whether the updater (i.e., historical state for momentum, adagrad, etc should be saved).
          * <b>NOTE</b>: This can <b>double</b> (or more) the amount of network traffic in each direction, but might
@@ -1001,6 +1049,35 @@ public class ParameterAveragingTrainingMaster
             return this;
         }
 
+        /**
+         * Enable periodic checkpoints, that allow to resume training from the middle of an epoch via
+         * {@link ParameterAveragingTrainingMaster#resumeFromCheckpoint(JavaSparkContext, Model)}.
+         * Checkpoints are made after averaging, once the given number of exported DataSet objects was fitted since the
+         * last checkpoint, and at the end of each epoch. Checkpoints are written in background. Mid-epoch checkpoints are
+         * available for path-based training only (i.e. {@link RDDTrainingApproach#Export} or fitPaths methods); with
+         * {@link RDDTrainingApproach#Direct}, a checkpoint is written at the end of each epoch only.
+         *
+         * @param directory Base directory for checkpoints: local path or any URI supported by Hadoop
+         * @param frequency Number of DataSet/MultiDataSet objects (paths) to fit between checkpoints
+         */
+        public Builder checkpoints(String directory, int frequency) {
+            checkArgument(frequency > 0, "Invalid input: checkpoint frequency must be >= 1");
+            this.checkpointDirectory = directory;
+            this.checkpointFrequency = frequency;
+            return this;
+        }
+
+        /**
+         * Number of checkpoints to keep, older checkpoints are deleted. Default: 2
+         *
+         * @param keepLast number of checkpoints to keep, or 0 to keep all checkpoints
+         */
+        public Builder checkpointKeepLast(int keepLast) {
+            checkArgument(keepLast >= 0, "Invalid input: number of checkpoints to keep must be >= 0");
+            this.checkpointKeepLast = keepLast;
+            return this;
+        }
+
         public ParameterAveragingTrainingMaster build() {
             return new ParameterAveragingTrainingMaster(this);
         }
@@ -0,0 +1,273 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.deeplearning4j.spark.iterator;
+
+import lombok.NonNull;
+import org.apache.commons.io.IOUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.spark.broadcast.Broadcast;
+import org.datavec.spark.util.DefaultHadoopConfig;
+import org.datavec.spark.util.SerializableHadoopConfig;
+import org.deeplearning4j.spark.stats.BaseEventStats;
+import org.deeplearning4j.spark.stats.EventStats;
+import org.deeplearning4j.spark.time.TimeSource;
+import org.deeplearning4j.spark.time.TimeSourceProvider;
+import org.nd4j.common.loader.Loader;
+import org.nd4j.common.loader.Source;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Iterator that streams DataSet/MultiDataSet objects from a list of paths, using a pool of background reader threads.
+ * Reading, decompression and deserialization of the next files overlap with training on the current ones.<br>
+ * Up to {@code prefetchFiles} files are read ahead, and objects are returned in the same order as the paths.
+ * Small files are grouped, so that each reader thread fetches a few files back to back: group size is chosen based
+ * on the average size of the files read so far, targeting {@link #TARGET_READ_BYTES} bytes per group.<br>
+ * Time spent on reading each group is available via {@link #getReadTimes()}.
+ * <p>
+ * Note: paths iterator is only accessed from the thread calling {@link #hasNext()}/{@link #next()}.
+ * {@link #close()} should be called if iteration is stopped before all paths were consumed.
+ *
+ * @param <T> Type of the loaded objects, usually DataSet or MultiDataSet
+ */
+public class StreamingPathReader<T> implements Iterator<T>, Closeable {
+
+    public static final int BUFFER_SIZE = 4194304; //4 MB
+    public static final long TARGET_READ_BYTES = 16777216; //16 MB
+
+    private final Iterator<String> paths;
+    private final Loader<T> loader;
+    private final Broadcast<SerializableHadoopConfig> hadoopConfig;
+    private final int numThreads;
+    private final int prefetchFiles;
+    private final ExecutorService executor;
+    private final TimeSource timeSource = TimeSourceProvider.getInstance();
+
+    private final LinkedList<Future<List<T>>> pending = new LinkedList<>();
+    private int pendingFiles;
+    private Iterator<T> current = Collections.emptyIterator();
+
+    private final AtomicLong filesRead = new AtomicLong();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final List<EventStats> readTimes = Collections.synchronizedList(new ArrayList<EventStats>());
+    private FileSystem fileSystem;
+
+    /**
+     * @param paths         Paths of the serialized objects
+     * @param loader        Loader used to deserialize each file
+     * @param hadoopConfig  Hadoop configuration (may be null: default configuration is used)
+     * @param numThreads    Number of reader threads
+     * @param prefetchFiles Maximum number of files to read ahead. Must be >= numThreads
+     */
+    public StreamingPathReader(@NonNull Iterator<String> paths, @NonNull Loader<T> loader,
+                    Broadcast<SerializableHadoopConfig> hadoopConfig, int numThreads, int prefetchFiles) {
+        if (numThreads < 1)
+            throw new IllegalArgumentException("Number of reader threads must be >= 1, got " + numThreads);
+        if (prefetchFiles < numThreads)
+            throw new IllegalArgumentException("Number of files to prefetch (" + prefetchFiles
+                            + ") must be >= number of reader threads (" + numThreads + ")");
+
+        this.paths = paths;
+        this.loader = loader;
+        this.hadoopConfig = hadoopConfig;
+        this.numThreads = numThreads;
+        this.prefetchFiles = prefetchFiles;
+        this.executor = Executors.newFixedThreadPool(numThreads, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = Executors.defaultThreadFactory().newThread(r);
+                t.setName("StreamingPathReader thread " + t.getId());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+
+        fill();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return current.hasNext() || !pending.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        if (!current.hasNext()) {
+            if (pending.isEmpty())
+                throw new NoSuchElementException();
+
+            List<T> group;
+            try {
+                group = pending.removeFirst().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                close();
+                if (e.getCause() instanceof RuntimeException)
+                    throw (RuntimeException) e.getCause();
+                throw new RuntimeException(e.getCause());
+            }
+
+            pendingFiles -= group.size();
+            current = group.iterator();
+            fill();
+        }
+
+        return current.next();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns time spent by reader threads on reading and deserializing each group of files
+     */
+    public List<EventStats> getReadTimes() {
+        return readTimes;
+    }
+
+    /**
+     * Returns total number of bytes read so far
+     */
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    /**
+     * This method cancels all pending reads and stops reader threads
+     */
+    @Override
+    public void close() {
+        for (Future<List<T>> f : pending)
+            f.cancel(true);
+        pending.clear();
+        pendingFiles = 0;
+        executor.shutdownNow();
+    }
+
+    protected void fill() {
+        while (pendingFiles < prefetchFiles && paths.hasNext()) {
+            int groupSize = Math.min(filesPerRead(), prefetchFiles - pendingFiles);
+            final List<String> group = new ArrayList<>(groupSize);
+            while (group.size() < groupSize && paths.hasNext())
+                group.add(paths.next());
+
+            pendingFiles += group.size();
+            pending.add(executor.submit(new Callable<List<T>>() {
+                @Override
+                public List<T> call() throws Exception {
+                    return read(group);
+                }
+            }));
+        }
+    }
+
+    /**
+     * Number of files each reader should fetch in one go: a single file until we know the file sizes, then as many
+     * files as fit into {@link #TARGET_READ_BYTES}, leaving enough files in the prefetch window for all threads
+     */
+    protected int filesPerRead() {
+        long files = filesRead.get();
+        if (files == 0)
+            return 1;
+
+        long avgBytes = Math.max(1, bytesRead.get() / files);
+        long n = Math.min(TARGET_READ_BYTES / avgBytes, prefetchFiles / numThreads);
+        return (int) Math.max(1, n);
+    }
+
+    protected List<T> read(List<String> group) throws IOException {
+        long start = timeSource.currentTimeMillis();
+        FileSystem fs = getFileSystem(group.get(0));
+
+        //Fetch all files first, so that each thread does a single sequential read
+        List<byte[]> content = new ArrayList<>(group.size());
+        long bytes = 0;
+        for (String path : group) {
+            try (InputStream is = fs.open(new Path(path), BUFFER_SIZE)) {
+                byte[] b = IOUtils.toByteArray(is);
+                content.add(b);
+                bytes += b.length;
+            }
+        }
+
+        List<T> result = new ArrayList<>(group.size());
+        for (int i = 0; i < group.size(); i++) {
+            String path = group.get(i);
+            try {
+                result.add(loader.load(new BytesSource(path, content.get(i))));
+            } catch (Exception e) {
+                throw new RuntimeException("Error loading data at path " + path + " - DataSet may be corrupt or invalid." +
+                        " Spark DataSets can be validated using org.deeplearning4j.spark.util.data.SparkDataValidation", e);
+            }
+            content.set(i, null);
+        }
+        bytesRead.addAndGet(bytes);
+        filesRead.addAndGet(group.size());
+
+        readTimes.add(new BaseEventStats(start, timeSource.currentTimeMillis() - start));
+        return result;
+    }
+
+    protected synchronized FileSystem getFileSystem(String path) throws IOException {
+        if (fileSystem == null) {
+            try {
+                Configuration c = hadoopConfig == null ? DefaultHadoopConfig.get() : hadoopConfig.getValue().getConfiguration();
+                fileSystem = FileSystem.get(new URI(path), c);
+            } catch (Exception e) {
+                throw new IOException("Error getting file system for path " + path, e);
+            }
+        }
+        return fileSystem;
+    }
+
+    protected static class BytesSource implements Source {
+        private final String path;
+        private final byte[] bytes;
+
+        protected BytesSource(String path, byte[] bytes) {
+            this.path = path;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public String getPath() {
+            return path;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.deeplearning4j.spark.impl.checkpoint;
+
+import com.sun.jna.Platform;
+import org.apache.spark.api.java.JavaRDD;
+import org.deeplearning4j.spark.BaseSparkTest;
+import org.deeplearning4j.spark.impl.multilayer.SparkDl4jMultiLayer;
+import org.deeplearning4j.spark.impl.paramavg.ParameterAveragingTrainingMaster;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.nd4j.common.tests.tags.NativeTag;
+import org.nd4j.common.tests.tags.TagNames;
+import org.nd4j.linalg.dataset.DataSet;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag(TagNames.FILE_IO)
+@Tag(TagNames.SPARK)
+@Tag(TagNames.DIST_SYSTEMS)
+@NativeTag
+public class TestSparkCheckpoints extends BaseSparkTest {
+
+    @Test
+    public void testCheckpointAndResume(@TempDir Path testDir) throws Exception {
+        if(Platform.isWindows()) {
+            //Spark tests don't run on windows
+            return;
+        }
+        List<String> paths = saveData(new File(testDir.toFile(), "data"));
+        String checkpointDir = new File(testDir.toFile(), "checkpoints").toURI().toString();
+
+        ParameterAveragingTrainingMaster tm = getTrainingMaster(checkpointDir);
+        SparkDl4jMultiLayer sparkNet = new SparkDl4jMultiLayer(sc, getBasicConf(), tm);
+        sparkNet.fitPaths(sc.parallelize(paths));
+        tm.waitForCheckpoints();
+
+        CheckpointManager manager = new CheckpointManager(checkpointDir, 0, sc.hadoopConfiguration());
+        TrainingCheckpoint last = manager.getLastCheckpoint();
+        assertNotNull(last);
+        assertEquals(1, last.getEpoch());
+        assertTrue(last.getConsumedPaths().isEmpty());
+
+        //Checkpoint made before the end of epoch should track all fitted paths
+        TrainingCheckpoint midEpoch = manager.getCheckpoint(last.getCheckpointNumber() - 1);
+        assertEquals(0, midEpoch.getEpoch());
+        assertEquals(paths.size(), midEpoch.getConsumedPaths().size());
+        assertEquals(new HashSet<>(paths), new HashSet<>(midEpoch.getConsumedPaths()));
+        manager.close();
+
+        ParameterAveragingTrainingMaster tm2 = getTrainingMaster(checkpointDir);
+        SparkDl4jMultiLayer restored = new SparkDl4jMultiLayer(sc, getBasicConf(), tm2);
+        assertTrue(tm2.resumeFromCheckpoint(sc, restored.getNetwork()));
+
+        assertEquals(1, tm2.getEpochCount());
+        assertEquals(sparkNet.getNetwork().params(), restored.getNetwork().params());
+        assertEquals(sparkNet.getNetwork().getUpdater().getStateViewArray(),
+                        restored.getNetwork().getUpdater().getStateViewArray());
+
+        tm.deleteTempFiles(sc);
+    }
+
+    @Test
+    public void testResumeMidEpoch(@TempDir Path testDir) throws Exception {
+        if(Platform.isWindows()) {
+            //Spark tests don't run on windows
+            return;
+        }
+        List<String> paths = saveData(new File(testDir.toFile(), "data"));
+        String checkpointDir = new File(testDir.toFile(), "checkpoints").toURI().toString();
+
+        //Checkpoint of the interrupted run: half of the paths were fitted
+        SparkDl4jMultiLayer sparkNet = new SparkDl4jMultiLayer(sc, getBasicConf(), getTrainingMaster(checkpointDir));
+        List<String> consumed = new ArrayList<>(paths.subList(0, paths.size() / 2));
+        CheckpointManager manager = new CheckpointManager(checkpointDir, 0, sc.hadoopConfiguration());
+        manager.saveAsync(sparkNet.getNetwork(), TrainingCheckpoint.builder().checkpointNumber(0)
+                        .timestamp(System.currentTimeMillis()).epoch(0).consumedPaths(consumed).build());
+        manager.waitForPending();
+
+        ParameterAveragingTrainingMaster tm = getTrainingMaster(checkpointDir);
+        SparkDl4jMultiLayer resumed = new SparkDl4jMultiLayer(sc, getBasicConf(), tm);
+        assertTrue(tm.resumeFromCheckpoint(sc, resumed.getNetwork()));
+        assertEquals(0, tm.getEpochCount());
+        assertEquals(sparkNet.getNetwork().params(), resumed.getNetwork().params());
+
+        JavaRDD<String> pathRdd = sc.parallelize(paths);
+        resumed.fitPaths(pathRdd);
+        tm.waitForCheckpoints();
+        assertEquals(1, tm.getEpochCount());
+
+        TrainingCheckpoint last = manager.getLastCheckpoint();
+        assertEquals(1, last.getEpoch());
+
+        //Paths fitted before resume should be skipped, so each path is fitted exactly once in this epoch
+        TrainingCheckpoint midEpoch = manager.getCheckpoint(last.getCheckpointNumber() - 1);
+        assertEquals(paths.size(), midEpoch.getConsumedPaths().size());
+        assertEquals(new HashSet<>(paths), new HashSet<>(midEpoch.getConsumedPaths()));
+        assertEquals(consumed, midEpoch.getConsumedPaths().subList(0, consumed.size()));
+        manager.close();
+
+        tm.deleteTempFiles(sc);
+    }
+
+    protected ParameterAveragingTrainingMaster getTrainingMaster(String checkpointDir) {
+        return new ParameterAveragingTrainingMaster.Builder(numExecutors(), 5).batchSizePerWorker(5)
+                        .averagingFrequency(1).checkpoints(checkpointDir, 1).checkpointKeepLast(0).build();
+    }
+
+    protected List<String> saveData(File dir) throws Exception {
+        assertTrue(dir.mkdirs());
+        List<String> paths = new ArrayList<>();
+        int i = 0;
+        for (DataSet ds : data.batchBy(10)) {
+            File f = new File(dir, i++ + ".bin");
+            ds.save(f);
+            paths.add(f.toURI().toString());
+        }
+        return paths;
+    }
+}
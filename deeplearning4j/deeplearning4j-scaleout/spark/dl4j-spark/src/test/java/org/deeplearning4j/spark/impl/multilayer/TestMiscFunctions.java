@@ -218,6 +218,88 @@ public class TestMiscFunctions extends BaseSparkTest {
     }
 
 
+    @Test
+    public void testFeedForwardWithKeyBatched() {
+
+        MultiLayerConfiguration conf = new NeuralNetConfiguration.Builder().weightInit(WeightInit.XAVIER).list()
+                        .layer(0, new DenseLayer.Builder().nIn(4).nOut(3).build())
+                        .layer(1, new OutputLayer.Builder(LossFunctions.LossFunction.MCXENT).nIn(3).nOut(3)
+                                        .activation(Activation.SOFTMAX).build())
+                        .build();
+
+        MultiLayerNetwork net = new MultiLayerNetwork(conf);
+        net.init();
+
+        DataSet ds = new IrisDataSetIterator(150, 150).next();
+        INDArray expected = net.output(ds.getFeatures(), false);
+
+        List<Tuple2<Integer, INDArray>> mapFeatures = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            mapFeatures.add(new Tuple2<>(i, ds.getFeatures().getRow(i, true)));
+        }
+        JavaPairRDD<Integer, INDArray> rdd = sc.parallelizePairs(mapFeatures);
+
+        SparkDl4jMultiLayer multiLayer = new SparkDl4jMultiLayer(sc, net, null);
+        for (int numThreads : new int[] {1, 3}) {
+            List<Tuple2<List<Integer>, INDArray>> blocks = multiLayer.feedForwardWithKeyBatched(rdd, 16, numThreads).collect();
+
+            int count = 0;
+            for (Tuple2<List<Integer>, INDArray> block : blocks) {
+                List<Integer> keys = block._1();
+                INDArray out = block._2();
+                assertTrue(keys.size() <= 16);
+                assertEquals(keys.size(), out.size(0));
+                for (int i = 0; i < keys.size(); i++) {
+                    assertEquals(expected.getRow(keys.get(i), true), out.getRow(i, true));
+                }
+                count += keys.size();
+            }
+            assertEquals(150, count);
+        }
+    }
+
+    @Test
+    public void testFeedForwardWithKeyBatchedGraph() {
+
+        ComputationGraphConfiguration conf = new NeuralNetConfiguration.Builder().weightInit(WeightInit.XAVIER)
+                        .graphBuilder().addInputs("in1", "in2")
+                        .addLayer("0", new DenseLayer.Builder().nIn(4).nOut(3).build(), "in1")
+                        .addLayer("1", new DenseLayer.Builder().nIn(4).nOut(3).build(), "in2").addLayer("2",
+                                        new OutputLayer.Builder(LossFunctions.LossFunction.MCXENT).nIn(6).nOut(3)
+                                                        .activation(Activation.SOFTMAX).build(),
+                                        "0", "1")
+                        .setOutputs("2").build();
+
+        ComputationGraph net = new ComputationGraph(conf);
+        net.init();
+
+        DataSet ds = new IrisDataSetIterator(150, 150).next();
+        INDArray expected = net.outputSingle(false, ds.getFeatures(), ds.getFeatures());
+
+        List<Tuple2<Integer, INDArray[]>> mapFeatures = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            INDArray row = ds.getFeatures().getRow(i, true);
+            mapFeatures.add(new Tuple2<>(i, new INDArray[] {row, row}));
+        }
+        JavaPairRDD<Integer, INDArray[]> rdd = sc.parallelizePairs(mapFeatures);
+
+        SparkComputationGraph graph = new SparkComputationGraph(sc, net, null);
+        List<Tuple2<List<Integer>, INDArray[]>> blocks = graph.feedForwardWithKeyBatched(rdd, 16, 2).collect();
+
+        int count = 0;
+        for (Tuple2<List<Integer>, INDArray[]> block : blocks) {
+            List<Integer> keys = block._1();
+            INDArray out = block._2()[0];
+            assertEquals(keys.size(), out.size(0));
+            for (int i = 0; i < keys.size(); i++) {
+                assertEquals(expected.getRow(keys.get(i), true), out.getRow(i, true));
+            }
+            count += keys.size();
+        }
+        assertEquals(150, count);
+    }
+
+
     @Test
     public void testVaeReconstructionProbabilityWithKey() {
 
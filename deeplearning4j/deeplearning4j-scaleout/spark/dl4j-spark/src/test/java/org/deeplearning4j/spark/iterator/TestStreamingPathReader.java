@@ -0,0 +1,103 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.deeplearning4j.spark.iterator;
+
+import com.sun.jna.Platform;
+import org.deeplearning4j.core.loader.impl.SerializedDataSetLoader;
+import org.deeplearning4j.spark.BaseSparkTest;
+import org.deeplearning4j.spark.api.stats.CommonSparkTrainingStats;
+import org.deeplearning4j.spark.api.stats.SparkTrainingStats;
+import org.deeplearning4j.spark.impl.multilayer.SparkDl4jMultiLayer;
+import org.deeplearning4j.spark.impl.paramavg.ParameterAveragingTrainingMaster;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.nd4j.common.tests.tags.NativeTag;
+import org.nd4j.common.tests.tags.TagNames;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.DataSet;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag(TagNames.FILE_IO)
+@Tag(TagNames.SPARK)
+@Tag(TagNames.DIST_SYSTEMS)
+@NativeTag
+public class TestStreamingPathReader extends BaseSparkTest {
+
+    @Test
+    public void testReadInOrder(@TempDir Path testDir) throws Exception {
+        List<DataSet> expected = data.batchBy(5);
+        List<String> paths = saveData(expected, testDir.toFile());
+
+        for (int numThreads : new int[] {1, 3}) {
+            List<DataSet> actual = new ArrayList<>();
+            try (StreamingPathReader<DataSet> reader = new StreamingPathReader<>(paths.iterator(),
+                            new SerializedDataSetLoader(), null, numThreads, 8)) {
+                while (reader.hasNext())
+                    actual.add(reader.next());
+
+                assertFalse(reader.getReadTimes().isEmpty());
+                assertTrue(reader.getBytesRead() > 0);
+            }
+
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testFitWithStreamingReader(@TempDir Path testDir) throws Exception {
+        if(Platform.isWindows()) {
+            //Spark tests don't run on windows
+            return;
+        }
+        List<String> paths = saveData(data.batchBy(5), testDir.toFile());
+
+        SparkDl4jMultiLayer sparkNet = new SparkDl4jMultiLayer(sc, getBasicConf(),
+                        new ParameterAveragingTrainingMaster.Builder(numExecutors(), 5).batchSizePerWorker(5)
+                                        .averagingFrequency(2).workerDataReaderThreads(2, 4).build());
+        sparkNet.setCollectTrainingStats(true);
+
+        INDArray paramsBefore = sparkNet.getNetwork().params().dup();
+        sparkNet.fitPaths(sc.parallelize(paths));
+        assertNotEquals(paramsBefore, sparkNet.getNetwork().params());
+
+        SparkTrainingStats stats = sparkNet.getSparkTrainingStats();
+        assertTrue(stats.getKeySet().contains(CommonSparkTrainingStats.WORKER_FLAT_MAP_DATA_READ_TIMES_MS));
+        assertFalse(stats.getValue(CommonSparkTrainingStats.WORKER_FLAT_MAP_DATA_READ_TIMES_MS).isEmpty());
+    }
+
+    protected List<String> saveData(List<DataSet> dataSets, File dir) throws Exception {
+        List<String> paths = new ArrayList<>();
+        int i = 0;
+        for (DataSet ds : dataSets) {
+            File f = new File(dir, i++ + ".bin");
+            ds.save(f);
+            paths.add(f.toURI().toString());
+        }
+        return paths;
+    }
+}
@@ -39,6 +39,7 @@ import org.nd4j.autodiff.samediff.config.BatchOutputConfig;
 import org.nd4j.autodiff.samediff.config.EvaluationConfig;
 import org.nd4j.autodiff.samediff.config.FitConfig;
 import org.nd4j.autodiff.samediff.config.OutputConfig;
+import org.nd4j.autodiff.samediff.config.SessionPoolConfig;
 import org.nd4j.autodiff.samediff.internal.*;
 import org.nd4j.autodiff.samediff.ops.*;
 import org.nd4j.autodiff.samediff.serde.FlatBuffersMapper;
@@ -112,6 +113,10 @@ public class SameDiff extends SDBaseOps {
     private final Map<String, SameDiffOp> ops = new LinkedHashMap<>();
     @Getter
     private final Map<Long, InferenceSession> sessions = new ConcurrentHashMap<>();      //Key: thread ID
+    @Getter
+    private InferenceSessionPool sessionPool;                                           //Null unless session pooling is enabled
+    @Getter
+    private final ExecutionPlanCache executionPlanCache = new ExecutionPlanCache();     //Subgraph and op shape plans, shared by all sessions
 
     private ArrayHolder constantArrays = new ThreadSafeArrayHolder(true);
     private ArrayHolder variablesArrays = new ThreadSafeArrayHolder(true);
@@ -594,6 +599,7 @@ public class SameDiff extends SDBaseOps {
      * @param function the function
      */
     public void putOpForId(String id, DifferentialFunction function) {
+        executionPlanCache.invalidate();
         if (ops.containsKey(id) && ops.get(id).getOp() == null) {
             throw new ND4JIllegalStateException("Function by id already exists!");
         }
@@ -789,7 +795,7 @@ public class SameDiff extends SDBaseOps {
         Preconditions.checkState(variable.dataType() == arr.dataType(), "Variable \"%s\" has datatype %s: cannot associate array with type %s with this variable",
                 variable.name(), variable.dataType(), arr.dataType());
 
-        if (sessions.get(Thread.currentThread().getId()) == null) {
+        if (sessionPool == null && sessions.get(Thread.currentThread().getId()) == null) {
             sessions.put(Thread.currentThread().getId(), new InferenceSession(this));
         }
 
@@ -956,6 +962,7 @@ public class SameDiff extends SDBaseOps {
      * @param function Differential function
      */
     public void addOutgoingFor(String[] varNames, DifferentialFunction function) {
+        executionPlanCache.invalidate();
 
         if (function.getOwnName() == null)
             throw new ND4JIllegalStateException("Instance id can not be null. Function not initialized properly");
@@ -1074,6 +1081,7 @@ public class SameDiff extends SDBaseOps {
      * @param function  Function
      */
     public void addArgsFor(String[] variables, DifferentialFunction function) {
+        executionPlanCache.invalidate();
 
         ArgumentInterceptor interceptor = getArgumentInterceptorToUse();
 
@@ -1133,6 +1141,7 @@ public class SameDiff extends SDBaseOps {
      * Does not use (or remove) ArgumentInterceptor stuff
      */
     public void replaceArgFor(int i, @NonNull SDVariable newArg, @NonNull DifferentialFunction function) {
+        executionPlanCache.invalidate();
 
         Preconditions.checkArgument(i < function.args().length, "Index out of range: function " +
                 function.getOwnName() + " only has " + function.args().length + " args but you are trying" +
@@ -1192,6 +1201,55 @@ public class SameDiff extends SDBaseOps {
         }
     }
 
+    /**
+     * Enable pooling of {@link InferenceSession} instances for inference.<br>
+     * By default, one session is created and retained for every thread that calls an output method. With pooling enabled,
+     * each output call instead borrows a session from a bounded pool and returns it when the call completes. This
+     * keeps memory use proportional to the number of concurrent calls rather than the number of threads, and is
+     * recommended when SameDiff is used from thread-per-request servers or thread pools that recycle threads.<br>
+     * Note that when pooling is enabled, ARRAY type variables cannot be obtained via {@link SDVariable#getArr()} after
+     * an output call, as the session holding them has been returned to the pool. Sessions explicitly registered for a
+     * thread via {@link #getSessions()} are still used for that thread.
+     *
+     * @param config Configuration for the session pool
+     */
+    public void enableSessionPooling(@NonNull SessionPoolConfig config) {
+        if (sessionPool != null)
+            sessionPool.clear();
+        sessionPool = new InferenceSessionPool(this, config);
+    }
+
+    /**
+     * Disable pooling of {@link InferenceSession} instances, closing any idle pooled sessions.
+     * See {@link #enableSessionPooling(SessionPoolConfig)}
+     */
+    public void disableSessionPooling() {
+        if (sessionPool != null) {
+            sessionPool.clear();
+            sessionPool = null;
+        }
+    }
+
+    /**
+     * Remove all inference sessions, including any idle pooled sessions, and all cached execution plans. Sessions hold
+     * cached arrays and state that depend on the graph structure, and hence must be recreated when the graph changes
+     */
+    protected void clearSessions() {
+        sessions.clear();
+        executionPlanCache.invalidate();
+        if (sessionPool != null)
+            sessionPool.clear();
+    }
+
+    /**
+     * Clear all cached execution plans (subgraph plans and op output shapes) - see {@link ExecutionPlanCache}.<br>
+     * Plans are invalidated automatically when the graph is modified via SameDiff methods. This method only needs to be
+     * called if the graph structure is modified directly, such as via {@link #getOps()} or {@link #getVariables()}
+     */
+    public void invalidateExecutionPlans() {
+        executionPlanCache.invalidate();
+    }
+
     /**
      * Clear the input arrays to each op.
      * This is usually not required, under normal SameDiff use
@@ -2563,22 +2621,33 @@ public class SameDiff extends SDBaseOps {
 
         Preconditions.checkState(outputs != null && outputs.length > 0, "No outputs were specified");
         long threadId = Thread.currentThread().getId();
-        if (!sessions.containsKey(threadId)) {
-            log.info("Creating new InferenceSession for thread {}", threadId);
-            sessions.put(threadId, new InferenceSession(this));
-        }
 
         List<String> phNames = inputs();
         if (placeholders == null && phNames != null) {
             //Maybe user set placeholders before calling exec method?
-            placeholders = placeholdersPerThread.get(Thread.currentThread().getId());
+            placeholders = placeholdersPerThread.get(threadId);
         }
 
         //Placeholder validation is performed in InferenceSession
 
+        //Sessions explicitly registered for this thread (for example, with a custom memory manager) take precedence over the pool
+        InferenceSessionPool pool = sessionPool;
+        if (pool != null && !sessions.containsKey(threadId)) {
+            InferenceSession is = pool.borrowSession();
+            try {
+                return is.output(Arrays.asList(outputs), placeholders, batch, requiredActivations, activeListeners, at);
+            } finally {
+                pool.returnSession(is);
+            }
+        }
+
+        if (!sessions.containsKey(threadId)) {
+            log.info("Creating new InferenceSession for thread {}", threadId);
+            sessions.put(threadId, new InferenceSession(this));
+        }
+
         InferenceSession is = sessions.get(threadId);
-        return is.output(outputs == null ? Collections.emptyList() : Arrays.asList(outputs),
-                placeholders, batch, requiredActivations, activeListeners, at);
+        return is.output(Arrays.asList(outputs), placeholders, batch, requiredActivations, activeListeners, at);
     }
 
     /**
@@ -2686,6 +2755,7 @@ public class SameDiff extends SDBaseOps {
      * @return The created variable
      */
     public SDVariable constant(String name, @NonNull INDArray constant) {
+        executionPlanCache.invalidate();
         Preconditions.checkState(!variables.containsKey(name), "Variable with name \"%s\" already exists", name);
         if (name == null || name.length() < 1)
             name = getNewVarName();
@@ -2714,6 +2784,7 @@ public class SameDiff extends SDBaseOps {
      * @return SDVariable placeholder
      */
     public SDVariable placeHolder(@NonNull String name, org.nd4j.linalg.api.buffer.DataType dataType, long... shape) {
+        executionPlanCache.invalidate();
         Preconditions.checkState(!variables.containsKey(name), "Variable already exists with name %s", name);
         SDVariable ret = new SDVariable(name, VariableType.PLACEHOLDER, this, shape, dataType);
         variables.put(name, Variable.builder().name(name).variable(ret).build());
@@ -3055,7 +3126,7 @@ public class SameDiff extends SDBaseOps {
         }
 
         //Remove all sessions in case they have any cached arrays/state
-        sessions.clear();
+        clearSessions();
 
         //If gradient function has been defined, remove it (so it will be recreated later)
         sameDiffFunctionInstances.remove(GRAD_FN_KEY);
@@ -3153,7 +3224,7 @@ public class SameDiff extends SDBaseOps {
         }
 
         //Remove all sessions in case they have any cached arrays/state
-        sessions.clear();
+        clearSessions();
 
         //If gradient function has been defined, remove it (so it will be recreated later)
         sameDiffFunctionInstances.remove(GRAD_FN_KEY);
@@ -3265,7 +3336,7 @@ public class SameDiff extends SDBaseOps {
         }
 
         if (anyChanged) {
-            sessions.clear();
+            clearSessions();
 
             //Recalculate datatypes of outputs, and dynamically update them
             Set<String> allSeenOps = new HashSet<>();
@@ -3328,6 +3399,7 @@ public class SameDiff extends SDBaseOps {
      * @param to   The new name for the variable - no variable with this name must already exist
      */
     public void renameVariable(SameDiffOp opToReName,String from, String to) {
+        executionPlanCache.invalidate();
         Preconditions.checkState(variables.containsKey(from), "Cannot rename variable \"%s\": no variable with this name exists", from);
         Preconditions.checkState(!variables.containsKey(to), "Cannot rename variable \"%s\" to name \"%s\": a variable with name \"%s\" already exists", from, to, to);
 
@@ -3478,6 +3550,41 @@ public class SameDiff extends SDBaseOps {
     }
 
 
+    /**
+     * Remove a VARIABLE, CONSTANT or PLACEHOLDER type variable from the graph, along with any array associated with it.
+     * The variable must not be used as the input to any ops, and must not have any control dependencies - see
+     * {@link #replaceArgFor(int, SDVariable, DifferentialFunction)} for replacing the inputs of ops that use it.
+     *
+     * @param name Name of the variable to remove
+     */
+    public void removeVariable(@NonNull String name) {
+        Preconditions.checkState(variables.containsKey(name), "Cannot remove variable \"%s\": no variable with this name exists", name);
+        Variable v = variables.get(name);
+        VariableType vt = v.getVariable().getVariableType();
+        Preconditions.checkState(vt != VariableType.ARRAY, "Cannot remove ARRAY type variable \"%s\": ARRAY type variables are the outputs of ops", name);
+        Preconditions.checkState(v.getInputsForOp() == null || v.getInputsForOp().isEmpty(), "Cannot remove variable \"%s\": " +
+                "variable is used as an input to ops %s", name, v.getInputsForOp());
+        Preconditions.checkState((v.getControlDeps() == null || v.getControlDeps().isEmpty()) &&
+                        (v.getControlDepsForOp() == null || v.getControlDepsForOp().isEmpty()) &&
+                        (v.getControlDepsForVar() == null || v.getControlDepsForVar().isEmpty()),
+                "Cannot remove variable \"%s\": variable has control dependencies", name);
+
+        executionPlanCache.invalidate();
+        variables.remove(name);
+        variablesArrays.removeArray(name);
+        constantArrays.removeArray(name);
+        for (Map<String, INDArray> m : placeholdersPerThread.values()) {
+            m.remove(name);
+        }
+        if (updaterMap != null)
+            updaterMap.remove(name);
+        lossVariables.remove(name);
+        if (outputs != null && outputs.contains(name)) {
+            outputs = new ArrayList<>(outputs);
+            outputs.remove(name);
+        }
+    }
+
     /**
      * Remove an argument for a function. Note that if this function does not contain the argument, it will just be a no op.
      *
@@ -3485,6 +3592,7 @@ public class SameDiff extends SDBaseOps {
      * @param function the function to remove the argument from
      */
     public void removeArgFromOp(String varName, DifferentialFunction function) {
+        executionPlanCache.invalidate();
         val args = function.args();
 
         for (int i = 0; i < args.length; i++) {
@@ -3784,6 +3892,7 @@ public class SameDiff extends SDBaseOps {
      * @param variable Variable to add
      */
     public SDVariable addVariable(SDVariable variable) {
+        executionPlanCache.invalidate();
         Preconditions.checkState(variable.getSameDiff() == this, "Samediff instance must be the same.");
 
         if (variables.containsKey(variable.name()) && !variables.get(variable.name()).getVariable().equals(variable)) {
@@ -0,0 +1,60 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.nd4j.autodiff.samediff.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Configuration for pooling of {@link org.nd4j.autodiff.samediff.internal.InferenceSession} instances in SameDiff.<br>
+ * When pooling is enabled (see {@link org.nd4j.autodiff.samediff.SameDiff#enableSessionPooling(SessionPoolConfig)}),
+ * sessions are borrowed from a shared pool for the duration of each output call and returned afterwards, instead of
+ * being created and held forever for each thread ID.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionPoolConfig {
+
+    /**
+     * Maximum number of idle sessions retained by the pool. Sessions returned when the pool already holds this many
+     * idle sessions are closed instead of being retained.
+     */
+    @Builder.Default
+    private int maxIdleSessions = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Number of sessions to create up front when pooling is enabled. Must be less than or equal to maxIdleSessions
+     */
+    @Builder.Default
+    private int warmupSessions = 0;
+
+    /**
+     * Idle sessions that have not been used for this many milliseconds are closed and removed from the pool.
+     * Set to 0 or less to disable idle eviction
+     */
+    @Builder.Default
+    private long idleTimeoutMs = 5 * 60 * 1000L;
+
+}
@@ -144,17 +144,27 @@ public abstract class AbstractSession<T, O> {
         dt.clear();
         subgraph.clear();
         subgraphOps.clear();
+        zeroInputOpsInSubgraph.clear();
         nodeOutputs.clear();            //TODO eventually we'll have (optional) cache here for later execs... main challenge is detecting in-place array modifications and invalidating old results. And overall memory use...
         tensorArrays.clear();
 
         //Step 1: determine subgraph structure we actually need to execute
         //Basic plan: work backwards from the variables we want, based on the graph structure, to work out what
         // we actually need to execute
-        //TODO we'll optimize this and cache the results, only recalculating if the graph structure changes
+        //The result only depends on the graph structure, so it is cached and reused until the graph is modified
         Set<String> userRequestedUnique = new HashSet<>(variables);
         Set<String> allRequired = new HashSet<>(requiredActivations);
         allRequired.addAll(variables);
-        initSubgraph(allRequired);
+        ExecutionPlanCache planCache = sameDiff.getExecutionPlanCache();
+        ExecutionPlanCache.SubgraphPlan plan = planCache.getSubgraphPlan(allRequired);
+        if (plan != null) {
+            subgraph.addAll(plan.getSubgraph());
+            subgraphOps.addAll(plan.getSubgraphOps());
+            zeroInputOpsInSubgraph.addAll(plan.getZeroInputOps());
+        } else {
+            initSubgraph(allRequired);
+            planCache.putSubgraphPlan(allRequired, subgraph, subgraphOps, zeroInputOpsInSubgraph);
+        }
 
         //Step 2: Check that we have required placeholders
         List<String> phNames = sameDiff.inputs();
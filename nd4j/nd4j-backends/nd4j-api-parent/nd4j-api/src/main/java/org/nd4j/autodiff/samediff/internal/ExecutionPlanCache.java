@@ -0,0 +1,281 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.nd4j.autodiff.samediff.internal;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.DynamicCustomOp;
+import org.nd4j.linalg.api.ops.OpContext;
+import org.nd4j.linalg.api.shape.LongShapeDescriptor;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches execution planning results for a SameDiff instance, so that repeated inference calls with the same requested
+ * outputs (and, for shapes, the same input shapes) can skip planning work. Two things are cached:<br>
+ * (a) The subgraph plan: the variables, ops and zero-input ops that need to be considered to calculate a given set of
+ * outputs. Keyed by the set of required variables.<br>
+ * (b) Custom op output shapes: for each op, the output shapes from the most recent shape calculation, keyed by the input
+ * shapes, datatypes and op arguments. Only the most recent entry is retained per op, so memory use is bounded by the
+ * number of ops in the graph even when input shapes vary.<br>
+ * <br>
+ * The cache is shared by all sessions (and hence all threads) for a SameDiff instance, and is invalidated whenever
+ * the graph structure is modified.
+ */
+@Slf4j
+public class ExecutionPlanCache {
+
+    /**
+     * Maximum number of distinct subgraph plans retained before the subgraph cache is reset
+     */
+    public static final int MAX_SUBGRAPH_PLANS = 64;
+    /**
+     * Maximum length of non-floating point inputs whose values are included in the shape cache key. Ops with larger
+     * non-floating point inputs (such as integer indices) do not use the shape cache
+     */
+    public static final int MAX_VALUE_KEY_LENGTH = 32;
+
+    /**
+     * Ops whose output shapes depend on the values (not just shapes) of floating point inputs, and hence can never
+     * use the shape cache
+     */
+    protected static final Set<String> VALUE_DEPENDENT_SHAPE_OPS = new HashSet<>(Arrays.asList(
+            "unique", "unique_with_counts", "where_np", "Where", "choose", "listdiff", "dynamic_partition", "bincount",
+            "non_max_suppression", "non_max_suppression_v3", "non_max_suppression_overlaps"));
+
+    @Getter
+    @Setter
+    private boolean enabled = true;
+
+    private final Map<Set<String>, SubgraphPlan> subgraphPlans = new ConcurrentHashMap<>();
+    private final Map<String, ShapePlan> shapePlans = new ConcurrentHashMap<>();
+
+    private final AtomicLong subgraphHits = new AtomicLong();
+    private final AtomicLong subgraphMisses = new AtomicLong();
+    private final AtomicLong shapeHits = new AtomicLong();
+    private final AtomicLong shapeMisses = new AtomicLong();
+
+    /**
+     * Get the cached subgraph plan for the specified set of required variables
+     *
+     * @param required All variables required in the current execution
+     * @return The cached plan, or null if no plan is cached for this set of variables
+     */
+    public SubgraphPlan getSubgraphPlan(@NonNull Set<String> required) {
+        if (!enabled)
+            return null;
+        SubgraphPlan plan = subgraphPlans.get(required);
+        if (plan == null) {
+            subgraphMisses.incrementAndGet();
+        } else {
+            subgraphHits.incrementAndGet();
+        }
+        return plan;
+    }
+
+    /**
+     * Store a subgraph plan for the specified set of required variables. The provided sets are copied.
+     */
+    public void putSubgraphPlan(@NonNull Set<String> required, @NonNull Set<String> subgraph, @NonNull Set<String> subgraphOps,
+                                @NonNull Set<String> zeroInputOps) {
+        if (!enabled)
+            return;
+        if (subgraphPlans.size() >= MAX_SUBGRAPH_PLANS) {
+            log.debug("Subgraph plan cache reached maximum size of {} plans, clearing", MAX_SUBGRAPH_PLANS);
+            subgraphPlans.clear();
+        }
+        subgraphPlans.put(new HashSet<>(required), new SubgraphPlan(subgraph, subgraphOps, zeroInputOps));
+    }
+
+    /**
+     * Calculate the output shapes for the specified custom op, using a previously cached result if the op's inputs
+     * and arguments match those of the last calculation for this op.<br>
+     * The op context should have all inputs and arguments set.
+     *
+     * @param op Op to calculate the output shapes for
+     * @param oc Op context, with inputs and arguments set
+     * @return Output shapes for the op
+     */
+    public List<LongShapeDescriptor> calculateOutputShape(@NonNull DynamicCustomOp op, @NonNull OpContext oc) {
+        ShapeKey key = enabled ? ShapeKey.create(op, oc) : null;
+        if (key == null)
+            return op.calculateOutputShape(oc);
+
+        String name = op.getOwnName();
+        ShapePlan plan = shapePlans.get(name);
+        if (plan != null && plan.key.equals(key)) {
+            shapeHits.incrementAndGet();
+            return plan.shapes;
+        }
+
+        shapeMisses.incrementAndGet();
+        List<LongShapeDescriptor> shapes = op.calculateOutputShape(oc);
+        if (shapes != null && !shapes.isEmpty()) {
+            shapePlans.put(name, new ShapePlan(key, Collections.unmodifiableList(new ArrayList<>(shapes))));
+        }
+        return shapes;
+    }
+
+    /**
+     * Remove all cached plans. Should be called whenever the graph structure is modified.
+     */
+    public void invalidate() {
+        subgraphPlans.clear();
+        shapePlans.clear();
+    }
+
+    public long getSubgraphHits() {
+        return subgraphHits.get();
+    }
+
+    public long getSubgraphMisses() {
+        return subgraphMisses.get();
+    }
+
+    public long getShapeHits() {
+        return shapeHits.get();
+    }
+
+    public long getShapeMisses() {
+        return shapeMisses.get();
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutionPlanCache(subgraphPlans=" + subgraphPlans.size() + ", subgraphHits=" + getSubgraphHits() +
+                ", subgraphMisses=" + getSubgraphMisses() + ", shapePlans=" + shapePlans.size() + ", shapeHits=" +
+                getShapeHits() + ", shapeMisses=" + getShapeMisses() + ")";
+    }
+
+    /**
+     * The set of variables and ops that may need to be executed to calculate a set of required variables.
+     * See {@link AbstractSession#initSubgraph(Set)}
+     */
+    @Getter
+    public static class SubgraphPlan {
+        private final Set<String> subgraph;
+        private final Set<String> subgraphOps;
+        private final Set<String> zeroInputOps;
+
+        protected SubgraphPlan(Set<String> subgraph, Set<String> subgraphOps, Set<String> zeroInputOps) {
+            this.subgraph = Collections.unmodifiableSet(new HashSet<>(subgraph));
+            this.subgraphOps = Collections.unmodifiableSet(new HashSet<>(subgraphOps));
+            this.zeroInputOps = Collections.unmodifiableSet(new LinkedHashSet<>(zeroInputOps));
+        }
+    }
+
+    private static class ShapePlan {
+        private final ShapeKey key;
+        private final List<LongShapeDescriptor> shapes;
+
+        private ShapePlan(ShapeKey key, List<LongShapeDescriptor> shapes) {
+            this.key = key;
+            this.shapes = shapes;
+        }
+    }
+
+    /**
+     * Key for a custom op shape calculation: input shape info (shape, stride, order, datatype and empty flag), the
+     * values of small non-floating point inputs and floating point scalars (as these are often used as shape or axis
+     * arguments), and the op's integer, floating point, boolean and datatype arguments.
+     */
+    protected static class ShapeKey {
+        private final long[][] inputShapeInfo;
+        private final double[][] inputValues;
+        private final long[] iArgs;
+        private final double[] tArgs;
+        private final boolean[] bArgs;
+        private final DataType[] dArgs;
+        private final int hashCode;
+
+        private ShapeKey(long[][] inputShapeInfo, double[][] inputValues, long[] iArgs, double[] tArgs, boolean[] bArgs, DataType[] dArgs) {
+            this.inputShapeInfo = inputShapeInfo;
+            this.inputValues = inputValues;
+            this.iArgs = iArgs;
+            this.tArgs = tArgs;
+            this.bArgs = bArgs;
+            this.dArgs = dArgs;
+            int h = Arrays.deepHashCode(inputShapeInfo);
+            h = 31 * h + Arrays.deepHashCode(inputValues);
+            h = 31 * h + Arrays.hashCode(iArgs);
+            h = 31 * h + Arrays.hashCode(tArgs);
+            h = 31 * h + Arrays.hashCode(bArgs);
+            h = 31 * h + Arrays.hashCode(dArgs);
+            this.hashCode = h;
+        }
+
+        /**
+         * @return The key for the op's current inputs and arguments, or null if the op's output shape cannot safely be cached
+         */
+        protected static ShapeKey create(DynamicCustomOp op, OpContext oc) {
+            if (VALUE_DEPENDENT_SHAPE_OPS.contains(op.opName()))
+                return null;
+
+            int numInputs = oc.numInputArguments();
+            long[][] shapeInfo = new long[numInputs][];
+            double[][] values = new double[numInputs][];
+            for (int i = 0; i < numInputs; i++) {
+                INDArray in = oc.getInputArray(i);
+                if (in == null || in.dataType() == DataType.UTF8)
+                    return null;
+                shapeInfo[i] = in.shapeInfoJava();
+
+                if (in.isEmpty())
+                    continue;
+                boolean fp = in.dataType().isFPType();
+                if (!fp && in.length() > MAX_VALUE_KEY_LENGTH)
+                    return null;        //Might be indices etc that determine output shape; can't cache
+                if (!fp || in.length() == 1) {
+                    double[] v = new double[(int) in.length()];
+                    for (int j = 0; j < v.length; j++) {
+                        v[j] = in.getDouble(j);
+                    }
+                    values[i] = v;
+                }
+            }
+
+            return new ShapeKey(shapeInfo, values, op.iArgs(), op.tArgs(), op.bArgs(), op.dArgs());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof ShapeKey))
+                return false;
+            ShapeKey k = (ShapeKey) o;
+            return hashCode == k.hashCode && Arrays.deepEquals(inputShapeInfo, k.inputShapeInfo) &&
+                    Arrays.deepEquals(inputValues, k.inputValues) && Arrays.equals(iArgs, k.iArgs) &&
+                    Arrays.equals(tArgs, k.tArgs) && Arrays.equals(bArgs, k.bArgs) && Arrays.equals(dArgs, k.dArgs);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
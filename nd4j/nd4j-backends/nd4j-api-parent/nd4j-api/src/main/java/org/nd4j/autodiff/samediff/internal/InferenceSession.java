@@ -873,7 +873,8 @@ public class InferenceSession extends AbstractSession<INDArray, Pair<SameDiffOp,
                 oc.setBArguments(customOp.bArgs());
 
 
-            List<LongShapeDescriptor> outShape = customOp.calculateOutputShape(oc);
+            //Output shapes are cached across calls (and sessions), keyed by input shapes and op arguments
+            List<LongShapeDescriptor> outShape = sameDiff.getExecutionPlanCache().calculateOutputShape(customOp, oc);
             Preconditions.checkState(outShape != null && outShape.size() > 0, "Failed to calculate output shapes for op %s (%s) - no shapes were returned by calculateOutputShape()", customOp.opName(), customOp.getOwnName());
             String[] outNames = df.outputVariablesNames();
             Preconditions.checkState(outNames.length == outShape.size(), "Error in operation shape calculation for op \"%s\": Got %s op output shapes for an operation" +
@@ -0,0 +1,213 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.nd4j.autodiff.samediff.internal;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.nd4j.autodiff.samediff.SameDiff;
+import org.nd4j.autodiff.samediff.config.SessionPoolConfig;
+import org.nd4j.common.base.Preconditions;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded pool of {@link InferenceSession} instances for a single SameDiff instance.<br>
+ * Sessions are borrowed for the duration of one output call and returned afterwards, so that the number of sessions
+ * (and hence the memory held by their {@link SessionMemMgr}s) depends on the number of concurrent output calls, not on
+ * the number of distinct threads that have ever called output. This matters for thread-per-request servers, where
+ * thread IDs are rarely reused.<br>
+ * Idle sessions are kept most-recently-used first, so that a warm session (with populated array caches) is preferred.
+ * Sessions that are idle for longer than {@link SessionPoolConfig#getIdleTimeoutMs()} are closed.
+ */
+@Slf4j
+public class InferenceSessionPool {
+
+    private final SameDiff sameDiff;
+    @Getter
+    private final SessionPoolConfig config;
+    private final ConcurrentLinkedDeque<PooledSession> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicInteger borrowed = new AtomicInteger();
+
+    public InferenceSessionPool(@NonNull SameDiff sameDiff, @NonNull SessionPoolConfig config) {
+        Preconditions.checkArgument(config.getMaxIdleSessions() > 0, "Maximum number of idle sessions must be positive, got %s",
+                config.getMaxIdleSessions());
+        Preconditions.checkArgument(config.getWarmupSessions() >= 0 && config.getWarmupSessions() <= config.getMaxIdleSessions(),
+                "Number of warmup sessions must be between 0 and maxIdleSessions (%s) inclusive, got %s",
+                config.getMaxIdleSessions(), config.getWarmupSessions());
+        this.sameDiff = sameDiff;
+        this.config = config;
+        warmup(config.getWarmupSessions());
+    }
+
+    /**
+     * Create sessions (up to the maximum number of idle sessions) so that the first output calls don't pay for session creation
+     *
+     * @param numSessions Number of sessions to create
+     */
+    public void warmup(int numSessions) {
+        for (int i = 0; i < numSessions && idleCount.get() < config.getMaxIdleSessions(); i++) {
+            idle.offerFirst(new PooledSession(new InferenceSession(sameDiff), System.currentTimeMillis()));
+            idleCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Borrow a session from the pool, creating a new one if no idle session is available.
+     * The session must be returned via {@link #returnSession(InferenceSession)} once the output call has completed
+     */
+    public InferenceSession borrowSession() {
+        evictIdle();
+        borrowed.incrementAndGet();
+        PooledSession ps = idle.pollFirst();
+        if (ps != null) {
+            idleCount.decrementAndGet();
+            hits.incrementAndGet();
+            return ps.session;
+        }
+        misses.incrementAndGet();
+        log.debug("No idle InferenceSession available, creating new session ({} currently borrowed)", borrowed.get());
+        return new InferenceSession(sameDiff);
+    }
+
+    /**
+     * Return a previously borrowed session to the pool. If the pool already holds the maximum number of idle sessions,
+     * the session is closed instead
+     */
+    public void returnSession(@NonNull InferenceSession session) {
+        borrowed.decrementAndGet();
+        if (idleCount.incrementAndGet() > config.getMaxIdleSessions()) {
+            idleCount.decrementAndGet();
+            evictions.incrementAndGet();
+            close(session);
+        } else {
+            idle.offerFirst(new PooledSession(session, System.currentTimeMillis()));
+        }
+        evictIdle();
+    }
+
+    /**
+     * Close and remove all idle sessions. Sessions that are currently borrowed are not affected; they will be retained
+     * or closed when they are returned
+     */
+    public void clear() {
+        PooledSession ps;
+        while ((ps = idle.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            close(ps.session);
+        }
+    }
+
+    protected void evictIdle() {
+        long timeout = config.getIdleTimeoutMs();
+        if (timeout <= 0)
+            return;
+        long cutoff = System.currentTimeMillis() - timeout;
+        //Least recently used sessions are at the end of the deque
+        Iterator<PooledSession> iter = idle.descendingIterator();
+        while (iter.hasNext()) {
+            PooledSession ps = iter.next();
+            if (ps.lastUsed >= cutoff)
+                break;
+            if (idle.removeLastOccurrence(ps)) {
+                idleCount.decrementAndGet();
+                evictions.incrementAndGet();
+                close(ps.session);
+            }
+        }
+    }
+
+    protected void close(InferenceSession session) {
+        try {
+            session.getMmgr().close();
+        } catch (Throwable t) {
+            log.warn("Error closing memory manager for evicted InferenceSession", t);
+        }
+    }
+
+    /**
+     * @return Number of borrow calls that were satisfied with an idle session
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return Number of borrow calls that required a new session to be created
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return Number of sessions closed due to idle timeout or the pool being full
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * @return Number of sessions currently borrowed
+     */
+    public int getNumBorrowed() {
+        return borrowed.get();
+    }
+
+    /**
+     * @return Number of idle sessions currently held by the pool
+     */
+    public int getNumIdle() {
+        return idleCount.get();
+    }
+
+    /**
+     * @return Fraction of borrow calls satisfied by an idle session, or 0 if no sessions have been borrowed yet
+     */
+    public double getHitRate() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0.0 : h / (double) total;
+    }
+
+    @Override
+    public String toString() {
+        return "InferenceSessionPool(idle=" + getNumIdle() + ", borrowed=" + getNumBorrowed() + ", hits=" + getHits() +
+                ", misses=" + getMisses() + ", evictions=" + getEvictions() + ")";
+    }
+
+    private static class PooledSession {
+        private final InferenceSession session;
+        private final long lastUsed;
+
+        private PooledSession(InferenceSession session, long lastUsed) {
+            this.session = session;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
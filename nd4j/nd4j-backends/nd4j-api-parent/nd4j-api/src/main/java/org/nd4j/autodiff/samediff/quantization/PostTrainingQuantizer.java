@@ -0,0 +1,298 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.nd4j.autodiff.samediff.quantization;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.nd4j.autodiff.functions.DifferentialFunction;
+import org.nd4j.autodiff.samediff.SDVariable;
+import org.nd4j.autodiff.samediff.SameDiff;
+import org.nd4j.autodiff.samediff.VariableType;
+import org.nd4j.autodiff.samediff.internal.SameDiffOp;
+import org.nd4j.autodiff.samediff.internal.Variable;
+import org.nd4j.autodiff.samediff.transform.GraphTransformUtil;
+import org.nd4j.autodiff.samediff.transform.OpPredicate;
+import org.nd4j.autodiff.samediff.transform.SubGraph;
+import org.nd4j.autodiff.samediff.transform.SubGraphPredicate;
+import org.nd4j.autodiff.samediff.transform.SubGraphProcessor;
+import org.nd4j.common.base.Preconditions;
+import org.nd4j.common.primitives.Pair;
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.impl.transforms.pairwise.arithmetic.MulOp;
+import org.nd4j.linalg.dataset.adapter.MultiDataSetIteratorAdapter;
+import org.nd4j.linalg.dataset.api.MultiDataSet;
+import org.nd4j.linalg.dataset.api.iterator.DataSetIterator;
+import org.nd4j.linalg.dataset.api.iterator.MultiDataSetIterator;
+import org.nd4j.linalg.ops.transforms.Transforms;
+
+import java.util.*;
+
+/**
+ * Post-training int8 weight quantization for SameDiff inference graphs.<br>
+ * This is weight-size compression: weights are stored as INT8, but all computation is still performed in the original
+ * floating point type, as there are no int8 matrix multiplication or convolution kernels to execute the quantized ops.
+ * Quantization is performed in 2 steps:<br>
+ * 1. Weight quantization: on a copy of the graph, floating point VARIABLE and CONSTANT inputs of the configured ops
+ * (matrix multiplication and convolution ops by default) are replaced by INT8 constants with symmetric per-channel
+ * scales (scale = max(|w|) / 127, over all but the last dimension). The original floating point arrays are removed
+ * from the graph and replaced by a cast + scale (dequantization) step, so the serialized model stores 1 byte per
+ * weight instead of 4 (FLOAT) or 8 (DOUBLE).<br>
+ * 2. Evaluation: the original and quantized graphs are executed on the provided data, and their outputs are compared -
+ * see {@link QuantizationReport}.<br>
+ * <br>
+ * Note that the dequantization step runs on every call to the quantized graph, which makes inference slower than with
+ * the original graph. To serve a quantized model, save it (to get the smaller model file) and call
+ * {@link #dequantize(SameDiff)} once after loading it: this gives the inference speed of the original graph, and the
+ * accuracy reported for the quantized graph.<br>
+ * The quantized graph is intended for inference only: quantized weights are constants and cannot be trained.<br>
+ * For DL4J networks, see {@code org.deeplearning4j.nn.quantization.NetworkQuantizer}.
+ */
+@Slf4j
+public class PostTrainingQuantizer {
+
+    protected static final String INT8_SUFFIX = "_int8";
+    protected static final String SCALE_SUFFIX = "_scale";
+    protected static final String DEQUANTIZED_SUFFIX = "_dequantized";
+
+    @Getter
+    private final QuantizationConfig config;
+
+    public PostTrainingQuantizer() {
+        this(new QuantizationConfig());
+    }
+
+    public PostTrainingQuantizer(@NonNull QuantizationConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * See {@link #quantize(SameDiff, MultiDataSetIterator)}
+     */
+    public QuantizationResult quantize(@NonNull SameDiff sd, @NonNull DataSetIterator data) {
+        return quantize(sd, new MultiDataSetIteratorAdapter(data));
+    }
+
+    /**
+     * Quantize the specified SameDiff instance. The instance itself is not modified.
+     *
+     * @param sd   SameDiff instance to quantize
+     * @param data Data used to produce the accuracy report. Features are mapped to placeholders as per
+     *             {@link QuantizationConfig#getFeaturePlaceholders()}
+     * @return The quantized SameDiff instance, scales and accuracy report
+     */
+    public QuantizationResult quantize(@NonNull SameDiff sd, @NonNull MultiDataSetIterator data) {
+        List<String> featurePlaceholders = config.getFeaturePlaceholders();
+        if (featurePlaceholders == null) {
+            Preconditions.checkState(sd.getTrainingConfig() != null && sd.getTrainingConfig().getDataSetFeatureMapping() != null,
+                    "No feature placeholders were set in the QuantizationConfig, and the SameDiff instance has no training " +
+                            "configuration to obtain the feature mapping from");
+            featurePlaceholders = sd.getTrainingConfig().getDataSetFeatureMapping();
+        }
+        List<String> outputs = config.getOutputs() != null ? config.getOutputs() : sd.outputs();
+        Preconditions.checkState(outputs != null && !outputs.isEmpty(), "No outputs were set in the QuantizationConfig," +
+                " and the SameDiff instance has no outputs set via SameDiff.setOutputs");
+        String[] outputsArr = outputs.toArray(new String[0]);
+
+        //Step 1: weight quantization, on a copy of the graph
+        SameDiff q = sd.dup();
+        Map<String, INDArray> scales = new LinkedHashMap<>();
+        for (SameDiffOp op : new ArrayList<>(q.getOps().values())) {
+            DifferentialFunction df = op.getOp();
+            if (!config.getOpNames().contains(df.opName()))
+                continue;
+            for (SDVariable v : df.args()) {
+                if (canQuantize(v) && !scales.containsKey(v.name())) {
+                    scales.put(v.name(), quantizeVariable(q, v));
+                }
+            }
+        }
+        log.info("Quantized {} arrays to INT8", scales.size());
+
+        //Step 2: accuracy report
+        QuantizationReport report = new QuantizationReport(paramBytes(sd), paramBytes(q), scales.size());
+        if (data.resetSupported())
+            data.reset();
+        int count = 0;
+        while (data.hasNext() && (config.getEvaluationBatches() <= 0 || count < config.getEvaluationBatches())) {
+            MultiDataSet mds = data.next();
+            Preconditions.checkState(mds.numFeatureArrays() == featurePlaceholders.size(), "Data has %s feature arrays," +
+                    " but %s feature placeholders were specified: %s", mds.numFeatureArrays(), featurePlaceholders.size(), featurePlaceholders);
+            Map<String, INDArray> ph = new HashMap<>();
+            for (int i = 0; i < featurePlaceholders.size(); i++) {
+                ph.put(featurePlaceholders.get(i), mds.getFeatures(i));
+            }
+            Map<String, INDArray> fOut = dupAll(sd.output(ph, outputsArr));
+            Map<String, INDArray> qOut = q.output(ph, outputsArr);
+            for (String s : outputs) {
+                report.addMinibatch(s, fOut.get(s), qOut.get(s));
+            }
+            count++;
+        }
+        Preconditions.checkState(count > 0, "No data was available to evaluate the quantized graph on");
+        log.info("Quantization report:\n{}", report);
+
+        return new QuantizationResult(q, scales, report);
+    }
+
+    /**
+     * Dequantize all weights of a SameDiff instance quantized by {@link #quantize(SameDiff, MultiDataSetIterator)},
+     * replacing each INT8 constant and its cast + scale step by a floating point constant with the original name.
+     * The dequantized values are calculated once, here, instead of on every call to the graph. The quantized instance
+     * is not modified.
+     *
+     * @param quantized Quantized SameDiff instance, usually just loaded from disk
+     * @return A copy of the SameDiff instance with floating point weights
+     */
+    public static SameDiff dequantize(@NonNull SameDiff quantized) {
+        //Match the scale (multiply) step, with the cast from an INT8 constant as its first input
+        SubGraphPredicate p = SubGraphPredicate.withRoot(new OpPredicate() {
+            @Override
+            public boolean matches(SameDiff sameDiff, DifferentialFunction function) {
+                return MulOp.OP_NAME.equals(function.opName()) && function.args() != null && function.args().length == 2
+                        && function.arg(1).getVariableType() == VariableType.CONSTANT;
+            }
+        }).withInputSubgraph(0, new OpPredicate() {
+            @Override
+            public boolean matches(SameDiff sameDiff, DifferentialFunction function) {
+                if (!"cast".equals(function.opName()) || function.args() == null || function.args().length != 1)
+                    return false;
+                SDVariable in = function.arg(0);
+                return in.getVariableType() == VariableType.CONSTANT && in.dataType() == DataType.INT8;
+            }
+        });
+
+        final List<String> removed = new ArrayList<>();
+        SameDiff out = GraphTransformUtil.replaceSubgraphsMatching(quantized, p, new SubGraphProcessor() {
+            @Override
+            public List<SDVariable> processSubgraph(SameDiff sd, SubGraph subGraph) {
+                DifferentialFunction mul = subGraph.getRootNode();
+                SDVariable qVar = subGraph.getChildNodes().get(0).arg(0);
+                SDVariable scaleVar = mul.arg(1);
+                SDVariable dequantized = mul.outputVariable();
+                INDArray w = dequantizeWeights(qVar.getArr(), scaleVar.getArr().castTo(dequantized.dataType()));
+                removed.add(qVar.name());
+                removed.add(scaleVar.name());
+
+                String name = dequantized.name();
+                if (name.endsWith(DEQUANTIZED_SUFFIX))
+                    name = name.substring(0, name.length() - DEQUANTIZED_SUFFIX.length());
+                SDVariable c = sd.hasVariable(name) ? sd.constant(w) : sd.constant(name, w);
+                return Collections.singletonList(c);
+            }
+        });
+
+        //The INT8 and scale constants are no longer used by any ops
+        for (String s : removed) {
+            if (out.hasVariable(s))
+                out.removeVariable(s);
+        }
+        log.info("Dequantized {} INT8 arrays", removed.size() / 2);
+        return out;
+    }
+
+    /**
+     * Symmetric INT8 quantization: scale = max(|w|) / 127, with a separate scale for each index along the channel
+     * dimension
+     *
+     * @param w          Floating point array to quantize
+     * @param channelDim Dimension to calculate separate scales for, or -1 to use a single scale for the whole array
+     * @return The INT8 array, and the scale (with the same rank as w, and size 1 in all but the channel dimension)
+     */
+    public static Pair<INDArray, INDArray> quantizeWeights(@NonNull INDArray w, int channelDim) {
+        Preconditions.checkArgument(channelDim < w.rank(), "Invalid channel dimension %s for array with rank %s", channelDim, w.rank());
+        int[] reduceDims = new int[channelDim < 0 ? w.rank() : w.rank() - 1];
+        for (int i = 0, j = 0; i < w.rank(); i++) {
+            if (i != channelDim)
+                reduceDims[j++] = i;
+        }
+        INDArray absMax = Transforms.abs(w, true).max(true, reduceDims);
+        INDArray scale = Transforms.max(absMax, 1e-12, false).divi(127.0);
+        INDArray quantized = Transforms.round(w.div(scale), false).castTo(DataType.INT8);
+        return new Pair<>(quantized, scale);
+    }
+
+    /**
+     * Inverse of {@link #quantizeWeights(INDArray, int)}: returns quantized * scale, in the data type of the scale
+     */
+    public static INDArray dequantizeWeights(@NonNull INDArray quantized, @NonNull INDArray scale) {
+        return quantized.castTo(scale.dataType()).muli(scale);
+    }
+
+    protected boolean canQuantize(SDVariable v) {
+        if (v.getVariableType() != VariableType.VARIABLE && v.getVariableType() != VariableType.CONSTANT)
+            return false;
+        if (!v.dataType().isFPType())
+            return false;
+        INDArray arr = v.getArr();
+        return arr != null && arr.rank() >= 2 && arr.length() >= config.getMinElements();
+    }
+
+    /**
+     * Replace the specified variable with an INT8 constant and scale, returning the scale
+     */
+    protected INDArray quantizeVariable(SameDiff sd, SDVariable v) {
+        String name = v.name();
+        INDArray w = v.getArr();
+        Pair<INDArray, INDArray> p = quantizeWeights(w, config.isPerChannel() ? w.rank() - 1 : -1);
+        INDArray scale = p.getSecond();
+
+        SDVariable qVar = sd.constant(name + INT8_SUFFIX, p.getFirst());
+        SDVariable scaleVar = sd.constant(name + SCALE_SUFFIX, scale);
+        SDVariable dequantized = qVar.castTo(v.dataType()).mul(name + DEQUANTIZED_SUFFIX, scaleVar);
+
+        //Replace all uses of the original array, then remove it from the graph
+        Variable var = sd.getVariables().get(name);
+        List<String> inputsFor = var.getInputsForOp() == null ? Collections.<String>emptyList() : new ArrayList<>(var.getInputsForOp());
+        for (String opName : inputsFor) {
+            DifferentialFunction df = sd.getOps().get(opName).getOp();
+            String[] argNames = df.argNames();
+            for (int i = 0; i < argNames.length; i++) {
+                if (argNames[i].equals(name)) {
+                    sd.replaceArgFor(i, dequantized, df);
+                }
+            }
+        }
+        sd.removeVariable(name);
+        return scale;
+    }
+
+    protected static Map<String, INDArray> dupAll(Map<String, INDArray> m) {
+        Map<String, INDArray> out = new HashMap<>();
+        for (Map.Entry<String, INDArray> e : m.entrySet()) {
+            out.put(e.getKey(), e.getValue().dup());
+        }
+        return out;
+    }
+
+    protected static long paramBytes(SameDiff sd) {
+        long bytes = 0;
+        for (SDVariable v : sd.variables()) {
+            if (v.getVariableType() == VariableType.VARIABLE || v.getVariableType() == VariableType.CONSTANT) {
+                INDArray arr = v.getArr();
+                if (arr != null && !arr.isEmpty())
+                    bytes += arr.length() * arr.dataType().width();
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.nd4j.autodiff.samediff.quantization;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Configuration for {@link PostTrainingQuantizer}, and for quantizing the weights of DL4J networks.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuantizationConfig {
+
+    /**
+     * Op names (as per {@code DifferentialFunction.opName()}) whose floating point VARIABLE and CONSTANT inputs should be
+     * quantized. By default: matrix multiplication, fully connected and convolution ops. SameDiff only
+     */
+    @Builder.Default
+    private Set<String> opNames = new HashSet<>(Arrays.asList("matmul", "xw_plus_b", "conv1d", "conv2d", "conv3dnew",
+            "deconv2d", "depthwise_conv2d"));
+
+    /**
+     * Arrays with fewer elements than this are not quantized, as the size saving is negligible (biases etc)
+     */
+    @Builder.Default
+    private long minElements = 256;
+
+    /**
+     * If true: use one scale per output channel. If false: one scale per array
+     */
+    @Builder.Default
+    private boolean perChannel = true;
+
+    /**
+     * Maximum number of minibatches from the evaluation data to use for the accuracy report.
+     * Set to 0 or less to use all minibatches
+     */
+    @Builder.Default
+    private int evaluationBatches = 10;
+
+    /**
+     * Names of the placeholders to set from the evaluation data features (in order). If null, the SameDiff instance's
+     * training configuration feature mapping is used. SameDiff only
+     */
+    private List<String> featurePlaceholders;
+
+    /**
+     * Names of the output variables to compare in the accuracy report. If null, {@code SameDiff.outputs()} is used.
+     * SameDiff only
+     */
+    private List<String> outputs;
+
+}
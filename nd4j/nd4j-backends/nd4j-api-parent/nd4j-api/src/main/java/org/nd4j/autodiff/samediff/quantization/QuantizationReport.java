@@ -0,0 +1,121 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.nd4j.autodiff.samediff.quantization;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NonNull;
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.ops.transforms.Transforms;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Accuracy and size comparison of a model with quantized weights against the original floating point model,
+ * as produced by {@link PostTrainingQuantizer}
+ */
+@Getter
+public class QuantizationReport {
+
+    private final Map<String, OutputStats> outputStats = new LinkedHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final Map<String, double[]> errorSums = new HashMap<>();     //Per output: sum abs error, count, argmax matches, argmax count
+    private final long floatParamBytes;
+    private final long quantizedParamBytes;
+    private final int numQuantizedArrays;
+
+    public QuantizationReport(long floatParamBytes, long quantizedParamBytes, int numQuantizedArrays) {
+        this.floatParamBytes = floatParamBytes;
+        this.quantizedParamBytes = quantizedParamBytes;
+        this.numQuantizedArrays = numQuantizedArrays;
+    }
+
+    /**
+     * Add the outputs of the floating point and quantized models for one minibatch to the error statistics for the
+     * specified output
+     *
+     * @param output       Name of the output
+     * @param floatOut     Output of the original floating point model
+     * @param quantizedOut Output of the quantized model, for the same input
+     */
+    public void addMinibatch(@NonNull String output, @NonNull INDArray floatOut, @NonNull INDArray quantizedOut) {
+        double[] e = errorSums.get(output);
+        if (e == null) {
+            e = new double[4];
+            errorSums.put(output, e);
+        }
+        INDArray absDiff = Transforms.abs(floatOut.castTo(DataType.DOUBLE).sub(quantizedOut.castTo(DataType.DOUBLE)), false);
+        double maxAbsError = absDiff.maxNumber().doubleValue();
+        e[0] += absDiff.sumNumber().doubleValue();
+        e[1] += absDiff.length();
+        if (floatOut.rank() == 2 && floatOut.size(1) > 1) {
+            e[2] += floatOut.argMax(1).eq(quantizedOut.argMax(1)).castTo(DataType.INT32).sumNumber().doubleValue();
+            e[3] += floatOut.size(0);
+        }
+
+        OutputStats prev = outputStats.get(output);
+        outputStats.put(output, new OutputStats(prev == null ? maxAbsError : Math.max(prev.getMaxAbsError(), maxAbsError),
+                e[0] / e[1], e[3] == 0 ? Double.NaN : e[2] / e[3]));
+    }
+
+    /**
+     * @return Ratio of the size of the floating point parameters (VARIABLE and CONSTANT arrays) to the quantized ones
+     */
+    public double getCompressionRatio() {
+        return quantizedParamBytes == 0 ? 1.0 : floatParamBytes / (double) quantizedParamBytes;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Quantized arrays: ").append(numQuantizedArrays).append("\n")
+                .append("Parameter bytes: ").append(floatParamBytes).append(" (float) -> ").append(quantizedParamBytes)
+                .append(" (quantized), ratio ").append(String.format("%.2f", getCompressionRatio())).append("\n");
+        String format = "%-30s%-20s%-20s%-20s\n";
+        sb.append(String.format(format, "Output", "Max abs error", "Mean abs error", "Argmax agreement"));
+        for (Map.Entry<String, OutputStats> e : outputStats.entrySet()) {
+            OutputStats s = e.getValue();
+            sb.append(String.format(format, e.getKey(), String.format("%.6g", s.getMaxAbsError()), String.format("%.6g", s.getMeanAbsError()),
+                    Double.isNaN(s.getArgMaxAgreement()) ? "-" : String.format("%.4f", s.getArgMaxAgreement())));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Error statistics for a single output, over all evaluated minibatches
+     */
+    @Data
+    @AllArgsConstructor
+    public static class OutputStats {
+        private double maxAbsError;
+        private double meanAbsError;
+        /**
+         * Fraction of examples for which argMax(1) of the float and quantized outputs agree. NaN for outputs that
+         * are not rank 2
+         */
+        private double argMaxAgreement;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.nd4j.autodiff.samediff.quantization;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.nd4j.autodiff.samediff.SameDiff;
+import org.nd4j.linalg.api.ndarray.INDArray;
+
+import java.util.Map;
+
+/**
+ * The output of {@link PostTrainingQuantizer#quantize(SameDiff, org.nd4j.linalg.dataset.api.iterator.MultiDataSetIterator)}
+ */
+@Getter
+@AllArgsConstructor
+public class QuantizationResult {
+    /**
+     * The quantized SameDiff instance. The original instance is not modified
+     */
+    private final SameDiff quantized;
+    /**
+     * Per-channel (or per-array) scales for each quantized array, keyed by the name of the original variable
+     */
+    private final Map<String, INDArray> weightScales;
+    /**
+     * Accuracy and size comparison against the original floating point instance
+     */
+    private final QuantizationReport report;
+}
@@ -164,6 +164,9 @@ public class GraphTransformUtil {
             }
         }
 
+        //Graph structure was modified directly: any cached execution plans are no longer valid
+        sd.invalidateExecutionPlans();
+
         return sd;
     }
 
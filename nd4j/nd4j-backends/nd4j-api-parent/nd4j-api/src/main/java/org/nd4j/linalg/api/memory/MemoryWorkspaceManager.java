@@ -199,6 +199,13 @@ public interface MemoryWorkspaceManager {
      */
     void printAllocationStatisticsForCurrentThread();
 
+    /**
+     * This method returns usage statistics for all workspaces allocated in current thread
+     *
+     * @return
+     */
+    List<WorkspaceStats> getWorkspaceStatsForCurrentThread();
+
     /**
      * This method returns list of workspace IDs for current thread
      *
@@ -0,0 +1,84 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.nd4j.linalg.api.memory;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * A snapshot of the usage statistics of a single workspace, as returned by
+ * {@link MemoryWorkspaceManager#getWorkspaceStatsForCurrentThread()}.<br>
+ * Spilled, pinned and reallocation counts are totals since the workspace was created. A workspace that spills or
+ * reallocates regularly is too small for its workload: consider a larger initial size, or {@link org.nd4j.linalg.api.memory.enums.LearningPolicy#ADAPTIVE}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkspaceStats implements Serializable {
+    private String id;
+    private Long threadId;
+    private int deviceId;
+    /**
+     * Current size of the workspace memory block, in bytes
+     */
+    private long currentSize;
+    /**
+     * Number of cycles (open/close of the workspace scope) so far
+     */
+    private long cycles;
+    /**
+     * Bytes allocated during the last completed cycle
+     */
+    private long lastCycleBytes;
+    /**
+     * Maximum bytes allocated during any single cycle
+     */
+    private long peakCycleBytes;
+    /**
+     * Total bytes of allocations that did not fit in the workspace, and were allocated outside of it
+     */
+    private long spilledBytes;
+    /**
+     * Total number of allocations that did not fit in the workspace, and were allocated outside of it
+     */
+    private long spilledAllocations;
+    /**
+     * Total bytes of pinned allocations (circular workspaces only)
+     */
+    private long pinnedBytes;
+    /**
+     * Total number of pinned allocations (circular workspaces only)
+     */
+    private long pinnedAllocations;
+    /**
+     * Number of times the workspace memory block was reallocated with a different size
+     */
+    private long reallocations;
+    /**
+     * True if the workspace is resized adaptively, see {@link org.nd4j.linalg.api.memory.enums.LearningPolicy#ADAPTIVE}
+     */
+    private boolean adaptive;
+}
@@ -27,7 +27,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.bytedeco.javacpp.BytePointer;
 import org.bytedeco.javacpp.Pointer;
 import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.common.config.ND4JSystemProperties;
 import org.nd4j.linalg.api.memory.MemoryWorkspace;
+import org.nd4j.linalg.api.memory.WorkspaceStats;
 import org.nd4j.linalg.api.memory.conf.WorkspaceConfiguration;
 import org.nd4j.linalg.api.memory.enums.*;
 import org.nd4j.linalg.api.memory.pointers.PagedPointer;
@@ -100,6 +102,19 @@ public abstract class Nd4jWorkspace implements MemoryWorkspace {
     protected AtomicBoolean trimmedMode = new AtomicBoolean(false);
     protected AtomicLong trimmedStep = new AtomicLong(0);
 
+    // totals since creation, unlike the per-cycle counters above
+    protected AtomicLong totalSpilledSize = new AtomicLong(0);
+    protected AtomicLong totalSpilledCount = new AtomicLong(0);
+    protected AtomicLong totalPinnedSize = new AtomicLong(0);
+    protected AtomicLong totalPinnedCount = new AtomicLong(0);
+    protected AtomicLong reallocationsCount = new AtomicLong(0);
+
+    // adaptive sizing, see LearningPolicy.ADAPTIVE. Only used by the thread that owns this workspace
+    protected static final double ADAPTIVE_GROWTH_FACTOR = 1.25;
+    protected final boolean adaptive;
+    protected long adaptiveWindowPeak = 0;
+    protected int adaptiveWindowCycles = 0;
+
     @Getter
     protected final WorkspaceConfiguration workspaceConfiguration;
 
@@ -137,6 +152,7 @@ public abstract class Nd4jWorkspace implements MemoryWorkspace {
         this.guid = Nd4j.getWorkspaceManager().getUUID();
         this.memoryManager = Nd4j.getMemoryManager();
         this.deviceId = Nd4j.getAffinityManager().getDeviceForCurrentThread();
+        this.adaptive = isAdaptive(configuration);
 
         // and actual workspace allocation
         currentSize.set(workspaceConfiguration.getInitialSize());
@@ -201,6 +217,21 @@ public abstract class Nd4jWorkspace implements MemoryWorkspace {
         return this.workspaceType;
     }
 
+    /**
+     * @return True if a workspace with the specified configuration should be resized adaptively: either
+     * {@link LearningPolicy#ADAPTIVE} is set, or the {@link ND4JSystemProperties#WORKSPACE_ADAPTIVE} system property is
+     * set and the workspace would otherwise be reallocated to the peak usage (FIRST_LOOP or OVER_TIME learning with
+     * {@link SpillPolicy#REALLOCATE})
+     */
+    protected static boolean isAdaptive(WorkspaceConfiguration configuration) {
+        if (configuration.getPolicyReset() != ResetPolicy.BLOCK_LEFT || configuration.getPolicyLocation() != LocationPolicy.RAM)
+            return false;
+        if (configuration.getPolicyLearning() == LearningPolicy.ADAPTIVE)
+            return true;
+        return configuration.getPolicyLearning() != LearningPolicy.NONE && configuration.getPolicySpill() == SpillPolicy.REALLOCATE
+                && Boolean.getBoolean(ND4JSystemProperties.WORKSPACE_ADAPTIVE);
+    }
+
     public static void fillFile(File file, long length) throws Exception {
         byte[] buffer = new byte[16384];
         for (int i = 0; i < buffer.length; i++) {
@@ -245,6 +276,60 @@ public abstract class Nd4jWorkspace implements MemoryWorkspace {
         return pinnedAllocationsSize.get();
     }
 
+    /**
+     * This method returns number of times the workspace memory was reallocated with a different size
+     * @return
+     */
+    public long getReallocationsCount() {
+        return reallocationsCount.get();
+    }
+
+    /**
+     * This method returns true if this workspace is resized adaptively, see {@link LearningPolicy#ADAPTIVE}
+     * @return
+     */
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * This method returns a snapshot of the usage statistics of this workspace
+     * @return
+     */
+    public WorkspaceStats getStats() {
+        return WorkspaceStats.builder()
+                .id(id)
+                .threadId(threadId)
+                .deviceId(deviceId)
+                .currentSize(currentSize.get())
+                .cycles(cyclesCount.get())
+                .lastCycleBytes(lastCycleAllocations.get())
+                .peakCycleBytes(maxCycle.get())
+                .spilledBytes(totalSpilledSize.get())
+                .spilledAllocations(totalSpilledCount.get())
+                .pinnedBytes(totalPinnedSize.get())
+                .pinnedAllocations(totalPinnedCount.get())
+                .reallocations(reallocationsCount.get())
+                .adaptive(adaptive)
+                .build();
+    }
+
+    /**
+     * This method updates the total spilled or pinned allocation counters. Should be called for each allocation that
+     * doesn't fit into the workspace
+     * @param bytes
+     * @param pinned
+     */
+    protected void recordSpill(long bytes, boolean pinned) {
+        if (pinned) {
+            totalPinnedSize.addAndGet(bytes);
+            totalPinnedCount.incrementAndGet();
+        } else {
+            totalSpilledSize.addAndGet(bytes);
+            totalSpilledCount.incrementAndGet();
+        }
+    }
+
     /**
      * This method returns number of bytes for first block of circular workspace.
      * @return
@@ -405,6 +490,7 @@ public abstract class Nd4jWorkspace implements MemoryWorkspace {
                 spilledAllocationsSize.addAndGet(requiredMemory);
             else
                 pinnedAllocationsSize.addAndGet(requiredMemory);
+            recordSpill(requiredMemory, trimmer);
 
             if (isDebug.get())
                 log.info("Workspace [{}]: step: {}, spilled  {} bytes, capacity of {} elements", id, stepsCount.get(),
@@ -455,6 +541,8 @@ public abstract class Nd4jWorkspace implements MemoryWorkspace {
                         && (workspaceConfiguration.getMaxSize() == 0
                                         || (maxCycle.get() < workspaceConfiguration.getMaxSize()))) {
             if (workspaceConfiguration.getPolicyReset() != ResetPolicy.ENDOFBUFFER_REACHED) {
+                if (workspace.getHostPointer() != null)
+                    reallocationsCount.incrementAndGet();
                 destroyWorkspace(true);
                 isInit.set(false);
             }
@@ -462,6 +550,8 @@ public abstract class Nd4jWorkspace implements MemoryWorkspace {
 
         // if we're in cyclic mode, we do reallocations only after 2 full cycles, to avoid race conditions
         if (trimmedMode.get() && trimmedStep.get() + 2 < stepsCount.get()) {
+            if (workspace.getHostPointer() != null)
+                reallocationsCount.incrementAndGet();
             destroyWorkspace(false);
             isInit.set(false);
             isOver.set(false);
@@ -648,9 +738,13 @@ public abstract class Nd4jWorkspace implements MemoryWorkspace {
                 resetPlanned.set(false);
             }
 
-            if ((workspaceConfiguration.getPolicyLearning() == LearningPolicy.OVER_TIME
+            if (adaptive) {
+                if (Nd4j.getWorkspaceManager().getDebugMode() != DebugMode.SPILL_EVERYTHING)
+                    adaptWorkspaceSize();
+            } else if ((workspaceConfiguration.getPolicyLearning() == LearningPolicy.OVER_TIME
                             && workspaceConfiguration.getCyclesBeforeInitialization() == cyclesCount.intValue())
-                            || (workspaceConfiguration.getPolicyLearning() == LearningPolicy.FIRST_LOOP
+                            || ((workspaceConfiguration.getPolicyLearning() == LearningPolicy.FIRST_LOOP
+                                            || workspaceConfiguration.getPolicyLearning() == LearningPolicy.ADAPTIVE)
                                             && currentSize.get() == 0)) {
                 //log.info("Initializing on cycle {}", cyclesCount.get());
 
@@ -710,6 +804,75 @@ public abstract class Nd4jWorkspace implements MemoryWorkspace {
         cycleAllocations.set(0);
     }
 
+    /**
+     * This method resizes the workspace from the usage observed so far, see {@link LearningPolicy#ADAPTIVE}.
+     * Called at the end of each cycle, before offsets are reset
+     */
+    protected void adaptWorkspaceSize() {
+        long cycle = cycleAllocations.get();
+        long size = currentSize.get();
+        adaptiveWindowPeak = Math.max(adaptiveWindowPeak, cycle);
+        adaptiveWindowCycles++;
+
+        long newSize = size;
+        if (size == 0 || cycle > size) {
+            // first cycle, or this cycle didn't fit: grow, by enough to make repeated reallocation unlikely
+            newSize = adaptiveTargetSize(cycle);
+            if (size > 0)
+                newSize = Math.max(newSize, (long) (size * ADAPTIVE_GROWTH_FACTOR));
+        } else if (adaptiveWindowCycles >= workspaceConfiguration.getAdaptiveWindow()) {
+            long target = adaptiveTargetSize(adaptiveWindowPeak);
+            if (target < size * workspaceConfiguration.getAdaptiveShrinkThreshold())
+                newSize = target;
+        }
+
+        if (workspaceConfiguration.getMaxSize() > 0)
+            newSize = Math.min(newSize, workspaceConfiguration.getMaxSize());
+        newSize = Math.max(newSize, workspaceConfiguration.getMinSize());
+
+        if (newSize != size && newSize > 0) {
+            if (size > 0)
+                log.debug("Workspace [{}]: resizing from {} to {} bytes; last cycle: {} bytes, peak over last {} cycles: {} bytes",
+                        id, size, newSize, cycle, adaptiveWindowCycles, adaptiveWindowPeak);
+            resizeWorkspace(newSize);
+            adaptiveWindowPeak = 0;
+            adaptiveWindowCycles = 0;
+        } else if (adaptiveWindowCycles >= workspaceConfiguration.getAdaptiveWindow()) {
+            adaptiveWindowPeak = 0;
+            adaptiveWindowCycles = 0;
+        }
+    }
+
+    /**
+     * @return Workspace size for the specified usage, including overallocation (if enabled)
+     */
+    protected long adaptiveTargetSize(long bytes) {
+        long size = bytes;
+        if (workspaceConfiguration.getPolicyAllocation() == AllocationPolicy.OVERALLOCATE && workspaceConfiguration.getOverallocationLimit() > 0)
+            size += (long) (bytes * workspaceConfiguration.getOverallocationLimit());
+        return size;
+    }
+
+    /**
+     * This method releases workspace memory (including spilled allocations), and allocates it again with the specified size.
+     *
+     * PLEASE NOTE: Never call this method while arrays allocated in this workspace are in use
+     * @param newSize
+     */
+    protected void resizeWorkspace(long newSize) {
+        if (workspace.getHostPointer() != null)
+            reallocationsCount.incrementAndGet();
+
+        destroyWorkspace(true);
+        isInit.set(false);
+        currentSize.set(newSize);
+        initialBlockSize.set(newSize);
+
+        // overallocation is already included in the requested size
+        isOver.set(true);
+        init();
+    }
+
     protected abstract void clearPinnedAllocations(boolean extended);
 
     protected abstract void clearExternalAllocations();
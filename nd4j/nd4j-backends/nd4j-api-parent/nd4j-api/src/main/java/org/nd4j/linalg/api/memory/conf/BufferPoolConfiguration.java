@@ -0,0 +1,55 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.nd4j.linalg.api.memory.conf;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Configuration for the pool of off-heap memory blocks used for DataBuffers allocated outside of workspaces.
+ * See {@link org.nd4j.linalg.api.memory.pool.BufferPool}
+ */
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BufferPoolConfiguration implements Serializable {
+
+    /**
+     * Buffers smaller than this (in bytes) are not pooled
+     */
+    @Builder.Default protected long minBlockBytes = 1024;
+
+    /**
+     * Buffers larger than this (in bytes) are not pooled
+     */
+    @Builder.Default protected long maxBlockBytes = 64L * 1024 * 1024;
+
+    /**
+     * Maximum total size (in bytes) of the idle blocks retained by the pool. Blocks released when the pool is full are
+     * freed instead
+     */
+    @Builder.Default protected long maxPooledBytes = 256L * 1024 * 1024;
+}
@@ -75,4 +75,16 @@ public class WorkspaceConfiguration implements Serializable {
      * This value is used only for circular workspaces
      */
     @Builder.Default protected int stepsNumber = 2;
+
+    /**
+     * For workspaces with {@link LearningPolicy#ADAPTIVE}: number of cycles over which peak usage is tracked, before
+     * deciding whether the workspace should shrink
+     */
+    @Builder.Default protected int adaptiveWindow = 100;
+
+    /**
+     * For workspaces with {@link LearningPolicy#ADAPTIVE}: the workspace is shrunk if the size required for the peak
+     * usage over the last {@link #adaptiveWindow} cycles is less than this fraction of the current workspace size
+     */
+    @Builder.Default protected double adaptiveShrinkThreshold = 0.5;
 }
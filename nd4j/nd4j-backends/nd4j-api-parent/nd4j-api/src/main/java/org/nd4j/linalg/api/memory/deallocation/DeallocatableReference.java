@@ -20,22 +20,24 @@
 
 package org.nd4j.linalg.api.memory.deallocation;
 
-import lombok.Data;
+import lombok.Getter;
 import org.nd4j.linalg.api.memory.Deallocatable;
 import org.nd4j.linalg.api.memory.Deallocator;
 
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 
-@Data
+/**
+ * Weak reference used by {@link DeallocatorService} to track a Deallocatable. Note that equality is identity based,
+ * so references can be tracked in a set without creating a unique ID String for every tracked object
+ */
+@Getter
 public class DeallocatableReference extends WeakReference<Deallocatable> {
-    private String id;
     private Deallocator deallocator;
 
     public DeallocatableReference(Deallocatable referent, ReferenceQueue<? super Deallocatable> q) {
         super(referent, q);
 
-        this.id = referent.getUniqueId();
         this.deallocator = referent.deallocator();
     }
 }
@@ -24,14 +24,17 @@ import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.RandomUtils;
+import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.memory.Deallocatable;
+import org.nd4j.linalg.api.memory.conf.BufferPoolConfiguration;
+import org.nd4j.linalg.api.memory.pool.BufferPool;
 import org.nd4j.linalg.factory.Nd4j;
 
 
 import java.lang.ref.ReferenceQueue;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -39,10 +42,14 @@ import java.util.concurrent.atomic.AtomicLong;
 public class DeallocatorService {
     private Thread[] deallocatorThreads;
     private ReferenceQueue<Deallocatable>[] queues;
-    private Map<String, DeallocatableReference> referenceMap = new ConcurrentHashMap<>();
+    private Set<DeallocatableReference> referenceSet = ConcurrentHashMap.newKeySet();
     private List<List<ReferenceQueue<Deallocatable>>> deviceMap = new ArrayList<>();
 
     private final transient AtomicLong counter = new AtomicLong(0);
+    private final transient AtomicLong deallocated = new AtomicLong(0);
+
+    private volatile BufferPool bufferPool;
+    private final MemoryPressureMonitor pressureMonitor;
 
     public DeallocatorService() {
         // we need to have at least 2 threads, but for CUDA we'd need at least numDevices threads, due to thread->device affinity
@@ -68,6 +75,10 @@ public class DeallocatorService {
             
             deallocatorThreads[e].start();
         }
+
+        pressureMonitor = new MemoryPressureMonitor(this);
+        if (pressureMonitor.isEnabled())
+            pressureMonitor.start();
     }
 
     public long nextValue() {
@@ -83,7 +94,67 @@ public class DeallocatorService {
         val desiredDevice = deallocatable.targetDevice();
         val map = deviceMap.get(desiredDevice);
         val reference = new DeallocatableReference(deallocatable, map.get(RandomUtils.nextInt(0, map.size())));
-        referenceMap.put(deallocatable.getUniqueId(), reference);
+        referenceSet.add(reference);
+
+        if (deallocatable instanceof DataBuffer)
+            ReleaseScope.register((DataBuffer) deallocatable);
+    }
+
+    protected void deallocate(DeallocatableReference reference) {
+        reference.getDeallocator().deallocate();
+        referenceSet.remove(reference);
+        deallocated.incrementAndGet();
+    }
+
+    /**
+     * @return Number of tracked objects that are not yet deallocated
+     */
+    public long getNumTracked() {
+        return referenceSet.size();
+    }
+
+    /**
+     * @return Total number of objects deallocated by this service
+     */
+    public long getNumDeallocated() {
+        return deallocated.get();
+    }
+
+    /**
+     * Enable pooling of off-heap memory for DataBuffers created outside of workspaces. Memory of closed or garbage
+     * collected buffers is retained in the pool and reused for new buffers of a similar size.<br>
+     * Note that pooling is currently only supported by the CPU backend
+     *
+     * @param configuration Pool configuration
+     */
+    public synchronized void enableBufferPool(@NonNull BufferPoolConfiguration configuration) {
+        disableBufferPool();
+        bufferPool = new BufferPool(configuration);
+    }
+
+    /**
+     * Disable pooling of off-heap memory, freeing any idle pooled memory. Memory of buffers currently using pooled
+     * memory is freed when those buffers are closed or deallocated
+     */
+    public synchronized void disableBufferPool() {
+        BufferPool pool = bufferPool;
+        bufferPool = null;
+        if (pool != null)
+            pool.close();
+    }
+
+    /**
+     * @return The buffer pool, or null if pooling is not enabled
+     */
+    public BufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    /**
+     * @return The memory pressure monitor for this service
+     */
+    public MemoryPressureMonitor getPressureMonitor() {
+        return pressureMonitor;
     }
 
 
@@ -120,8 +191,7 @@ public class DeallocatorService {
                         }
                     } else {
                         // invoking deallocator
-                        reference.getDeallocator().deallocate();
-                        referenceMap.remove(reference.getId());
+                        deallocate(reference);
                     }
                 } else {
                     try {
@@ -130,8 +200,7 @@ public class DeallocatorService {
                             continue;
 
                         // invoking deallocator
-                        reference.getDeallocator().deallocate();
-                        referenceMap.remove(reference.getId());
+                        deallocate(reference);
                     } catch (InterruptedException e) {
                         canRun = false;
                     } catch (Exception e) {
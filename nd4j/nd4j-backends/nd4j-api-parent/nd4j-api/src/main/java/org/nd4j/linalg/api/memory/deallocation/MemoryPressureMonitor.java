@@ -0,0 +1,194 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.nd4j.linalg.api.memory.deallocation;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.bytedeco.javacpp.Pointer;
+import org.nd4j.common.config.ND4JSystemProperties;
+import org.nd4j.linalg.api.memory.pool.BufferPool;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background thread that watches off-heap memory use, and reclaims memory before the JavaCPP limits
+ * ({@link ND4JSystemProperties#JAVACPP_MEMORY_MAX_BYTES}, {@link ND4JSystemProperties#JAVACPP_MEMORY_MAX_PHYSICAL_BYTES})
+ * are reached. Without this, off-heap memory of unreachable INDArrays is only released once the JVM decides to run
+ * garbage collection, which is driven by on-heap (not off-heap) memory use.<br>
+ * When usage exceeds the threshold ({@link ND4JSystemProperties#MEMORY_PRESSURE_THRESHOLD}), idle pooled buffers are
+ * freed first (see {@link BufferPool#trim()}); if usage is still above the threshold, garbage collection is requested,
+ * at most once per {@link ND4JSystemProperties#MEMORY_PRESSURE_MIN_GC_INTERVAL_MS} milliseconds.<br>
+ * The monitor is disabled by default, and is only started if {@link ND4JSystemProperties#MEMORY_PRESSURE_THRESHOLD}
+ * is set to a positive value.
+ */
+@Slf4j
+public class MemoryPressureMonitor extends Thread {
+    public static final double DEFAULT_THRESHOLD = 0.0;
+    public static final long DEFAULT_POLL_INTERVAL_MS = 50;
+    public static final long DEFAULT_MIN_GC_INTERVAL_MS = 500;
+
+    private final DeallocatorService deallocatorService;
+    @Getter
+    private final double threshold;
+    @Getter
+    private final long pollIntervalMs;
+    @Getter
+    private final long minGcIntervalMs;
+
+    private final AtomicLong gcCount = new AtomicLong();
+    private final AtomicLong trimCount = new AtomicLong();
+    private volatile double lastUsage;
+    private long lastGc;
+
+    public MemoryPressureMonitor(@NonNull DeallocatorService deallocatorService) {
+        this(deallocatorService, doubleProperty(ND4JSystemProperties.MEMORY_PRESSURE_THRESHOLD, DEFAULT_THRESHOLD),
+                longProperty(ND4JSystemProperties.MEMORY_PRESSURE_POLL_INTERVAL_MS, DEFAULT_POLL_INTERVAL_MS),
+                longProperty(ND4JSystemProperties.MEMORY_PRESSURE_MIN_GC_INTERVAL_MS, DEFAULT_MIN_GC_INTERVAL_MS));
+    }
+
+    public MemoryPressureMonitor(@NonNull DeallocatorService deallocatorService, double threshold, long pollIntervalMs,
+                                 long minGcIntervalMs) {
+        this.deallocatorService = deallocatorService;
+        this.threshold = threshold;
+        this.pollIntervalMs = Math.max(1, pollIntervalMs);
+        this.minGcIntervalMs = Math.max(0, minGcIntervalMs);
+        setName("MemoryPressureMonitor");
+        setDaemon(true);
+        setContextClassLoader(null);
+    }
+
+    /**
+     * @return True if the threshold is positive, i.e., the monitor should be started
+     */
+    public boolean isEnabled() {
+        return threshold > 0;
+    }
+
+    /**
+     * @return Current off-heap memory use, as a fraction of the lower of the JavaCPP memory limits. 0 if no limits are set
+     */
+    public static double currentUsage() {
+        double usage = 0.0;
+        long maxBytes = Pointer.maxBytes();
+        if (maxBytes > 0)
+            usage = Pointer.totalBytes() / (double) maxBytes;
+        long maxPhysical = Pointer.maxPhysicalBytes();
+        if (maxPhysical > 0)
+            usage = Math.max(usage, Pointer.physicalBytes() / (double) maxPhysical);
+        return usage;
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            try {
+                Thread.sleep(pollIntervalMs);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            try {
+                check();
+            } catch (Throwable t) {
+                log.warn("Error checking off-heap memory use", t);
+            }
+        }
+    }
+
+    /**
+     * Check memory use once, and reclaim memory if it is above the threshold
+     *
+     * @return True if any action was taken
+     */
+    public boolean check() {
+        double usage = currentUsage();
+        lastUsage = usage;
+        if (usage < threshold)
+            return false;
+
+        boolean trimmed = false;
+        BufferPool pool = deallocatorService.getBufferPool();
+        if (pool != null && pool.getPooledBytes() > 0) {
+            trimmed = true;
+            long freed = pool.trim();
+            trimCount.incrementAndGet();
+            log.debug("Off-heap memory use at {}% of limit: freed {} bytes of idle pooled buffers", (int) (usage * 100), freed);
+            usage = currentUsage();
+            if (usage < threshold)
+                return true;
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - lastGc < minGcIntervalMs)
+            return trimmed;
+        lastGc = now;
+        gcCount.incrementAndGet();
+        log.debug("Off-heap memory use at {}% of limit: requesting garbage collection", (int) (usage * 100));
+        Nd4j.getMemoryManager().invokeGc();
+        return true;
+    }
+
+    /**
+     * @return Number of garbage collections requested due to memory pressure
+     */
+    public long getNumGcRequests() {
+        return gcCount.get();
+    }
+
+    /**
+     * @return Number of times the buffer pool was trimmed due to memory pressure
+     */
+    public long getNumPoolTrims() {
+        return trimCount.get();
+    }
+
+    /**
+     * @return Off-heap memory use (as a fraction of the limit) at the most recent check
+     */
+    public double getLastUsage() {
+        return lastUsage;
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String s = System.getProperty(name);
+        if (s == null)
+            return defaultValue;
+        try {
+            return Double.parseDouble(s);
+        } catch (NumberFormatException e) {
+            log.warn("Invalid value for system property {}: \"{}\", using default of {}", name, s, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    private static long longProperty(String name, long defaultValue) {
+        String s = System.getProperty(name);
+        if (s == null)
+            return defaultValue;
+        try {
+            return Long.parseLong(s);
+        } catch (NumberFormatException e) {
+            log.warn("Invalid value for system property {}: \"{}\", using default of {}", name, s, defaultValue);
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.nd4j.linalg.api.memory.deallocation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A scope that deterministically releases the off-heap memory of DataBuffers created (outside of workspaces) on the
+ * current thread while the scope is open, instead of waiting for them to be garbage collected. Arrays that should
+ * outlive the scope must be passed to {@link #keep(INDArray...)}. Usage:
+ * <pre>
+ * {@code
+ * try (ReleaseScope scope = ReleaseScope.open()) {
+ *     INDArray tmp = x.mmul(w);
+ *     INDArray out = Transforms.tanh(tmp.addiRowVector(b), false);
+ *     scope.keep(out);
+ *     return out;
+ * }
+ * }
+ * </pre>
+ * Scopes may be nested: buffers kept in an inner scope are released by the enclosing scope, unless also kept there.
+ * Constant buffers (such as shape information buffers), buffers attached to a workspace and buffers that have
+ * already been closed are never released by a scope.<br>
+ * When a {@link org.nd4j.linalg.api.memory.pool.BufferPool} is enabled, released memory is returned to the pool.
+ * <b>Note</b>: Arrays created within the scope that are not kept must not be used after the scope is closed.
+ */
+@Slf4j
+public class ReleaseScope implements AutoCloseable {
+
+    private static final ThreadLocal<ReleaseScope> CURRENT = new ThreadLocal<>();
+    private static final AtomicInteger ACTIVE = new AtomicInteger();
+
+    private final ReleaseScope parent;
+    private final Thread thread;
+    private final List<DataBuffer> buffers = new ArrayList<>();
+    private final Set<DataBuffer> kept = Collections.newSetFromMap(new IdentityHashMap<DataBuffer, Boolean>());
+    private boolean closed = false;
+
+    private ReleaseScope(ReleaseScope parent) {
+        this.parent = parent;
+        this.thread = Thread.currentThread();
+    }
+
+    /**
+     * Open a new scope for the current thread. The scope must be closed on the same thread
+     */
+    public static ReleaseScope open() {
+        ReleaseScope scope = new ReleaseScope(CURRENT.get());
+        CURRENT.set(scope);
+        ACTIVE.incrementAndGet();
+        return scope;
+    }
+
+    /**
+     * @return The innermost open scope for the current thread, or null if no scope is open
+     */
+    public static ReleaseScope current() {
+        if (ACTIVE.get() == 0)
+            return null;
+        return CURRENT.get();
+    }
+
+    /**
+     * Register a newly created buffer with the current thread's scope, if any. Called by the {@link DeallocatorService}
+     * when a buffer starts being tracked
+     */
+    public static void register(DataBuffer buffer) {
+        ReleaseScope scope = current();
+        if (scope != null)
+            scope.buffers.add(buffer);
+    }
+
+    /**
+     * Mark the specified arrays as outliving this scope: their buffers will not be released when the scope is closed
+     *
+     * @param arrays Arrays to keep
+     * @return The first array, for convenience
+     */
+    public INDArray keep(INDArray... arrays) {
+        for (INDArray arr : arrays) {
+            if (arr == null)
+                continue;
+            keep(arr.data());
+        }
+        return arrays.length > 0 ? arrays[0] : null;
+    }
+
+    /**
+     * Mark the specified buffer (and any buffer it is a view of) as outliving this scope
+     */
+    public void keep(DataBuffer buffer) {
+        if (buffer == null)
+            return;
+        kept.add(buffer);
+        if (buffer.underlyingDataBuffer() != null)
+            kept.add(buffer.underlyingDataBuffer());
+        if (buffer.originalDataBuffer() != null)
+            kept.add(buffer.originalDataBuffer());
+    }
+
+    /**
+     * @return Number of buffers registered with this scope
+     */
+    public int getNumBuffers() {
+        return buffers.size();
+    }
+
+    @Override
+    public void close() {
+        if (closed)
+            return;
+        if (Thread.currentThread() != thread)
+            throw new IllegalStateException("ReleaseScope must be closed on the thread that opened it");
+        if (CURRENT.get() != this)
+            throw new IllegalStateException("ReleaseScopes must be closed in the reverse order to which they were opened");
+        closed = true;
+        ACTIVE.decrementAndGet();
+        if (parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(parent);
+        }
+
+        //Ops may still be using buffers created in this scope
+        Nd4j.getExecutioner().commit();
+
+        int released = 0;
+        for (DataBuffer b : buffers) {
+            if (kept.contains(b)) {
+                if (parent != null)
+                    parent.buffers.add(b);
+                continue;
+            }
+            if (b.closeable()) {
+                b.close();
+                released++;
+            }
+        }
+        buffers.clear();
+        kept.clear();
+        log.trace("Released {} buffers on scope close", released);
+    }
+}
@@ -38,4 +38,14 @@ public enum LearningPolicy {
      * This policy means - no learning is assumed, WorkspaceConfiguration.initialSize value will be primary determinant for workspace size
      */
     NONE,
+
+    /**
+     * This policy means - we learn during 1 cycle, like FIRST_LOOP, and then keep resizing the workspace from the
+     * observed peak usage: the workspace grows (by at least 25%, to avoid frequent reallocations) after any cycle that
+     * needed more memory than the workspace size, and shrinks if peak usage over the last
+     * WorkspaceConfiguration.adaptiveWindow cycles is well below the workspace size.
+     * Useful when workspace requirements vary between iterations, for example with variable sequence length.
+     * Applies to ResetPolicy.BLOCK_LEFT workspaces only; circular workspaces are sized as for FIRST_LOOP
+     */
+    ADAPTIVE,
 }
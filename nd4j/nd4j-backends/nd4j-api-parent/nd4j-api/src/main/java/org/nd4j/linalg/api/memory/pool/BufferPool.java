@@ -0,0 +1,247 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.nd4j.linalg.api.memory.pool;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.bytedeco.javacpp.Pointer;
+import org.nd4j.common.base.Preconditions;
+import org.nd4j.linalg.api.memory.conf.BufferPoolConfiguration;
+import org.nd4j.linalg.api.memory.enums.MemoryKind;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A size class pool of off-heap host memory blocks, used to recycle the memory of DataBuffers allocated outside of
+ * workspaces instead of returning it to the system allocator and allocating it again.<br>
+ * Block sizes are rounded up to the next power of two, so each request is served from one of a small number of size
+ * classes between {@link BufferPoolConfiguration#getMinBlockBytes()} and {@link BufferPoolConfiguration#getMaxBlockBytes()}.
+ * Blocks are returned to the pool when the buffer using them is closed (see {@link org.nd4j.linalg.api.ndarray.INDArray#close()}),
+ * or when the buffer is garbage collected and deallocated by the {@link org.nd4j.linalg.api.memory.deallocation.DeallocatorService}.<br>
+ * The total size of idle blocks is bounded by {@link BufferPoolConfiguration#getMaxPooledBytes()}; idle blocks are also
+ * freed by {@link #trim()}, which is called under memory pressure.
+ */
+@Slf4j
+public class BufferPool {
+
+    @Getter
+    private final BufferPoolConfiguration configuration;
+    private final int minClass;
+    private final List<ConcurrentLinkedDeque<Block>> idle;
+
+    private final AtomicLong pooledBytes = new AtomicLong();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong frees = new AtomicLong();
+    private volatile boolean closed = false;
+
+    public BufferPool(@NonNull BufferPoolConfiguration configuration) {
+        Preconditions.checkArgument(configuration.getMinBlockBytes() > 0 && configuration.getMinBlockBytes() <= configuration.getMaxBlockBytes(),
+                "Invalid block size range: minBlockBytes=%s, maxBlockBytes=%s", configuration.getMinBlockBytes(), configuration.getMaxBlockBytes());
+        this.configuration = configuration;
+        this.minClass = sizeClass(configuration.getMinBlockBytes());
+        int maxClass = sizeClass(configuration.getMaxBlockBytes());
+        this.idle = new ArrayList<>(maxClass - minClass + 1);
+        for (int i = minClass; i <= maxClass; i++) {
+            idle.add(new ConcurrentLinkedDeque<>());
+        }
+    }
+
+    /**
+     * @return Size class for the specified number of bytes: the exponent of the smallest power of two that is >= bytes
+     */
+    protected static int sizeClass(long bytes) {
+        return 64 - Long.numberOfLeadingZeros(Math.max(1, bytes) - 1);
+    }
+
+    /**
+     * @return True if buffers of the specified size (in bytes) are served by this pool
+     */
+    public boolean accepts(long bytes) {
+        return bytes >= configuration.getMinBlockBytes() && bytes <= configuration.getMaxBlockBytes();
+    }
+
+    /**
+     * Get a block of at least the specified size, reusing an idle block of the same size class if one is available.
+     * The returned block's memory is not initialized
+     *
+     * @param bytes Required size in bytes. Must be accepted by this pool (see {@link #accepts(long)})
+     * @return Memory block
+     */
+    public Block acquire(long bytes) {
+        Preconditions.checkArgument(accepts(bytes), "Block size %s is outside the pooled range [%s, %s]", bytes,
+                configuration.getMinBlockBytes(), configuration.getMaxBlockBytes());
+        int sizeClass = sizeClass(bytes);
+        Block b = idle.get(sizeClass - minClass).pollFirst();
+        if (b != null) {
+            pooledBytes.addAndGet(-b.getBytes());
+            hits.incrementAndGet();
+            //New Block instance for each use, so that a late release of the previous use has no effect
+            return new Block(this, b.getPointer(), b.getBytes());
+        }
+
+        misses.incrementAndGet();
+        long blockBytes = 1L << sizeClass;
+        Pointer pointer = Nd4j.getMemoryManager().allocate(blockBytes, MemoryKind.HOST, false);
+        allocatedBytes.addAndGet(blockBytes);
+        return new Block(this, pointer, blockBytes);
+    }
+
+    /**
+     * Return a block to the pool, or free it if the pool is full. Releasing a block more than once has no effect,
+     * so this may be called both on close and on deallocation of a buffer, even if the memory has since been reused
+     *
+     * @param block Block to release
+     */
+    public void release(@NonNull Block block) {
+        Preconditions.checkArgument(block.pool == this, "Block was not acquired from this pool");
+        if (!block.inUse.compareAndSet(true, false))
+            return;
+
+        if (closed) {
+            free(block);
+        } else if (pooledBytes.addAndGet(block.getBytes()) > configuration.getMaxPooledBytes()) {
+            pooledBytes.addAndGet(-block.getBytes());
+            free(block);
+        } else {
+            idle.get(sizeClass(block.getBytes()) - minClass).offerFirst(block);
+            if (closed)
+                trim();     //Pool was closed concurrently; don't leave the block behind
+        }
+    }
+
+    /**
+     * Free all idle blocks
+     *
+     * @return Number of bytes freed
+     */
+    public long trim() {
+        long freed = 0;
+        for (ConcurrentLinkedDeque<Block> q : idle) {
+            Block b;
+            while ((b = q.pollLast()) != null) {
+                pooledBytes.addAndGet(-b.getBytes());
+                freed += b.getBytes();
+                free(b);
+            }
+        }
+        if (freed > 0)
+            log.debug("Freed {} bytes of idle pooled buffers", freed);
+        return freed;
+    }
+
+    /**
+     * Free all idle blocks, and free blocks that are currently in use when they are released instead of returning
+     * them to the pool
+     */
+    public void close() {
+        closed = true;
+        trim();
+    }
+
+    protected void free(Block block) {
+        frees.incrementAndGet();
+        allocatedBytes.addAndGet(-block.getBytes());
+        Nd4j.getMemoryManager().release(block.getPointer(), MemoryKind.HOST);
+    }
+
+    /**
+     * @return Number of acquire calls satisfied with an idle block
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return Number of acquire calls that required a new block to be allocated
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return Fraction of acquire calls satisfied with an idle block, or 0 if no blocks have been acquired yet
+     */
+    public double getHitRate() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0.0 : h / (double) total;
+    }
+
+    /**
+     * @return Number of blocks freed, due to the pool being full or trimmed
+     */
+    public long getFrees() {
+        return frees.get();
+    }
+
+    /**
+     * @return Total size in bytes of the idle blocks held by the pool
+     */
+    public long getPooledBytes() {
+        return pooledBytes.get();
+    }
+
+    /**
+     * @return Total size in bytes of all blocks currently allocated by the pool, both idle and in use
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    @Override
+    public String toString() {
+        return "BufferPool(pooledBytes=" + getPooledBytes() + ", allocatedBytes=" + getAllocatedBytes() + ", hits=" +
+                getHits() + ", misses=" + getMisses() + ", frees=" + getFrees() + ")";
+    }
+
+    /**
+     * A block of off-heap memory owned by a {@link BufferPool}
+     */
+    public static class Block {
+        private final BufferPool pool;
+        @Getter
+        private final Pointer pointer;
+        @Getter
+        private final long bytes;
+        private final AtomicBoolean inUse = new AtomicBoolean(true);
+
+        protected Block(BufferPool pool, Pointer pointer, long bytes) {
+            this.pool = pool;
+            this.pointer = pointer;
+            this.bytes = bytes;
+        }
+
+        /**
+         * Return this block to the pool it was acquired from. See {@link BufferPool#release(Block)}
+         */
+        public void release() {
+            pool.release(this);
+        }
+    }
+}
@@ -25,6 +25,7 @@ import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.nd4j.linalg.api.memory.MemoryWorkspace;
 import org.nd4j.linalg.api.memory.MemoryWorkspaceManager;
+import org.nd4j.linalg.api.memory.WorkspaceStats;
 import org.nd4j.linalg.api.memory.abstracts.Nd4jWorkspace;
 import org.nd4j.linalg.api.memory.conf.WorkspaceConfiguration;
 import org.nd4j.linalg.api.memory.enums.*;
@@ -360,6 +361,26 @@ public abstract class BasicWorkspaceManager implements MemoryWorkspaceManager {
                     BinaryByteUnit.format(pinned, "#.00"),
                     current, spilled, pinned));
         }
+
+        log.info("Workspace name: Peak cycle / total spilled (count) / reallocations / cycles");
+        for (WorkspaceStats stats : getWorkspaceStatsForCurrentThread()) {
+            log.info(String.format("%-26s %8s / %8s (%d) / %d / %d%s", (stats.getId() + ":"),
+                    BinaryByteUnit.format(stats.getPeakCycleBytes(), "#.00"),
+                    BinaryByteUnit.format(stats.getSpilledBytes(), "#.00"),
+                    stats.getSpilledAllocations(), stats.getReallocations(), stats.getCycles(),
+                    stats.isAdaptive() ? " (adaptive)" : ""));
+        }
+    }
+
+    @Override
+    public List<WorkspaceStats> getWorkspaceStatsForCurrentThread() {
+        ensureThreadExistense();
+        List<WorkspaceStats> out = new ArrayList<>();
+        for (MemoryWorkspace ws : backingMap.get().values()) {
+            if (ws instanceof Nd4jWorkspace)
+                out.add(((Nd4jWorkspace) ws).getStats());
+        }
+        return out;
     }
 
 
@@ -50,6 +50,7 @@ import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.common.primitives.AtomicBoolean;
 import org.nd4j.common.primitives.Optional;
 import org.nd4j.linalg.profiler.OpProfiler;
+import org.nd4j.linalg.profiler.metrics.OpMetrics;
 import org.nd4j.linalg.profiler.ProfilerConfig;
 import org.nd4j.common.util.ArrayUtil;
 
@@ -506,6 +507,8 @@ public abstract class DefaultOpExecutioner implements OpExecutioner {
 
 
     public void profilingConfigurableHookOut(Op op, OpContext oc, long timeStart) {
+        OpMetrics.getInstance().record(op, oc, timeStart);
+
         if (OpProfiler.getInstance().getConfig() == null)
             return;
 
@@ -539,6 +542,8 @@ public abstract class DefaultOpExecutioner implements OpExecutioner {
     }
 
     public void profilingConfigurableHookOut(CustomOp op, OpContext oc, long timeStart) {
+        OpMetrics.getInstance().record(op, oc, timeStart);
+
         if (OpProfiler.getInstance().getConfig() == null)
             return;
 
@@ -833,6 +838,16 @@ public abstract class DefaultOpExecutioner implements OpExecutioner {
         // no-op
     }
 
+    @Override
+    public void setJavaExecutionThreshold(int maxLength) {
+        // no-op
+    }
+
+    @Override
+    public int javaExecutionThreshold() {
+        return 0;
+    }
+
     @Override
     public boolean isVerbose() {
         return verbose.get();
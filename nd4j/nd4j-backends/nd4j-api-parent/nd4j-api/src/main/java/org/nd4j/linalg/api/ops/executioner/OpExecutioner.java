@@ -409,6 +409,21 @@ public interface OpExecutioner {
      */
     void setTadThreshold(int threshold);
 
+    /**
+     * This method allows to set the maximum array length for which simple arithmetic ops (see {@link SmallArrayOps})
+     * are executed in Java rather than natively, to avoid the fixed cost of native op calls for very small arrays.
+     * Results are identical to native execution. Not all executioners support this.
+     *
+     * Default value: 0 (disabled), or the value of the {@link org.nd4j.common.config.ND4JSystemProperties#JAVA_EXEC_MAX_LENGTH} system property
+     * @param maxLength Maximum array length. Set to 0 to disable
+     */
+    void setJavaExecutionThreshold(int maxLength);
+
+    /**
+     * @return The maximum array length for which simple arithmetic ops are executed in Java. See {@link #setJavaExecutionThreshold(int)}
+     */
+    int javaExecutionThreshold();
+
     /**
      * This method extracts String from Utf8Buffer
      * @param buffer
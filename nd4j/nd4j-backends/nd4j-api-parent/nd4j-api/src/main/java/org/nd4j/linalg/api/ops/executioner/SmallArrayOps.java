@@ -0,0 +1,201 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.nd4j.linalg.api.ops.executioner;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.CustomOp;
+import org.nd4j.linalg.api.ops.ScalarOp;
+import org.nd4j.linalg.api.ops.impl.scalar.*;
+import org.nd4j.linalg.api.ops.impl.transforms.pairwise.arithmetic.*;
+
+/**
+ * Pure Java implementations of simple arithmetic ops, for use by op executioners on very small arrays, where the
+ * fixed cost of a native call (shape info, JNI marshalling, op context setup) is much larger than the computation itself.<br>
+ * Supported ops are the scalar ops {@link ScalarAdd}, {@link ScalarSubtraction}, {@link ScalarMultiplication},
+ * {@link ScalarDivision}, {@link ScalarReverseSubtraction} and {@link ScalarReverseDivision}, and the equivalent
+ * pairwise ops {@link AddOp}, {@link SubOp}, {@link MulOp}, {@link DivOp}, {@link RSubOp} and {@link RDivOp}
+ * (without broadcasting). Only FLOAT and DOUBLE arrays with a contiguous layout are supported.<br>
+ * Each element is computed with a single IEEE 754 operation in the array's own precision, so results are identical
+ * to the native implementations. Ops whose native results depend on evaluation order (such as reductions) are
+ * intentionally not supported.
+ */
+public class SmallArrayOps {
+
+    private enum Arithmetic {ADD, SUB, MUL, DIV, RSUB, RDIV}
+
+    private SmallArrayOps() {
+    }
+
+    /**
+     * @param op        Scalar op to execute. The op's z array should already be set
+     * @param maxLength Maximum array length to execute in Java
+     * @return True if {@link #exec(ScalarOp)} can execute the op
+     */
+    public static boolean canExec(ScalarOp op, long maxLength) {
+        if (op.dimensions() != null || arithmetic(op) == null)
+            return false;
+        INDArray x = op.x();
+        INDArray z = op.z();
+        INDArray s = op.scalar();
+        return x != null && z != null && s != null && s.length() == 1 && x.length() <= maxLength &&
+                s.dataType() == x.dataType() && contiguous(x, z);
+    }
+
+    /**
+     * @param op        Custom op to execute. The op's output array should already be set
+     * @param maxLength Maximum array length to execute in Java
+     * @return True if {@link #exec(CustomOp)} can execute the op
+     */
+    public static boolean canExec(CustomOp op, long maxLength) {
+        if (arithmetic(op) == null || op.numInputArguments() != 2 || op.numOutputArguments() != 1)
+            return false;
+        INDArray x = op.getInputArgument(0);
+        INDArray y = op.getInputArgument(1);
+        INDArray z = op.getOutputArgument(0);
+        return x != null && y != null && z != null && x.length() <= maxLength && x.equalShapes(y) &&
+                y.dataType() == x.dataType() && y.ordering() == x.ordering() && y.elementWiseStride() == 1 &&
+                contiguous(x, z);
+    }
+
+    /**
+     * Execute the specified scalar op, which must be supported (see {@link #canExec(ScalarOp, long)})
+     *
+     * @return The op's z array
+     */
+    public static INDArray exec(ScalarOp op) {
+        INDArray x = op.x();
+        INDArray z = op.z();
+        exec(arithmetic(op), x.dataType(), x.data(), null, op.scalar().getDouble(0), z.data(), x.length());
+        return z;
+    }
+
+    /**
+     * Execute the specified pairwise op, which must be supported (see {@link #canExec(CustomOp, long)})
+     *
+     * @return The op's output arrays
+     */
+    public static INDArray[] exec(CustomOp op) {
+        INDArray x = op.getInputArgument(0);
+        INDArray y = op.getInputArgument(1);
+        INDArray z = op.getOutputArgument(0);
+        exec(arithmetic(op), x.dataType(), x.data(), y.data(), 0.0, z.data(), x.length());
+        return new INDArray[]{z};
+    }
+
+    private static boolean contiguous(INDArray x, INDArray z) {
+        DataType dt = x.dataType();
+        return (dt == DataType.FLOAT || dt == DataType.DOUBLE) && z.dataType() == dt && !x.isEmpty() &&
+                x.equalShapes(z) && z.ordering() == x.ordering() && x.elementWiseStride() == 1 && z.elementWiseStride() == 1;
+    }
+
+    private static Arithmetic arithmetic(ScalarOp op) {
+        if (op instanceof ScalarAdd)
+            return Arithmetic.ADD;
+        if (op instanceof ScalarSubtraction)
+            return Arithmetic.SUB;
+        if (op instanceof ScalarMultiplication)
+            return Arithmetic.MUL;
+        if (op instanceof ScalarDivision)
+            return Arithmetic.DIV;
+        if (op instanceof ScalarReverseSubtraction)
+            return Arithmetic.RSUB;
+        if (op instanceof ScalarReverseDivision)
+            return Arithmetic.RDIV;
+        return null;
+    }
+
+    private static Arithmetic arithmetic(CustomOp op) {
+        if (op instanceof AddOp)
+            return Arithmetic.ADD;
+        if (op instanceof SubOp)
+            return Arithmetic.SUB;
+        if (op instanceof MulOp)
+            return Arithmetic.MUL;
+        if (op instanceof DivOp)
+            return Arithmetic.DIV;
+        if (op instanceof RSubOp)
+            return Arithmetic.RSUB;
+        if (op instanceof RDivOp)
+            return Arithmetic.RDIV;
+        return null;
+    }
+
+    /**
+     * z[i] = x[i] (op) y[i], or z[i] = x[i] (op) scalar if y is null.<br>
+     * Buffers of view arrays are already view buffers starting at the array's offset, so indexing starts at 0 here
+     */
+    private static void exec(Arithmetic a, DataType dt, DataBuffer x, DataBuffer y, double scalar, DataBuffer z, long length) {
+        if (dt == DataType.FLOAT) {
+            float s = (float) scalar;
+            for (long i = 0; i < length; i++) {
+                float xi = x.getFloat(i);
+                float yi = y == null ? s : y.getFloat(i);
+                z.put(i, apply(a, xi, yi));
+            }
+        } else {
+            for (long i = 0; i < length; i++) {
+                double xi = x.getDouble(i);
+                double yi = y == null ? scalar : y.getDouble(i);
+                z.put(i, apply(a, xi, yi));
+            }
+        }
+    }
+
+    private static float apply(Arithmetic a, float x, float y) {
+        switch (a) {
+            case ADD:
+                return x + y;
+            case SUB:
+                return x - y;
+            case MUL:
+                return x * y;
+            case DIV:
+                return x / y;
+            case RSUB:
+                return y - x;
+            case RDIV:
+                return y / x;
+            default:
+                throw new IllegalStateException("Unknown op: " + a);
+        }
+    }
+
+    private static double apply(Arithmetic a, double x, double y) {
+        switch (a) {
+            case ADD:
+                return x + y;
+            case SUB:
+                return x - y;
+            case MUL:
+                return x * y;
+            case DIV:
+                return x / y;
+            case RSUB:
+                return y - x;
+            case RDIV:
+                return y / x;
+            default:
+                throw new IllegalStateException("Unknown op: " + a);
+        }
+    }
+}
@@ -73,7 +73,7 @@ public class ArrayDescriptor {
         if (intArray != null && that.intArray != null) {
             return Arrays.equals(intArray, that.intArray);
         } else if (boolArray != null && that.boolArray != null) {
-            return Arrays.equals(intArray, that.intArray);
+            return Arrays.equals(boolArray, that.boolArray);
         } else if (floatArray != null && that.floatArray != null) {
             return Arrays.equals(floatArray, that.floatArray);
         } else if (doubleArray != null && that.doubleArray != null) {
@@ -0,0 +1,277 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.nd4j.linalg.cache;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.nd4j.common.base.Preconditions;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * A size-bounded cache with approximate least recently used (LRU) eviction, for caching shape info, TAD and constant
+ * buffers whose keys may vary without bound (for example, with variable batch size or sequence length).<br>
+ * Lookups are lock-free: a cache hit is a {@link ConcurrentHashMap} lookup plus an update of the entry's access time.
+ * Only insertions (cache misses) are synchronized. Access time is a logical clock that advances on each insertion,
+ * so entries that have not been used since the N most recent insertions are considered older.<br>
+ * When an insertion would exceed the maximum number of entries or bytes, the least recently used entries are evicted
+ * until the cache is at {@link #EVICTION_TARGET} of its limits, so that eviction cost is amortized over many insertions.<br>
+ * Evicted values are only removed from the cache: values still referenced elsewhere (such as shape info buffers in use by
+ * arrays) remain valid, and are deallocated as usual when no longer referenced.
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+@Slf4j
+public class BoundedCache<K, V> {
+
+    /**
+     * Fraction of the maximum entries and bytes that the cache is reduced to, when eviction is required
+     */
+    public static final double EVICTION_TARGET = 0.9;
+
+    private final String name;
+    private final ToLongFunction<V> weigher;
+    private final Listener<V> listener;
+    private final Map<K, Entry<V>> map = new ConcurrentHashMap<>();
+
+    private volatile int maxEntries;
+    private volatile long maxBytes;
+    private volatile long clock = 0;
+
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param name            Name of the cache, used for logging
+     * @param maxEntries      Maximum number of entries. Set to 0 to disable caching
+     * @param maxBytes        Maximum total size of all values, in bytes, as determined by the weigher
+     * @param weigher    Size of each value, in bytes
+     * @param listener   Notified when values are added to or removed from the cache. May be null
+     */
+    public BoundedCache(@NonNull String name, int maxEntries, long maxBytes, @NonNull ToLongFunction<V> weigher, Listener<V> listener) {
+        Preconditions.checkArgument(maxEntries >= 0 && maxBytes >= 0, "Cache limits must be non-negative, got maxEntries=%s, maxBytes=%s", maxEntries, maxBytes);
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.weigher = weigher;
+        this.listener = listener;
+    }
+
+    /**
+     * Get the cached value for the specified key, or create and cache it if not present.
+     * The loader is called at most once per cache miss, while holding the cache's insertion lock. Values created by the
+     * loader are not cached if caching is disabled (maxEntries is 0) or the value is larger than maxBytes
+     *
+     * @param key    Key to get the value for
+     * @param loader Creates the value for the key on a cache miss
+     * @return Cached or newly created value
+     */
+    public V get(@NonNull K key, @NonNull Function<? super K, ? extends V> loader) {
+        Entry<V> e = map.get(key);
+        if (e != null) {
+            hits.incrementAndGet();
+            touch(e);
+            return e.value;
+        }
+
+        synchronized (this) {
+            e = map.get(key);
+            if (e != null) {
+                hits.incrementAndGet();
+                touch(e);
+                return e.value;
+            }
+
+            misses.incrementAndGet();
+            V value = loader.apply(key);
+            if (value == null || maxEntries == 0)
+                return value;
+
+            long weight = weigher.applyAsLong(value);
+            if (weight > maxBytes)
+                return value;       //Would evict everything else, and still not fit
+
+            if (map.size() >= maxEntries || bytes.get() + weight > maxBytes)
+                evict(weight);
+
+            e = new Entry<>(value, weight, ++clock);
+            map.put(key, e);
+            bytes.addAndGet(weight);
+            if (listener != null)
+                listener.added(value, weight);
+            return value;
+        }
+    }
+
+    private void touch(Entry<V> e) {
+        long now = clock;
+        //Avoid writing (and invalidating the cache line on other cores) when already recently used
+        if (e.lastUsed != now)
+            e.lastUsed = now;
+    }
+
+    /**
+     * Evict least recently used entries, so that the cache is at {@link #EVICTION_TARGET} of its limits after an entry
+     * of the specified size is added
+     */
+    private void evict(long newWeight) {
+        int targetEntries = Math.max(0, (int) (maxEntries * EVICTION_TARGET) - 1);
+        long targetBytes = Math.max(0, (long) (maxBytes * EVICTION_TARGET) - newWeight);
+
+        //Access times are copied before sorting, as concurrent lookups may update them during the sort
+        List<Map.Entry<K, Entry<V>>> entries = new ArrayList<>(map.entrySet());
+        for (Map.Entry<K, Entry<V>> me : entries)
+            me.getValue().sortKey = me.getValue().lastUsed;
+        entries.sort(Comparator.comparingLong(me -> me.getValue().sortKey));
+
+        int count = map.size();
+        int evicted = 0;
+        for (Map.Entry<K, Entry<V>> me : entries) {
+            if (count <= targetEntries && bytes.get() <= targetBytes)
+                break;
+            if (map.remove(me.getKey(), me.getValue())) {
+                removed(me.getValue());
+                count--;
+                evicted++;
+            }
+        }
+        evictions.addAndGet(evicted);
+        if (log.isTraceEnabled())
+            log.trace("Evicted {} entries from cache {}: {}", evicted, name, this);
+    }
+
+    private void removed(Entry<V> e) {
+        bytes.addAndGet(-e.weight);
+        if (listener != null)
+            listener.removed(e.value, e.weight);
+    }
+
+    /**
+     * Remove all entries from the cache. Hit, miss and eviction counts are not reset
+     */
+    public synchronized void clear() {
+        for (K k : new ArrayList<>(map.keySet())) {
+            Entry<V> e = map.remove(k);
+            if (e != null)
+                removed(e);
+        }
+    }
+
+    /**
+     * Set the cache limits. If the cache currently exceeds the new limits, entries are evicted immediately
+     *
+     * @param maxEntries Maximum number of entries. Set to 0 to disable caching
+     * @param maxBytes   Maximum total size of all values, in bytes
+     */
+    public synchronized void setLimits(int maxEntries, long maxBytes) {
+        Preconditions.checkArgument(maxEntries >= 0 && maxBytes >= 0, "Cache limits must be non-negative, got maxEntries=%s, maxBytes=%s", maxEntries, maxBytes);
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        if (map.size() > maxEntries || bytes.get() > maxBytes)
+            evict(0);
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * @return Number of entries currently in the cache
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * @return Total size in bytes of the values currently in the cache
+     */
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return Fraction of lookups that were cache hits, or 0 if no lookups have been performed yet
+     */
+    public double getHitRate() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0.0 : h / (double) total;
+    }
+
+    /**
+     * @return Number of entries evicted due to the cache limits (not including entries removed by {@link #clear()})
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedCache(name=" + name + ", entries=" + size() + ", bytes=" + getBytes() + ", maxEntries=" + maxEntries +
+                ", maxBytes=" + maxBytes + ", hits=" + getHits() + ", misses=" + getMisses() + ", evictions=" + getEvictions() + ")";
+    }
+
+    /**
+     * Listener for values added to and removed from a {@link BoundedCache}, for example to track the memory held by the cache.
+     * Values that are created on a cache miss but not cached (see {@link #get(Object, Function)}) are not reported
+     */
+    public interface Listener<V> {
+
+        void added(V value, long bytes);
+
+        /**
+         * Called when a value is evicted, or removed by {@link #clear()}
+         */
+        void removed(V value, long bytes);
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long weight;
+        private volatile long lastUsed;
+        private long sortKey;
+
+        private Entry(V value, long weight, long lastUsed) {
+            this.value = value;
+            this.weight = weight;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
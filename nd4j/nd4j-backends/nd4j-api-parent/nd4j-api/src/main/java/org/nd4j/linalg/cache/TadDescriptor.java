@@ -43,10 +43,8 @@ public class TadDescriptor {
      */
     public TadDescriptor(INDArray array, int[] dimension) {
         this.dimensionLength = dimension == null ? 0 : dimension.length;
-        this.dimension = dimension;
-
-        // TODO: change this to fill shapeInfo
-        this.shape = dataBufferToArray(array.shapeInfoDataBuffer());
+        this.dimension = dimension == null ? null : dimension.clone();
+        this.shape = array.shapeInfoJava().clone();
     }
 
 
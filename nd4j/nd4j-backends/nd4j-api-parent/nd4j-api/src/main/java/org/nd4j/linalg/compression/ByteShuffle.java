@@ -0,0 +1,101 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.nd4j.linalg.compression;
+
+/**
+ * Byte level transforms that make numeric arrays more compressible by general purpose codecs, such as {@link Lz4BlockCodec}.<br>
+ * <ul>
+ *     <li>Byte shuffle groups i-th bytes of all elements together: sign and exponent bytes of nearby floating point
+ *     values are usually equal or similar, so they form long runs that compress well, even if mantissa bytes don't.</li>
+ *     <li>XOR delta replaces each element with XOR of itself and the previous element, so equal or close neighbours
+ *     produce leading zero bytes.</li>
+ * </ul>
+ * Both transforms work on elements of any size, and are exactly reversible.
+ */
+public class ByteShuffle {
+
+    private ByteShuffle() {
+    }
+
+    /**
+     * This method groups bytes of elements by their position within the element:
+     * first bytes of all elements, then second bytes of all elements, and so on
+     *
+     * @param src         source bytes
+     * @param srcOff      offset of the first element in src
+     * @param dst         destination array, should not be the same array as src
+     * @param dstOff      offset in dst
+     * @param numElements number of elements
+     * @param elementSize element size in bytes
+     */
+    public static void shuffle(byte[] src, int srcOff, byte[] dst, int dstOff, int numElements, int elementSize) {
+        for (int e = 0; e < numElements; e++) {
+            int s = srcOff + e * elementSize;
+            for (int b = 0; b < elementSize; b++)
+                dst[dstOff + b * numElements + e] = src[s + b];
+        }
+    }
+
+    /**
+     * This method reverses {@link #shuffle(byte[], int, byte[], int, int, int)}
+     *
+     * @param src         shuffled bytes
+     * @param srcOff      offset in src
+     * @param dst         destination array, should not be the same array as src
+     * @param dstOff      offset of the first element in dst
+     * @param numElements number of elements
+     * @param elementSize element size in bytes
+     */
+    public static void unshuffle(byte[] src, int srcOff, byte[] dst, int dstOff, int numElements, int elementSize) {
+        for (int e = 0; e < numElements; e++) {
+            int d = dstOff + e * elementSize;
+            for (int b = 0; b < elementSize; b++)
+                dst[d + b] = src[srcOff + b * numElements + e];
+        }
+    }
+
+    /**
+     * This method replaces each element (except the first one) with XOR of this element and the previous one, in place
+     *
+     * @param data        data
+     * @param off         offset of the first element
+     * @param numElements number of elements
+     * @param elementSize element size in bytes
+     */
+    public static void xorDelta(byte[] data, int off, int numElements, int elementSize) {
+        for (int i = off + numElements * elementSize - 1; i >= off + elementSize; i--)
+            data[i] ^= data[i - elementSize];
+    }
+
+    /**
+     * This method reverses {@link #xorDelta(byte[], int, int, int)}, in place
+     *
+     * @param data        data
+     * @param off         offset of the first element
+     * @param numElements number of elements
+     * @param elementSize element size in bytes
+     */
+    public static void undoXorDelta(byte[] data, int off, int numElements, int elementSize) {
+        int end = off + numElements * elementSize;
+        for (int i = off + elementSize; i < end; i++)
+            data[i] ^= data[i - elementSize];
+    }
+}
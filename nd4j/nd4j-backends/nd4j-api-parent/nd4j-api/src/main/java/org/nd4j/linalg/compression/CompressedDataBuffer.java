@@ -39,6 +39,7 @@ import org.slf4j.LoggerFactory;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 public class CompressedDataBuffer extends BaseDataBuffer {
     @Getter
@@ -79,9 +80,12 @@ public class CompressedDataBuffer extends BaseDataBuffer {
         out.writeLong(compressionDescriptor.getNumberOfElements());
         out.writeInt(compressionDescriptor.getOriginalDataType().ordinal());
         //        out.write(((BytePointer) pointer).getStringBytes());
-        for (int x = 0; x < pointer.capacity() * pointer.sizeof(); x++) {
-            byte b = pointer.asByteBuffer().get(x);
-            out.writeByte(b);
+        ByteBuffer bb = pointer.asByteBuffer();
+        byte[] chunk = new byte[Math.min(bb.remaining(), 1 << 16)];
+        while (bb.hasRemaining()) {
+            int n = Math.min(chunk.length, bb.remaining());
+            bb.get(chunk, 0, n);
+            out.write(chunk, 0, n);
         }
     }
 
@@ -116,9 +120,7 @@ public class CompressedDataBuffer extends BaseDataBuffer {
                 DataType originalType = DataType.values()[s.readInt()];
 
                 byte[] temp = new byte[(int) compressedLength];
-                for (int i = 0; i < compressedLength; i++) {
-                    temp[i] = s.readByte();
-                }
+                s.readFully(temp);
 
                 Pointer pointer = new BytePointer(temp);
                 CompressionDescriptor descriptor = new CompressionDescriptor();
@@ -21,7 +21,7 @@
 package org.nd4j.linalg.compression;
 
 public enum CompressionAlgorithm {
-    FLOAT8, FLOAT16, GZIP, INT8, INT16, NOOP, UNIT8, CUSTOM;
+    FLOAT8, FLOAT16, GZIP, INT8, INT16, NOOP, UNIT8, CUSTOM, QUANTIZED, LZ4, SHUFFLE_LZ4;
 
     /**
      * Return the appropriate compression algorithm
@@ -52,6 +52,12 @@ public enum CompressionAlgorithm {
                 return UNIT8;
             case "CUSTOM":
                 return CUSTOM;
+            case "QUANTIZED":
+                return QUANTIZED;
+            case "LZ4":
+                return LZ4;
+            case "SHUFFLE_LZ4":
+                return SHUFFLE_LZ4;
             default:
                 throw new IllegalArgumentException("Wrong algorithm " + algorithm);
         }
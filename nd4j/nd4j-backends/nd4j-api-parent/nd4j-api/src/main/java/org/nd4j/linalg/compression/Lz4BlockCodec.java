@@ -0,0 +1,292 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.nd4j.linalg.compression;
+
+import org.nd4j.linalg.exception.ND4JIllegalStateException;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Pure Java implementation of the LZ4 block format: a byte oriented LZ77 codec that trades compression ratio for
+ * speed, so compressing and decompressing is typically faster than reading the uncompressed data from disk.<br>
+ * Output of {@link #compress(byte[], int, int, byte[], int)} is a single LZ4 block, without frame headers or checksums;
+ * length of uncompressed data has to be stored separately, and passed to {@link #decompress(byte[], int, int, byte[], int, int)}.<br>
+ * For numeric arrays, compression ratio is usually much better if data is byte shuffled first, see {@link ByteShuffle}.
+ */
+public class Lz4BlockCodec {
+    /**
+     * Max length of data that can be compressed as single block, so that compressed data still fits into byte array
+     */
+    public static final int MAX_INPUT_SIZE = 0x7E000000;
+
+    private static final int MIN_MATCH = 4;
+    private static final int LAST_LITERALS = 5;
+    private static final int MF_LIMIT = 12;
+    private static final int MAX_DISTANCE = 65535;
+    private static final int HASH_LOG = 16;
+    private static final int SKIP_TRIGGER = 6;
+    private static final int RUN_MASK = 15;
+
+    private static final ThreadLocal<int[]> HASH_TABLE = new ThreadLocal<>();
+
+    private Lz4BlockCodec() {
+    }
+
+    /**
+     * This method returns max length of compressed data for input of the given length
+     *
+     * @param length length of uncompressed data, in bytes
+     * @return
+     */
+    public static int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+
+    /**
+     * This method compresses src bytes into dst array
+     *
+     * @param src    source array
+     * @param srcOff offset of the first byte to compress
+     * @param srcLen number of bytes to compress
+     * @param dst    destination array, should have at least {@link #maxCompressedLength(int)} bytes available after dstOff
+     * @param dstOff offset of the first compressed byte
+     * @return number of bytes written to dst
+     */
+    public static int compress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff) {
+        int[] table = HASH_TABLE.get();
+        if (table == null) {
+            table = new int[1 << HASH_LOG];
+            HASH_TABLE.set(table);
+        }
+        Arrays.fill(table, -1);
+
+        int srcEnd = srcOff + srcLen;
+        int mfLimit = srcEnd - MF_LIMIT;
+        int matchLimit = srcEnd - LAST_LITERALS;
+
+        int sOff = srcOff + 1;
+        int anchor = srcOff;
+        int dOff = dstOff;
+
+        if (srcLen > MF_LIMIT) {
+            int searches = 1 << SKIP_TRIGGER;
+            while (sOff < mfLimit) {
+                int h = hash(readInt(src, sOff));
+                int ref = table[h];
+                table[h] = sOff;
+
+                if (ref < 0 || sOff - ref > MAX_DISTANCE || readInt(src, ref) != readInt(src, sOff)) {
+                    // the longer we don't find matches, the faster we skip incompressible data
+                    sOff += searches++ >>> SKIP_TRIGGER;
+                    continue;
+                }
+                searches = 1 << SKIP_TRIGGER;
+
+                // extend match backwards, into pending literals
+                while (sOff > anchor && ref > srcOff && src[sOff - 1] == src[ref - 1]) {
+                    sOff--;
+                    ref--;
+                }
+
+                int matchLen = MIN_MATCH;
+                while (sOff + matchLen < matchLimit && src[sOff + matchLen] == src[ref + matchLen])
+                    matchLen++;
+
+                dOff = writeSequence(src, anchor, sOff - anchor, sOff - ref, matchLen, dst, dOff);
+                sOff += matchLen;
+                anchor = sOff;
+
+                if (sOff < mfLimit)
+                    table[hash(readInt(src, sOff - 2))] = sOff - 2;
+            }
+        }
+
+        // last literals
+        int litLen = srcEnd - anchor;
+        int token = dOff++;
+        if (litLen >= RUN_MASK) {
+            dst[token] = (byte) (RUN_MASK << 4);
+            dOff = writeLength(litLen - RUN_MASK, dst, dOff);
+        } else {
+            dst[token] = (byte) (litLen << 4);
+        }
+        System.arraycopy(src, anchor, dst, dOff, litLen);
+        dOff += litLen;
+
+        return dOff - dstOff;
+    }
+
+    /**
+     * This method decompresses single LZ4 block into dst array
+     *
+     * @param src    compressed data
+     * @param srcOff offset of the first compressed byte
+     * @param srcLen length of compressed data
+     * @param dst    destination array
+     * @param dstOff offset of the first decompressed byte
+     * @param dstLen expected length of decompressed data
+     * @return number of bytes written to dst
+     */
+    public static int decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) {
+        return decompress(ByteBuffer.wrap(src), srcOff, srcLen, ByteBuffer.wrap(dst), dstOff, dstLen);
+    }
+
+    /**
+     * This method decompresses single LZ4 block into dst buffer. Both buffers may be direct, so data can be decompressed
+     * from off-heap memory straight into off-heap memory. Only absolute get/put methods are used, so position and
+     * limit of both buffers are left intact
+     *
+     * @param src    compressed data
+     * @param srcOff offset of the first compressed byte
+     * @param srcLen length of compressed data
+     * @param dst    destination buffer
+     * @param dstOff offset of the first decompressed byte
+     * @param dstLen expected length of decompressed data
+     * @return number of bytes written to dst
+     */
+    public static int decompress(ByteBuffer src, int srcOff, int srcLen, ByteBuffer dst, int dstOff, int dstLen) {
+        int sOff = srcOff;
+        int sEnd = srcOff + srcLen;
+        int dOff = dstOff;
+        int dEnd = dstOff + dstLen;
+
+        while (sOff < sEnd) {
+            int token = src.get(sOff++) & 0xFF;
+
+            int litLen = token >>> 4;
+            if (litLen == RUN_MASK) {
+                int b;
+                do {
+                    if (sOff >= sEnd)
+                        throw new ND4JIllegalStateException("Malformed LZ4 block: unexpected end of input at " + sOff);
+                    b = src.get(sOff++) & 0xFF;
+                    litLen += b;
+                } while (b == 255);
+            }
+
+            if (litLen > sEnd - sOff || litLen > dEnd - dOff)
+                throw new ND4JIllegalStateException("Malformed LZ4 block: literals out of bounds at " + sOff);
+            copy(src, sOff, dst, dOff, litLen);
+            sOff += litLen;
+            dOff += litLen;
+
+            // last sequence has literals only
+            if (sOff >= sEnd)
+                break;
+
+            if (sEnd - sOff < 2)
+                throw new ND4JIllegalStateException("Malformed LZ4 block: unexpected end of input at " + sOff);
+            int offset = (src.get(sOff++) & 0xFF) | ((src.get(sOff++) & 0xFF) << 8);
+            if (offset == 0 || offset > dOff - dstOff)
+                throw new ND4JIllegalStateException("Malformed LZ4 block: invalid match offset " + offset);
+
+            int matchLen = token & RUN_MASK;
+            if (matchLen == RUN_MASK) {
+                int b;
+                do {
+                    if (sOff >= sEnd)
+                        throw new ND4JIllegalStateException("Malformed LZ4 block: unexpected end of input at " + sOff);
+                    b = src.get(sOff++) & 0xFF;
+                    matchLen += b;
+                } while (b == 255);
+            }
+            matchLen += MIN_MATCH;
+
+            if (matchLen > dEnd - dOff)
+                throw new ND4JIllegalStateException("Malformed LZ4 block: match out of bounds at " + sOff);
+
+            int ref = dOff - offset;
+            if (offset >= matchLen) {
+                copy(dst, ref, dst, dOff, matchLen);
+            } else {
+                // overlapping match: bytes are repeated with period of offset
+                for (int i = 0; i < matchLen; i++)
+                    dst.put(dOff + i, dst.get(ref + i));
+            }
+            dOff += matchLen;
+        }
+
+        if (dOff != dEnd)
+            throw new ND4JIllegalStateException("Malformed LZ4 block: expected " + dstLen + " bytes, got " + (dOff - dstOff));
+
+        return dOff - dstOff;
+    }
+
+    private static void copy(ByteBuffer src, int srcOff, ByteBuffer dst, int dstOff, int length) {
+        if (src.hasArray() && dst.hasArray()) {
+            System.arraycopy(src.array(), src.arrayOffset() + srcOff, dst.array(), dst.arrayOffset() + dstOff, length);
+            return;
+        }
+
+        // bulk put, without touching position and limit of the original buffers
+        ByteBuffer from = src.duplicate();
+        from.limit(srcOff + length).position(srcOff);
+        ByteBuffer to = dst.duplicate();
+        to.position(dstOff);
+        to.put(from);
+    }
+
+    private static int writeSequence(byte[] src, int litOff, int litLen, int offset, int matchLen, byte[] dst, int dOff) {
+        int token = dOff++;
+        int t;
+        if (litLen >= RUN_MASK) {
+            t = RUN_MASK << 4;
+            dOff = writeLength(litLen - RUN_MASK, dst, dOff);
+        } else {
+            t = litLen << 4;
+        }
+
+        System.arraycopy(src, litOff, dst, dOff, litLen);
+        dOff += litLen;
+
+        dst[dOff++] = (byte) offset;
+        dst[dOff++] = (byte) (offset >>> 8);
+
+        int ml = matchLen - MIN_MATCH;
+        if (ml >= RUN_MASK) {
+            t |= RUN_MASK;
+            dOff = writeLength(ml - RUN_MASK, dst, dOff);
+        } else {
+            t |= ml;
+        }
+        dst[token] = (byte) t;
+
+        return dOff;
+    }
+
+    private static int writeLength(int length, byte[] dst, int dOff) {
+        while (length >= 255) {
+            dst[dOff++] = (byte) 255;
+            length -= 255;
+        }
+        dst[dOff++] = (byte) length;
+        return dOff;
+    }
+
+    private static int readInt(byte[] buf, int i) {
+        return (buf[i] & 0xFF) | ((buf[i + 1] & 0xFF) << 8) | ((buf[i + 2] & 0xFF) << 16) | ((buf[i + 3] & 0xFF) << 24);
+    }
+
+    private static int hash(int value) {
+        return (value * -1640531535) >>> (32 - HASH_LOG);
+    }
+}
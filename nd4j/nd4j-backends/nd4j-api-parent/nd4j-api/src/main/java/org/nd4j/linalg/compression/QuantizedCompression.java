@@ -0,0 +1,166 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.nd4j.linalg.compression;
+
+import lombok.NonNull;
+import org.nd4j.common.base.Preconditions;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Stochastic quantization of dense updates (as in QSGD), used as an alternative to threshold encoding for gradients sharing.<br>
+ * Updates are split into buckets of fixed size, and each value is stochastically rounded to one of {@code 2^(bits-1)-1}
+ * levels between 0 and the max absolute value within its bucket, so each quantized value is an unbiased estimate of the
+ * original one. Quantized values are subtracted from the updates array, so whatever wasn't sent stays there as residual,
+ * the same way as with threshold encoding.<br>
+ * <br>
+ * Encoded updates are stored as INT32 array: 4 header values (number of elements, bucket size, bits per value, and
+ * {@link ThresholdCompression#QUANTIZED_ENCODING}), then one float scale per bucket, and then values packed into ints.
+ */
+public class QuantizedCompression {
+    public static final int HEADER_LENGTH = 4;
+    public static final int DEFAULT_BITS = 8;
+    public static final int DEFAULT_BUCKET_SIZE = 512;
+
+    private QuantizedCompression() {
+    }
+
+    /**
+     * This method returns length (in ints) of encoded updates array
+     *
+     * @param length     number of elements in updates array
+     * @param bits       bits per value
+     * @param bucketSize number of elements per bucket
+     * @return
+     */
+    public static long encodedLength(long length, int bits, int bucketSize) {
+        int perInt = 32 / bits;
+        return HEADER_LENGTH + (length + bucketSize - 1) / bucketSize + (length + perInt - 1) / perInt;
+    }
+
+    /**
+     * This method quantizes updates, and subtracts quantized values from updates array
+     *
+     * @param updates    updates to encode. Quantized values are subtracted from this array
+     * @param bits       bits per value: 2, 4 or 8
+     * @param bucketSize number of elements sharing the same scale
+     * @return encoded updates, or null if all updates are zero
+     */
+    public static INDArray encode(@NonNull INDArray updates, int bits, int bucketSize) {
+        Preconditions.checkArgument(bits == 2 || bits == 4 || bits == 8, "Number of bits per value should be 2, 4 or 8, got %s", bits);
+        Preconditions.checkArgument(bucketSize > 0, "Bucket size should be positive, got %s", bucketSize);
+        Preconditions.checkArgument(encodedLength(updates.length(), bits, bucketSize) <= Integer.MAX_VALUE,
+                "Array of length %s is too large for quantized encoding", updates.length());
+
+        float[] values = updates.reshape('c', updates.length()).toFloatVector();
+        int length = values.length;
+        int numBuckets = (length + bucketSize - 1) / bucketSize;
+        int perInt = 32 / bits;
+        int levels = (1 << (bits - 1)) - 1;
+        int mask = (1 << bits) - 1;
+
+        int[] encoded = new int[(int) encodedLength(length, bits, bucketSize)];
+        encoded[0] = length;
+        encoded[1] = bucketSize;
+        encoded[2] = bits;
+        encoded[3] = ThresholdCompression.QUANTIZED_ENCODING;
+
+        Random rng = ThreadLocalRandom.current();
+        int dataOffset = HEADER_LENGTH + numBuckets;
+        boolean hasValues = false;
+        for (int b = 0; b < numBuckets; b++) {
+            int start = b * bucketSize;
+            int end = Math.min(length, start + bucketSize);
+
+            float max = 0.0f;
+            for (int i = start; i < end; i++)
+                max = Math.max(max, Math.abs(values[i]));
+
+            encoded[HEADER_LENGTH + b] = Float.floatToIntBits(max);
+            if (max == 0.0f)
+                continue;
+
+            hasValues = true;
+            float step = max / levels;
+            for (int i = start; i < end; i++) {
+                // stochastic rounding: rounded up with probability equal to the fractional part
+                float r = values[i] / step;
+                float floor = (float) Math.floor(r);
+                int q = (int) floor + (rng.nextFloat() < r - floor ? 1 : 0);
+                q = Math.max(-levels, Math.min(levels, q));
+
+                // from here values array holds quantized values, to be subtracted from updates
+                values[i] = q * step;
+                encoded[dataOffset + i / perInt] |= (q & mask) << ((i % perInt) * bits);
+            }
+        }
+
+        if (!hasValues)
+            return null;
+
+        updates.subi(Nd4j.createFromArray(values).reshape('c', updates.shape()).castTo(updates.dataType()));
+        return Nd4j.createFromArray(encoded);
+    }
+
+    /**
+     * This method decodes quantized updates, and adds them to the target array
+     *
+     * @param encoded encoded updates, as returned by {@link #encode(INDArray, int, int)}
+     * @param target  array to add decoded updates to
+     * @return target array
+     */
+    public static INDArray decode(@NonNull INDArray encoded, @NonNull INDArray target) {
+        int[] data = encoded.reshape(encoded.length()).toIntVector();
+        Preconditions.checkArgument(data.length >= HEADER_LENGTH && data[3] == ThresholdCompression.QUANTIZED_ENCODING,
+                "Encoded array doesn't contain quantized updates");
+
+        int length = data[0];
+        int bucketSize = data[1];
+        int bits = data[2];
+        Preconditions.checkArgument(target.length() == length, "Target array has length %s, but encoded updates have length %s", target.length(), length);
+
+        int numBuckets = (length + bucketSize - 1) / bucketSize;
+        int perInt = 32 / bits;
+        int levels = (1 << (bits - 1)) - 1;
+        int shift = 32 - bits;
+        int dataOffset = HEADER_LENGTH + numBuckets;
+
+        float[] values = new float[length];
+        for (int b = 0; b < numBuckets; b++) {
+            float step = Float.intBitsToFloat(data[HEADER_LENGTH + b]) / levels;
+            if (step == 0.0f)
+                continue;
+
+            int end = Math.min(length, (b + 1) * bucketSize);
+            for (int i = b * bucketSize; i < end; i++) {
+                // sign extension of packed value
+                int q = (data[dataOffset + i / perInt] >>> ((i % perInt) * bits)) << shift >> shift;
+                values[i] = q * step;
+            }
+        }
+
+        target.addi(Nd4j.createFromArray(values).reshape('c', target.shape()).castTo(target.dataType()));
+        return target;
+    }
+}
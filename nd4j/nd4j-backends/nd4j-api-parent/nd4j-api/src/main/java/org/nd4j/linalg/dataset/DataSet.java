@@ -247,17 +247,17 @@ public class DataSet implements org.nd4j.linalg.dataset.api.DataSet {
             boolean hasLabelsMask = (included & BITMASK_LABELS_MASK_PRESENT) != 0;
             boolean hasMetaData = (included & BITMASK_METADATA_PRESET) != 0;
 
-            features = (hasFeatures ? Nd4j.read(dis) : null);
+            features = (hasFeatures ? Nd4j.read(dis, true) : null);
             if (hasLabels) {
-                labels = Nd4j.read(dis);
+                labels = Nd4j.read(dis, true);
             } else if (hasLabelsSameAsFeatures) {
                 labels = features;
             } else {
                 labels = null;
             }
 
-            featuresMask = (hasFeaturesMask ? Nd4j.read(dis) : null);
-            labelsMask = (hasLabelsMask ? Nd4j.read(dis) : null);
+            featuresMask = (hasFeaturesMask ? Nd4j.read(dis, true) : null);
+            labelsMask = (hasLabelsMask ? Nd4j.read(dis, true) : null);
 
             if(hasMetaData){
                 ObjectInputStream ois = new ObjectInputStream(dis);
@@ -283,6 +283,18 @@ public class DataSet implements org.nd4j.linalg.dataset.api.DataSet {
 
     @Override
     public void save(OutputStream to) {
+        save(to, null);
+    }
+
+    /**
+     * Save this DataSet to the output stream, with arrays compressed using the specified compression algorithm.
+     * DataSets saved this way are decompressed by {@link #load(InputStream)}
+     *
+     * @param to                   the output stream to write to
+     * @param compressionAlgorithm name of the lossless compression algorithm (such as "SHUFFLE_LZ4"), or null to save
+     *                             arrays uncompressed
+     */
+    public void save(OutputStream to, String compressionAlgorithm) {
 
         byte included = 0;
         if (features != null)
@@ -309,13 +321,13 @@ public class DataSet implements org.nd4j.linalg.dataset.api.DataSet {
             dos.writeByte(included);
 
             if (features != null)
-                Nd4j.write(features, dos);
+                Nd4j.write(features, dos, compressionAlgorithm);
             if (labels != null && labels != features)
-                Nd4j.write(labels, dos);
+                Nd4j.write(labels, dos, compressionAlgorithm);
             if (featuresMask != null)
-                Nd4j.write(featuresMask, dos);
+                Nd4j.write(featuresMask, dos, compressionAlgorithm);
             if (labelsMask != null)
-                Nd4j.write(labelsMask, dos);
+                Nd4j.write(labelsMask, dos, compressionAlgorithm);
             if(exampleMetaData != null && exampleMetaData.size() > 0){
                 ObjectOutputStream oos = new ObjectOutputStream(bos);
                 oos.writeObject(exampleMetaData);
@@ -332,9 +344,17 @@ public class DataSet implements org.nd4j.linalg.dataset.api.DataSet {
 
     @Override
     public void save(File to) {
+        save(to, null);
+    }
+
+    /**
+     * Save this DataSet to the file, with arrays compressed using the specified compression algorithm.
+     * See {@link #save(OutputStream, String)}
+     */
+    public void save(File to, String compressionAlgorithm) {
         try (FileOutputStream fos = new FileOutputStream(to, false);
                         BufferedOutputStream bos = new BufferedOutputStream(fos)) {
-            save(bos);
+            save(bos, compressionAlgorithm);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -232,6 +232,18 @@ public class MultiDataSet implements org.nd4j.linalg.dataset.api.MultiDataSet {
 
     @Override
     public void save(OutputStream to) throws IOException {
+        save(to, null);
+    }
+
+    /**
+     * Save this MultiDataSet to the output stream, with arrays compressed using the specified compression algorithm.
+     * MultiDataSets saved this way are decompressed by {@link #load(InputStream)}
+     *
+     * @param to                   the output stream to write to
+     * @param compressionAlgorithm name of the lossless compression algorithm (such as "SHUFFLE_LZ4"), or null to save
+     *                             arrays uncompressed
+     */
+    public void save(OutputStream to, String compressionAlgorithm) throws IOException {
         int numFArr = (features == null ? 0 : features.length);
         int numLArr = (labels == null ? 0 : labels.length);
         int numFMArr = (featuresMaskArrays == null ? 0 : featuresMaskArrays.length);
@@ -243,10 +255,10 @@ public class MultiDataSet implements org.nd4j.linalg.dataset.api.MultiDataSet {
             dos.writeInt(numFMArr);
             dos.writeInt(numLMArr);
 
-            saveINDArrays(features, dos, false);
-            saveINDArrays(labels, dos, false);
-            saveINDArrays(featuresMaskArrays, dos, true);
-            saveINDArrays(labelsMaskArrays, dos, true);
+            saveINDArrays(features, dos, false, compressionAlgorithm);
+            saveINDArrays(labels, dos, false, compressionAlgorithm);
+            saveINDArrays(featuresMaskArrays, dos, true, compressionAlgorithm);
+            saveINDArrays(labelsMaskArrays, dos, true, compressionAlgorithm);
 
             if(exampleMetaData != null && exampleMetaData.size() > 0){
                 dos.writeInt(1);
@@ -257,7 +269,7 @@ public class MultiDataSet implements org.nd4j.linalg.dataset.api.MultiDataSet {
         }
     }
 
-    private void saveINDArrays(INDArray[] arrays, DataOutputStream dos, boolean isMask) throws IOException {
+    private void saveINDArrays(INDArray[] arrays, DataOutputStream dos, boolean isMask, String compressionAlgorithm) throws IOException {
         if (arrays != null && arrays.length > 0) {
             for (INDArray fm : arrays) {
                 if (isMask && fm == null) {
@@ -267,8 +279,11 @@ public class MultiDataSet implements org.nd4j.linalg.dataset.api.MultiDataSet {
                         temp = EMPTY_MASK_ARRAY_PLACEHOLDER.get();
                     }
                     fm = temp;
+                    // placeholder is compared after loading, so it's always stored as is
+                    Nd4j.write(fm, dos);
+                } else {
+                    Nd4j.write(fm, dos, compressionAlgorithm);
                 }
-                Nd4j.write(fm, dos);
             }
         }
     }
@@ -278,6 +293,14 @@ public class MultiDataSet implements org.nd4j.linalg.dataset.api.MultiDataSet {
         save(new FileOutputStream(to));
     }
 
+    /**
+     * Save this MultiDataSet to the file, with arrays compressed using the specified compression algorithm.
+     * See {@link #save(OutputStream, String)}
+     */
+    public void save(File to, String compressionAlgorithm) throws IOException {
+        save(new FileOutputStream(to), compressionAlgorithm);
+    }
+
     @Override
     public void load(InputStream from) throws IOException {
         try (DataInputStream dis = new DataInputStream(new BufferedInputStream(from))) {
@@ -314,7 +337,7 @@ public class MultiDataSet implements org.nd4j.linalg.dataset.api.MultiDataSet {
         if (numArrays > 0) {
             result = new INDArray[numArrays];
             for (int i = 0; i < numArrays; i++) {
-                INDArray arr = Nd4j.read(dis);
+                INDArray arr = Nd4j.read(dis, true);
                 result[i] = isMask && arr.equals(EMPTY_MASK_ARRAY_PLACEHOLDER.get()) ? null : arr;
             }
         }
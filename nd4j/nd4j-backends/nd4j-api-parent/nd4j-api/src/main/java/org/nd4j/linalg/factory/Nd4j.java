@@ -2593,6 +2593,37 @@ public class Nd4j {
         return createArrayFromShapeBuffer(data, shapeInformation);
     }
 
+    /**
+     * Read in an ndarray from a data input stream, optionally decompressing it
+     *
+     * @param dis        the data input stream to read from
+     * @param decompress if true, arrays written in compressed form (see {@link #write(INDArray, DataOutputStream, String)})
+     *                   are decompressed after reading. Otherwise compressed arrays are returned as is
+     * @return the ndarray
+     */
+    public static INDArray read(DataInputStream dis, boolean decompress) {
+        INDArray arr = read(dis);
+        if (decompress && arr.isCompressed())
+            getCompressor().decompressi(arr);
+        return arr;
+    }
+
+    /**
+     * Write an ndarray to the specified outputstream, compressed with the specified compression algorithm.
+     * Arrays written this way can be read with {@link #read(DataInputStream, boolean)}
+     *
+     * @param arr                  the array to write
+     * @param dataOutputStream     the data output stream to write to
+     * @param compressionAlgorithm name of the compression algorithm, such as "LZ4" or "SHUFFLE_LZ4" (see
+     *                             {@link org.nd4j.linalg.compression.CompressionAlgorithm}). If null, array is written uncompressed
+     */
+    public static void write(INDArray arr, DataOutputStream dataOutputStream, String compressionAlgorithm) throws IOException {
+        if (compressionAlgorithm != null && !arr.isCompressed() && !arr.isEmpty())
+            arr = getCompressor().compress(arr, compressionAlgorithm);
+
+        write(arr, dataOutputStream);
+    }
+
     /**
      * Write an ndarray to the specified outputstream
      *
@@ -2625,14 +2656,26 @@ public class Nd4j {
     }
 
     /**
-     * Read a binary ndarray from the given file
+     * Save an ndarray to the given file, compressed with the specified compression algorithm
+     * @param arr the array to save
+     * @param saveTo the file to save to
+     * @param compressionAlgorithm name of the compression algorithm, or null to save the array uncompressed
+     */
+    public static void saveBinary(INDArray arr, File saveTo, String compressionAlgorithm) throws IOException {
+        try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(saveTo)))) {
+            Nd4j.write(arr, dos, compressionAlgorithm);
+        }
+    }
+
+    /**
+     * Read a binary ndarray from the given file. Arrays saved in compressed form are decompressed
      * @param read the nd array to read
      * @return the loaded ndarray
      */
     public static INDArray readBinary(File read) throws IOException {
         BufferedInputStream bis = new BufferedInputStream(new FileInputStream(read));
         DataInputStream dis = new DataInputStream(bis);
-        INDArray ret = Nd4j.read(dis);
+        INDArray ret = Nd4j.read(dis, true);
         dis.close();
         return ret;
     }
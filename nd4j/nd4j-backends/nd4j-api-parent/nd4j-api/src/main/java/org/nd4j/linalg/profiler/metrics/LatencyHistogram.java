@@ -0,0 +1,135 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.nd4j.linalg.profiler.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free, allocation-free histogram of non-negative long values (such as latencies in nanoseconds), in the style of
+ * HdrHistogram: each power of two range is split into {@link #SUB_BUCKETS} linear sub-buckets, so values are recorded
+ * with a relative error of at most 25% regardless of magnitude, using a fixed 252 counters.
+ */
+public class LatencyHistogram {
+    public static final int SUB_BUCKET_BITS = 2;
+    public static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    public static final int NUM_BUCKETS = SUB_BUCKETS * (64 - SUB_BUCKET_BITS + 1);
+
+    private final AtomicLongArray counts = new AtomicLongArray(NUM_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * @return Index of the bucket the specified value is recorded in
+     */
+    public static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) Math.max(0, value);
+        int exp = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exp - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS * (exp - SUB_BUCKET_BITS + 1) + sub;
+    }
+
+    /**
+     * @return Smallest value recorded in the specified bucket
+     */
+    public static long bucketLowerBound(int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+        int exp = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = index % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + sub) << (exp - SUB_BUCKET_BITS);
+    }
+
+    /**
+     * @return Largest value recorded in the specified bucket
+     */
+    public static long bucketUpperBound(int index) {
+        return index == NUM_BUCKETS - 1 ? Long.MAX_VALUE : bucketLowerBound(index + 1) - 1;
+    }
+
+    public void record(long value) {
+        if (value < 0)
+            value = 0;
+        counts.incrementAndGet(bucketIndex(value));
+        count.increment();
+        sum.add(value);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public double getMean() {
+        long c = getCount();
+        return c == 0 ? 0.0 : getSum() / (double) c;
+    }
+
+    /**
+     * @return Number of recorded values less than or equal to the specified value. Exact when value + 1 is a power
+     * of two, otherwise an approximation within the bucket containing the value
+     */
+    public long getCountAtOrBelow(long value) {
+        if (value < 0)
+            return 0;
+        int idx = bucketIndex(value);
+        long c = 0;
+        for (int i = 0; i < idx; i++) {
+            c += counts.get(i);
+        }
+        if (bucketUpperBound(idx) == value)
+            c += counts.get(idx);
+        return c;
+    }
+
+    /**
+     * @param quantile Quantile, between 0.0 and 1.0
+     * @return Approximate value at the specified quantile (the upper bound of the bucket containing the quantile),
+     * or 0 if no values have been recorded
+     */
+    public long getValueAtQuantile(double quantile) {
+        long total = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0)
+            return 0;
+        long target = Math.max(1, (long) Math.ceil(Math.min(1.0, Math.max(0.0, quantile)) * total));
+        long c = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            c += counts.get(i);
+            if (c >= target)
+                return bucketUpperBound(i);
+        }
+        return bucketUpperBound(NUM_BUCKETS - 1);
+    }
+
+    public void reset() {
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+    }
+}
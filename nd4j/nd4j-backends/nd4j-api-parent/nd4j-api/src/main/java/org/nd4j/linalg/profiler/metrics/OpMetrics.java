@@ -0,0 +1,402 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.nd4j.linalg.profiler.metrics;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.nd4j.common.config.ND4JSystemProperties;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.CustomOp;
+import org.nd4j.linalg.api.ops.Op;
+import org.nd4j.linalg.api.ops.OpContext;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Low overhead, always-on metrics for op execution: per-op call counts, latency histograms, bytes of input/output
+ * arrays and (for matrix multiplication) floating point operations.<br>
+ * Unlike {@link org.nd4j.linalg.profiler.OpProfiler}, which is a debugging tool, this is intended to be enabled in
+ * production: recording is lock-free and does not allocate once an op type has been seen. Every call is counted, but
+ * latency, bytes and FLOPs are only recorded for a random sample of 1 in {@link #getSampleRate()} calls.<br>
+ * Metrics can be exported in the Prometheus text exposition format via {@link #toPrometheus()}, or via JMX after
+ * calling {@link #registerMBean()}.<br>
+ * Configured using the {@link ND4JSystemProperties#OP_METRICS_ENABLED} and {@link ND4JSystemProperties#OP_METRICS_SAMPLE_RATE}
+ * system properties.
+ */
+@Slf4j
+public class OpMetrics implements OpMetricsMXBean {
+    public static final String OBJECT_NAME = "org.nd4j:type=OpMetrics";
+    public static final int DEFAULT_SAMPLE_RATE = 100;
+
+    /**
+     * Latency histogram bucket boundaries (in nanoseconds) used for the Prometheus export: powers of 4 from ~1
+     * microsecond to ~69 seconds
+     */
+    protected static final long[] PROMETHEUS_BUCKETS_NANOS = new long[14];
+    static {
+        for (int i = 0; i < PROMETHEUS_BUCKETS_NANOS.length; i++) {
+            PROMETHEUS_BUCKETS_NANOS[i] = 1L << (10 + 2 * i);
+        }
+    }
+
+    private static final OpMetrics INSTANCE = new OpMetrics();
+
+    private final Map<String, OpStats> stats = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+    @Getter
+    private volatile int sampleRate;
+
+    protected OpMetrics() {
+        enabled = Boolean.parseBoolean(System.getProperty(ND4JSystemProperties.OP_METRICS_ENABLED, "true"));
+        int rate = DEFAULT_SAMPLE_RATE;
+        String s = System.getProperty(ND4JSystemProperties.OP_METRICS_SAMPLE_RATE);
+        if (s != null) {
+            try {
+                rate = Integer.parseInt(s);
+            } catch (NumberFormatException e) {
+                log.warn("Invalid value for system property {}: \"{}\", using default of {}",
+                        ND4JSystemProperties.OP_METRICS_SAMPLE_RATE, s, DEFAULT_SAMPLE_RATE);
+            }
+        }
+        setSampleRate(rate);
+    }
+
+    public static OpMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @param sampleRate Record latency, bytes and FLOPs for 1 in sampleRate calls on average. Values less than 1
+     *                   are treated as 1 (record all calls)
+     */
+    @Override
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+
+    /**
+     * Record a call to a legacy (non-custom) op, after execution has completed
+     *
+     * @param op         Op that was executed
+     * @param oc         Op context used for execution. May be null
+     * @param startNanos Value of {@link System#nanoTime()} before execution
+     */
+    public void record(Op op, OpContext oc, long startNanos) {
+        if (!enabled)
+            return;
+        OpStats s = statsFor(op.opName(), op);
+        s.recordCall();
+        if (!sample())
+            return;
+        long nanos = System.nanoTime() - startNanos;
+        long b;
+        if (oc != null) {
+            b = bytes(oc.getInputArrays()) + bytes(oc.getOutputArrays());
+        } else {
+            b = bytes(op.x()) + bytes(op.y()) + bytes(op.z());
+        }
+        s.recordSample(nanos, b, 0);
+    }
+
+    /**
+     * Record a call to a custom op, after execution has completed
+     *
+     * @param op         Op that was executed
+     * @param oc         Op context used for execution. May be null
+     * @param startNanos Value of {@link System#nanoTime()} before execution
+     */
+    public void record(CustomOp op, OpContext oc, long startNanos) {
+        if (!enabled)
+            return;
+        String name = op.opName();
+        OpStats s = statsFor(name, op);
+        s.recordCall();
+        if (!sample())
+            return;
+        long nanos = System.nanoTime() - startNanos;
+        List<INDArray> in = oc != null ? oc.getInputArrays() : op.inputArguments();
+        List<INDArray> out = oc != null ? oc.getOutputArrays() : op.outputArguments();
+        long b = bytes(in) + bytes(out);
+
+        long flops = 0;
+        if ("matmul".equals(name) && in.size() >= 2 && !out.isEmpty()) {
+            boolean transposeA;
+            if (oc != null) {
+                transposeA = oc.numIArguments() > 0 && oc.getIArguments().get(0) != 0;
+            } else {
+                long[] iArgs = op.iArgs();
+                transposeA = iArgs != null && iArgs.length > 0 && iArgs[0] != 0;
+            }
+            flops = matmulFlops(in.get(0), out.get(0), transposeA);
+        }
+        s.recordSample(nanos, b, flops);
+    }
+
+    /**
+     * @return Number of floating point operations (2 * M * N * K) for a matrix multiplication with the specified
+     * first input and output
+     */
+    protected static long matmulFlops(INDArray a, INDArray z, boolean transposeA) {
+        if (a == null || z == null || a.rank() == 0)
+            return 0;
+        long k;
+        if (a.rank() == 1) {
+            k = a.length();
+        } else {
+            k = transposeA ? a.size(a.rank() - 2) : a.size(a.rank() - 1);
+        }
+        return 2L * z.length() * k;
+    }
+
+    protected boolean sample() {
+        int rate = sampleRate;
+        return rate <= 1 || ThreadLocalRandom.current().nextInt(rate) == 0;
+    }
+
+    protected static long bytes(INDArray arr) {
+        if (arr == null || arr.isEmpty())
+            return 0;
+        return arr.length() * arr.dataType().width();
+    }
+
+    protected static long bytes(List<INDArray> arrays) {
+        long b = 0;
+        for (int i = 0; i < arrays.size(); i++)
+            b += bytes(arrays.get(i));
+        return b;
+    }
+
+    protected OpStats statsFor(String name, Object op) {
+        if (name == null)
+            name = op.getClass().getSimpleName();
+        OpStats s = stats.get(name);
+        if (s == null) {
+            s = stats.computeIfAbsent(name, OpStats::new);
+        }
+        return s;
+    }
+
+    /**
+     * @return Metrics for the specified op, or null if no calls have been recorded for it
+     */
+    public OpStats getStats(String opName) {
+        return stats.get(opName);
+    }
+
+    /**
+     * @return Metrics for all ops with at least one recorded call, sorted by number of calls (descending)
+     */
+    public List<OpStats> getAllStats() {
+        List<OpStats> out = new ArrayList<>(stats.values());
+        out.sort((a, b) -> Long.compare(b.getCalls(), a.getCalls()));
+        return out;
+    }
+
+    @Override
+    public long getTotalCalls() {
+        long c = 0;
+        for (OpStats s : stats.values())
+            c += s.getCalls();
+        return c;
+    }
+
+    @Override
+    public Map<String, Long> getCalls() {
+        return longMap(OpStats::getCalls);
+    }
+
+    @Override
+    public Map<String, Long> getSampledCalls() {
+        return longMap(OpStats::getSampledCalls);
+    }
+
+    @Override
+    public Map<String, Double> getMeanLatencyMicros() {
+        return doubleMap(s -> s.getLatency().getMean() / 1000.0);
+    }
+
+    @Override
+    public Map<String, Double> getP99LatencyMicros() {
+        return doubleMap(s -> s.getLatency().getValueAtQuantile(0.99) / 1000.0);
+    }
+
+    @Override
+    public Map<String, Long> getBytes() {
+        return longMap(OpStats::getBytes);
+    }
+
+    @Override
+    public Map<String, Long> getFlops() {
+        return longMap(OpStats::getFlops);
+    }
+
+    private Map<String, Long> longMap(ToLongFunction<OpStats> fn) {
+        Map<String, Long> m = new TreeMap<>();
+        for (OpStats s : stats.values())
+            m.put(s.getOpName(), fn.applyAsLong(s));
+        return m;
+    }
+
+    private Map<String, Double> doubleMap(ToDoubleFunction<OpStats> fn) {
+        Map<String, Double> m = new TreeMap<>();
+        for (OpStats s : stats.values())
+            m.put(s.getOpName(), fn.applyAsDouble(s));
+        return m;
+    }
+
+    /**
+     * Remove all recorded metrics
+     */
+    @Override
+    public void reset() {
+        stats.clear();
+    }
+
+    /**
+     * @return All metrics in the Prometheus text exposition format (version 0.0.4)
+     */
+    public String toPrometheus() {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writePrometheus(sb);
+        } catch (IOException e) {
+            //Can't happen for StringBuilder
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Write all metrics in the Prometheus text exposition format (version 0.0.4)
+     *
+     * @param out Output to write to
+     */
+    public void writePrometheus(@NonNull Appendable out) throws IOException {
+        List<OpStats> all = new ArrayList<>(stats.values());
+        all.sort(Comparator.comparing(OpStats::getOpName));
+
+        out.append("# HELP nd4j_op_calls_total Number of op executions\n");
+        out.append("# TYPE nd4j_op_calls_total counter\n");
+        for (OpStats s : all)
+            sample(out, "nd4j_op_calls_total", s.getOpName(), null, Long.toString(s.getCalls()));
+
+        out.append("# HELP nd4j_op_sampled_calls_total Number of op executions for which latency, bytes and FLOPs were recorded\n");
+        out.append("# TYPE nd4j_op_sampled_calls_total counter\n");
+        for (OpStats s : all)
+            sample(out, "nd4j_op_sampled_calls_total", s.getOpName(), null, Long.toString(s.getSampledCalls()));
+
+        out.append("# HELP nd4j_op_bytes_total Bytes of op input and output arrays, for sampled executions\n");
+        out.append("# TYPE nd4j_op_bytes_total counter\n");
+        for (OpStats s : all)
+            sample(out, "nd4j_op_bytes_total", s.getOpName(), null, Long.toString(s.getBytes()));
+
+        out.append("# HELP nd4j_op_flops_total Floating point operations of matrix multiplication ops, for sampled executions\n");
+        out.append("# TYPE nd4j_op_flops_total counter\n");
+        for (OpStats s : all) {
+            if (s.getFlops() > 0)
+                sample(out, "nd4j_op_flops_total", s.getOpName(), null, Long.toString(s.getFlops()));
+        }
+
+        out.append("# HELP nd4j_op_latency_seconds Op execution latency, for sampled executions\n");
+        out.append("# TYPE nd4j_op_latency_seconds histogram\n");
+        for (OpStats s : all) {
+            LatencyHistogram h = s.getLatency();
+            for (long b : PROMETHEUS_BUCKETS_NANOS) {
+                sample(out, "nd4j_op_latency_seconds_bucket", s.getOpName(), Double.toString(b / 1e9),
+                        Long.toString(h.getCountAtOrBelow(b - 1)));
+            }
+            long count = h.getCount();
+            sample(out, "nd4j_op_latency_seconds_bucket", s.getOpName(), "+Inf", Long.toString(count));
+            sample(out, "nd4j_op_latency_seconds_sum", s.getOpName(), null, Double.toString(h.getSum() / 1e9));
+            sample(out, "nd4j_op_latency_seconds_count", s.getOpName(), null, Long.toString(count));
+        }
+    }
+
+    private static void sample(Appendable out, String metric, String op, String le, String value) throws IOException {
+        out.append(metric).append("{op=\"");
+        escapeLabel(out, op);
+        out.append('"');
+        if (le != null)
+            out.append(",le=\"").append(le).append('"');
+        out.append("} ").append(value).append('\n');
+    }
+
+    private static void escapeLabel(Appendable out, String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\\' || c == '"') {
+                out.append('\\').append(c);
+            } else if (c == '\n') {
+                out.append("\\n");
+            } else {
+                out.append(c);
+            }
+        }
+    }
+
+    /**
+     * Register this instance with the platform MBean server as {@link #OBJECT_NAME}, if not already registered
+     */
+    public void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name))
+                server.registerMBean(this, name);
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to register op metrics MBean", e);
+        }
+    }
+
+    /**
+     * Unregister this instance from the platform MBean server, if registered
+     */
+    public void unregisterMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name))
+                server.unregisterMBean(name);
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to unregister op metrics MBean", e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.nd4j.linalg.profiler.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link OpMetrics}. Per-op attributes are keyed by op name.
+ * Registered as {@link OpMetrics#OBJECT_NAME} by {@link OpMetrics#registerMBean()}
+ */
+public interface OpMetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    int getSampleRate();
+
+    void setSampleRate(int sampleRate);
+
+    long getTotalCalls();
+
+    Map<String, Long> getCalls();
+
+    Map<String, Long> getSampledCalls();
+
+    Map<String, Double> getMeanLatencyMicros();
+
+    Map<String, Double> getP99LatencyMicros();
+
+    Map<String, Long> getBytes();
+
+    Map<String, Long> getFlops();
+
+    void reset();
+}
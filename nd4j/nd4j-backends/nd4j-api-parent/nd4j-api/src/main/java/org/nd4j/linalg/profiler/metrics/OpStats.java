@@ -0,0 +1,99 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.nd4j.linalg.profiler.metrics;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics for a single op type, as recorded by {@link OpMetrics}.<br>
+ * The call count includes every call; latency, bytes and FLOPs are only recorded for sampled calls (see
+ * {@link #getSampledCalls()}). Totals for all calls can be estimated by scaling by calls / sampledCalls.
+ */
+public class OpStats {
+    @Getter
+    private final String opName;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder sampledCalls = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder flops = new LongAdder();
+    @Getter
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    public OpStats(String opName) {
+        this.opName = opName;
+    }
+
+    protected void recordCall() {
+        calls.increment();
+    }
+
+    protected void recordSample(long nanos, long bytes, long flops) {
+        sampledCalls.increment();
+        latency.record(nanos);
+        this.bytes.add(bytes);
+        if (flops > 0)
+            this.flops.add(flops);
+    }
+
+    /**
+     * @return Total number of calls
+     */
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * @return Number of calls for which latency, bytes and FLOPs were recorded
+     */
+    public long getSampledCalls() {
+        return sampledCalls.sum();
+    }
+
+    /**
+     * @return Total bytes of input and output arrays for sampled calls
+     */
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    /**
+     * @return Total floating point operations for sampled calls. Only recorded for matrix multiplication ops
+     */
+    public long getFlops() {
+        return flops.sum();
+    }
+
+    public void reset() {
+        calls.reset();
+        sampledCalls.reset();
+        bytes.reset();
+        flops.reset();
+        latency.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "OpStats(opName=" + opName + ", calls=" + getCalls() + ", sampledCalls=" + getSampledCalls() +
+                ", meanNanos=" + (long) latency.getMean() + ", p99Nanos=" + latency.getValueAtQuantile(0.99) +
+                ", bytes=" + getBytes() + ", flops=" + getFlops() + ")";
+    }
+}
@@ -183,6 +183,33 @@ public abstract class AbstractCompressor implements NDArrayCompressor {
         return Nd4j.createArrayFromShapeBuffer(buffer, shapeInfo);
     }
 
+    /**
+     * This method wraps host memory into DataBuffer of the matching data type, without copying it
+     *
+     * @param srcType    source data type
+     * @param srcPointer source memory
+     * @param length     number of elements
+     * @return
+     */
+    protected DataBuffer wrapPointer(DataTypeEx srcType, Pointer srcPointer, int length) {
+        DataType dataType;
+        switch (srcType) {
+            case FLOAT16:
+                dataType = DataType.HALF;
+                break;
+            case FLOAT:
+                dataType = DataType.FLOAT;
+                break;
+            case DOUBLE:
+                dataType = DataType.DOUBLE;
+                break;
+            default:
+                throw new UnsupportedOperationException("Unsupported source data type: " + srcType);
+        }
+
+        return Nd4j.createBuffer(srcPointer, length, dataType);
+    }
+
     protected abstract CompressedDataBuffer compressPointer(DataTypeEx srcType, Pointer srcPointer, int length,
                     int elementSize);
 }
@@ -0,0 +1,162 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.nd4j.compression.impl;
+
+import org.bytedeco.javacpp.BytePointer;
+import org.bytedeco.javacpp.Pointer;
+import org.nd4j.common.base.Preconditions;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.buffer.DataTypeEx;
+import org.nd4j.linalg.api.concurrency.AffinityManager;
+import org.nd4j.linalg.compression.CompressedDataBuffer;
+import org.nd4j.linalg.compression.CompressionDescriptor;
+import org.nd4j.linalg.compression.CompressionType;
+import org.nd4j.linalg.compression.Lz4BlockCodec;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Lossless compressor, that stores raw bytes of the buffer as single LZ4 block. See {@link Lz4BlockCodec} for details.<br>
+ * For floating point data, {@link ShuffleLz4} usually gives much better compression ratio at similar speed.
+ */
+public class Lz4 extends AbstractCompressor {
+
+    /**
+     * This method returns compression descriptor. It should be unique for any compressor implementation
+     *
+     * @return
+     */
+    @Override
+    public String getDescriptor() {
+        return "LZ4";
+    }
+
+    /**
+     * This method returns compression opType provided by specific NDArrayCompressor implementation
+     *
+     * @return
+     */
+    @Override
+    public CompressionType getCompressionType() {
+        return CompressionType.LOSSLESS;
+    }
+
+    @Override
+    public DataBuffer compress(DataBuffer buffer) {
+        long numBytes = buffer.length() * buffer.getElementSize();
+        Preconditions.checkArgument(numBytes <= Lz4BlockCodec.MAX_INPUT_SIZE, "Buffer is too large for %s compression: %s bytes, max %s bytes",
+                getDescriptor(), numBytes, Lz4BlockCodec.MAX_INPUT_SIZE);
+
+        byte[] raw = new byte[(int) numBytes];
+        new BytePointer(buffer.addressPointer()).position(0).capacity(numBytes).get(raw);
+
+        byte[] input = encode(raw, (int) buffer.length(), buffer.getElementSize());
+        byte[] output = new byte[Lz4BlockCodec.maxCompressedLength(input.length)];
+        int compressedLength = Lz4BlockCodec.compress(input, 0, input.length, output, 0);
+
+        BytePointer pointer = new BytePointer(compressedLength);
+        pointer.put(output, 0, compressedLength);
+
+        CompressionDescriptor descriptor = new CompressionDescriptor(buffer, this);
+        descriptor.setCompressedLength(compressedLength);
+
+        return new CompressedDataBuffer(pointer, descriptor);
+    }
+
+    @Override
+    public DataBuffer decompress(DataBuffer buffer, DataType dataType) {
+        CompressionDescriptor descriptor = ((CompressedDataBuffer) buffer).getCompressionDescriptor();
+
+        DataBuffer target = Nd4j.createBuffer(descriptor.getOriginalDataType(), descriptor.getNumberOfElements(), false);
+        decompress(buffer, target);
+
+        if (dataType == descriptor.getOriginalDataType())
+            return target;
+
+        return Nd4j.create(target, new long[]{descriptor.getNumberOfElements()}).castTo(dataType).data();
+    }
+
+    /**
+     * This method decompresses data directly into existing buffer, without intermediate allocations of DataBuffers
+     *
+     * @param buffer compressed buffer
+     * @param target buffer to decompress to. Should have the same data type and length as the original buffer
+     */
+    public void decompress(DataBuffer buffer, DataBuffer target) {
+        CompressionDescriptor descriptor = ((CompressedDataBuffer) buffer).getCompressionDescriptor();
+        Preconditions.checkArgument(target.dataType() == descriptor.getOriginalDataType() && target.length() == descriptor.getNumberOfElements(),
+                "Target buffer should have data type %s and length %s, got %s and %s", descriptor.getOriginalDataType(),
+                descriptor.getNumberOfElements(), target.dataType(), target.length());
+
+        // both buffers are host memory, so the block is decoded from compressed memory straight into the target memory
+        int numElements = (int) descriptor.getNumberOfElements();
+        int elementSize = (int) descriptor.getOriginalElementSize();
+        ByteBuffer compressed = new BytePointer(buffer.addressPointer()).position(0).capacity(descriptor.getCompressedLength()).asByteBuffer();
+        ByteBuffer raw = new BytePointer(target.addressPointer()).position(0).capacity((long) numElements * elementSize).asByteBuffer();
+        decode(compressed, raw, numElements, elementSize);
+
+        Nd4j.getAffinityManager().tagLocation(target, AffinityManager.Location.HOST);
+    }
+
+    /**
+     * This method transforms raw bytes before compression. No-op by default
+     *
+     * @param raw         raw bytes of the buffer
+     * @param numElements number of elements
+     * @param elementSize element size in bytes
+     * @return bytes to compress
+     */
+    protected byte[] encode(byte[] raw, int numElements, int elementSize) {
+        return raw;
+    }
+
+    /**
+     * This method returns length of data returned by {@link #encode(byte[], int, int)}
+     *
+     * @param numElements number of elements
+     * @param elementSize element size in bytes
+     * @return
+     */
+    protected int encodedLength(int numElements, int elementSize) {
+        return numElements * elementSize;
+    }
+
+    /**
+     * This method decompresses LZ4 block and reverses {@link #encode(byte[], int, int)}, writing raw bytes of the buffer
+     * to the target. By default LZ4 block is decompressed straight into the target
+     *
+     * @param compressed  compressed bytes
+     * @param target      raw bytes of the target buffer, numElements * elementSize bytes
+     * @param numElements number of elements
+     * @param elementSize element size in bytes
+     */
+    protected void decode(ByteBuffer compressed, ByteBuffer target, int numElements, int elementSize) {
+        Lz4BlockCodec.decompress(compressed, 0, compressed.limit(), target, 0, target.limit());
+    }
+
+    @Override
+    protected CompressedDataBuffer compressPointer(DataTypeEx srcType, Pointer srcPointer, int length,
+                                                   int elementSize) {
+        return (CompressedDataBuffer) compress(wrapPointer(srcType, srcPointer, length));
+    }
+}
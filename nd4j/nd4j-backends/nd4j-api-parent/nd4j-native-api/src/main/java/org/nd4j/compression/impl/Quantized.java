@@ -0,0 +1,132 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.nd4j.compression.impl;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.bytedeco.javacpp.IntPointer;
+import org.bytedeco.javacpp.Pointer;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.buffer.DataTypeEx;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.compression.CompressedDataBuffer;
+import org.nd4j.linalg.compression.CompressionDescriptor;
+import org.nd4j.linalg.compression.CompressionType;
+import org.nd4j.linalg.compression.QuantizedCompression;
+import org.nd4j.linalg.compression.ThresholdCompression;
+import org.nd4j.linalg.exception.ND4JIllegalStateException;
+import org.nd4j.linalg.factory.Nd4j;
+
+/**
+ * Lossy compressor, that stores each value with a few bits using stochastic quantization.
+ * See {@link QuantizedCompression} for details.
+ */
+@Slf4j
+public class Quantized extends AbstractCompressor {
+    @Getter protected int bits = QuantizedCompression.DEFAULT_BITS;
+    @Getter protected int bucketSize = QuantizedCompression.DEFAULT_BUCKET_SIZE;
+
+    /**
+     * This method returns compression descriptor. It should be unique for any compressor implementation
+     *
+     * @return
+     */
+    @Override
+    public String getDescriptor() {
+        return "QUANTIZED";
+    }
+
+    /**
+     * This method allows you to configure number of bits per value (2, 4 or 8), and optionally bucket size
+     *
+     * Default values: 8 bits, 512 elements per bucket
+     * @param vars
+     */
+    @Override
+    public void configure(Object... vars) {
+        if (vars.length < 1 || !(vars[0] instanceof Number))
+            throw new ND4JIllegalStateException("Number of bits should be Number");
+
+        int b = ((Number) vars[0]).intValue();
+        if (b != 2 && b != 4 && b != 8)
+            throw new ND4JIllegalStateException("Number of bits should be 2, 4 or 8, got " + b);
+        bits = b;
+
+        if (vars.length > 1) {
+            if (!(vars[1] instanceof Number) || ((Number) vars[1]).intValue() <= 0)
+                throw new ND4JIllegalStateException("Bucket size should be positive Number");
+            bucketSize = ((Number) vars[1]).intValue();
+        }
+
+        log.info("Setting quantization to [{}] bits, bucket size [{}]", bits, bucketSize);
+    }
+
+    @Override
+    public CompressionType getCompressionType() {
+        return CompressionType.LOSSY;
+    }
+
+    @Override
+    public DataBuffer decompress(DataBuffer buffer, DataType dataType) {
+        CompressedDataBuffer compressed = (CompressedDataBuffer) buffer;
+        CompressionDescriptor descriptor = compressed.getCompressionDescriptor();
+
+        int[] encoded = new int[(int) (descriptor.getCompressedLength() / 4)];
+        new IntPointer(compressed.addressPointer()).get(encoded);
+
+        INDArray result = Nd4j.create(dataType, descriptor.getNumberOfElements());
+        QuantizedCompression.decode(Nd4j.createFromArray(encoded), result);
+
+        return result.data();
+    }
+
+    @Override
+    public DataBuffer compress(DataBuffer buffer) {
+        // quantized values are subtracted from the input, so we're working on a copy
+        INDArray values = Nd4j.create(buffer, new long[]{buffer.length()}).dup();
+
+        INDArray encodedArray = QuantizedCompression.encode(values, bits, bucketSize);
+
+        int[] encoded;
+        if (encodedArray != null) {
+            encoded = encodedArray.toIntVector();
+        } else {
+            // all values are zero: header only, zero scales decode to zeros
+            encoded = new int[(int) QuantizedCompression.encodedLength(buffer.length(), bits, bucketSize)];
+            encoded[0] = (int) buffer.length();
+            encoded[1] = bucketSize;
+            encoded[2] = bits;
+            encoded[3] = ThresholdCompression.QUANTIZED_ENCODING;
+        }
+
+        CompressionDescriptor descriptor = new CompressionDescriptor(buffer, this);
+        descriptor.setCompressedLength(encoded.length * 4L);
+
+        return new CompressedDataBuffer(new IntPointer(encoded), descriptor);
+    }
+
+    @Override
+    protected CompressedDataBuffer compressPointer(DataTypeEx srcType, Pointer srcPointer, int length,
+                                                   int elementSize) {
+        return (CompressedDataBuffer) compress(wrapPointer(srcType, srcPointer, length));
+    }
+}
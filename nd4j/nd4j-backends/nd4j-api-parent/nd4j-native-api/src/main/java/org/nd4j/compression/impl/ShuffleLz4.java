@@ -0,0 +1,90 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.nd4j.compression.impl;
+
+import org.nd4j.linalg.compression.ByteShuffle;
+import org.nd4j.linalg.compression.Lz4BlockCodec;
+import org.nd4j.linalg.exception.ND4JIllegalStateException;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Lossless compressor for numeric data: bytes of elements are XOR delta encoded and byte shuffled (see {@link ByteShuffle})
+ * before LZ4 compression, and restored after decompression.<br>
+ * XOR delta helps for smooth data (i.e. sorted values, or features that change slowly within the minibatch), and can be
+ * disabled via {@link #configure(Object...)} for data without correlation between neighbouring elements.
+ */
+public class ShuffleLz4 extends Lz4 {
+    protected boolean xorDelta = true;
+
+    /**
+     * This method returns compression descriptor. It should be unique for any compressor implementation
+     *
+     * @return
+     */
+    @Override
+    public String getDescriptor() {
+        return "SHUFFLE_LZ4";
+    }
+
+    /**
+     * This method allows you to enable or disable XOR delta encoding
+     *
+     * Default value: true
+     * @param vars
+     */
+    @Override
+    public void configure(Object... vars) {
+        if (vars.length < 1 || !(vars[0] instanceof Boolean))
+            throw new ND4JIllegalStateException("XOR delta flag should be Boolean");
+
+        xorDelta = (Boolean) vars[0];
+    }
+
+    @Override
+    protected byte[] encode(byte[] raw, int numElements, int elementSize) {
+        // first byte tells if XOR delta was applied, so that decompression doesn't depend on compressor configuration
+        byte[] result = new byte[raw.length + 1];
+        result[0] = (byte) (xorDelta ? 1 : 0);
+        if (xorDelta)
+            ByteShuffle.xorDelta(raw, 0, numElements, elementSize);
+        ByteShuffle.shuffle(raw, 0, result, 1, numElements, elementSize);
+        return result;
+    }
+
+    @Override
+    protected int encodedLength(int numElements, int elementSize) {
+        return numElements * elementSize + 1;
+    }
+
+    @Override
+    protected void decode(ByteBuffer compressed, ByteBuffer target, int numElements, int elementSize) {
+        // shuffled bytes have to be restored before they land in the target, so LZ4 block is decompressed into scratch array
+        byte[] data = new byte[encodedLength(numElements, elementSize)];
+        Lz4BlockCodec.decompress(compressed, 0, compressed.limit(), ByteBuffer.wrap(data), 0, data.length);
+
+        byte[] raw = new byte[numElements * elementSize];
+        ByteShuffle.unshuffle(data, 1, raw, 0, numElements, elementSize);
+        if (data[0] != 0)
+            ByteShuffle.undoXorDelta(raw, 0, numElements, elementSize);
+        target.put(raw, 0, raw.length);
+    }
+}
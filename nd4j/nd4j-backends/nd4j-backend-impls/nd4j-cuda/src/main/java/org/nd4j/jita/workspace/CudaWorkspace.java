@@ -211,6 +211,7 @@ public class CudaWorkspace extends Nd4jWorkspace {
                     spilledAllocationsSize.addAndGet(requiredMemory);
                 else
                     pinnedAllocationsSize.addAndGet(requiredMemory);
+                recordSpill(requiredMemory, trimmer);
 
                 if (isDebug.get()) {
                     log.info("Workspace [{}] device_{}: spilled DEVICE array of {} bytes, capacity of {} elements", id, Nd4j.getAffinityManager().getDeviceForCurrentThread(), requiredMemory, numElements);
@@ -20,10 +20,13 @@
 
 package org.nd4j.linalg.cpu.nativecpu;
 
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.val;
+import org.nd4j.common.config.ND4JSystemProperties;
 import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.cache.BoundedCache;
 import org.nd4j.linalg.cache.ConstantHandler;
 import org.nd4j.linalg.cache.TADManager;
 import org.nd4j.linalg.cache.TadDescriptor;
@@ -32,18 +35,21 @@ import org.nd4j.common.primitives.Pair;
 import org.nd4j.nativeblas.NativeOps;
 
 import java.util.Arrays;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
 
 public class CpuTADManager implements TADManager {
-    private Map<TadDescriptor, Pair<DataBuffer, DataBuffer>> cache = new ConcurrentHashMap<>();
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    /**
+     * TAD shape info and offsets buffers, with least recently used eviction. The buffers themselves are owned by
+     * the native TAD cache, so eviction only releases the Java side wrappers; only the number of entries is limited.
+     * The limit is set via {@link ND4JSystemProperties#TAD_CACHE_MAX_ENTRIES} or {@link BoundedCache#setLimits(int, long)}
+     */
+    @Getter
+    private final BoundedCache<TadDescriptor, Pair<DataBuffer, DataBuffer>> cache = new BoundedCache<>("tad",
+            Integer.getInteger(ND4JSystemProperties.TAD_CACHE_MAX_ENTRIES, DEFAULT_MAX_ENTRIES), Long.MAX_VALUE,
+            p -> (p.getFirst().length() + p.getSecond().length()) * 8, null);
     private NativeOps nativeOps;
     private ConstantHandler constantHandler;
-    private AtomicLong bytes = new AtomicLong(0);
-    private AtomicInteger counter = new AtomicInteger(0);
-    private static final int MAX_ENTRIES = 100;
 
     public CpuTADManager() {
         //
@@ -59,7 +65,7 @@ public class CpuTADManager implements TADManager {
      */
     @Override
     public void purgeBuffers() {
-        cache = new ConcurrentHashMap<>();
+        cache.clear();
     }
 
     @Override
@@ -70,69 +76,15 @@ public class CpuTADManager implements TADManager {
         if (dimension == null)
             dimension = new int[] {Integer.MAX_VALUE};
 
-        val pack = Nd4j.getExecutioner().tadShapeInfoAndOffsets(array, dimension);
-
-        //   logger.info("TAD shapeInfo after construction: {}", Arrays.toString(TadDescriptor.dataBufferToArray(outputBuffer)));
-        // now we need to copy this buffer to either device global memory or device cache
-
-        return new Pair<>(pack.getTadShapeInfo(), pack.getTadOffsets());
-
-        /*
-        if (dimension != null && dimension.length > 1)
-            Arrays.sort(dimension);
-
-        if (dimension == null || dimension.length >= 1 && dimension[0] == Integer.MAX_VALUE) {
-            return new Pair<>(array.shapeInfoDataBuffer(), null);
-        } else {
-            TadDescriptor descriptor = new TadDescriptor(array, dimension);
-
-            if (!cache.containsKey(descriptor)) {
-                int dimensionLength = dimension.length;
-
-                // FIXME: this is fast triage, remove it later
-                int targetRank = array.rank(); //dimensionLength <= 1 ? 2 : dimensionLength;
-                long offsetLength;
-                long tadLength = 1;
-                for (int i = 0; i < dimensionLength; i++) {
-                    tadLength *= array.shape()[dimension[i]];
-                }
-
-                offsetLength = array.lengthLong() / tadLength;
-
-                DataBuffer outputBuffer = new LongBuffer(targetRank * 2 + 4);
-                DataBuffer offsetsBuffer = new LongBuffer(offsetLength);
-
-                DataBuffer dimensionBuffer = constantHandler.getConstantBuffer(dimension, DataType.INT);
-                Pointer dimensionPointer = dimensionBuffer.addressPointer();
-
-                Pointer xShapeInfo = array.shapeInfoDataBuffer().addressPointer();
-                Pointer targetPointer = outputBuffer.addressPointer();
-                Pointer offsetsPointer = offsetsBuffer.addressPointer();
-
-                nativeOps.tadOnlyShapeInfo((LongPointer) xShapeInfo, (IntPointer) dimensionPointer, dimension.length);
-                if (1 > 0)
-                    throw new RuntimeException();
-
-
-                // If the line below will be uncommented, shapes from JVM will be used on native side
-                //outputBuffer = array.tensorAlongDimension(0, dimension).shapeInfoDataBuffer();
-                Pair<DataBuffer, DataBuffer> pair = new Pair<>(outputBuffer, offsetsBuffer);
-                if (counter.get() < MAX_ENTRIES) {
-                    counter.incrementAndGet();
-                    cache.put(descriptor, pair);
-
-                    bytes.addAndGet((outputBuffer.length() * 4) + (offsetsBuffer.length() * 8));
-                }
-                return pair;
-            }
-
-            return cache.get(descriptor);
-        }
-        */
+        final int[] dims = dimension;
+        return cache.get(new TadDescriptor(array, dims), d -> {
+            val pack = Nd4j.getExecutioner().tadShapeInfoAndOffsets(array, dims);
+            return new Pair<>(pack.getTadShapeInfo(), pack.getTadOffsets());
+        });
     }
 
     @Override
     public long getCachedBytes() {
-        return bytes.get();
+        return cache.getBytes();
     }
 }
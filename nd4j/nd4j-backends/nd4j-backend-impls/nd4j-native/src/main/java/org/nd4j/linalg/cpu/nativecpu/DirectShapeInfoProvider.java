@@ -20,7 +20,9 @@
 
 package org.nd4j.linalg.cpu.nativecpu;
 
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.nd4j.common.config.ND4JSystemProperties;
 import org.nd4j.linalg.api.buffer.DataType;
 import org.nd4j.linalg.api.memory.AllocationsTracker;
 import org.nd4j.linalg.api.memory.enums.AllocationKind;
@@ -29,20 +31,34 @@ import org.nd4j.linalg.api.shape.options.ArrayOptionsHelper;
 import org.nd4j.common.primitives.Pair;
 import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.ndarray.BaseShapeInfoProvider;
-import org.nd4j.linalg.api.shape.ShapeDescriptor;
-
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import org.nd4j.linalg.cache.BoundedCache;
 
 @Slf4j
 public class DirectShapeInfoProvider extends BaseShapeInfoProvider {
-    // TODO: to be removed
-    private Map<ShapeDescriptor, Pair<DataBuffer, long[]>> shapeCache = new ConcurrentHashMap<>();
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+    private static final long DEFAULT_MAX_BYTES = 16 * 1024 * 1024;
 
-    private Map<LongShapeDescriptor, Pair<DataBuffer, long[]>> longCache = new ConcurrentHashMap<>();
-    private AtomicInteger counter = new AtomicInteger(0);
-    private static final int MAX_ENTRIES = 1000;
+    /**
+     * Shape info buffers, with least recently used eviction. Limits are set via
+     * {@link ND4JSystemProperties#SHAPE_INFO_CACHE_MAX_ENTRIES} and {@link ND4JSystemProperties#SHAPE_INFO_CACHE_MAX_BYTES},
+     * or {@link BoundedCache#setLimits(int, long)}
+     */
+    @Getter
+    private final BoundedCache<LongShapeDescriptor, Pair<DataBuffer, long[]>> cache = new BoundedCache<>("shapeInfo",
+            Integer.getInteger(ND4JSystemProperties.SHAPE_INFO_CACHE_MAX_ENTRIES, DEFAULT_MAX_ENTRIES),
+            Long.getLong(ND4JSystemProperties.SHAPE_INFO_CACHE_MAX_BYTES, DEFAULT_MAX_BYTES),
+            p -> p.getFirst().length() * 8 * 2,
+            new BoundedCache.Listener<Pair<DataBuffer, long[]>>() {
+                @Override
+                public void added(Pair<DataBuffer, long[]> value, long bytes) {
+                    AllocationsTracker.getInstance().markAllocated(AllocationKind.CONSTANT, 0, bytes);
+                }
+
+                @Override
+                public void removed(Pair<DataBuffer, long[]> value, long bytes) {
+                    AllocationsTracker.getInstance().markReleased(AllocationKind.CONSTANT, 0, bytes);
+                }
+            });
 
     public Pair<DataBuffer, long[]> createShapeInformation(long[] shape, long[] stride,  long elementWiseStride, char order, DataType dataType) {
         long extras = 0;
@@ -54,34 +70,19 @@ public class DirectShapeInfoProvider extends BaseShapeInfoProvider {
     public Pair<DataBuffer, long[]> createShapeInformation(long[] shape, long[] stride,  long elementWiseStride, char order, long extras) {
         // We enforce offset to 0 in shapeBuffer, since we need it for cache efficiency + we don't actually use offset value @ native side
         // We also enforce elementWiseStride = 0
-        if (elementWiseStride < 0)
-            elementWiseStride = 0;
-
-        LongShapeDescriptor descriptor = new LongShapeDescriptor(shape, stride, 0, elementWiseStride, order, extras);
-        if (!longCache.containsKey(descriptor)) {
-            if (counter.get() < MAX_ENTRIES) {
-                synchronized (this) {
-                    if (!longCache.containsKey(descriptor)) {
-                        counter.incrementAndGet();
-                        Pair<DataBuffer, long[]> buffer = super.createShapeInformation(shape, stride, elementWiseStride, order, extras);
-                        longCache.put(descriptor, buffer);
+        long ews = Math.max(elementWiseStride, 0);
 
-                        bytes.addAndGet(buffer.getFirst().length() * 8 * 2);
-                        AllocationsTracker.getInstance().markAllocated(AllocationKind.CONSTANT,0, buffer.getFirst().length() * 8 * 2);
-                        return buffer;
-                    } else
-                        return longCache.get(descriptor);
-                }
-            } else {
-                return super.createShapeInformation(shape, stride, elementWiseStride, order, extras);
-            }
-        }
-
-        return longCache.get(descriptor);
+        LongShapeDescriptor descriptor = new LongShapeDescriptor(shape, stride, 0, ews, order, extras);
+        return cache.get(descriptor, d -> super.createShapeInformation(shape, stride, ews, order, extras));
     }
 
     @Override
     public void purgeCache() {
-        shapeCache = new ConcurrentHashMap<>();
+        cache.clear();
+    }
+
+    @Override
+    public long getCachedBytes() {
+        return cache.getBytes();
     }
 }
@@ -31,6 +31,7 @@ import org.nd4j.linalg.api.memory.Deallocatable;
 import org.nd4j.linalg.api.memory.Deallocator;
 import org.nd4j.linalg.api.memory.MemoryWorkspace;
 import org.nd4j.linalg.api.memory.pointers.PagedPointer;
+import org.nd4j.linalg.api.memory.pool.BufferPool;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.nativeblas.OpaqueDataBuffer;
 
@@ -41,6 +42,7 @@ import static org.nd4j.linalg.api.buffer.DataType.INT8;
 public abstract class BaseCpuDataBuffer extends BaseDataBuffer implements Deallocatable {
 
     protected transient OpaqueDataBuffer ptrDataBuffer;
+    protected transient BufferPool.Block pooledBlock;
 
     private transient final long instanceId = Nd4j.getDeallocatorService().nextValue();
 
@@ -59,6 +61,28 @@ public abstract class BaseCpuDataBuffer extends BaseDataBuffer implements Deallo
         return new CpuDeallocator(this);
     }
 
+    /**
+     * Allocate the native buffer for this DataBuffer, using memory from the
+     * {@link org.nd4j.linalg.api.memory.deallocation.DeallocatorService#getBufferPool()} if pooling is enabled
+     * and the buffer size is within the pooled range
+     */
+    protected OpaqueDataBuffer allocateOpaqueBuffer(long length) {
+        BufferPool pool = Nd4j.getDeallocatorService().getBufferPool();
+        long bytes = length * elementSize;
+        if (pool != null && pool.accepts(bytes)) {
+            pooledBlock = pool.acquire(bytes);
+            return OpaqueDataBuffer.externalizedDataBuffer(length, dataType(), pooledBlock.getPointer(), null);
+        }
+        return OpaqueDataBuffer.allocateDataBuffer(length, dataType(), false);
+    }
+
+    /**
+     * @return The pooled memory block used by this buffer, or null if the buffer's memory is not pooled
+     */
+    public BufferPool.Block getPooledBlock() {
+        return pooledBlock;
+    }
+
     public OpaqueDataBuffer getOpaqueDataBuffer() {
         if (released)
             throw new IllegalStateException("You can't use DataBuffer once it was released");
@@ -88,7 +112,7 @@ public abstract class BaseCpuDataBuffer extends BaseDataBuffer implements Deallo
         this.elementSize = (byte) elementSize;
 
         if (dataType() != DataType.UTF8)
-            ptrDataBuffer = OpaqueDataBuffer.allocateDataBuffer(length, dataType(), false);
+            ptrDataBuffer = allocateOpaqueBuffer(length);
 
         if (dataType() == DataType.DOUBLE) {
             pointer = new PagedPointer(ptrDataBuffer.primaryBuffer(), length).asDoublePointer();
@@ -281,7 +305,7 @@ public abstract class BaseCpuDataBuffer extends BaseDataBuffer implements Deallo
             throw new IllegalArgumentException("Unable to create a buffer of length <= 0");
 
         if (dataType() != DataType.UTF8)
-            ptrDataBuffer = OpaqueDataBuffer.allocateDataBuffer(length, dataType(), false);
+            ptrDataBuffer = allocateOpaqueBuffer(length);
 
         if (dataType() == DataType.DOUBLE) {
             pointer = new PagedPointer(ptrDataBuffer.primaryBuffer(), length).asDoublePointer();
@@ -849,6 +873,8 @@ public abstract class BaseCpuDataBuffer extends BaseDataBuffer implements Deallo
     @Override
     protected void release() {
         ptrDataBuffer.closeBuffer();
+        if (pooledBlock != null)
+            pooledBlock.release();
         super.release();
     }
 
@@ -917,6 +943,11 @@ public abstract class BaseCpuDataBuffer extends BaseDataBuffer implements Deallo
             workspaceGenerationId = getParentWorkspace().getGenerationId();
         } else {
             this.ptrDataBuffer.expand(length);
+            if (pooledBlock != null) {
+                //Contents were copied to newly allocated memory owned by the native buffer
+                pooledBlock.release();
+                pooledBlock = null;
+            }
             val nPtr = new PagedPointer(this.ptrDataBuffer.primaryBuffer(), length);
 
             switch (dataType()) {
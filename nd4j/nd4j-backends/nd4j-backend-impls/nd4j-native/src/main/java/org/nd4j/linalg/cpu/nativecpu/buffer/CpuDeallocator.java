@@ -22,15 +22,18 @@ package org.nd4j.linalg.cpu.nativecpu.buffer;
 
 import lombok.extern.slf4j.Slf4j;
 import org.nd4j.linalg.api.memory.Deallocator;
+import org.nd4j.linalg.api.memory.pool.BufferPool;
 import org.nd4j.nativeblas.NativeOpsHolder;
 import org.nd4j.nativeblas.OpaqueDataBuffer;
 
 @Slf4j
 public class CpuDeallocator implements Deallocator {
     private final transient OpaqueDataBuffer opaqueDataBuffer;
+    private final transient BufferPool.Block pooledBlock;
 
     public CpuDeallocator(BaseCpuDataBuffer buffer) {
         opaqueDataBuffer = buffer.getOpaqueDataBuffer();
+        pooledBlock = buffer.getPooledBlock();
     }
 
     @Override
@@ -39,5 +42,9 @@ public class CpuDeallocator implements Deallocator {
             throw new RuntimeException("opaqueDataBuffer is null");
 
         NativeOpsHolder.getInstance().getDeviceNativeOps().deleteDataBuffer(opaqueDataBuffer);
+
+        // externalized pooled memory isn't freed by the native buffer, return it to the pool instead
+        if (pooledBlock != null)
+            pooledBlock.release();
     }
 }
@@ -20,135 +20,79 @@
 
 package org.nd4j.linalg.cpu.nativecpu.cache;
 
+import lombok.Getter;
+import org.nd4j.common.config.ND4JSystemProperties;
 import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.buffer.DataType;
 import org.nd4j.linalg.api.memory.AllocationsTracker;
 import org.nd4j.linalg.api.memory.enums.AllocationKind;
 import org.nd4j.linalg.cache.ArrayDescriptor;
 import org.nd4j.linalg.cache.BasicConstantHandler;
+import org.nd4j.linalg.cache.BoundedCache;
 import org.nd4j.linalg.factory.Nd4j;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
-
 public class ConstantBuffersCache extends BasicConstantHandler {
-    protected Map<ArrayDescriptor, DataBuffer> buffersCache = new ConcurrentHashMap<>();
-    private AtomicInteger counter = new AtomicInteger(0);
-    private AtomicLong bytes = new AtomicLong(0);
-    private static final int MAX_ENTRIES = 1000;
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+    private static final long DEFAULT_MAX_BYTES = 64 * 1024 * 1024;
+
+    /**
+     * Constant buffers, with least recently used eviction. Limits are set via
+     * {@link ND4JSystemProperties#CONSTANT_CACHE_MAX_ENTRIES} and {@link ND4JSystemProperties#CONSTANT_CACHE_MAX_BYTES},
+     * or {@link BoundedCache#setLimits(int, long)}
+     */
+    @Getter
+    protected final BoundedCache<ArrayDescriptor, DataBuffer> buffersCache = new BoundedCache<>("constants",
+            Integer.getInteger(ND4JSystemProperties.CONSTANT_CACHE_MAX_ENTRIES, DEFAULT_MAX_ENTRIES),
+            Long.getLong(ND4JSystemProperties.CONSTANT_CACHE_MAX_BYTES, DEFAULT_MAX_BYTES),
+            b -> b.length() * b.getElementSize(),
+            new BoundedCache.Listener<DataBuffer>() {
+                @Override
+                public void added(DataBuffer value, long bytes) {
+                    value.setConstant(true);
+                    AllocationsTracker.getInstance().markAllocated(AllocationKind.CONSTANT, 0, bytes);
+                }
+
+                @Override
+                public void removed(DataBuffer value, long bytes) {
+                    AllocationsTracker.getInstance().markReleased(AllocationKind.CONSTANT, 0, bytes);
+                }
+            });
 
     /**
      * This method removes all cached constants
      */
     @Override
     public void purgeConstants() {
-        buffersCache = new ConcurrentHashMap<>();
+        buffersCache.clear();
     }
 
     @Override
     public DataBuffer getConstantBuffer(int[] array, DataType dataType) {
-        ArrayDescriptor descriptor = new ArrayDescriptor(array, dataType);
-
-        if (!buffersCache.containsKey(descriptor)) {
-            DataBuffer buffer = Nd4j.createTypedBufferDetached(array, dataType);
-
-            if (counter.get() < MAX_ENTRIES) {
-                counter.incrementAndGet();
-                buffersCache.put(descriptor, buffer);
-
-                bytes.addAndGet(array.length * Nd4j.sizeOfDataType(dataType));
-                AllocationsTracker.getInstance().markAllocated(AllocationKind.CONSTANT, 0, array.length * Nd4j.sizeOfDataType(dataType));
-            }
-            return buffer;
-        }
-
-        return buffersCache.get(descriptor);
+        return buffersCache.get(new ArrayDescriptor(array, dataType), d -> Nd4j.createTypedBufferDetached(array, dataType));
     }
 
     @Override
     public DataBuffer getConstantBuffer(boolean[] array, DataType dataType) {
-        ArrayDescriptor descriptor = new ArrayDescriptor(array, dataType);
-
-        if (!buffersCache.containsKey(descriptor)) {
-            DataBuffer buffer = Nd4j.createTypedBufferDetached(array, dataType);
-
-            if (counter.get() < MAX_ENTRIES) {
-                counter.incrementAndGet();
-                buffersCache.put(descriptor, buffer);
-
-                bytes.addAndGet(array.length * Nd4j.sizeOfDataType(dataType));
-                AllocationsTracker.getInstance().markAllocated(AllocationKind.CONSTANT, 0, array.length * Nd4j.sizeOfDataType(dataType));
-            }
-            return buffer;
-        }
-
-        return buffersCache.get(descriptor);
+        return buffersCache.get(new ArrayDescriptor(array, dataType), d -> Nd4j.createTypedBufferDetached(array, dataType));
     }
 
     @Override
     public DataBuffer getConstantBuffer(double[] array, DataType dataType) {
-        ArrayDescriptor descriptor = new ArrayDescriptor(array, dataType);
-
-        if (!buffersCache.containsKey(descriptor)) {
-            DataBuffer buffer = Nd4j.createTypedBufferDetached(array, dataType);
-
-            if (counter.get() < MAX_ENTRIES) {
-                counter.incrementAndGet();
-                buffersCache.put(descriptor, buffer);
-
-                bytes.addAndGet(array.length * Nd4j.sizeOfDataType(dataType));
-                AllocationsTracker.getInstance().markAllocated(AllocationKind.CONSTANT, 0, array.length * Nd4j.sizeOfDataType(dataType));
-            }
-            return buffer;
-        }
-
-        return buffersCache.get(descriptor);
+        return buffersCache.get(new ArrayDescriptor(array, dataType), d -> Nd4j.createTypedBufferDetached(array, dataType));
     }
 
     @Override
     public DataBuffer getConstantBuffer(float[] array, DataType dataType) {
-        ArrayDescriptor descriptor = new ArrayDescriptor(array, dataType);
-
-        if (!buffersCache.containsKey(descriptor)) {
-            DataBuffer buffer = Nd4j.createTypedBufferDetached(array, dataType);
-
-            if (counter.get() < MAX_ENTRIES) {
-                counter.incrementAndGet();
-                buffersCache.put(descriptor, buffer);
-
-                bytes.addAndGet(array.length * Nd4j.sizeOfDataType(dataType));
-                AllocationsTracker.getInstance().markAllocated(AllocationKind.CONSTANT, 0, array.length * Nd4j.sizeOfDataType(dataType));
-            }
-            return buffer;
-        }
-
-        return buffersCache.get(descriptor);
+        return buffersCache.get(new ArrayDescriptor(array, dataType), d -> Nd4j.createTypedBufferDetached(array, dataType));
     }
 
     @Override
     public DataBuffer getConstantBuffer(long[] array, DataType dataType) {
-        ArrayDescriptor descriptor = new ArrayDescriptor(array, dataType);
-
-        if (!buffersCache.containsKey(descriptor)) {
-            DataBuffer buffer = Nd4j.createBufferDetached(array);
-
-            if (counter.get() < MAX_ENTRIES) {
-                counter.incrementAndGet();
-                buffersCache.put(descriptor, buffer);
-
-                bytes.addAndGet(array.length * Nd4j.sizeOfDataType(dataType));
-                AllocationsTracker.getInstance().markAllocated(AllocationKind.CONSTANT, 0, array.length * Nd4j.sizeOfDataType(dataType));
-            }
-            return buffer;
-        }
-
-        return buffersCache.get(descriptor);
+        return buffersCache.get(new ArrayDescriptor(array, dataType), d -> Nd4j.createBufferDetached(array));
     }
 
     @Override
     public long getCachedBytes() {
-        return bytes.get();
+        return buffersCache.getBytes();
     }
 }
@@ -43,6 +43,11 @@ public class CpuOpContext extends BaseOpContext implements OpContext, Deallocata
     private NativeOps nativeOps = NativeOpsHolder.getInstance().getDeviceNativeOps();
     private OpaqueContext context = nativeOps.createGraphContext(1);
     private final transient long id = Nd4j.getDeallocatorService().nextValue();
+    //Argument buffers are reused between calls, as the native context copies the arguments
+    private LongPointer iArgs;
+    private BooleanPointer bArgs;
+    private DoublePointer tArgs;
+    private IntPointer dArgs;
 
     public CpuOpContext() {
         Nd4j.getDeallocatorService().pickObject(this);
@@ -55,38 +60,47 @@ public class CpuOpContext extends BaseOpContext implements OpContext, Deallocata
 
     @Override
     public void setIArguments(long... arguments) {
+        super.setIArguments(arguments);
         if (arguments.length > 0) {
-            super.setIArguments(arguments);
-            nativeOps.setGraphContextIArguments(context, new LongPointer(arguments), arguments.length);
+            if (iArgs == null || iArgs.capacity() < arguments.length)
+                iArgs = new LongPointer(arguments.length);
+            iArgs.put(arguments);
         }
+        nativeOps.setGraphContextIArguments(context, iArgs, arguments.length);
     }
 
     @Override
     public void setBArguments(boolean... arguments) {
+        super.setBArguments(arguments);
         if (arguments.length > 0) {
-            super.setBArguments(arguments);
-            nativeOps.setGraphContextBArguments(context, new BooleanPointer(arguments), arguments.length);
+            if (bArgs == null || bArgs.capacity() < arguments.length)
+                bArgs = new BooleanPointer(arguments.length);
+            bArgs.put(arguments);
         }
+        nativeOps.setGraphContextBArguments(context, bArgs, arguments.length);
     }
 
     @Override
     public void setTArguments(double... arguments) {
+        super.setTArguments(arguments);
         if (arguments.length > 0) {
-            super.setTArguments(arguments);
-            nativeOps.setGraphContextTArguments(context, new DoublePointer(arguments), arguments.length);
-        };
+            if (tArgs == null || tArgs.capacity() < arguments.length)
+                tArgs = new DoublePointer(arguments.length);
+            tArgs.put(arguments);
+        }
+        nativeOps.setGraphContextTArguments(context, tArgs, arguments.length);
     }
 
     @Override
     public void setDArguments(DataType... arguments) {
+        super.setDArguments(arguments);
         if (arguments.length > 0) {
-            super.setDArguments(arguments);
-            val args = new int[arguments.length];
+            if (dArgs == null || dArgs.capacity() < arguments.length)
+                dArgs = new IntPointer(arguments.length);
             for (int e = 0; e < arguments.length; e++)
-                args[e] = arguments[e].toInt();
-
-            nativeOps.setGraphContextDArguments(context, new IntPointer(args), arguments.length);
-        };
+                dArgs.put(e, arguments[e].toInt());
+        }
+        nativeOps.setGraphContextDArguments(context, dArgs, arguments.length);
     }
 
     @Override
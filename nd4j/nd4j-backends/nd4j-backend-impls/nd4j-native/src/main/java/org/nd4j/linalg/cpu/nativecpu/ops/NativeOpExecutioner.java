@@ -32,6 +32,7 @@ import org.nd4j.autodiff.functions.DifferentialFunction;
 import org.nd4j.autodiff.samediff.serde.FlatBuffersMapper;
 import org.nd4j.common.base.Preconditions;
 import org.nd4j.common.config.ND4JEnvironmentVars;
+import org.nd4j.common.config.ND4JSystemProperties;
 import org.nd4j.linalg.api.buffer.*;
 import org.nd4j.linalg.api.environment.Nd4jEnvironment;
 import org.nd4j.linalg.api.memory.pointers.PagedPointer;
@@ -42,6 +43,7 @@ import org.nd4j.linalg.api.ops.aggregates.Aggregate;
 import org.nd4j.linalg.api.ops.aggregates.Batch;
 import org.nd4j.linalg.api.ops.executioner.DefaultOpExecutioner;
 import org.nd4j.linalg.api.ops.executioner.OpStatus;
+import org.nd4j.linalg.api.ops.executioner.SmallArrayOps;
 import org.nd4j.linalg.api.ops.impl.scatter.ScatterUpdate;
 import org.nd4j.linalg.api.ops.impl.summarystats.Variance;
 import org.nd4j.linalg.api.ops.impl.transforms.any.IsMax;
@@ -90,6 +92,11 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
     private ThreadLocal<Map<Integer,DoublePointer>> tArgsPointer = new ThreadLocal<>();
     private ThreadLocal<Map<Integer,BooleanPointer>> bArgsPointer = new ThreadLocal<>();
     private ThreadLocal<Map<Integer,ShortPointer>> halfArgsPointer = new ThreadLocal<>();
+    //op context reused by exec(CustomOp); set to null while in use, so nested executions create their own
+    private ThreadLocal<CpuOpContext> reusableContext = new ThreadLocal<>();
+
+    //maximum array length for simple arithmetic ops to be executed in Java, 0 to disable
+    private volatile int javaExecMaxLength = 0;
 
     protected Map<String, CustomOpDescriptor> customOps = null;
 
@@ -124,6 +131,15 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
                 }
             }
         }
+
+        String javaExec = System.getProperty(ND4JSystemProperties.JAVA_EXEC_MAX_LENGTH);
+        if (javaExec != null) {
+            try {
+                javaExecMaxLength = Integer.parseInt(javaExec);
+            } catch (NumberFormatException e) {
+                log.warn("Invalid value for system property {}: \"{}\"", ND4JSystemProperties.JAVA_EXEC_MAX_LENGTH, javaExec);
+            }
+        }
     }
 
     @Override
@@ -535,6 +551,8 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
         if (loop.lastErrorCode() != 0)
             throw new RuntimeException(loop.lastErrorMessage());
 
+        profilingConfigurableHookOut(op, oc, st);
+
         return getZ(op, oc);
     }
 
@@ -653,6 +671,12 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
             return getZ(op, oc);
         }
 
+        if (oc == null && javaExecMaxLength > 0 && SmallArrayOps.canExec(op, javaExecMaxLength)) {
+            SmallArrayOps.exec(op);
+            profilingConfigurableHookOut(op, oc, st);
+            return op.z();
+        }
+
         val x = ((BaseCpuDataBuffer) getX(op, oc).data()).getOpaqueDataBuffer();
         val scalar = ((BaseCpuDataBuffer) op.scalar().data()).getOpaqueDataBuffer();
         val z = ((BaseCpuDataBuffer) getZ(op, oc).data()).getOpaqueDataBuffer();
@@ -951,6 +975,8 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
         if (loop.lastErrorCode() != 0)
             throw new RuntimeException(loop.lastErrorMessage());
 
+        profilingConfigurableHookOut(op, oc, st);
+
         return z;
     }
 
@@ -1518,6 +1544,13 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
     @Override
     public INDArray[] exec(@NonNull CustomOp op) {
 
+        if (javaExecMaxLength > 0 && SmallArrayOps.canExec(op, javaExecMaxLength)) {
+            long st = profilingConfigurableHookIn(op, null);
+            INDArray[] result = SmallArrayOps.exec(op);
+            profilingConfigurableHookOut(op, null, st);
+            return result;
+        }
+
         boolean shapeOverride = false;
         if (op.numOutputArguments() == 0 && !op.isInplaceCall()) {
             try {
@@ -1538,11 +1571,11 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
         }
 
         val name = op.opName();
-        try (val context = buildContext()) {
+        CpuOpContext context = acquireContext();
+        try {
 
             // optionally skip shape validation on op execution
-            if (shapeOverride)
-                context.shapeFunctionOverride(true);
+            context.shapeFunctionOverride(shapeOverride);
 
             context.markInplace(op.isInplaceCall());
 
@@ -1581,9 +1614,30 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
             throw e;
         } catch (Exception e) {
             throw new RuntimeException("Op [" + name + "] execution failed", e);
+        } finally {
+            releaseContext(context);
         }
     }
 
+    /**
+     * Get this thread's reusable op context, or a new context if it is already in use (nested op execution).
+     * Reusing contexts avoids creating and later deallocating a native context for every op call
+     */
+    protected CpuOpContext acquireContext() {
+        CpuOpContext context = reusableContext.get();
+        if (context == null)
+            return (CpuOpContext) buildContext();
+        reusableContext.set(null);
+        return context;
+    }
+
+    protected void releaseContext(CpuOpContext context) {
+        //Inputs and outputs are cleared so the context doesn't retain arrays; arguments are overwritten on next use
+        context.purge();
+        if (reusableContext.get() == null)
+            reusableContext.set(context);
+    }
+
     protected LongShapeDescriptor getShapeFromPointer(LongPointer ptr) {
         val rank = (int) ptr.get(0);
 
@@ -1855,6 +1909,25 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
         loop.setTADThreshold(threshold);
     }
 
+    /**
+     * This method allows to set the maximum array length for which simple arithmetic ops (see {@link SmallArrayOps})
+     * are executed in Java instead of natively. For very small arrays, most of the time of a native op call is fixed
+     * overhead (shape info, JNI calls, op context setup) rather than computation.
+     * <p>
+     * Default value: 0 (disabled)
+     *
+     * @param maxLength Maximum array length. Set to 0 to disable
+     */
+    @Override
+    public void setJavaExecutionThreshold(int maxLength) {
+        this.javaExecMaxLength = maxLength;
+    }
+
+    @Override
+    public int javaExecutionThreshold() {
+        return javaExecMaxLength;
+    }
+
     @Override
     public String getString(DataBuffer buffer, long index) {
         Preconditions.checkArgument(buffer instanceof Utf8Buffer, "Expected Utf8Buffer");
@@ -25,6 +25,8 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.nd4j.autodiff.samediff.config.SessionPoolConfig;
+import org.nd4j.autodiff.samediff.internal.InferenceSessionPool;
 import org.nd4j.common.primitives.AtomicBoolean;
 import org.nd4j.common.tests.BaseND4JTest;
 import org.nd4j.common.tests.tags.TagNames;
@@ -40,6 +42,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Slf4j
 @Tag(TagNames.SAMEDIFF)
@@ -104,6 +107,55 @@ public class SameDiffMultiThreadTests extends BaseND4JTest {
     }
 
 
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testSessionPooling(Nd4jBackend backend) throws Exception {
+        int nThreads = 4;
+        int nRuns = 100;
+
+        SameDiff sd = SameDiff.create();
+        SDVariable in = sd.placeHolder("in", DataType.FLOAT, -1, 10);
+        SDVariable w = sd.var("w", Nd4j.rand(DataType.FLOAT, 10, 10));
+        SDVariable b = sd.var("b", Nd4j.rand(DataType.FLOAT, 10));
+        sd.nn.softmax("out", in.mmul(w).add(b));
+
+        INDArray[] inputArrs = new INDArray[nThreads];
+        INDArray[] expOut = new INDArray[nThreads];
+        for( int i=0; i<nThreads; i++ ){
+            inputArrs[i] = Nd4j.rand(DataType.FLOAT, i+1, 10);
+            expOut[i] = sd.outputSingle(Collections.singletonMap("in", inputArrs[i]), "out");
+        }
+        sd.getSessions().clear();
+
+        sd.enableSessionPooling(SessionPoolConfig.builder().maxIdleSessions(nThreads).warmupSessions(2).build());
+        InferenceSessionPool pool = sd.getSessionPool();
+        assertEquals(2, pool.getNumIdle());
+
+        //Run several rounds, each with new threads: sessions should be reused rather than created per thread
+        for( int round=0; round<3; round++ ) {
+            Semaphore s = new Semaphore(nThreads);
+            CountDownLatch latch = new CountDownLatch(nThreads);
+            AtomicBoolean[] failuresByThread = new AtomicBoolean[nThreads];
+            AtomicInteger[] counters = new AtomicInteger[nThreads];
+            doTest(sd, nThreads, nRuns, inputArrs, expOut, "in", "out", failuresByThread, counters, s, latch);
+            s.release(nThreads);
+            latch.await();
+
+            for (int i = 0; i < nThreads; i++) {
+                assertFalse(failuresByThread[i].get(), "Thread " + i + " failed");
+                assertEquals(nRuns, counters[i].get(), "Thread " + i + " number of runs");
+            }
+        }
+
+        assertTrue(sd.getSessions().isEmpty());
+        assertEquals(0, pool.getNumBorrowed());
+        assertTrue(pool.getNumIdle() <= nThreads);
+        assertTrue(pool.getMisses() < nRuns, "Expected sessions to be reused across threads: " + pool);
+        assertEquals(3L * nThreads * nRuns, pool.getHits() + pool.getMisses());
+
+        sd.disableSessionPooling();
+        assertEquals(0, pool.getNumIdle());
+    }
 
     public static void doTest(SameDiff sd, int nThreads, int nRuns, INDArray[] inputArrs, INDArray[] expOut,
                               String inName, String outName,
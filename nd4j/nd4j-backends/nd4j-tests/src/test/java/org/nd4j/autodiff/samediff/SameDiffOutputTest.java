@@ -23,6 +23,7 @@ package org.nd4j.autodiff.samediff;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.nd4j.autodiff.samediff.internal.ExecutionPlanCache;
 import org.nd4j.common.tests.tags.NativeTag;
 import org.nd4j.common.tests.tags.TagNames;
 import org.nd4j.linalg.BaseNd4jTestWithBackends;
@@ -32,7 +33,11 @@ import org.nd4j.linalg.dataset.DataSet;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.factory.Nd4jBackend;
 import org.nd4j.linalg.learning.config.Sgd;
+import org.nd4j.linalg.ops.transforms.Transforms;
 
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
@@ -66,6 +71,42 @@ public class SameDiffOutputTest extends BaseNd4jTestWithBackends {
                 0.0001),"output != input + 2");
     }
 
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testExecutionPlanCache(Nd4jBackend backend) {
+        SameDiff sd = SameDiff.create();
+        SDVariable in = sd.placeHolder("in", DataType.FLOAT, -1, 4);
+        SDVariable w = sd.var("w", Nd4j.rand(DataType.FLOAT, 4, 3));
+        SDVariable mmul = in.mmul(w);
+        SDVariable out = sd.nn.softmax("out", mmul, 1);
+
+        ExecutionPlanCache cache = sd.getExecutionPlanCache();
+        INDArray in1 = Nd4j.rand(DataType.FLOAT, 2, 4);
+        INDArray out1 = sd.outputSingle(Collections.singletonMap("in", in1), "out");
+        assertEquals(1, cache.getSubgraphMisses());
+        long shapeMisses = cache.getShapeMisses();
+        assertTrue(shapeMisses > 0);
+
+        //Same outputs and shapes: plans and shapes should be reused
+        INDArray out2 = sd.outputSingle(Collections.singletonMap("in", in1), "out");
+        assertEquals(out1, out2);
+        assertEquals(1, cache.getSubgraphHits());
+        assertEquals(shapeMisses, cache.getShapeMisses());
+        assertTrue(cache.getShapeHits() > 0);
+
+        //Different minibatch size: shapes must be recalculated
+        INDArray in3 = Nd4j.rand(DataType.FLOAT, 5, 4);
+        INDArray out3 = sd.outputSingle(Collections.singletonMap("in", in3), "out");
+        assertEquals(in3.mmul(w.getArr()).shape()[0], out3.size(0));
+        assertTrue(cache.getShapeMisses() > shapeMisses);
+
+        //Modifying the graph should invalidate the subgraph plans
+        sd.math.tanh("out2", out);
+        INDArray out4 = sd.outputSingle(Collections.singletonMap("in", in1), "out2");
+        assertEquals(2, cache.getSubgraphMisses());
+        assertEquals(Transforms.tanh(out1, true), out4);
+    }
+
     @Override
     public char ordering() {
         return 'c';
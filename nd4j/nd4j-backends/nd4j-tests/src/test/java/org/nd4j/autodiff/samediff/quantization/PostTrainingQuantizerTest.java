@@ -0,0 +1,129 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.nd4j.autodiff.samediff.quantization;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.nd4j.autodiff.samediff.SDVariable;
+import org.nd4j.autodiff.samediff.SameDiff;
+import org.nd4j.common.tests.tags.NativeTag;
+import org.nd4j.common.tests.tags.TagNames;
+import org.nd4j.linalg.BaseNd4jTestWithBackends;
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.dataset.adapter.SingletonDataSetIterator;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.factory.Nd4jBackend;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NativeTag
+@Tag(TagNames.SAMEDIFF)
+public class PostTrainingQuantizerTest extends BaseNd4jTestWithBackends {
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testQuantizeMlp(Nd4jBackend backend) {
+        Nd4j.getRandom().setSeed(12345);
+        SameDiff sd = SameDiff.create();
+        SDVariable in = sd.placeHolder("in", DataType.FLOAT, -1, 32);
+        SDVariable w1 = sd.var("w1", Nd4j.randn(DataType.FLOAT, 32, 64).muli(0.1));
+        SDVariable b1 = sd.var("b1", Nd4j.randn(DataType.FLOAT, 64).muli(0.1));
+        SDVariable w2 = sd.var("w2", Nd4j.randn(DataType.FLOAT, 64, 10).muli(0.1));
+        SDVariable l1 = sd.nn.tanh(in.mmul(w1).add(b1));
+        sd.nn.softmax("out", l1.mmul(w2), 1);
+        sd.setOutputs("out");
+
+        INDArray f = Nd4j.rand(DataType.FLOAT, 50, 32);
+        QuantizationConfig conf = QuantizationConfig.builder()
+                .featurePlaceholders(Collections.singletonList("in"))
+                .minElements(256)
+                .build();
+        QuantizationResult r = new PostTrainingQuantizer(conf).quantize(sd, new SingletonDataSetIterator(new DataSet(f, null)));
+
+        //w1 (2048 elements) and w2 (640 elements) are quantized; b1 is too small
+        SameDiff q = r.getQuantized();
+        assertEquals(2, r.getWeightScales().size());
+        assertFalse(q.hasVariable("w1"));
+        assertFalse(q.hasVariable("w2"));
+        assertTrue(q.hasVariable("b1"));
+        assertEquals(DataType.INT8, q.getVariable("w1_int8").dataType());
+        assertArrayEquals(new long[]{1, 64}, r.getWeightScales().get("w1").shape());
+
+        //Original instance should not be modified
+        assertTrue(sd.hasVariable("w1"));
+
+        QuantizationReport report = r.getReport();
+        assertTrue(report.getCompressionRatio() > 3.0, report.toString());
+        QuantizationReport.OutputStats stats = report.getOutputStats().get("out");
+        assertTrue(stats.getMaxAbsError() < 1e-2, report.toString());
+        assertTrue(stats.getArgMaxAgreement() > 0.9, report.toString());
+
+        INDArray exp = sd.outputSingle(Collections.singletonMap("in", f), "out");
+        INDArray act = q.outputSingle(Collections.singletonMap("in", f), "out");
+        assertTrue(exp.equalsWithEps(act, 1e-2));
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testDequantize(Nd4jBackend backend) {
+        Nd4j.getRandom().setSeed(12345);
+        SameDiff sd = SameDiff.create();
+        SDVariable in = sd.placeHolder("in", DataType.FLOAT, -1, 32);
+        SDVariable w1 = sd.var("w1", Nd4j.randn(DataType.FLOAT, 32, 64).muli(0.1));
+        SDVariable w2 = sd.constant("w2", Nd4j.randn(DataType.FLOAT, 64, 10).muli(0.1));
+        sd.nn.softmax("out", sd.nn.relu(in.mmul(w1), 0).mmul(w2), 1);
+        sd.setOutputs("out");
+
+        INDArray f = Nd4j.rand(DataType.FLOAT, 20, 32);
+        QuantizationConfig conf = QuantizationConfig.builder()
+                .featurePlaceholders(Collections.singletonList("in"))
+                .perChannel(false)
+                .build();
+        QuantizationResult r = new PostTrainingQuantizer(conf).quantize(sd, new SingletonDataSetIterator(new DataSet(f, null)));
+        SameDiff q = r.getQuantized();
+
+        SameDiff d = PostTrainingQuantizer.dequantize(q);
+        assertEquals(DataType.FLOAT, d.getVariable("w1").dataType());
+        assertEquals(DataType.FLOAT, d.getVariable("w2").dataType());
+        for (String s : new String[]{"w1_int8", "w1_scale", "w1_dequantized", "w2_int8", "w2_scale", "w2_dequantized"}) {
+            assertFalse(d.hasVariable(s), s);
+        }
+        assertEquals(sd.getOps().size(), d.getOps().size());
+        assertEquals(r.getReport().getFloatParamBytes(), PostTrainingQuantizer.paramBytes(d));
+
+        //Quantized instance should not be modified
+        assertTrue(q.hasVariable("w1_int8"));
+
+        INDArray exp = q.outputSingle(Collections.singletonMap("in", f), "out");
+        INDArray act = d.outputSingle(Collections.singletonMap("in", f), "out");
+        assertTrue(exp.equalsWithEps(act, 1e-5));
+    }
+
+    @Override
+    public char ordering() {
+        return 'c';
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.nd4j.linalg.cache;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.nd4j.common.tests.tags.NativeTag;
+import org.nd4j.linalg.BaseNd4jTestWithBackends;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.factory.Nd4jBackend;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NativeTag
+public class BoundedCacheTests extends BaseNd4jTestWithBackends {
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testEvictionByEntries(Nd4jBackend backend) {
+        AtomicLong held = new AtomicLong();
+        BoundedCache<Integer, String> cache = new BoundedCache<>("test", 10, Long.MAX_VALUE, s -> s.length(), new BoundedCache.Listener<String>() {
+            @Override
+            public void added(String value, long bytes) {
+                held.addAndGet(bytes);
+            }
+
+            @Override
+            public void removed(String value, long bytes) {
+                held.addAndGet(-bytes);
+            }
+        });
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("v" + i, cache.get(i, k -> "v" + k));
+        }
+        assertEquals(10, cache.size());
+        assertEquals(10, cache.getMisses());
+        assertEquals(0, cache.getEvictions());
+
+        //Use entry 0 again, so that it is not the least recently used entry
+        assertEquals("v0", cache.get(0, k -> "other"));
+        assertEquals(1, cache.getHits());
+
+        //Adding an 11th entry evicts down to 90% of the limit, least recently used first
+        cache.get(10, k -> "v" + k);
+        assertEquals(9, cache.size());
+        assertEquals(2, cache.getEvictions());
+        assertEquals("v0", cache.get(0, k -> "other"));
+        assertEquals("other", cache.get(1, k -> "other"));
+        assertEquals(cache.getBytes(), held.get());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getBytes());
+        assertEquals(0, held.get());
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testEvictionByBytes(Nd4jBackend backend) {
+        BoundedCache<Integer, long[]> cache = new BoundedCache<>("test", 1000, 1000, a -> a.length * 8L, null);
+        for (int i = 0; i < 100; i++) {
+            cache.get(i, k -> new long[10]);
+            assertTrue(cache.getBytes() <= 1000);
+        }
+        assertTrue(cache.getEvictions() > 0);
+
+        //Values larger than the limit are returned, but not cached
+        AtomicInteger calls = new AtomicInteger();
+        cache.get(-1, k -> { calls.incrementAndGet(); return new long[200]; });
+        cache.get(-1, k -> { calls.incrementAndGet(); return new long[200]; });
+        assertEquals(2, calls.get());
+        assertTrue(cache.getBytes() <= 1000);
+
+        //Reducing the limits evicts immediately
+        cache.setLimits(2, 1000);
+        assertTrue(cache.size() <= 2);
+
+        //Caching disabled
+        cache.setLimits(0, 1000);
+        assertEquals(0, cache.size());
+        cache.get(5, k -> new long[1]);
+        assertEquals(0, cache.size());
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testVariableShapes(Nd4jBackend backend) {
+        //Shape info buffers for many distinct shapes must not grow the caches beyond their limits
+        for (int i = 1; i <= 3000; i++) {
+            INDArray arr = Nd4j.create(DataType.FLOAT, 2, i);
+            arr.addi(1.0);
+            assertEquals(2 * i, arr.sumNumber().intValue());
+        }
+
+        DataBuffer c1 = Nd4j.getConstantHandler().getConstantBuffer(new boolean[]{true, false}, DataType.BOOL);
+        DataBuffer c2 = Nd4j.getConstantHandler().getConstantBuffer(new boolean[]{false, true}, DataType.BOOL);
+        assertNotEquals(c1.getInt(0), c2.getInt(0));
+    }
+}
@@ -41,11 +41,15 @@ import org.nd4j.linalg.api.memory.enums.AllocationPolicy;
 import org.nd4j.linalg.api.memory.enums.LearningPolicy;
 import org.nd4j.linalg.api.memory.enums.ResetPolicy;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.dataset.MultiDataSet;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.factory.Nd4jBackend;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 
@@ -516,6 +520,147 @@ public class CompressionTests extends BaseNd4jTestWithBackends {
         assertEquals(exp_1, initial);
     }
 
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testQuantizedCompression1(Nd4jBackend backend) {
+        INDArray array = Nd4j.linspace(-1, 1, 2000, DataType.FLOAT);
+        INDArray exp = array.dup();
+
+        INDArray compr = BasicNDArrayCompressor.getInstance().compress(array, "QUANTIZED");
+        assertEquals(DataType.COMPRESSED, compr.data().dataType());
+
+        INDArray decomp = BasicNDArrayCompressor.getInstance().decompress(compr);
+
+        //8 bits per value: error is less than one quantization step
+        assertEquals(exp, array);
+        assertArrayEquals(exp.toFloatVector(), decomp.toFloatVector(), 1.0f / 127 + 1e-5f);
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testQuantizedCompression2(Nd4jBackend backend) {
+        //Compression of java arrays, skipping INDArray creation
+        BasicNDArrayCompressor.getInstance().setDefaultCompression("QUANTIZED");
+
+        float[] floats = Nd4j.linspace(-1, 1, 2000, DataType.FLOAT).toFloatVector();
+        INDArray compressed = BasicNDArrayCompressor.getInstance().compress(floats);
+        assertTrue(compressed.isCompressed());
+        assertArrayEquals(floats, BasicNDArrayCompressor.getInstance().decompress(compressed).toFloatVector(), 1.0f / 127 + 1e-5f);
+
+        double[] doubles = Nd4j.linspace(-1, 1, 2000, DataType.DOUBLE).toDoubleVector();
+        compressed = BasicNDArrayCompressor.getInstance().compress(doubles);
+        assertTrue(compressed.isCompressed());
+        assertArrayEquals(doubles, BasicNDArrayCompressor.getInstance().decompress(compressed).toDoubleVector(), 1.0 / 127 + 1e-5);
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testQuantizedEncoding1(Nd4jBackend backend) {
+        Nd4j.getRandom().setSeed(119);
+        INDArray initial = Nd4j.rand(new int[]{10000}, -1, 1, Nd4j.getRandom());
+        INDArray exp = initial.dup();
+
+        INDArray enc = QuantizedCompression.encode(initial, 4, 256);
+        assertEquals(QuantizedCompression.encodedLength(10000, 4, 256), enc.length());
+        assertEquals(ThresholdCompression.QUANTIZED_ENCODING, enc.getInt(3));
+
+        //Residual plus decoded updates should be equal to original updates
+        QuantizedCompression.decode(enc, initial);
+        assertArrayEquals(exp.toFloatVector(), initial.toFloatVector(), 1e-5f);
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testLz4Compression1(Nd4jBackend backend) {
+        for (String algorithm : new String[] {"LZ4", "SHUFFLE_LZ4"}) {
+            for (DataType dataType : new DataType[] {DataType.FLOAT, DataType.DOUBLE, DataType.INT, DataType.HALF}) {
+                INDArray array = Nd4j.linspace(1, 10000, 20000, DataType.DOUBLE).castTo(dataType).reshape(100, 200);
+                INDArray exp = array.dup();
+
+                INDArray compr = BasicNDArrayCompressor.getInstance().compress(array, algorithm);
+                assertEquals(DataType.COMPRESSED, compr.data().dataType());
+                if (algorithm.equals("SHUFFLE_LZ4"))
+                    assertTrue(((CompressedDataBuffer) compr.data()).getCompressionDescriptor().getCompressedLength()
+                                    < array.length() * dataType.width(), dataType.toString());
+
+                INDArray decomp = BasicNDArrayCompressor.getInstance().decompress(compr);
+
+                assertEquals(exp, array);
+                assertEquals(exp, decomp, algorithm + " " + dataType);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testLz4Compression2(Nd4jBackend backend) {
+        // random data is not compressible, but it should still survive the round trip
+        INDArray array = Nd4j.rand(DataType.FLOAT, 3, 1000);
+        INDArray exp = array.dup();
+
+        INDArray compr = BasicNDArrayCompressor.getInstance().compress(array, "SHUFFLE_LZ4");
+        INDArray decomp = BasicNDArrayCompressor.getInstance().decompress(compr);
+
+        assertEquals(exp, decomp);
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testLz4Compression3(Nd4jBackend backend) {
+        //Compression of java arrays, skipping INDArray creation
+        for (String algorithm : new String[] {"LZ4", "SHUFFLE_LZ4"}) {
+            BasicNDArrayCompressor.getInstance().setDefaultCompression(algorithm);
+
+            float[] floats = Nd4j.linspace(1, 1000, 2000, DataType.FLOAT).toFloatVector();
+            INDArray compressed = BasicNDArrayCompressor.getInstance().compress(floats);
+            assertTrue(compressed.isCompressed());
+            assertEquals(Nd4j.createFromArray(floats).reshape(1, -1), BasicNDArrayCompressor.getInstance().decompress(compressed), algorithm);
+
+            double[] doubles = Nd4j.linspace(1, 1000, 2000, DataType.DOUBLE).toDoubleVector();
+            compressed = BasicNDArrayCompressor.getInstance().compress(doubles);
+            assertTrue(compressed.isCompressed());
+            assertEquals(Nd4j.createFromArray(doubles).reshape(1, -1), BasicNDArrayCompressor.getInstance().decompress(compressed), algorithm);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testCompressedWriteRead(Nd4jBackend backend) throws Exception {
+        INDArray array = Nd4j.linspace(1, 10000, 20000, DataType.FLOAT).reshape(200, 100);
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(bos);
+        Nd4j.write(array, dos, "SHUFFLE_LZ4");
+        dos.flush();
+        assertTrue(bos.size() < array.length() * 4);
+
+        INDArray restored = Nd4j.read(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())), true);
+        assertFalse(restored.isCompressed());
+        assertEquals(array, restored);
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testCompressedDataSetSaveLoad(Nd4jBackend backend) throws Exception {
+        DataSet ds = new DataSet(Nd4j.linspace(1, 1000, 1000, DataType.FLOAT).reshape(10, 100),
+                Nd4j.linspace(1, 30, 30, DataType.FLOAT).reshape(10, 3));
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ds.save(bos, "SHUFFLE_LZ4");
+
+        DataSet restored = new DataSet();
+        restored.load(new ByteArrayInputStream(bos.toByteArray()));
+        assertEquals(ds, restored);
+
+        MultiDataSet mds = new MultiDataSet(new INDArray[] {ds.getFeatures()}, new INDArray[] {ds.getLabels()});
+        bos = new ByteArrayOutputStream();
+        mds.save(bos, "LZ4");
+
+        MultiDataSet mdsRestored = new MultiDataSet();
+        mdsRestored.load(new ByteArrayInputStream(bos.toByteArray()));
+        assertEquals(mds, mdsRestored);
+    }
+
     @Override
     public char ordering() {
         return 'c';
@@ -0,0 +1,151 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.nd4j.linalg.memory;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.nd4j.common.tests.tags.NativeTag;
+import org.nd4j.common.tests.tags.TagNames;
+import org.nd4j.linalg.BaseNd4jTestWithBackends;
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.memory.conf.BufferPoolConfiguration;
+import org.nd4j.linalg.api.memory.deallocation.ReleaseScope;
+import org.nd4j.linalg.api.memory.pool.BufferPool;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.factory.Nd4jBackend;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@NativeTag
+@Tag(TagNames.WORKSPACES)
+public class BufferPoolTests extends BaseNd4jTestWithBackends {
+
+    @AfterEach
+    public void after() {
+        Nd4j.getDeallocatorService().disableBufferPool();
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testPoolReuse_1(Nd4jBackend backend) {
+        val pool = new BufferPool(BufferPoolConfiguration.builder().minBlockBytes(1024).maxBlockBytes(1024 * 1024).build());
+
+        val b1 = pool.acquire(3000);
+        assertEquals(4096, b1.getBytes());
+        assertEquals(1, pool.getMisses());
+
+        pool.release(b1);
+        pool.release(b1);
+        assertEquals(4096, pool.getPooledBytes());
+
+        val b2 = pool.acquire(2500);
+        assertEquals(b1.getPointer().address(), b2.getPointer().address());
+        assertEquals(1, pool.getHits());
+        assertEquals(0, pool.getPooledBytes());
+
+        //Late release of the first use must not return memory that is in use again
+        pool.release(b1);
+        assertEquals(0, pool.getPooledBytes());
+
+        pool.release(b2);
+        assertEquals(4096, pool.trim());
+        assertEquals(0, pool.getAllocatedBytes());
+        assertFalse(pool.accepts(512));
+        assertFalse(pool.accepts(2 * 1024 * 1024));
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testPoolMaxPooledBytes_1(Nd4jBackend backend) {
+        val pool = new BufferPool(BufferPoolConfiguration.builder().minBlockBytes(1024).maxBlockBytes(8192).maxPooledBytes(8192).build());
+
+        val b1 = pool.acquire(8192);
+        val b2 = pool.acquire(8192);
+        pool.release(b1);
+        pool.release(b2);
+
+        assertEquals(8192, pool.getPooledBytes());
+        assertEquals(1, pool.getFrees());
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testPooledArrays_1(Nd4jBackend backend) {
+        Nd4j.getDeallocatorService().enableBufferPool(BufferPoolConfiguration.builder().build());
+        val pool = Nd4j.getDeallocatorService().getBufferPool();
+
+        for (int e = 0; e < 10; e++) {
+            try (val array = Nd4j.create(DataType.FLOAT, 64, 64)) {
+                array.addi(e);
+                assertEquals(e, array.getFloat(10, 10), 1e-5);
+            }
+        }
+
+        if (pool.getMisses() > 0) {
+            //Backend supports pooling: closed arrays should have been reused
+            assertTrue(pool.getHits() >= 9, pool.toString());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testReleaseScope_1(Nd4jBackend backend) {
+        INDArray outside = Nd4j.create(DataType.FLOAT, 10, 10);
+        INDArray kept;
+        INDArray temp;
+        try (val scope = ReleaseScope.open()) {
+            temp = Nd4j.create(DataType.FLOAT, 10, 10).addi(1.0);
+            kept = temp.mul(2.0);
+            scope.keep(kept);
+            assertTrue(scope.getNumBuffers() >= 2);
+        }
+
+        assertFalse(temp.closeable());
+        assertTrue(kept.closeable());
+        assertTrue(outside.closeable());
+        assertEquals(2.0, kept.getDouble(5, 5), 1e-5);
+        assertNull(ReleaseScope.current());
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testReleaseScopeNested_1(Nd4jBackend backend) {
+        INDArray inner;
+        try (val outer = ReleaseScope.open()) {
+            try (val scope = ReleaseScope.open()) {
+                inner = Nd4j.create(DataType.FLOAT, 10, 10);
+                scope.keep(inner);
+            }
+            assertTrue(inner.closeable());
+        }
+        assertFalse(inner.closeable());
+    }
+
+    @Override
+    public char ordering() {
+        return 'c';
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.nd4j.linalg.ops;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.nd4j.common.tests.tags.NativeTag;
+import org.nd4j.linalg.BaseNd4jTestWithBackends;
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.CustomOp;
+import org.nd4j.linalg.api.ops.ScalarOp;
+import org.nd4j.linalg.api.ops.executioner.SmallArrayOps;
+import org.nd4j.linalg.api.ops.impl.scalar.*;
+import org.nd4j.linalg.api.ops.impl.transforms.pairwise.arithmetic.*;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.factory.Nd4jBackend;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NativeTag
+public class SmallArrayOpsTest extends BaseNd4jTestWithBackends {
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testScalarOpsMatchNative(Nd4jBackend backend) {
+        for (DataType dt : new DataType[]{DataType.FLOAT, DataType.DOUBLE}) {
+            INDArray x = Nd4j.rand(dt, 3, 5).subi(0.5);
+            for (int i = 0; i < 6; i++) {
+                ScalarOp expOp = scalarOp(i, x, x.ulike(), 1.37);
+                Nd4j.getExecutioner().exec(expOp);
+
+                ScalarOp op = scalarOp(i, x, x.ulike(), 1.37);
+                assertTrue(SmallArrayOps.canExec(op, 64), op.opName());
+                SmallArrayOps.exec(op);
+                assertEquals(expOp.z(), op.z(), op.opName() + " - " + dt);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testPairwiseOpsMatchNative(Nd4jBackend backend) {
+        for (DataType dt : new DataType[]{DataType.FLOAT, DataType.DOUBLE}) {
+            INDArray x = Nd4j.rand(dt, 4, 4).subi(0.5);
+            INDArray y = Nd4j.rand(dt, 4, 4).addi(0.1);
+            for (int i = 0; i < 6; i++) {
+                CustomOp expOp = pairwiseOp(i, x, y, x.ulike());
+                Nd4j.getExecutioner().exec(expOp);
+
+                CustomOp op = pairwiseOp(i, x, y, x.ulike());
+                assertTrue(SmallArrayOps.canExec(op, 64), op.opName());
+                INDArray out = SmallArrayOps.exec(op)[0];
+                assertEquals(expOp.getOutputArgument(0), out, op.opName() + " - " + dt);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testViews(Nd4jBackend backend) {
+        INDArray arr = Nd4j.rand(DataType.DOUBLE, 4, 5);
+
+        //Contiguous row view, with non-zero offset: supported
+        INDArray row = arr.getRow(2);
+        ScalarOp op = new ScalarMultiplication(row, null, row.ulike(), 3.0);
+        assertTrue(SmallArrayOps.canExec(op, 64));
+        assertEquals(row.mul(3.0), SmallArrayOps.exec(op));
+
+        //In-place pairwise op on views: only the target row may change
+        INDArray other = Nd4j.rand(DataType.DOUBLE, 4, 5);
+        INDArray expArr = arr.dup();
+        expArr.getRow(1).assign(arr.getRow(1).add(other.getRow(3)));
+        INDArray target = arr.getRow(1);
+        AddOp add = new AddOp(target, other.getRow(3), target);
+        assertTrue(SmallArrayOps.canExec(add, 64));
+        SmallArrayOps.exec(add);
+        assertEquals(expArr, arr);
+
+        //Column view (element wise stride != 1): not supported
+        INDArray col = arr.getColumn(1);
+        assertFalse(SmallArrayOps.canExec(new ScalarMultiplication(col, null, col.ulike(), 3.0), 64));
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testUnsupported(Nd4jBackend backend) {
+        INDArray x = Nd4j.rand(DataType.FLOAT, 3, 4);
+
+        //Too long
+        assertFalse(SmallArrayOps.canExec(new ScalarAdd(x, null, x.ulike(), 1.0), 8));
+        //Unsupported datatype
+        INDArray h = x.castTo(DataType.HALF);
+        assertFalse(SmallArrayOps.canExec(new ScalarAdd(h, null, h.ulike(), 1.0), 64));
+        //Unsupported op
+        assertFalse(SmallArrayOps.canExec(new ScalarMax(x, null, x.ulike(), 1.0), 64));
+        //Broadcast
+        INDArray row = Nd4j.rand(DataType.FLOAT, 1, 4);
+        assertFalse(SmallArrayOps.canExec(new AddOp(x, row, x.ulike()), 64));
+        //Mixed datatypes
+        INDArray d = Nd4j.rand(DataType.DOUBLE, 3, 4);
+        assertFalse(SmallArrayOps.canExec(new AddOp(x, d, x.ulike()), 64));
+        //Different orders
+        INDArray f = x.dup('f');
+        assertFalse(SmallArrayOps.canExec(new AddOp(x, f, x.ulike()), 64));
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testExecutionerThreshold(Nd4jBackend backend) {
+        int before = Nd4j.getExecutioner().javaExecutionThreshold();
+        try {
+            INDArray x = Nd4j.rand(DataType.FLOAT, 2, 3);
+            INDArray y = Nd4j.rand(DataType.FLOAT, 2, 3).addi(0.1);
+
+            Nd4j.getExecutioner().setJavaExecutionThreshold(0);
+            INDArray exp1 = x.add(2.5);
+            INDArray exp2 = x.div(y);
+
+            Nd4j.getExecutioner().setJavaExecutionThreshold(64);
+            assertEquals(exp1, x.add(2.5));
+            assertEquals(exp2, x.div(y));
+        } finally {
+            Nd4j.getExecutioner().setJavaExecutionThreshold(before);
+        }
+    }
+
+    private static ScalarOp scalarOp(int i, INDArray x, INDArray z, double scalar) {
+        switch (i) {
+            case 0:
+                return new ScalarAdd(x, null, z, scalar);
+            case 1:
+                return new ScalarSubtraction(x, null, z, scalar);
+            case 2:
+                return new ScalarMultiplication(x, null, z, scalar);
+            case 3:
+                return new ScalarDivision(x, null, z, scalar);
+            case 4:
+                return new ScalarReverseSubtraction(x, null, z, scalar);
+            default:
+                return new ScalarReverseDivision(x, null, z, scalar);
+        }
+    }
+
+    private static CustomOp pairwiseOp(int i, INDArray x, INDArray y, INDArray z) {
+        switch (i) {
+            case 0:
+                return new AddOp(x, y, z);
+            case 1:
+                return new SubOp(x, y, z);
+            case 2:
+                return new MulOp(x, y, z);
+            case 3:
+                return new DivOp(x, y, z);
+            case 4:
+                return new RSubOp(x, y, z);
+            default:
+                return new RDivOp(x, y, z);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.nd4j.linalg.profiling;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.nd4j.common.tests.tags.NativeTag;
+import org.nd4j.linalg.BaseNd4jTestWithBackends;
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.factory.Nd4jBackend;
+import org.nd4j.linalg.profiler.metrics.LatencyHistogram;
+import org.nd4j.linalg.profiler.metrics.OpMetrics;
+
+import java.lang.management.ManagementFactory;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@NativeTag
+@Isolated
+@Execution(ExecutionMode.SAME_THREAD)
+public class OpMetricsTests extends BaseNd4jTestWithBackends {
+
+    private int sampleRate;
+
+    @Override
+    public char ordering(){
+        return 'c';
+    }
+
+    @BeforeEach
+    public void setUp() {
+        sampleRate = OpMetrics.getInstance().getSampleRate();
+        OpMetrics.getInstance().setEnabled(true);
+        OpMetrics.getInstance().setSampleRate(1);
+        OpMetrics.getInstance().reset();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        OpMetrics.getInstance().setSampleRate(sampleRate);
+        OpMetrics.getInstance().reset();
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testHistogramBuckets(Nd4jBackend backend) {
+        for (long v : new long[]{0, 1, 3, 4, 7, 8, 100, 1000, 123456789L, Long.MAX_VALUE}) {
+            int idx = LatencyHistogram.bucketIndex(v);
+            assertTrue(LatencyHistogram.bucketLowerBound(idx) <= v, "Value " + v);
+            assertTrue(LatencyHistogram.bucketUpperBound(idx) >= v, "Value " + v);
+        }
+
+        val h = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++)
+            h.record(i);
+        assertEquals(1000, h.getCount());
+        assertEquals(500500, h.getSum());
+        long p50 = h.getValueAtQuantile(0.5);
+        assertTrue(p50 >= 500 && p50 <= 625, String.valueOf(p50));
+        assertEquals(1023, h.getCountAtOrBelow(1023) + 23);
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testOpCounts(Nd4jBackend backend) {
+        val x = Nd4j.rand(DataType.FLOAT, 16, 32);
+        val y = Nd4j.rand(DataType.FLOAT, 32, 8);
+        for (int i = 0; i < 5; i++) {
+            x.addi(1.0);
+        }
+        x.mmul(y);
+
+        val metrics = OpMetrics.getInstance();
+        assertTrue(metrics.getTotalCalls() >= 6);
+
+        val add = metrics.getStats("add_scalar");
+        assertNotNull(add, metrics.getAllStats().toString());
+        assertEquals(5, add.getCalls());
+        assertEquals(5, add.getSampledCalls());
+        assertTrue(add.getBytes() >= 5 * 2 * 16 * 32 * 4, String.valueOf(add.getBytes()));
+
+        val mmul = metrics.getStats("matmul");
+        assertNotNull(mmul, metrics.getAllStats().toString());
+        assertEquals(1, mmul.getCalls());
+        assertEquals(2L * 16 * 8 * 32, mmul.getFlops());
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testDisabled(Nd4jBackend backend) {
+        OpMetrics.getInstance().setEnabled(false);
+        try {
+            Nd4j.create(DataType.FLOAT, 10).addi(1.0);
+            assertEquals(0, OpMetrics.getInstance().getTotalCalls());
+        } finally {
+            OpMetrics.getInstance().setEnabled(true);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testExport(Nd4jBackend backend) throws Exception {
+        Nd4j.create(DataType.FLOAT, 10).addi(1.0);
+
+        String text = OpMetrics.getInstance().toPrometheus();
+        assertTrue(text.contains("# TYPE nd4j_op_latency_seconds histogram"), text);
+        assertTrue(text.contains("nd4j_op_calls_total{op=\"add_scalar\"} 1"), text);
+        assertTrue(text.contains("nd4j_op_latency_seconds_bucket{op=\"add_scalar\",le=\"+Inf\"} 1"), text);
+
+        OpMetrics.getInstance().registerMBean();
+        try {
+            val server = ManagementFactory.getPlatformMBeanServer();
+            val name = new ObjectName(OpMetrics.OBJECT_NAME);
+            assertTrue(server.isRegistered(name));
+            assertEquals(1L, server.getAttribute(name, "TotalCalls"));
+        } finally {
+            OpMetrics.getInstance().unregisterMBean();
+        }
+    }
+}
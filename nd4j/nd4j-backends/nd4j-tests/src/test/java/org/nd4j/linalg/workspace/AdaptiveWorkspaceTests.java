@@ -0,0 +1,160 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.nd4j.linalg.workspace;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.nd4j.common.tests.tags.NativeTag;
+import org.nd4j.common.tests.tags.TagNames;
+import org.nd4j.linalg.BaseNd4jTestWithBackends;
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.memory.WorkspaceStats;
+import org.nd4j.linalg.api.memory.abstracts.Nd4jWorkspace;
+import org.nd4j.linalg.api.memory.conf.WorkspaceConfiguration;
+import org.nd4j.linalg.api.memory.enums.AllocationPolicy;
+import org.nd4j.linalg.api.memory.enums.LearningPolicy;
+import org.nd4j.linalg.api.memory.enums.SpillPolicy;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.factory.Nd4jBackend;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@Tag(TagNames.WORKSPACES)
+@NativeTag
+@Execution(ExecutionMode.SAME_THREAD)
+public class AdaptiveWorkspaceTests extends BaseNd4jTestWithBackends {
+
+    private static final String WS_ID = "ADAPTIVE_WS";
+
+    @AfterEach
+    public void shutUp() {
+        Nd4j.getMemoryManager().setCurrentWorkspace(null);
+        Nd4j.getWorkspaceManager().destroyAllWorkspacesForCurrentThread();
+    }
+
+    @Override
+    public char ordering() {
+        return 'c';
+    }
+
+    private static WorkspaceConfiguration adaptiveConfig(int window) {
+        return WorkspaceConfiguration.builder()
+                .initialSize(0)
+                .policyAllocation(AllocationPolicy.STRICT)
+                .policyLearning(LearningPolicy.ADAPTIVE)
+                .policySpill(SpillPolicy.REALLOCATE)
+                .adaptiveWindow(window)
+                .build();
+    }
+
+    private static void cycle(WorkspaceConfiguration conf, long length) {
+        try (val ws = Nd4j.getWorkspaceManager().getAndActivateWorkspace(conf, WS_ID)) {
+            Nd4j.create(DataType.DOUBLE, length).assign(1.0);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testAdaptiveGrowAndShrink(Nd4jBackend backend) {
+        val conf = adaptiveConfig(5);
+        cycle(conf, 1000);
+
+        val ws = (Nd4jWorkspace) Nd4j.getWorkspaceManager().getWorkspaceForCurrentThread(WS_ID);
+        assertTrue(ws.isAdaptive());
+        long initial = ws.getCurrentSize();
+        assertTrue(initial >= 1000 * 8);
+        assertEquals(0, ws.getReallocationsCount());
+
+        // cycle that doesn't fit: spilled, then grown at the end of the cycle
+        cycle(conf, 4000);
+        long grown = ws.getCurrentSize();
+        assertTrue(grown >= 4000 * 8, "Size: " + grown);
+        assertEquals(1, ws.getReallocationsCount());
+        assertTrue(ws.getStats().getSpilledBytes() > 0);
+
+        // cycle that fits: no change
+        cycle(conf, 4000);
+        assertEquals(grown, ws.getCurrentSize());
+        assertEquals(1, ws.getReallocationsCount());
+
+        // once a full window contains only small cycles, shrink back to the peak of the window
+        for (int i = 0; i < 10; i++) {
+            cycle(conf, 1000);
+        }
+        assertTrue(ws.getCurrentSize() < grown, "Size: " + ws.getCurrentSize());
+        assertTrue(ws.getCurrentSize() >= 1000 * 8);
+        assertEquals(2, ws.getReallocationsCount());
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testNoShrinkWithinThreshold(Nd4jBackend backend) {
+        val conf = adaptiveConfig(3);
+        cycle(conf, 1000);
+        val ws = (Nd4jWorkspace) Nd4j.getWorkspaceManager().getWorkspaceForCurrentThread(WS_ID);
+        long size = ws.getCurrentSize();
+
+        // usage above the shrink threshold shouldn't cause reallocation
+        for (int i = 0; i < 10; i++) {
+            cycle(conf, 800);
+        }
+        assertEquals(size, ws.getCurrentSize());
+        assertEquals(0, ws.getReallocationsCount());
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.nd4j.linalg.BaseNd4jTestWithBackends#configs")
+    public void testWorkspaceStats(Nd4jBackend backend) {
+        val conf = WorkspaceConfiguration.builder()
+                .initialSize(1024)
+                .policyAllocation(AllocationPolicy.STRICT)
+                .policyLearning(LearningPolicy.NONE)
+                .policySpill(SpillPolicy.EXTERNAL)
+                .build();
+
+        for (int i = 0; i < 3; i++) {
+            try (val ws = Nd4j.getWorkspaceManager().getAndActivateWorkspace(conf, WS_ID)) {
+                Nd4j.create(DataType.DOUBLE, 16).assign(1.0);
+                Nd4j.create(DataType.DOUBLE, 1000).assign(1.0);
+            }
+        }
+
+        List<WorkspaceStats> stats = Nd4j.getWorkspaceManager().getWorkspaceStatsForCurrentThread();
+        assertEquals(1, stats.size());
+        WorkspaceStats s = stats.get(0);
+        assertEquals(WS_ID, s.getId());
+        assertFalse(s.isAdaptive());
+        assertEquals(1024, s.getCurrentSize());
+        assertEquals(3, s.getCycles());
+        assertEquals(3, s.getSpilledAllocations());
+        assertEquals(3 * 1000 * 8, s.getSpilledBytes());
+        assertEquals(0, s.getReallocations());
+    }
+}
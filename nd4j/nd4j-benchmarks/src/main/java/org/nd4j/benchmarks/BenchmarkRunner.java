@@ -0,0 +1,58 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.nd4j.benchmarks;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point for the shaded benchmark jar. Arguments are standard JMH command line options (run with {@code -h} for
+ * details). If no thread count is specified with {@code -t}, every selected benchmark is run once per thread count in
+ * {@link #DEFAULT_THREAD_COUNTS}, so that contention in op dispatch shows up alongside single threaded overhead.<br>
+ * Examples:
+ * <pre>
+ * java -jar nd4j-benchmarks.jar                                   # All benchmarks, 1 and 4 threads
+ * java -jar nd4j-benchmarks.jar Elementwise -p dataType=FLOAT     # Element-wise benchmarks, float only
+ * java -jar nd4j-benchmarks.jar -t 8 -rf json -rff results.json   # 8 threads, JSON results for tracking
+ * </pre>
+ */
+public class BenchmarkRunner {
+    public static final int[] DEFAULT_THREAD_COUNTS = {1, 4};
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        if (cmd.getThreads().hasValue()) {
+            new Runner(cmd).run();
+            return;
+        }
+
+        for (int t : DEFAULT_THREAD_COUNTS) {
+            Options opts = new OptionsBuilder()
+                    .parent(cmd)
+                    .threads(t)
+                    .build();
+            new Runner(opts).run();
+        }
+    }
+}
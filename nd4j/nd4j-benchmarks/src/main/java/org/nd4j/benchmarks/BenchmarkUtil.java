@@ -0,0 +1,54 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.nd4j.benchmarks;
+
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+
+/**
+ * Utilities shared by the benchmark states
+ */
+public class BenchmarkUtil {
+
+    private BenchmarkUtil() {
+    }
+
+    /**
+     * Create an array with random values in [0, 1) (floating point types) or [0, 100) (integer types)
+     */
+    public static INDArray random(DataType dataType, long... shape) {
+        if (dataType.isFPType())
+            return Nd4j.rand(dataType, shape);
+        return Nd4j.rand(DataType.FLOAT, shape).muli(100).castTo(dataType);
+    }
+
+    /**
+     * Parse a shape from a benchmark parameter, for example "32x64"
+     */
+    public static long[] shape(String s) {
+        String[] split = s.split("x");
+        long[] out = new long[split.length];
+        for (int i = 0; i < split.length; i++) {
+            out[i] = Long.parseLong(split[i].trim());
+        }
+        return out;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.nd4j.benchmarks;
+
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Broadcasting of row vectors, column vectors and lower rank arrays against a matrix
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BroadcastBenchmarks {
+
+    @Param({"FLOAT", "DOUBLE"})
+    public DataType dataType;
+
+    @Param({"4x4", "32x64", "256x256"})
+    public String shape;
+
+    private INDArray matrix;
+    private INDArray row;
+    private INDArray column;
+
+    @Setup
+    public void setup() {
+        long[] s = BenchmarkUtil.shape(shape);
+        matrix = BenchmarkUtil.random(dataType, s);
+        row = BenchmarkUtil.random(dataType, 1, s[1]);
+        column = BenchmarkUtil.random(dataType, s[0], 1);
+    }
+
+    @Benchmark
+    public INDArray addiRowVector() {
+        return matrix.addiRowVector(row);
+    }
+
+    @Benchmark
+    public INDArray muliColumnVector() {
+        return matrix.muliColumnVector(column);
+    }
+
+    @Benchmark
+    public INDArray implicitBroadcastRow() {
+        return matrix.add(row);
+    }
+
+    @Benchmark
+    public INDArray implicitBroadcastColumn() {
+        return matrix.sub(column);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.nd4j.benchmarks;
+
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.ops.transforms.Transforms;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Element-wise ops on small arrays, where the Java-side overhead (validation, op construction, dispatch) dominates
+ * the actual computation
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ElementwiseBenchmarks {
+
+    @Param({"FLOAT", "DOUBLE"})
+    public DataType dataType;
+
+    @Param({"1", "16", "256", "4096"})
+    public int length;
+
+    private INDArray x;
+    private INDArray y;
+    private INDArray z;
+
+    @Setup
+    public void setup() {
+        Nd4j.getRandom().setSeed(12345);
+        x = BenchmarkUtil.random(dataType, length);
+        y = BenchmarkUtil.random(dataType, length);
+        z = Nd4j.create(dataType, length);
+    }
+
+    @Benchmark
+    public INDArray scalarAddInPlace() {
+        return x.addi(1.0);
+    }
+
+    @Benchmark
+    public INDArray scalarAdd() {
+        return x.add(1.0);
+    }
+
+    @Benchmark
+    public INDArray pairwiseAddInPlace() {
+        return x.addi(y);
+    }
+
+    @Benchmark
+    public INDArray pairwiseAdd() {
+        return x.add(y);
+    }
+
+    @Benchmark
+    public INDArray pairwiseMulInto() {
+        return x.mul(y, z);
+    }
+
+    @Benchmark
+    public INDArray tanhInPlace() {
+        return Transforms.tanh(y, false);
+    }
+
+    @Benchmark
+    public INDArray assign() {
+        return z.assign(y);
+    }
+}
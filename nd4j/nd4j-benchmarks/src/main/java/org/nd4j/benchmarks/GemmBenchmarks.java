@@ -0,0 +1,79 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.nd4j.benchmarks;
+
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Square matrix multiplication (gemm) of various sizes, from sizes where dispatch overhead dominates to sizes where
+ * BLAS throughput dominates
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GemmBenchmarks {
+
+    @Param({"FLOAT", "DOUBLE"})
+    public DataType dataType;
+
+    @Param({"4", "32", "128", "512"})
+    public int size;
+
+    private INDArray a;
+    private INDArray b;
+    private INDArray c;
+    private INDArray cF;
+
+    @Setup
+    public void setup() {
+        a = BenchmarkUtil.random(dataType, size, size);
+        b = BenchmarkUtil.random(dataType, size, size);
+        c = Nd4j.create(dataType, size, size);
+        cF = Nd4j.create(dataType, new long[]{size, size}, 'f');
+    }
+
+    @Benchmark
+    public INDArray mmul() {
+        return a.mmul(b);
+    }
+
+    @Benchmark
+    public INDArray mmulInto() {
+        return a.mmuli(b, cF);
+    }
+
+    @Benchmark
+    public INDArray gemmTransposeA() {
+        return Nd4j.gemm(a, b, c, true, false, 1.0, 0.0);
+    }
+
+    @Benchmark
+    public INDArray gemmTransposeB() {
+        return Nd4j.gemm(a, b, c, false, true, 1.0, 0.0);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.nd4j.benchmarks;
+
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.indexing.INDArrayIndex;
+import org.nd4j.linalg.indexing.NDArrayIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * get/put with {@link INDArrayIndex}, and scalar element access
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IndexingBenchmarks {
+
+    @Param({"FLOAT", "DOUBLE"})
+    public DataType dataType;
+
+    @Param({"16x16", "256x256"})
+    public String shape;
+
+    private INDArray x;
+    private INDArray row;
+    private INDArray block;
+    private long rows;
+    private long cols;
+    private int i;
+
+    @Setup
+    public void setup() {
+        long[] s = BenchmarkUtil.shape(shape);
+        rows = s[0];
+        cols = s[1];
+        x = BenchmarkUtil.random(dataType, s);
+        row = BenchmarkUtil.random(dataType, cols);
+        block = BenchmarkUtil.random(dataType, rows / 2, cols / 2);
+    }
+
+    private long next() {
+        i = (i + 1) % (int) rows;
+        return i;
+    }
+
+    @Benchmark
+    public INDArray getPointAll() {
+        return x.get(NDArrayIndex.point(next()), NDArrayIndex.all());
+    }
+
+    @Benchmark
+    public INDArray getAllPoint() {
+        return x.get(NDArrayIndex.all(), NDArrayIndex.point(next() % cols));
+    }
+
+    @Benchmark
+    public INDArray getInterval() {
+        return x.get(NDArrayIndex.interval(0, rows / 2), NDArrayIndex.interval(cols / 4, cols / 4 + cols / 2));
+    }
+
+    @Benchmark
+    public INDArray getStridedInterval() {
+        return x.get(NDArrayIndex.interval(0, 2, rows), NDArrayIndex.all());
+    }
+
+    @Benchmark
+    public INDArray putRow() {
+        return x.put(new INDArrayIndex[]{NDArrayIndex.point(next()), NDArrayIndex.all()}, row);
+    }
+
+    @Benchmark
+    public INDArray putInterval() {
+        return x.put(new INDArrayIndex[]{NDArrayIndex.interval(0, rows / 2), NDArrayIndex.interval(0, cols / 2)}, block);
+    }
+
+    @Benchmark
+    public double getDouble() {
+        return x.getDouble(next(), i % cols);
+    }
+
+    @Benchmark
+    public INDArray putScalar() {
+        return x.putScalar(next(), i % cols, 1.0);
+    }
+}
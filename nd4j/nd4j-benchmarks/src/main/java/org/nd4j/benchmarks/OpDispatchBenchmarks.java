@@ -0,0 +1,116 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.nd4j.benchmarks;
+
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.DynamicCustomOp;
+import org.nd4j.linalg.api.ops.OpContext;
+import org.nd4j.linalg.api.ops.impl.transforms.pairwise.arithmetic.AddOp;
+import org.nd4j.linalg.api.ops.impl.transforms.strict.Tanh;
+import org.nd4j.linalg.factory.Nd4j;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of executing ops through the different APIs on scalar-sized arrays, where the computation itself is negligible:
+ * op object construction, custom op builders, and op context setup and reuse
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OpDispatchBenchmarks {
+
+    @Param({"FLOAT", "DOUBLE"})
+    public DataType dataType;
+
+    private INDArray x;
+    private INDArray y;
+    private INDArray z;
+    private OpContext reusedContext;
+    private DynamicCustomOp reusedOp;
+
+    @Setup
+    public void setup() {
+        x = BenchmarkUtil.random(dataType, 1);
+        y = BenchmarkUtil.random(dataType, 1);
+        z = Nd4j.create(dataType, 1);
+
+        reusedOp = new AddOp(x, y, z);
+        reusedContext = Nd4j.getExecutioner().buildContext();
+        reusedContext.setInputArray(0, x);
+        reusedContext.setInputArray(1, y);
+        reusedContext.setOutputArray(0, z);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        reusedContext.close();
+    }
+
+    @Benchmark
+    public INDArray legacyTransformNewOp() {
+        return Nd4j.getExecutioner().exec(new Tanh(x, z));
+    }
+
+    @Benchmark
+    public INDArray[] customOpNewOp() {
+        return Nd4j.exec(new AddOp(x, y, z));
+    }
+
+    @Benchmark
+    public INDArray[] customOpBuilder() {
+        return Nd4j.exec(DynamicCustomOp.builder("add")
+                .addInputs(x, y)
+                .addOutputs(z)
+                .build());
+    }
+
+    @Benchmark
+    public INDArray[] customOpReused() {
+        return Nd4j.exec(reusedOp);
+    }
+
+    @Benchmark
+    public INDArray[] customOpNewContext() throws Exception {
+        try (OpContext oc = Nd4j.getExecutioner().buildContext()) {
+            oc.setInputArray(0, x);
+            oc.setInputArray(1, y);
+            oc.setOutputArray(0, z);
+            return Nd4j.exec(reusedOp, oc);
+        }
+    }
+
+    @Benchmark
+    public INDArray[] customOpReusedContext() {
+        return Nd4j.exec(reusedOp, reusedContext);
+    }
+
+    @Benchmark
+    public OpContext buildContext() throws Exception {
+        OpContext oc = Nd4j.getExecutioner().buildContext();
+        oc.close();
+        return oc;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.nd4j.benchmarks;
+
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full and along-dimension reductions, including index reductions
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReductionBenchmarks {
+
+    @Param({"FLOAT", "DOUBLE"})
+    public DataType dataType;
+
+    @Param({"4x4", "32x64", "256x256", "8x16x32"})
+    public String shape;
+
+    private INDArray x;
+
+    @Setup
+    public void setup() {
+        x = BenchmarkUtil.random(dataType, BenchmarkUtil.shape(shape));
+    }
+
+    @Benchmark
+    public double sumAllScalar() {
+        return x.sumNumber().doubleValue();
+    }
+
+    @Benchmark
+    public INDArray sumDim0() {
+        return x.sum(0);
+    }
+
+    @Benchmark
+    public INDArray sumLastDim() {
+        return x.sum(x.rank() - 1);
+    }
+
+    @Benchmark
+    public INDArray meanLastDimKeepDims() {
+        return x.mean(true, x.rank() - 1);
+    }
+
+    @Benchmark
+    public INDArray stdDim0() {
+        return x.std(0);
+    }
+
+    @Benchmark
+    public INDArray argMaxLastDim() {
+        return Nd4j.argMax(x, x.rank() - 1);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+package org.nd4j.benchmarks;
+
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * View creation (reshape, permute, transpose, row/slice access) and copies. View creation should not touch array data,
+ * so these measure the cost of shape calculations and shape info buffer creation
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ViewBenchmarks {
+
+    @Param({"FLOAT", "DOUBLE"})
+    public DataType dataType;
+
+    @Param({"16x16", "8x16x32", "128x256"})
+    public String shape;
+
+    private INDArray x;
+    private long[] flatShape;
+    private int[] reversedDims;
+
+    @Setup
+    public void setup() {
+        long[] s = BenchmarkUtil.shape(shape);
+        x = BenchmarkUtil.random(dataType, s);
+        flatShape = new long[]{x.length()};
+        reversedDims = new int[s.length];
+        for (int i = 0; i < s.length; i++) {
+            reversedDims[i] = s.length - 1 - i;
+        }
+    }
+
+    @Benchmark
+    public INDArray reshapeFlat() {
+        return x.reshape(flatShape);
+    }
+
+    @Benchmark
+    public INDArray permute() {
+        return x.permute(reversedDims);
+    }
+
+    @Benchmark
+    public INDArray transpose() {
+        return x.transpose();
+    }
+
+    @Benchmark
+    public INDArray slice() {
+        return x.slice(0);
+    }
+
+    @Benchmark
+    public INDArray tensorAlongDimension() {
+        return x.tensorAlongDimension(0, x.rank() - 1);
+    }
+
+    @Benchmark
+    public INDArray dup() {
+        return x.dup();
+    }
+
+    @Benchmark
+    public INDArray dupFortranOrder() {
+        return x.dup('f');
+    }
+
+    @Benchmark
+    public INDArray dupOfPermutedView() {
+        return x.permute(reversedDims).dup('c');
+    }
+}
@@ -128,6 +128,14 @@ public class ND4JSystemProperties {
      */
     public static final String AERON_TERM_BUFFER_PROP = "aeron.term.buffer.length";
 
+    /**
+     * Applicability: nd4j-parameter-server, dl4j-spark (gradient sharing training master)<br>
+     * Description: Set to false to send all parameter server messages with Java serialization, instead of the binary
+     * codec used for gradients, parameters and message chunks. Messages in either format are always accepted.<br>
+     * Default: true
+     */
+    public static final String PARAMETER_SERVER_BINARY_CODEC = "org.nd4j.parameterserver.binarycodec";
+
     /**
      * Applicability: nd4j-common {@link Resources} class (and hence {@link StrumpfResolver})<br>
      * Description: When resolving resources from a Strumpf resource file (Example: {@code Resources.asFile("myFile.txt")}
@@ -159,6 +167,105 @@ public class ND4JSystemProperties {
      */
     public static final String RESOURCES_LOCAL_DIRS = "org.nd4j.strumpf.resource.dirs";
 
+    /**
+     * Applicability: Always<br>
+     * Description: Fraction (0 to 1) of the off-heap memory limits ({@link #JAVACPP_MEMORY_MAX_BYTES} and
+     * {@link #JAVACPP_MEMORY_MAX_PHYSICAL_BYTES}) above which ND4J will actively reclaim memory: idle pooled buffers
+     * are released, and garbage collection is requested so that unreachable INDArrays can be deallocated.
+     * The monitor is opt-in: when enabled, it runs a background thread that polls memory use and may call
+     * {@code System.gc()}. Values around 0.8 are usually suitable<br>
+     * Default: 0 (disabled)
+     */
+    public static final String MEMORY_PRESSURE_THRESHOLD = "org.nd4j.memory.pressure.threshold";
+
+    /**
+     * Applicability: Always, if the memory pressure monitor is enabled (see {@link #MEMORY_PRESSURE_THRESHOLD})<br>
+     * Description: How frequently (in milliseconds) off-heap memory use is checked by the memory pressure monitor<br>
+     * Default: 50
+     */
+    public static final String MEMORY_PRESSURE_POLL_INTERVAL_MS = "org.nd4j.memory.pressure.pollinterval";
+
+    /**
+     * Applicability: Always, if the memory pressure monitor is enabled (see {@link #MEMORY_PRESSURE_THRESHOLD})<br>
+     * Description: Minimum time (in milliseconds) between garbage collections requested by the memory pressure monitor<br>
+     * Default: 500
+     */
+    public static final String MEMORY_PRESSURE_MIN_GC_INTERVAL_MS = "org.nd4j.memory.pressure.mingcinterval";
+
+    /**
+     * Applicability: Always<br>
+     * Description: Set to false to disable recording of per-op metrics (call counts, latency histograms, bytes and
+     * FLOPs) by {@code org.nd4j.linalg.profiler.metrics.OpMetrics}<br>
+     * Default: true
+     */
+    public static final String OP_METRICS_ENABLED = "org.nd4j.metrics.ops.enabled";
+
+    /**
+     * Applicability: Always, if op metrics are enabled (see {@link #OP_METRICS_ENABLED})<br>
+     * Description: Op call counts are always recorded, but latency, bytes and FLOPs are only recorded for (on average)
+     * 1 in every N op calls, to keep the overhead low. Set to 1 to record every call<br>
+     * Default: 100
+     */
+    public static final String OP_METRICS_SAMPLE_RATE = "org.nd4j.metrics.ops.samplerate";
+
+    /**
+     * Applicability: nd4j-native backend<br>
+     * Description: Maximum array length for which simple arithmetic ops (scalar and pairwise add, subtract, multiply
+     * and divide on FLOAT and DOUBLE arrays) are executed in Java instead of natively. For very small arrays, the fixed
+     * cost of a native op call is much larger than the computation itself. Results are identical to native execution.
+     * See {@code OpExecutioner.setJavaExecutionThreshold(int)}<br>
+     * Default: 0 (disabled)
+     */
+    public static final String JAVA_EXEC_MAX_LENGTH = "org.nd4j.ops.javaexec.maxlength";
+
+    /**
+     * Applicability: nd4j-native backend<br>
+     * Description: Maximum number of shape info buffers held by the shape info cache. When the cache is full, the least
+     * recently used entries are evicted. Set to 0 to disable caching of shape info buffers<br>
+     * Default: 1000
+     */
+    public static final String SHAPE_INFO_CACHE_MAX_ENTRIES = "org.nd4j.cache.shapeinfo.maxentries";
+
+    /**
+     * Applicability: nd4j-native backend<br>
+     * Description: Maximum total size (in bytes) of the shape info buffers held by the shape info cache<br>
+     * Default: 16777216 (16MB)
+     */
+    public static final String SHAPE_INFO_CACHE_MAX_BYTES = "org.nd4j.cache.shapeinfo.maxbytes";
+
+    /**
+     * Applicability: nd4j-native backend<br>
+     * Description: Maximum number of constant buffers held by the constant buffer cache. When the cache is full, the
+     * least recently used entries are evicted. Set to 0 to disable caching of constant buffers<br>
+     * Default: 1000
+     */
+    public static final String CONSTANT_CACHE_MAX_ENTRIES = "org.nd4j.cache.constants.maxentries";
+
+    /**
+     * Applicability: nd4j-native backend<br>
+     * Description: Maximum total size (in bytes) of the buffers held by the constant buffer cache<br>
+     * Default: 67108864 (64MB)
+     */
+    public static final String CONSTANT_CACHE_MAX_BYTES = "org.nd4j.cache.constants.maxbytes";
+
+    /**
+     * Applicability: nd4j-native backend<br>
+     * Description: Maximum number of tensor along dimension (TAD) shape info and offset buffers held by the TAD cache.
+     * When the cache is full, the least recently used entries are evicted. Set to 0 to disable caching<br>
+     * Default: 1000
+     */
+    public static final String TAD_CACHE_MAX_ENTRIES = "org.nd4j.cache.tad.maxentries";
+
+    /**
+     * Applicability: Always<br>
+     * Description: Set to true to resize workspaces adaptively (see {@code LearningPolicy.ADAPTIVE}) when they are
+     * configured to learn their size and reallocate on spill (SpillPolicy.REALLOCATE), as for example the workspaces
+     * used in DL4J training and inference. Useful when memory requirements vary between iterations, such as with
+     * variable sequence length: workspaces grow in larger steps, and shrink when peak usage drops<br>
+     * Default: false
+     */
+    public static final String WORKSPACE_ADAPTIVE = "org.nd4j.workspace.adaptive";
+
     private ND4JSystemProperties() {
     }
 }
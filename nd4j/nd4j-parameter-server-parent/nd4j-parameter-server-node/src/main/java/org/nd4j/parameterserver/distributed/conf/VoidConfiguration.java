@@ -186,6 +186,15 @@ public class VoidConfiguration implements Serializable {
     @Builder.Default
     private int maxFailuresPerNode = 3;
 
+    /**
+     * This variable defines bounded staleness for gradient updates: a node that computed an update more than this
+     * number of iterations behind the most recent update received from other nodes (i.e. a straggler) doesn't share
+     * or apply it. The update is kept in the node's residual instead, so all nodes still apply the same set of updates.
+     * Default value: 0, all updates are shared
+     */
+    @Builder.Default
+    private int maxUpdateStaleness = 0;
+
     /**
      * This optional variable defines IP address of the box which acts as master for gradients training.
      * Leave it null, and Spark Master node will be used as Master for parameter server as well.
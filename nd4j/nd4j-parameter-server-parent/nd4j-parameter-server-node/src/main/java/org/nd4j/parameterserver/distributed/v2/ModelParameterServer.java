@@ -55,6 +55,7 @@ import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
@@ -105,6 +106,9 @@ public final class ModelParameterServer {
     private AtomicInteger iterationNumber = new AtomicInteger(0);
     private AtomicInteger epochNumber = new AtomicInteger(0);
 
+    // number of local updates discarded by the sender due to VoidConfiguration.maxUpdateStaleness
+    private final AtomicLong staleUpdates = new AtomicLong(0);
+
     protected ModelParameterServer() {
         //
     }
@@ -432,6 +436,46 @@ public final class ModelParameterServer {
         sendUpdate(array, 0, 0);
     }
 
+    /**
+     * This method checks if a local update computed at the given iteration falls out of the staleness bound defined by
+     * {@link VoidConfiguration#getMaxUpdateStaleness()}, relative to the most recent iteration received from other nodes.<br>
+     * PLEASE NOTE: the check must be done by the sender, before the update is encoded and applied locally, so that the
+     * update is either applied by every node or by none of them
+     *
+     * @param iteration iteration number of the update
+     * @return true if update should be discarded, false otherwise
+     */
+    public boolean isStale(int iteration) {
+        return isStale(iteration, configuration == null ? 0 : configuration.getMaxUpdateStaleness());
+    }
+
+    /**
+     * This method checks if a local update computed at the given iteration falls out of the given staleness bound,
+     * relative to the most recent iteration received from other nodes
+     *
+     * @param iteration    iteration number of the update
+     * @param maxStaleness max staleness, in iterations, or 0 for no limit
+     * @return true if update should be discarded, false otherwise
+     */
+    public boolean isStale(int iteration, int maxStaleness) {
+        return maxStaleness > 0 && iterationNumber.get() - iteration > maxStaleness;
+    }
+
+    /**
+     * This method should be called by the sender for each update discarded as stale
+     */
+    public void markStaleUpdate() {
+        staleUpdates.incrementAndGet();
+    }
+
+    /**
+     * This method returns number of local updates discarded so far, due to staleness bound
+     * @return
+     */
+    public long getStaleUpdatesCount() {
+        return staleUpdates.get();
+    }
+
     /**
      * This method returns updates received from network
      * @return
@@ -24,6 +24,10 @@ package org.nd4j.parameterserver.distributed.v2.chunks;
 import lombok.*;
 import org.nd4j.parameterserver.distributed.v2.messages.VoidMessage;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
@@ -69,8 +73,54 @@ public class VoidChunk implements VoidMessage {
     private int numberOfChunks;
 
     /**
-     * Actual chunk
+     * This field is true if chunk is passed along the ring of nodes, see {@link org.nd4j.parameterserver.distributed.v2.enums.MeshBuildMode#RING}
      */
     @Getter
+    @Setter
+    private boolean ringPropagation;
+
+    /**
+     * Actual chunk
+     */
     private byte[] payload;
+
+    /**
+     * Actual chunk, as a view of a larger buffer (i.e. encoded original message, or received network message).
+     * Used instead of payload array, to avoid copies
+     */
+    private transient ByteBuffer payloadBuffer;
+
+    /**
+     * This method returns chunk contents as byte array
+     * @return
+     */
+    public byte[] getPayload() {
+        if (payload == null && payloadBuffer != null) {
+            val bytes = new byte[payloadBuffer.remaining()];
+            payloadBuffer.duplicate().get(bytes);
+            return bytes;
+        }
+
+        return payload;
+    }
+
+    /**
+     * This method returns chunk contents as ByteBuffer, without copying them.
+     * Returned buffer is a new view, so its position can be changed freely
+     * @return
+     */
+    public ByteBuffer getPayloadBuffer() {
+        if (payloadBuffer != null)
+            return payloadBuffer.duplicate();
+
+        return ByteBuffer.wrap(payload);
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        // buffer isn't serializable, so we materialize payload for Java serialization
+        if (payload == null)
+            payload = getPayload();
+
+        out.defaultWriteObject();
+    }
 }
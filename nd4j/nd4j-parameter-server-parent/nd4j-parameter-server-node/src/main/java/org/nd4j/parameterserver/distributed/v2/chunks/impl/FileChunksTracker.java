@@ -27,12 +27,13 @@ import lombok.val;
 import org.nd4j.linalg.exception.ND4JIllegalStateException;
 import org.nd4j.common.primitives.AtomicBoolean;
 import org.nd4j.common.util.ND4JFileUtils;
-import org.nd4j.common.util.SerializationUtils;
 import org.nd4j.parameterserver.distributed.v2.chunks.ChunksTracker;
 import org.nd4j.parameterserver.distributed.v2.chunks.VoidChunk;
 import org.nd4j.parameterserver.distributed.v2.messages.VoidMessage;
+import org.nd4j.parameterserver.distributed.v2.util.MessageCodec;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -59,10 +60,9 @@ public class FileChunksTracker<T extends VoidMessage> implements ChunksTracker<T
             holder.deleteOnExit();
 
 
-            // fill file with 0s for simplicity
-            try (val fos = new FileOutputStream(holder); val bos = new BufferedOutputStream(fos, 32768)) {
-                for (int e = 0; e < size; e++)
-                    bos.write(0);
+            // reserve full message size upfront
+            try (val f = new RandomAccessFile(holder, "rw")) {
+                f.setLength(size);
             }
 
             // we'll pre-initialize states map
@@ -86,10 +86,11 @@ public class FileChunksTracker<T extends VoidMessage> implements ChunksTracker<T
             return isComplete();
 
         // writing out this chunk
-        try (val f = new RandomAccessFile(holder, "rw")) {
-            f.seek(chunk.getChunkId() * chunk.getSplitSize());
-
-            f.write(chunk.getPayload());
+        try (val f = new RandomAccessFile(holder, "rw"); val channel = f.getChannel()) {
+            long position = (long) chunk.getChunkId() * chunk.getSplitSize();
+            val payload = chunk.getPayloadBuffer();
+            while (payload.hasRemaining())
+                position += channel.write(payload, position);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -114,8 +115,16 @@ public class FileChunksTracker<T extends VoidMessage> implements ChunksTracker<T
         if (!isComplete())
             throw new ND4JIllegalStateException("Message isn't ready for concatenation");
 
-        try (val fis = new FileInputStream(holder); val bis = new BufferedInputStream(fis)) {
-            return SerializationUtils.deserialize(bis);
+        if (size > Integer.MAX_VALUE)
+            throw new ND4JIllegalStateException("Total message size > Integer.MAX_VALUE");
+
+        try (val f = new RandomAccessFile(holder, "r"); val channel = f.getChannel()) {
+            // reading whole message into direct buffer, so INDArray payloads can be decoded without extra copies
+            val buffer = ByteBuffer.allocateDirect((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0);
+
+            buffer.flip();
+            return MessageCodec.decode(buffer);
         } catch (Exception e) {
             log.error("",e);
             throw new RuntimeException(e);
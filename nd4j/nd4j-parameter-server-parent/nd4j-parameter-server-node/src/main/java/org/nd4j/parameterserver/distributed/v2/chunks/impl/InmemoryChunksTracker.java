@@ -26,12 +26,12 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.nd4j.linalg.exception.ND4JIllegalStateException;
 import org.nd4j.common.primitives.AtomicBoolean;
-import org.nd4j.common.util.SerializationUtils;
 import org.nd4j.parameterserver.distributed.v2.chunks.ChunksTracker;
 import org.nd4j.parameterserver.distributed.v2.chunks.VoidChunk;
 import org.nd4j.parameterserver.distributed.v2.messages.VoidMessage;
+import org.nd4j.parameterserver.distributed.v2.util.MessageCodec;
 
-import java.io.*;
+import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -44,7 +44,8 @@ public class InmemoryChunksTracker<T extends VoidMessage> implements ChunksTrack
 
     private Map<Integer, AtomicBoolean> map = new ConcurrentHashMap<>();
 
-    private final byte[] buffer;
+    // direct buffer, so INDArray payloads can be decoded without extra copies
+    private final ByteBuffer buffer;
 
     private final long size;
 
@@ -59,7 +60,7 @@ public class InmemoryChunksTracker<T extends VoidMessage> implements ChunksTrack
         size = chunk.getTotalSize();
 
         try {
-            buffer = new byte[(int) size];
+            buffer = ByteBuffer.allocateDirect((int) size);
 
             // we'll pre-initialize states map
             for (int e = 0; e < numChunks; e++)
@@ -92,9 +93,9 @@ public class InmemoryChunksTracker<T extends VoidMessage> implements ChunksTrack
 
         val offset = chunk.getChunkId() * chunk.getSplitSize();
 
-        int cnt = 0;
-        for (int e = offset; e < offset + chunk.getPayload().length; e++)
-            buffer[e] = chunk.getPayload()[cnt++];
+        val view = buffer.duplicate();
+        view.position(offset);
+        view.put(chunk.getPayloadBuffer());
 
         // tagging this chunk as received
         b.set(true);
@@ -107,8 +108,8 @@ public class InmemoryChunksTracker<T extends VoidMessage> implements ChunksTrack
         if (!isComplete())
             throw new ND4JIllegalStateException("Message isn't ready for concatenation");
 
-        try (val bais = new ByteArrayInputStream(buffer)) {
-            return SerializationUtils.deserialize(bais);
+        try {
+            return MessageCodec.decode(buffer);
         } catch (Exception e) {
             log.error("Exception: {}",e);
             throw new RuntimeException(e);
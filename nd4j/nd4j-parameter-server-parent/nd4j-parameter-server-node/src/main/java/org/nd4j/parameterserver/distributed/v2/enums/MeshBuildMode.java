@@ -30,4 +30,10 @@ public enum MeshBuildMode {
      * In this mode all nodes are organized into mesh, and each node is responsible for messages propagation
      */
     MESH,
+
+    /**
+     * In this mode all nodes are connected to the master, same as PLAIN, but updates are propagated over the ring of online nodes:
+     * each node passes every chunk of the update to its successor as soon as it arrives, so each node sends and receives every update only once
+     */
+    RING,
 }
@@ -21,10 +21,10 @@
 package org.nd4j.parameterserver.distributed.v2.messages;
 
 import org.agrona.concurrent.UnsafeBuffer;
-import org.nd4j.common.util.SerializationUtils;
+import org.nd4j.parameterserver.distributed.v2.util.MessageCodec;
 
-import java.io.ByteArrayInputStream;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 
 public interface VoidMessage extends Serializable {
     /**
@@ -51,15 +51,15 @@ public interface VoidMessage extends Serializable {
     void setOriginatorId(String id);
 
     /**
-     * This method serializes this VoidMessage into UnsafeBuffer
+     * This method serializes this VoidMessage into UnsafeBuffer, see {@link MessageCodec}
      *
      * @return
      */
     default UnsafeBuffer asUnsafeBuffer() {
-        return new UnsafeBuffer(SerializationUtils.toByteArray(this));
+        return new UnsafeBuffer(MessageCodec.encode(this));
     }
 
     static VoidMessage fromBytes(byte[] bytes) {
-        return SerializationUtils.readObject(new ByteArrayInputStream(bytes));
+        return MessageCodec.decode(ByteBuffer.wrap(bytes));
     }
 }
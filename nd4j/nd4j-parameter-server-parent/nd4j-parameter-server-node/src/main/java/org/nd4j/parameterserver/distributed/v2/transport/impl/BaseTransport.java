@@ -100,6 +100,9 @@ public abstract  class BaseTransport  implements Transport {
     // we're keeping Ids of last 2k INDArrayMessages, just to avoid double spending/retransmission
     protected MessagesHistoryHolder<String> historyHolder = new HashHistoryHolder<String>(2048);
 
+    // Ids of chunks already forwarded along the ring, so ring reconfiguration can't make chunks loop
+    protected MessagesHistoryHolder<String> ringHistoryHolder = new HashHistoryHolder<String>(16384);
+
     // this flag is used to track status of handshake procedure at node side
     protected AtomicBoolean handshakeFlag = new AtomicBoolean(false);
 
@@ -235,6 +238,12 @@ public abstract  class BaseTransport  implements Transport {
     }
 
     protected void propagateArrayMessage(INDArrayMessage message, PropagationMode mode) throws IOException  {
+        // in RING mode updates are passed along the ring of nodes instead of the tree
+        if (isRingMode() && message instanceof BroadcastableMessage) {
+            propagateRingMessage(message);
+            return;
+        }
+
         val node = mesh.get().getNodeById(id);
 
         val root = mesh.get().getRootNode();
@@ -254,6 +263,56 @@ public abstract  class BaseTransport  implements Transport {
             });
     }
 
+    /**
+     * This method returns true if messages are propagated along the ring of nodes, see {@link MeshBuildMode#RING}
+     * @return
+     */
+    protected boolean isRingMode() {
+        return mesh.get().getBuildMode() == MeshBuildMode.RING;
+    }
+
+    /**
+     * This method splits message into chunks and sends them to the next node in the ring.
+     * Every node forwards each chunk to its own successor as soon as chunk arrives (see {@link #forwardRingChunk(VoidChunk)}),
+     * so chunks are pipelined across the ring, and each node sends and receives every message only once
+     *
+     * @param message
+     * @throws IOException
+     */
+    protected void propagateRingMessage(INDArrayMessage message) throws IOException {
+        val originatorId = message.getOriginatorId() == null ? id : message.getOriginatorId();
+        val successor = mesh.get().getRingSuccessor(id);
+        if (successor == null || successor.getId().equals(originatorId))
+            return;
+
+        val chunks = splitter.split(message, voidConfiguration.getMaxChunkSize());
+        for (val c : chunks) {
+            c.setRingPropagation(true);
+            c.setOriginatorId(originatorId);
+            ringHistoryHolder.storeIfUnknownMessageId(c.getMessageId());
+            sendMessage(c, successor.getId());
+        }
+    }
+
+    /**
+     * This method forwards ring chunk to the next node in the ring, unless the next node is the originator of the message.
+     * Ring is taken from the current mesh, so nodes marked offline are skipped
+     *
+     * @param chunk
+     * @return true if chunk wasn't seen before, false otherwise
+     */
+    protected boolean forwardRingChunk(@NonNull VoidChunk chunk) {
+        // each chunk is forwarded at most once, so chunks can't loop if the ring changes while message is in flight
+        if (ringHistoryHolder.storeIfUnknownMessageId(chunk.getMessageId()))
+            return false;
+
+        val successor = mesh.get().getRingSuccessor(id);
+        if (successor != null && !successor.getId().equals(chunk.getOriginatorId()))
+            sendMessage(chunk, successor.getId());
+
+        return true;
+    }
+
     @Override
     public void propagateMessage(@NonNull VoidMessage voidMessage, PropagationMode mode) throws IOException {
         val node = mesh.get().getNodeById(id);
@@ -302,6 +361,10 @@ public abstract  class BaseTransport  implements Transport {
         if (historyHolder.storeIfUnknownMessageId(voidMessage.getMessageId()))
             return;
 
+        // in RING mode INDArray messages were already forwarded chunk by chunk
+        if (voidMessage instanceof INDArrayMessage && isRingMode())
+            return;
+
         val node = mesh.get().getNodeById(id);
 
         if (voidMessage.getOriginatorId() != null && id != null && voidMessage.getOriginatorId().equals(id))
@@ -367,8 +430,14 @@ public abstract  class BaseTransport  implements Transport {
 
             // do nothing
         }  else if (message instanceof VoidChunk) {
+            val chunk = (VoidChunk) message;
+
+            // ring chunks are forwarded before merge, so next node can start receiving message right away
+            if (chunk.isRingPropagation() && !forwardRingChunk(chunk))
+                return;
+
             // we merge chunks to get full INDArrayMessage
-            Optional<INDArrayMessage> opt = splitter.merge((VoidChunk) message, voidConfiguration.getChunksBufferSize());
+            Optional<INDArrayMessage> opt = splitter.merge(chunk, voidConfiguration.getChunksBufferSize());
 
             // if this chunk was the last message, we'll forward it to parameter server for actual use
             if (opt.isPresent())
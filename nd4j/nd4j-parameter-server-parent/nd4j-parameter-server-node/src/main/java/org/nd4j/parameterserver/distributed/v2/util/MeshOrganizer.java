@@ -354,6 +354,57 @@ public class MeshOrganizer implements Serializable {
         return node;
     }
 
+    /**
+     * This method returns MeshBuildMode used for this mesh
+     * @return
+     */
+    public MeshBuildMode getBuildMode() {
+        return buildMode;
+    }
+
+    /**
+     * This method returns online nodes of this mesh, in the order used for ring propagation: root node first, then all other nodes ordered by id.
+     * Order doesn't depend on the order of nodes registration, so all nodes that share the same mesh see the same ring.
+     *
+     * @return
+     */
+    public List<Node> getRing() {
+        val ring = new ArrayList<Node>();
+        for (val n : nodeMap.values())
+            if (n.status() == NodeStatus.ONLINE)
+                ring.add(n);
+
+        Collections.sort(ring, new Comparator<Node>() {
+            @Override
+            public int compare(Node o1, Node o2) {
+                return o1.getId().compareTo(o2.getId());
+            }
+        });
+
+        // root node is never marked offline, since it's the one tracking other nodes
+        if (rootNode.getId() != null)
+            ring.add(0, rootNode);
+
+        return ring;
+    }
+
+    /**
+     * This method returns next online node after the given one in the ring (see {@link #getRing()}).
+     * If given node isn't online anymore, ring is entered at its first node.
+     *
+     * @param id
+     * @return next node, or null if there's no other online node
+     */
+    public Node getRingSuccessor(@NonNull String id) {
+        val ring = getRing();
+        for (int e = 0; e < ring.size(); e++) {
+            if (ring.get(e).getId().equals(id))
+                return ring.size() > 1 ? ring.get((e + 1) % ring.size()) : null;
+        }
+
+        return ring.isEmpty() ? null : ring.get(0);
+    }
+
     /**
      * This class represents basic tree node
      */
@@ -0,0 +1,382 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.nd4j.parameterserver.distributed.v2.util;
+
+import lombok.NonNull;
+import lombok.val;
+import org.nd4j.common.config.ND4JSystemProperties;
+import org.nd4j.common.util.SerializationUtils;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.exception.ND4JIllegalStateException;
+import org.nd4j.parameterserver.distributed.v2.chunks.VoidChunk;
+import org.nd4j.parameterserver.distributed.v2.messages.INDArrayMessage;
+import org.nd4j.parameterserver.distributed.v2.messages.VoidMessage;
+import org.nd4j.parameterserver.distributed.v2.messages.impl.GradientsUpdateMessage;
+import org.nd4j.parameterserver.distributed.v2.messages.pairs.params.ModelParametersMessage;
+import org.nd4j.parameterserver.distributed.v2.messages.pairs.params.UpdaterParametersMessage;
+import org.nd4j.serde.binary.BinarySerde;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary codec for VoidMessages sent over the network.<br>
+ * VoidChunks and INDArray messages (gradients, model and updater parameters) are written field by field into a single
+ * direct ByteBuffer, with INDArray payloads copied straight from their DataBuffers (see {@link BinarySerde}), so no
+ * Java serialization or intermediate copies are involved. All other messages are written with Java serialization.<br>
+ * Both formats are recognized by {@link #decode(ByteBuffer)}, so nodes with the binary codec disabled (see
+ * {@link ND4JSystemProperties#PARAMETER_SERVER_BINARY_CODEC}) can still talk to nodes with the codec enabled.<br>
+ * <br>
+ * PLEASE NOTE: Binary encoded messages use native byte order, like {@link BinarySerde}
+ */
+public class MessageCodec {
+    // Java serialization streams start with 0xACED, so these can't be confused with serialized objects
+    protected static final byte[] MAGIC = new byte[]{'N', 'D', 'V', '2'};
+    protected static final byte VERSION = 1;
+
+    protected static final byte TYPE_CHUNK = 1;
+    protected static final byte TYPE_GRADIENTS_UPDATE = 2;
+    protected static final byte TYPE_MODEL_PARAMETERS = 3;
+    protected static final byte TYPE_UPDATER_PARAMETERS = 4;
+
+    // magic, version and type
+    protected static final int HEADER_LENGTH = MAGIC.length + 2;
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty(ND4JSystemProperties.PARAMETER_SERVER_BINARY_CODEC, "true"));
+
+    private MessageCodec() {
+    }
+
+    /**
+     * This method returns true if binary encoding is enabled, and the specified message can be binary encoded
+     *
+     * @param message
+     * @return
+     */
+    public static boolean isBinaryEncodable(@NonNull VoidMessage message) {
+        if (!ENABLED || message.getMessageId() == null)
+            return false;
+
+        val cls = message.getClass();
+        if (cls == VoidChunk.class)
+            return true;
+
+        if (cls == GradientsUpdateMessage.class || cls == ModelParametersMessage.class || cls == UpdaterParametersMessage.class) {
+            val payload = ((INDArrayMessage) message).getPayload();
+            return payload == null || !payload.isEmpty();
+        }
+
+        return false;
+    }
+
+    /**
+     * This method encodes the specified message.
+     * Returned buffer has position 0, and capacity equal to the encoded message length
+     *
+     * @param message
+     * @return
+     */
+    public static ByteBuffer encode(@NonNull VoidMessage message) {
+        if (!isBinaryEncodable(message))
+            return ByteBuffer.wrap(SerializationUtils.toByteArray(message));
+
+        if (message instanceof VoidChunk)
+            return encodeChunk((VoidChunk) message);
+
+        val messageId = bytes(message.getMessageId());
+        val originatorId = bytes(message.getOriginatorId());
+        INDArray payload = ((INDArrayMessage) message).getPayload();
+
+        // BinarySerde writes the full DataBuffer, so views have to be detached first
+        if (payload != null && !payload.isCompressed() && (payload.isView() || payload.data().length() != payload.length()))
+            payload = payload.dup();
+
+        val arrayLength = payload == null ? 0 : BinarySerde.byteBufferSizeFor(payload);
+        long size = HEADER_LENGTH + encodedLength(messageId) + encodedLength(originatorId) + 4 + arrayLength;
+
+        byte[] requestId;
+        byte[] relayId = null;
+        byte type;
+        if (message instanceof GradientsUpdateMessage) {
+            val m = (GradientsUpdateMessage) message;
+            type = TYPE_GRADIENTS_UPDATE;
+            requestId = bytes(m.getRequestId());
+            relayId = bytes(m.getRelayId());
+            size += encodedLength(relayId) + 8;
+        } else if (message instanceof ModelParametersMessage) {
+            type = TYPE_MODEL_PARAMETERS;
+            requestId = bytes(((ModelParametersMessage) message).getRequestId());
+            size += 8;
+        } else {
+            type = TYPE_UPDATER_PARAMETERS;
+            requestId = bytes(((UpdaterParametersMessage) message).getRequestId());
+            size += 1;
+        }
+        size += encodedLength(requestId);
+
+        if (size > Integer.MAX_VALUE)
+            throw new ND4JIllegalStateException("Encoded message size > Integer.MAX_VALUE");
+
+        val buffer = ByteBuffer.allocateDirect((int) size).order(ByteOrder.nativeOrder());
+        putHeader(buffer, type);
+        putBytes(buffer, messageId);
+        putBytes(buffer, originatorId);
+        putBytes(buffer, requestId);
+
+        switch (type) {
+            case TYPE_GRADIENTS_UPDATE: {
+                    val m = (GradientsUpdateMessage) message;
+                    putBytes(buffer, relayId);
+                    buffer.putInt(m.getIteration());
+                    buffer.putInt(m.getEpoch());
+                }
+                break;
+            case TYPE_MODEL_PARAMETERS: {
+                    val m = (ModelParametersMessage) message;
+                    buffer.putInt(m.getIterationNumber());
+                    buffer.putInt(m.getEpochNumber());
+                }
+                break;
+            default:
+                buffer.put((byte) (((UpdaterParametersMessage) message).isFinalState() ? 1 : 0));
+        }
+
+        // array goes last, prefixed with its length. -1 means null payload
+        if (payload == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(arrayLength);
+            if (payload.isCompressed())
+                BinarySerde.doByteBufferPutCompressed(payload, buffer, false);
+            else
+                BinarySerde.doByteBufferPutUnCompressed(payload, buffer, false);
+        }
+
+        buffer.rewind();
+        return buffer;
+    }
+
+    protected static ByteBuffer encodeChunk(VoidChunk chunk) {
+        val messageId = bytes(chunk.getMessageId());
+        val originalId = bytes(chunk.getOriginalId());
+        val originatorId = bytes(chunk.getOriginatorId());
+        val payload = chunk.getPayloadBuffer();
+
+        val size = HEADER_LENGTH + 4 + 8 + 4 + 4 + 1 + encodedLength(messageId) + encodedLength(originalId) + encodedLength(originatorId) + 4 + payload.remaining();
+        val buffer = ByteBuffer.allocateDirect(size).order(ByteOrder.nativeOrder());
+        putHeader(buffer, TYPE_CHUNK);
+        buffer.putInt(chunk.getChunkId());
+        buffer.putLong(chunk.getTotalSize());
+        buffer.putInt(chunk.getSplitSize());
+        buffer.putInt(chunk.getNumberOfChunks());
+        buffer.put((byte) (chunk.isRingPropagation() ? 1 : 0));
+        putBytes(buffer, messageId);
+        putBytes(buffer, originalId);
+        putBytes(buffer, originatorId);
+        buffer.putInt(payload.remaining());
+        buffer.put(payload);
+
+        buffer.rewind();
+        return buffer;
+    }
+
+    /**
+     * This method decodes message from the specified buffer, starting at its current position.
+     * Both binary encoded and Java serialized messages are accepted.<br>
+     * PLEASE NOTE: decoded VoidChunks reference the provided buffer instead of copying the payload
+     *
+     * @param buffer
+     * @param <T>
+     * @return
+     */
+    public static <T extends VoidMessage> T decode(@NonNull ByteBuffer buffer) {
+        val b = buffer.duplicate().order(ByteOrder.nativeOrder());
+        if (!isBinaryEncoded(b)) {
+            // Java serialization fallback
+            if (b.hasArray())
+                return SerializationUtils.deserialize(new ByteArrayInputStream(b.array(), b.arrayOffset() + b.position(), b.remaining()));
+
+            val bytes = new byte[b.remaining()];
+            b.get(bytes);
+            return SerializationUtils.deserialize(bytes);
+        }
+
+        b.position(b.position() + MAGIC.length);
+        val version = b.get();
+        if (version != VERSION)
+            throw new ND4JIllegalStateException("Unsupported message codec version: [" + version + "]");
+
+        val type = b.get();
+        switch (type) {
+            case TYPE_CHUNK:
+                return (T) decodeChunk(b);
+            case TYPE_GRADIENTS_UPDATE: {
+                    val messageId = getString(b);
+                    val originatorId = getString(b);
+                    val requestId = getString(b);
+                    val relayId = getString(b);
+                    val iteration = b.getInt();
+                    val epoch = b.getInt();
+
+                    val message = new GradientsUpdateMessage(messageId, getArray(b));
+                    message.setOriginatorId(originatorId);
+                    message.setRequestId(requestId);
+                    message.setRelayId(relayId);
+                    message.setIteration(iteration);
+                    message.setEpoch(epoch);
+                    return (T) message;
+                }
+            case TYPE_MODEL_PARAMETERS: {
+                    val messageId = getString(b);
+                    val originatorId = getString(b);
+                    val requestId = getString(b);
+                    val iteration = b.getInt();
+                    val epoch = b.getInt();
+
+                    val message = new ModelParametersMessage(messageId, getArray(b));
+                    message.setOriginatorId(originatorId);
+                    message.setRequestId(requestId);
+                    message.setIterationNumber(iteration);
+                    message.setEpochNumber(epoch);
+                    return (T) message;
+                }
+            case TYPE_UPDATER_PARAMETERS: {
+                    val messageId = getString(b);
+                    val originatorId = getString(b);
+                    val requestId = getString(b);
+                    val finalState = b.get() != 0;
+
+                    val message = new UpdaterParametersMessage(messageId, getArray(b));
+                    message.setOriginatorId(originatorId);
+                    message.setRequestId(requestId);
+                    message.setFinalState(finalState);
+                    return (T) message;
+                }
+            default:
+                throw new ND4JIllegalStateException("Unknown message type: [" + type + "]");
+        }
+    }
+
+    protected static VoidChunk decodeChunk(ByteBuffer b) {
+        val chunkId = b.getInt();
+        val totalSize = b.getLong();
+        val splitSize = b.getInt();
+        val numberOfChunks = b.getInt();
+        val ringPropagation = b.get() != 0;
+        val messageId = getString(b);
+        val originalId = getString(b);
+        val originatorId = getString(b);
+        val length = b.getInt();
+
+        val payload = b.slice();
+        payload.limit(length);
+
+        val chunk = VoidChunk.builder()
+                .chunkId(chunkId)
+                .totalSize(totalSize)
+                .splitSize(splitSize)
+                .numberOfChunks(numberOfChunks)
+                .messageId(messageId)
+                .originalId(originalId)
+                .ringPropagation(ringPropagation)
+                .payloadBuffer(payload)
+                .build();
+        chunk.setOriginatorId(originatorId);
+        return chunk;
+    }
+
+    /**
+     * This method returns true if the buffer holds binary encoded message at its current position
+     *
+     * @param buffer
+     * @return
+     */
+    public static boolean isBinaryEncoded(@NonNull ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_LENGTH)
+            return false;
+
+        val p = buffer.position();
+        for (int e = 0; e < MAGIC.length; e++)
+            if (buffer.get(p + e) != MAGIC[e])
+                return false;
+
+        return true;
+    }
+
+    protected static void putHeader(ByteBuffer buffer, byte type) {
+        buffer.put(MAGIC);
+        buffer.put(VERSION);
+        buffer.put(type);
+    }
+
+    protected static byte[] bytes(String s) {
+        return s == null ? null : s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    protected static int encodedLength(byte[] bytes) {
+        return 4 + (bytes == null ? 0 : bytes.length);
+    }
+
+    protected static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    protected static String getString(ByteBuffer buffer) {
+        val length = buffer.getInt();
+        if (length < 0)
+            return null;
+
+        val bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    protected static INDArray getArray(ByteBuffer buffer) {
+        val length = buffer.getInt();
+        if (length < 0)
+            return null;
+
+        ByteBuffer source;
+        int offset;
+        if (buffer.isDirect()) {
+            source = buffer.duplicate();
+            offset = buffer.position();
+        } else {
+            // BinarySerde copies whole backing array of heap buffers, so we copy just the array bytes instead
+            val region = buffer.duplicate();
+            region.limit(region.position() + length);
+            source = ByteBuffer.allocateDirect(length).order(ByteOrder.nativeOrder());
+            source.put(region);
+            offset = 0;
+        }
+
+        val array = BinarySerde.toArray(source, offset);
+        buffer.position(buffer.position() + length);
+        return array;
+    }
+}
@@ -24,8 +24,6 @@ import lombok.NonNull;
 import lombok.val;
 import org.nd4j.linalg.exception.ND4JIllegalStateException;
 import org.nd4j.common.primitives.AtomicBoolean;
-import org.nd4j.common.util.ND4JFileUtils;
-import org.nd4j.common.util.SerializationUtils;
 import org.nd4j.parameterserver.distributed.v2.chunks.ChunksTracker;
 import org.nd4j.parameterserver.distributed.v2.chunks.impl.FileChunksTracker;
 import org.nd4j.parameterserver.distributed.v2.chunks.VoidChunk;
@@ -33,9 +31,8 @@ import org.nd4j.parameterserver.distributed.v2.chunks.impl.InmemoryChunksTracker
 import org.nd4j.parameterserver.distributed.v2.messages.VoidMessage;
 import org.nd4j.common.primitives.Optional;
 
-import java.io.*;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -63,7 +60,8 @@ public class MessageSplitter {
     }
 
     /**
-     * This method splits VoidMessage into chunks, and returns them as Collection
+     * This method splits VoidMessage into chunks, and returns them as Collection.
+     * Message is encoded once with {@link MessageCodec}, and chunks are views of the encoded message, so nothing is copied
      * @param message
      * @return
      */
@@ -71,44 +69,31 @@ public class MessageSplitter {
         if (maxBytes <= 0)
             throw new ND4JIllegalStateException("MaxBytes must be > 0");
 
-        val tempFile = ND4JFileUtils.createTempFile("messageSplitter","temp");
-        val result = new ArrayList<VoidChunk>();
-
-        try (val fos = new FileOutputStream(tempFile); val bos = new BufferedOutputStream(fos)) {
-            // serializing original message to disc
-            SerializationUtils.serialize(message, fos);
-
-            val length = tempFile.length();
-            int numChunks = (int) (length /  maxBytes + (length % maxBytes > 0 ? 1 : 0));
-            try (val fis = new FileInputStream(tempFile); val bis = new BufferedInputStream(fis)) {
-                // now we'll be reading serialized message into
-                val bytes = new byte[maxBytes];
-                int cnt = 0;
-                int id = 0;
-
-                while (cnt < length) {
-                    val c = bis.read(bytes);
-
-                    val tmp = Arrays.copyOf(bytes, c);
-
-                    // FIXME: we don't really want UUID used here, it's just a placeholder for now
-                    val msg = VoidChunk.builder()
-                            .messageId(java.util.UUID.randomUUID().toString())
-                            .originalId(message.getMessageId())
-                            .chunkId(id++)
-                            .numberOfChunks(numChunks)
-                            .splitSize(maxBytes)
-                            .payload(tmp)
-                            .totalSize(length)
-                            .build();
-
-                    result.add(msg);
-                    cnt += c;
-                }
-            }
+        val encoded = MessageCodec.encode(message);
+        val length = encoded.remaining();
+        int numChunks = length / maxBytes + (length % maxBytes > 0 ? 1 : 0);
+        val result = new ArrayList<VoidChunk>(numChunks);
+
+        int id = 0;
+        for (int cnt = 0; cnt < length; cnt += maxBytes) {
+            val view = encoded.duplicate();
+            view.position(cnt);
+            view.limit(Math.min(cnt + maxBytes, length));
+
+            // FIXME: we don't really want UUID used here, it's just a placeholder for now
+            val msg = VoidChunk.builder()
+                    .messageId(java.util.UUID.randomUUID().toString())
+                    .originalId(message.getMessageId())
+                    .chunkId(id++)
+                    .numberOfChunks(numChunks)
+                    .splitSize(maxBytes)
+                    .payloadBuffer(view.slice())
+                    .totalSize(length)
+                    .build();
+
+            result.add(msg);
         }
 
-        tempFile.delete();
         return result;
     }
 
@@ -41,6 +41,7 @@ import org.nd4j.parameterserver.distributed.v2.messages.pairs.params.UpdaterPara
 import org.nd4j.parameterserver.distributed.v2.messages.pairs.params.UpdaterParametersRequest;
 import org.nd4j.parameterserver.distributed.v2.transport.UpdaterParametersProvider;
 import org.nd4j.parameterserver.distributed.v2.transport.impl.DummyTransport;
+import org.nd4j.parameterserver.distributed.v2.transport.impl.StaticPortSupplier;
 import org.nd4j.parameterserver.distributed.v2.util.AbstractSubscriber;
 import org.nd4j.parameterserver.distributed.v2.util.AbstractUpdatesHandler;
 import org.nd4j.parameterserver.distributed.v2.util.MeshOrganizer;
@@ -131,6 +132,53 @@ public class ModelParameterServerTest extends BaseND4JTest {
         assertEquals(0, updatesA.size());
     }
 
+    @Test
+    public void testStaleUpdatesDiscarded_1() throws Exception {
+        val connector = new DummyTransport.Connector();
+        val rootTransport = new DummyTransport(rootId, connector);
+        val clientTransportA = new DummyTransport("412334", connector, rootId);
+        val clientTransportB = new DummyTransport("123441", connector, rootId);
+
+        connector.register(rootTransport, clientTransportA, clientTransportB);
+
+        val configuration = VoidConfiguration.builder().portSupplier(new StaticPortSupplier(40123)).streamId(119)
+                .maxUpdateStaleness(5).build();
+
+        val rootServer = new ModelParameterServer(configuration, rootTransport, true);
+        val clientServerA = new ModelParameterServer(configuration, clientTransportA, false);
+        val clientServerB = new ModelParameterServer(configuration, clientTransportB, false);
+        rootServer.launch();
+        clientServerA.launch();
+        clientServerB.launch();
+
+        // B is way ahead, A is a straggler
+        clientServerB.sendUpdate(Nd4j.ones(10, 10), 20, 0);
+
+        // staleness is decided by the sender only, using the most recent iteration it has received
+        int sentByA = 0;
+        for (int iteration : new int[] {16, 10}) {
+            if (clientServerA.isStale(iteration)) {
+                clientServerA.markStaleUpdate();
+            } else {
+                clientServerA.sendUpdate(Nd4j.ones(10, 10), iteration, 0);
+                sentByA++;
+            }
+        }
+        assertEquals(1, sentByA);
+        assertEquals(1, clientServerA.getStaleUpdatesCount());
+        assertFalse(clientServerB.isStale(20));
+
+        // every node applies the same set of updates: B's update and the fresh update of A.
+        // Senders apply their own updates locally, so they only receive the other one
+        assertEquals(2, rootServer.getUpdates().size());
+        assertEquals(1, clientServerA.getUpdates().size());
+        assertEquals(1, clientServerB.getUpdates().size());
+
+        // receivers never discard anything on their own
+        assertEquals(0, rootServer.getStaleUpdatesCount());
+        assertEquals(0, clientServerB.getStaleUpdatesCount());
+    }
+
     @Test// (timeout = 30000L)
     public void testReconnectPropagation_1() throws Exception {
         val config = VoidConfiguration.builder().meshBuildMode(MeshBuildMode.MESH).build();
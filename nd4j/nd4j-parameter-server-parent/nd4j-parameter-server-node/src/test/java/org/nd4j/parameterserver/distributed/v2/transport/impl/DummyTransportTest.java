@@ -28,11 +28,17 @@ import org.nd4j.common.tests.BaseND4JTest;
 import org.nd4j.common.tests.tags.NativeTag;
 import org.nd4j.common.tests.tags.TagNames;
 import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.parameterserver.distributed.conf.VoidConfiguration;
+import org.nd4j.parameterserver.distributed.v2.chunks.VoidChunk;
+import org.nd4j.parameterserver.distributed.v2.enums.MeshBuildMode;
 import org.nd4j.parameterserver.distributed.v2.enums.PropagationMode;
+import org.nd4j.parameterserver.distributed.v2.messages.INDArrayMessage;
 import org.nd4j.parameterserver.distributed.v2.messages.impl.GradientsUpdateMessage;
 import org.nd4j.parameterserver.distributed.v2.messages.pairs.handshake.HandshakeRequest;
 import org.nd4j.parameterserver.distributed.v2.messages.pairs.handshake.HandshakeResponse;
 import org.nd4j.parameterserver.distributed.v2.transport.MessageCallable;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -215,4 +221,103 @@ public class DummyTransportTest extends BaseND4JTest {
         assertNotEquals(version, newMesh.getVersion());
         assertTrue(restarted.get());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testRingPropagation_1() throws Exception {
+        val connector = new DummyTransport.Connector();
+        val transports = createRing(connector, "alpha", "beta", "gamma", "delta", "epsilon");
+
+        val updates = new AtomicInteger[transports.length];
+        val chunks = new AtomicInteger[transports.length];
+        for (int e = 0; e < transports.length; e++) {
+            updates[e] = new AtomicInteger(0);
+            chunks[e] = new AtomicInteger(0);
+            transports[e].incomingPublisher().subscribe(countingSubscriber(updates[e]));
+
+            val c = chunks[e];
+            transports[e].addPrecursor(VoidChunk.class, (VoidChunk message) -> c.incrementAndGet());
+        }
+
+        val msg = new GradientsUpdateMessage("message", Nd4j.ones(10, 10));
+        msg.setOriginatorId("beta");
+        transports[1].propagateMessage(msg, PropagationMode.BOTH_WAYS);
+
+        // originator doesn't get its own update back, every other node gets it exactly once
+        assertEquals(0, updates[1].get());
+        assertEquals(0, chunks[1].get());
+        for (int e = 0; e < transports.length; e++) {
+            if (e == 1)
+                continue;
+
+            assertEquals(100, updates[e].get());
+            assertEquals(chunks[0].get(), chunks[e].get());
+        }
+
+        // message is larger than chunk size, so it was really pipelined
+        assertTrue(chunks[0].get() > 1);
+    }
+
+    @Test
+    public void testRingPropagation_2() throws Exception {
+        val connector = new DummyTransport.Connector();
+        val transports = createRing(connector, "alpha", "beta", "gamma", "delta", "epsilon");
+
+        val counter = new AtomicInteger(0);
+        val offline = new AtomicInteger(0);
+        for (val t : transports) {
+            t.incomingPublisher().subscribe(countingSubscriber(t.id().equals("gamma") ? offline : counter));
+
+            // ring is reconfigured once node is marked offline
+            t.getMesh().markNodeOffline("gamma");
+        }
+
+        val msg = new GradientsUpdateMessage("message", Nd4j.ones(10, 10));
+        msg.setOriginatorId("beta");
+        transports[1].propagateMessage(msg, PropagationMode.BOTH_WAYS);
+
+        assertEquals(300, counter.get());
+        assertEquals(0, offline.get());
+    }
+
+    protected static DummyTransport[] createRing(DummyTransport.Connector connector, String... ids) {
+        val configuration = VoidConfiguration.builder()
+                .meshBuildMode(MeshBuildMode.RING)
+                .maxChunkSize(128)
+                .build();
+
+        val transports = new DummyTransport[ids.length];
+        for (int e = 0; e < ids.length; e++)
+            transports[e] = new DummyTransport(ids[e], connector, ids[0], configuration);
+
+        connector.register(transports);
+
+        for (int e = 1; e < ids.length; e++)
+            transports[e].sendMessage(new HandshakeRequest(), ids[0]);
+
+        return transports;
+    }
+
+    protected static Subscriber<INDArrayMessage> countingSubscriber(final AtomicInteger counter) {
+        return new Subscriber<INDArrayMessage>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                // no-op
+            }
+
+            @Override
+            public void onNext(INDArrayMessage message) {
+                counter.addAndGet(message.getPayload().sumNumber().intValue());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                // no-op
+            }
+
+            @Override
+            public void onComplete() {
+                // no-op
+            }
+        };
+    }
+}
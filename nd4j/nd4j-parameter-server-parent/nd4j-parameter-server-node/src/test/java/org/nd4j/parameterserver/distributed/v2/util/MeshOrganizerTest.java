@@ -347,4 +347,39 @@ public class MeshOrganizerTest extends BaseND4JTest {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testRing_1() throws Exception {
+        val mesh = new MeshOrganizer(MeshBuildMode.RING);
+        mesh.getRootNode().setId("0");
+
+        // ring order doesn't depend on registration order
+        mesh.addNode("3");
+        mesh.addNode("1");
+        mesh.addNode("2");
+
+        // nodes are connected as in PLAIN mode
+        assertEquals(3, mesh.getRootNode().numberOfDownstreams());
+
+        val ring = mesh.getRing();
+        assertEquals(4, ring.size());
+        assertEquals("0", ring.get(0).getId());
+        assertEquals("1", ring.get(1).getId());
+        assertEquals("2", ring.get(2).getId());
+        assertEquals("3", ring.get(3).getId());
+
+        assertEquals("1", mesh.getRingSuccessor("0").getId());
+        assertEquals("0", mesh.getRingSuccessor("3").getId());
+
+        // offline node is excluded from the ring
+        mesh.markNodeOffline("2");
+
+        assertEquals(3, mesh.getRing().size());
+        assertEquals("3", mesh.getRingSuccessor("1").getId());
+        assertEquals("0", mesh.getRingSuccessor("2").getId());
+
+        // and ring survives serialization
+        val clone = mesh.clone();
+        assertEquals(MeshBuildMode.RING, clone.getBuildMode());
+        assertEquals("3", clone.getRingSuccessor("1").getId());
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ *  ******************************************************************************
+ *  *
+ *  *
+ *  * This program and the accompanying materials are made available under the
+ *  * terms of the Apache License, Version 2.0 which is available at
+ *  * https://www.apache.org/licenses/LICENSE-2.0.
+ *  *
+ *  *  See the NOTICE file distributed with this work for additional
+ *  *  information regarding copyright ownership.
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  * License for the specific language governing permissions and limitations
+ *  * under the License.
+ *  *
+ *  * SPDX-License-Identifier: Apache-2.0
+ *  *****************************************************************************
+ */
+
+package org.nd4j.parameterserver.distributed.v2.util;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.nd4j.common.tests.BaseND4JTest;
+import org.nd4j.common.tests.tags.NativeTag;
+import org.nd4j.common.tests.tags.TagNames;
+import org.nd4j.common.util.SerializationUtils;
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.indexing.NDArrayIndex;
+import org.nd4j.parameterserver.distributed.v2.chunks.VoidChunk;
+import org.nd4j.parameterserver.distributed.v2.messages.VoidMessage;
+import org.nd4j.parameterserver.distributed.v2.messages.impl.GradientsUpdateMessage;
+import org.nd4j.parameterserver.distributed.v2.messages.pairs.params.ModelParametersMessage;
+import org.nd4j.parameterserver.distributed.v2.messages.pairs.params.UpdaterParametersMessage;
+import org.nd4j.parameterserver.distributed.v2.messages.pairs.ping.PingMessage;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@Tag(TagNames.DIST_SYSTEMS)
+@NativeTag
+public class MessageCodecTest extends BaseND4JTest {
+
+    @Test
+    public void testGradientsUpdateMessage_1() {
+        val array = Nd4j.linspace(1, 1000, 1000).reshape(10, 100);
+        val message = new GradientsUpdateMessage("123", array);
+        message.setOriginatorId("node_1");
+        message.setRelayId("node_2");
+        message.setIteration(17);
+        message.setEpoch(3);
+
+        val encoded = MessageCodec.encode(message);
+        assertTrue(MessageCodec.isBinaryEncoded(encoded));
+
+        GradientsUpdateMessage restored = MessageCodec.decode(encoded);
+        assertEquals("123", restored.getMessageId());
+        assertEquals("node_1", restored.getOriginatorId());
+        assertEquals("node_2", restored.getRelayId());
+        assertNull(restored.getRequestId());
+        assertEquals(17, restored.getIteration());
+        assertEquals(3, restored.getEpoch());
+        assertEquals(array, restored.getPayload());
+    }
+
+    @Test
+    public void testParametersMessages_1() {
+        // view payload must be detached before encoding
+        val array = Nd4j.linspace(DataType.DOUBLE, 1, 200, 1).reshape(20, 10).get(NDArrayIndex.interval(5, 10), NDArrayIndex.all());
+        val params = new ModelParametersMessage("m1", array);
+        params.setRequestId("r1");
+        params.setIterationNumber(5);
+        params.setEpochNumber(2);
+
+        val restoredParams = (ModelParametersMessage) VoidMessage.fromBytes(toBytes(MessageCodec.encode(params)));
+        assertEquals("m1", restoredParams.getMessageId());
+        assertEquals("r1", restoredParams.getRequestId());
+        assertEquals(5, restoredParams.getIterationNumber());
+        assertEquals(2, restoredParams.getEpochNumber());
+        assertEquals(array, restoredParams.getPayload());
+
+        val updater = new UpdaterParametersMessage("u1", null);
+        updater.setFinalState(true);
+
+        UpdaterParametersMessage restoredUpdater = MessageCodec.decode(MessageCodec.encode(updater));
+        assertEquals("u1", restoredUpdater.getMessageId());
+        assertTrue(restoredUpdater.isFinalState());
+        assertNull(restoredUpdater.getPayload());
+    }
+
+    @Test
+    public void testChunks_1() throws Exception {
+        val array = Nd4j.linspace(1, 100000, 100000).reshape(-1, 1000);
+        val message = new GradientsUpdateMessage("123", array);
+        val splitter = new MessageSplitter();
+
+        GradientsUpdateMessage restored = null;
+        for (val c : splitter.split(message, 16384)) {
+            c.setOriginatorId("node_1");
+            c.setRingPropagation(true);
+
+            // chunks are sent as binary messages, but must also survive Java serialization
+            val received = (VoidChunk) VoidMessage.fromBytes(toBytes(MessageCodec.encode(c)));
+            assertEquals("node_1", received.getOriginatorId());
+            assertTrue(received.isRingPropagation());
+            assertArrayEquals(c.getPayload(), received.getPayload());
+
+            VoidChunk serialized = SerializationUtils.deserialize(SerializationUtils.toByteArray(received));
+            val o = splitter.<GradientsUpdateMessage>merge(serialized, 100L * 1024 * 1024);
+            if (o.isPresent())
+                restored = o.get();
+        }
+
+        assertNotNull(restored);
+        assertEquals(array, restored.getPayload());
+    }
+
+    @Test
+    public void testJavaSerializationFallback_1() {
+        val ping = new PingMessage();
+        ping.setOriginatorId("node_1");
+
+        val encoded = MessageCodec.encode(ping);
+        assertFalse(MessageCodec.isBinaryEncoded(encoded));
+
+        PingMessage restored = MessageCodec.decode(encoded);
+        assertEquals(ping.getMessageId(), restored.getMessageId());
+        assertEquals("node_1", restored.getOriginatorId());
+
+        // Java serialized INDArray messages are still accepted
+        val array = Nd4j.linspace(1, 10, 10);
+        val gradients = (GradientsUpdateMessage) VoidMessage.fromBytes(SerializationUtils.toByteArray(new GradientsUpdateMessage("123", array)));
+        assertEquals(array, gradients.getPayload());
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        val bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+}